@@ -1,7 +1,11 @@
 package com.sivalabs.bookstore.catalog.api;
 
+import com.sivalabs.bookstore.catalog.domain.ProductEntity;
 import com.sivalabs.bookstore.catalog.domain.ProductService;
 import com.sivalabs.bookstore.catalog.mappers.ProductMapper;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Component;
 
@@ -18,4 +22,22 @@ public class ProductApi {
     public Optional<ProductDto> getByCode(String code) {
         return productService.getByCode(code).map(productMapper::mapToDto);
     }
+
+    /**
+     * Look up several products in one call, e.g. to validate every item of an order at once.
+     *
+     * @param codes the product codes to look up
+     * @return the products found keyed by product code, in request order; unknown codes are absent
+     */
+    public Map<String, ProductDto> getByCodes(Collection<String> codes) {
+        Map<String, ProductEntity> found = productService.getByCodes(codes);
+        Map<String, ProductDto> products = new LinkedHashMap<>();
+        for (String code : codes) {
+            ProductEntity product = found.get(code);
+            if (product != null) {
+                products.put(code, productMapper.mapToDto(product));
+            }
+        }
+        return products;
+    }
 }
@@ -0,0 +1,254 @@
+package com.sivalabs.bookstore.catalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+import com.sivalabs.bookstore.catalog.domain.ProductEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process L1 cache in front of the products-cache IMap.
+ *
+ * Hits are served from a size-bounded Caffeine cache without a network hop or deserialization.
+ * The cache keeps its own copy of each product and hands every caller a fresh copy, so callers
+ * may modify what they get, as they could with the copies deserialized by IMap.get.
+ * An entry listener on the IMap invalidates a product whenever it is added, updated or removed on
+ * any member; the short time-to-live bounds staleness if an invalidation is missed. Entries loaded
+ * into the IMap by its MapStore are not changes and do not invalidate, otherwise the load behind an
+ * L1 miss would evict the very entry it produced.
+ *
+ * A load that races with an invalidation of the same product is not cached: each load registers
+ * a token for its product code, an invalidation drops the token, and the result is only kept if
+ * the token is still registered. Loads of other products are unaffected.
+ *
+ * Metrics (tag {@code cache=products-cache}):
+ * - bookstore.cache.local.hits / bookstore.cache.local.misses / bookstore.cache.local.hit.ratio
+ * - bookstore.cache.local.size and bookstore.cache.local.invalidations
+ * - bookstore.cache.local.staleness: age of the entry served on each hit
+ */
+final class LocalProductCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalProductCache.class);
+    private static final String METRICS_PREFIX = "bookstore.cache.local";
+    private static final String CACHE_TAG = "products-cache";
+
+    private final IMap<String, Object> source;
+    private final Cache<String, LocalEntry> entries;
+    private final ConcurrentMap<String, Object> pendingLoads = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Timer staleness;
+    private final UUID listenerId;
+
+    LocalProductCache(IMap<String, Object> source, long maxSize, Duration timeToLive, MeterRegistry meterRegistry) {
+        this.source = source;
+        this.entries = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(timeToLive).recordStats().build();
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        FunctionCounter.builder(METRICS_PREFIX + ".hits", entries, cache -> cache.stats().hitCount())
+                .description("Product lookups served by the local L1 cache")
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+        FunctionCounter.builder(METRICS_PREFIX + ".misses", entries, cache -> cache.stats().missCount())
+                .description("Product lookups that fell through to the products-cache IMap")
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+        Gauge.builder(METRICS_PREFIX + ".hit.ratio", entries, cache -> cache.stats().hitRate())
+                .description("Local L1 cache hit ratio")
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+        Gauge.builder(METRICS_PREFIX + ".size", entries, Cache::estimatedSize)
+                .description("Number of products held in the local L1 cache")
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+        FunctionCounter.builder(METRICS_PREFIX + ".invalidations", invalidations, AtomicLong::get)
+                .description("Local L1 entries invalidated by products-cache changes")
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+        this.staleness = Timer.builder(METRICS_PREFIX + ".staleness")
+                .description("Age of the local L1 entry served on each hit")
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+
+        this.listenerId = source.addEntryListener(new InvalidationListener(), false);
+        logger.info("Local L1 cache enabled for {}: maxSize={}, timeToLive={}", source.getName(), maxSize, timeToLive);
+    }
+
+    /**
+     * Return the product from the L1 cache, or load it with {@code loader} and keep the result
+     * unless an invalidation arrived while it was loading.
+     */
+    Optional<ProductEntity> getOrLoad(String productCode, Supplier<Optional<ProductEntity>> loader) {
+        LocalEntry entry = entries.getIfPresent(productCode);
+        if (entry != null) {
+            return Optional.of(hit(entry));
+        }
+
+        Object token = startLoad(productCode);
+        try {
+            Optional<ProductEntity> loaded = loader.get();
+            loaded.ifPresent(product -> completeLoad(productCode, token, product, System.nanoTime()));
+            return loaded;
+        } finally {
+            pendingLoads.remove(productCode, token);
+        }
+    }
+
+    /**
+     * Batch variant of {@link #getOrLoad(String, Supplier)}: L1 hits are served locally and the
+     * remaining codes are passed to {@code loader} in one call.
+     */
+    Map<String, ProductEntity> getAllOrLoad(
+            Collection<String> productCodes, Function<Set<String>, Map<String, ProductEntity>> loader) {
+        Map<String, ProductEntity> result = new LinkedHashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String productCode : productCodes) {
+            LocalEntry entry = entries.getIfPresent(productCode);
+            if (entry != null) {
+                result.put(productCode, hit(entry));
+            } else {
+                missing.add(productCode);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<String, Object> tokens = new HashMap<>();
+        missing.forEach(productCode -> tokens.put(productCode, startLoad(productCode)));
+        try {
+            Map<String, ProductEntity> loaded = loader.apply(missing);
+            long loadedAt = System.nanoTime();
+            loaded.forEach((productCode, product) -> {
+                result.put(productCode, product);
+                Object token = tokens.get(productCode);
+                if (token != null) {
+                    completeLoad(productCode, token, product, loadedAt);
+                }
+            });
+            return result;
+        } finally {
+            tokens.forEach(pendingLoads::remove);
+        }
+    }
+
+    void invalidate(String productCode) {
+        // Runs under the same per-key lock as completeLoad, so a load either lands before and is
+        // removed here, or finds its token gone and is not cached
+        pendingLoads.compute(productCode, (code, token) -> {
+            if (entries.asMap().remove(code) != null) {
+                invalidations.incrementAndGet();
+            }
+            return null;
+        });
+    }
+
+    void invalidateAll() {
+        pendingLoads.clear();
+        invalidations.addAndGet(entries.estimatedSize());
+        entries.invalidateAll();
+    }
+
+    void close() {
+        try {
+            source.removeEntryListener(listenerId);
+        } catch (Exception e) {
+            logger.debug("Failed to remove local L1 invalidation listener: {}", e.getMessage());
+        }
+        entries.invalidateAll();
+    }
+
+    private Object startLoad(String productCode) {
+        Object token = new Object();
+        pendingLoads.put(productCode, token);
+        return token;
+    }
+
+    private void completeLoad(String productCode, Object token, ProductEntity product, long loadedAtNanos) {
+        pendingLoads.computeIfPresent(productCode, (code, pending) -> {
+            if (pending == token) {
+                entries.put(code, new LocalEntry(copyOf(product), loadedAtNanos));
+                return null;
+            }
+            return pending;
+        });
+    }
+
+    private ProductEntity hit(LocalEntry entry) {
+        staleness.record(System.nanoTime() - entry.loadedAtNanos(), TimeUnit.NANOSECONDS);
+        return copyOf(entry.product());
+    }
+
+    private static ProductEntity copyOf(ProductEntity product) {
+        ProductEntity copy = new ProductEntity();
+        copy.setId(product.getId());
+        copy.setCode(product.getCode());
+        copy.setName(product.getName());
+        copy.setDescription(product.getDescription());
+        copy.setImageUrl(product.getImageUrl());
+        copy.setPrice(product.getPrice());
+        return copy;
+    }
+
+    private record LocalEntry(ProductEntity product, long loadedAtNanos) {}
+
+    private final class InvalidationListener
+            implements EntryAddedListener<String, Object>,
+                    EntryUpdatedListener<String, Object>,
+                    EntryRemovedListener<String, Object>,
+                    MapClearedListener,
+                    MapEvictedListener {
+
+        @Override
+        public void entryAdded(EntryEvent<String, Object> event) {
+            invalidate(event.getKey());
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<String, Object> event) {
+            invalidate(event.getKey());
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<String, Object> event) {
+            invalidate(event.getKey());
+        }
+
+        @Override
+        public void mapCleared(MapEvent event) {
+            invalidateAll();
+        }
+
+        @Override
+        public void mapEvicted(MapEvent event) {
+            invalidateAll();
+        }
+    }
+}
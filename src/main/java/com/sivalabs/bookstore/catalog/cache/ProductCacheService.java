@@ -4,9 +4,16 @@ import com.hazelcast.map.IMap;
 import com.sivalabs.bookstore.catalog.domain.ProductEntity;
 import com.sivalabs.bookstore.common.cache.AbstractCacheService;
 import com.sivalabs.bookstore.common.cache.CacheErrorHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
@@ -16,16 +23,39 @@ import org.springframework.stereotype.Service;
  *
  * This service extends AbstractCacheService to provide product-specific
  * cache operations while inheriting common cache functionality.
+ *
+ * Product lookups go through an optional in-process L1 ({@link LocalProductCache}) before the
+ * products-cache IMap, controlled by the {@code bookstore.cache.products.local.*} properties.
  */
 @Service
 @ConditionalOnProperty(prefix = "bookstore.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
 @Lazy
-public class ProductCacheService extends AbstractCacheService<String, ProductEntity> {
+public class ProductCacheService extends AbstractCacheService<String, ProductEntity> implements DisposableBean {
+
+    private final LocalProductCache localCache;
 
     public ProductCacheService(
             @Qualifier("productsCache") IMap<String, Object> productsCache,
-            @Autowired(required = false) CacheErrorHandler errorHandler) {
+            @Autowired(required = false) CacheErrorHandler errorHandler,
+            @Value("${bookstore.cache.products.local.enabled:true}") boolean localCacheEnabled,
+            @Value("${bookstore.cache.products.local.max-size:1000}") long localCacheMaxSize,
+            @Value("${bookstore.cache.products.local.time-to-live-ms:5000}") long localCacheTimeToLiveMs,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
         super(productsCache, errorHandler != null ? errorHandler : new CacheErrorHandler(), ProductEntity.class);
+        this.localCache = localCacheEnabled
+                ? new LocalProductCache(
+                        productsCache,
+                        localCacheMaxSize,
+                        Duration.ofMillis(localCacheTimeToLiveMs),
+                        meterRegistryProvider.getIfAvailable())
+                : null;
+    }
+
+    @Override
+    public void destroy() {
+        if (localCache != null) {
+            localCache.close();
+        }
     }
 
     @Override
@@ -39,16 +69,37 @@ public class ProductCacheService extends AbstractCacheService<String, ProductEnt
     }
 
     /**
-     * Find a product by its unique product code from the cache.
+     * Find a product by its unique product code, checking the local L1 cache before the IMap.
      *
      * @param productCode the product code to search for
      * @return Optional containing the product if found in cache, empty if not found or cache error
      */
     public Optional<ProductEntity> findByProductCode(String productCode) {
+        if (localCache == null) {
+            return findInDistributedCache(productCode);
+        }
+        return localCache.getOrLoad(productCode, () -> findInDistributedCache(productCode));
+    }
+
+    /**
+     * Find several products at once: L1 hits are served locally and the rest are fetched with one
+     * IMap.getAll round trip, which loads codes missing from the IMap through ProductMapStore.loadAll.
+     *
+     * @param productCodes the product codes to search for
+     * @return map of the product codes found to their products, empty on cache error
+     */
+    public Map<String, ProductEntity> findByProductCodes(Collection<String> productCodes) {
+        if (localCache == null) {
+            return findAll(productCodes);
+        }
+        return localCache.getAllOrLoad(productCodes, this::findAll);
+    }
+
+    private Optional<ProductEntity> findInDistributedCache(String productCode) {
         return errorHandler.executeWithFallback(
                 () -> {
                     Object cachedValue = cache.get(productCode);
-                    ProductEntity product = safeCast(cachedValue, productCode);
+                    ProductEntity product = lookup("findByProductCode", cachedValue, productCode);
                     return Optional.ofNullable(product);
                 },
                 "findByProductCode",
@@ -86,7 +137,21 @@ public class ProductCacheService extends AbstractCacheService<String, ProductEnt
      * @return true if caching was successful, false otherwise
      */
     public boolean cacheProduct(String productCode, ProductEntity product) {
-        return cacheEntity(productCode, product);
+        boolean cached = cacheEntity(productCode, product);
+        invalidateLocal(productCode);
+        return cached;
+    }
+
+    /**
+     * Cache several products with a single IMap.putAll call.
+     *
+     * @param products the products to cache, keyed by product code
+     * @return true if caching was successful, false otherwise
+     */
+    public boolean cacheProducts(Map<String, ProductEntity> products) {
+        boolean cached = cacheAll(products);
+        products.keySet().forEach(this::invalidateLocal);
+        return cached;
     }
 
     /**
@@ -97,6 +162,24 @@ public class ProductCacheService extends AbstractCacheService<String, ProductEnt
      * @return true if update was successful, false otherwise
      */
     public boolean updateCachedProduct(String productCode, ProductEntity product) {
-        return updateCachedEntity(productCode, product);
+        boolean updated = updateCachedEntity(productCode, product);
+        invalidateLocal(productCode);
+        return updated;
+    }
+
+    @Override
+    public boolean removeFromCache(String productCode) {
+        boolean removed = super.removeFromCache(productCode);
+        invalidateLocal(productCode);
+        return removed;
+    }
+
+    /**
+     * Drop a product from this member's L1 cache without waiting for the IMap invalidation event.
+     */
+    private void invalidateLocal(String productCode) {
+        if (localCache != null) {
+            localCache.invalidate(productCode);
+        }
     }
 }
@@ -0,0 +1,53 @@
+package com.sivalabs.bookstore.catalog.cache;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import com.sivalabs.bookstore.catalog.domain.ProductEntity;
+import com.sivalabs.bookstore.common.cache.CompactSchemaVersions;
+
+/**
+ * Compact serializer for {@link ProductEntity} values in the products-cache.
+ *
+ * Replaces the reflective zero-config Compact schema Hazelcast derives for the entity, which
+ * would otherwise track any JPA-only field added to the class.
+ */
+public class ProductEntityCompactSerializer implements CompactSerializer<ProductEntity> {
+
+    static final String TYPE_NAME = "bookstore.catalog.ProductEntity";
+    static final int SCHEMA_VERSION = 1;
+
+    @Override
+    public ProductEntity read(CompactReader reader) {
+        CompactSchemaVersions.readSupportedVersion(reader, TYPE_NAME, SCHEMA_VERSION);
+        ProductEntity product = new ProductEntity();
+        product.setId(reader.readNullableInt64("id"));
+        product.setCode(reader.readString("code"));
+        product.setName(reader.readString("name"));
+        product.setDescription(reader.readString("description"));
+        product.setImageUrl(reader.readString("imageUrl"));
+        product.setPrice(reader.readDecimal("price"));
+        return product;
+    }
+
+    @Override
+    public void write(CompactWriter writer, ProductEntity product) {
+        CompactSchemaVersions.writeVersion(writer, SCHEMA_VERSION);
+        writer.writeNullableInt64("id", product.getId());
+        writer.writeString("code", product.getCode());
+        writer.writeString("name", product.getName());
+        writer.writeString("description", product.getDescription());
+        writer.writeString("imageUrl", product.getImageUrl());
+        writer.writeDecimal("price", product.getPrice());
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Class<ProductEntity> getCompactClass() {
+        return ProductEntity.class;
+    }
+}
@@ -5,7 +5,10 @@ import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.sivalabs.bookstore.catalog.cache.ProductEntityCompactSerializer;
 import com.sivalabs.bookstore.catalog.cache.ProductMapStore;
+import com.sivalabs.bookstore.catalog.domain.ProductEntity;
 import com.sivalabs.bookstore.common.cache.SpringAwareMapStoreConfig;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -65,6 +68,11 @@ class HazelcastProductCacheConfig {
         return productsCacheConfig;
     }
 
+    @Bean
+    CompactSerializer<ProductEntity> productEntityCompactSerializer() {
+        return new ProductEntityCompactSerializer();
+    }
+
     private int getInt(Environment environment, String propertyKey, int defaultValue) {
         return environment.getProperty(propertyKey, Integer.class, defaultValue);
     }
@@ -4,9 +4,12 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
+    @Transactional(readOnly = true)
     Optional<ProductEntity> findByCode(String code);
 
+    @Transactional(readOnly = true)
     List<ProductEntity> findByCodeIn(Collection<String> codes);
 }
@@ -2,8 +2,15 @@ package com.sivalabs.bookstore.catalog.domain;
 
 import com.sivalabs.bookstore.catalog.cache.ProductCacheService;
 import com.sivalabs.bookstore.catalog.support.PagedResults;
+import com.sivalabs.bookstore.common.cache.SingleFlightLoader;
 import com.sivalabs.bookstore.common.models.PagedResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,10 +27,16 @@ public class ProductService {
     private static final int PRODUCT_PAGE_SIZE = 10;
     private final ProductRepository repo;
     private final ProductCacheService productCacheService;
+    private final SingleFlightLoader<String, Optional<ProductEntity>> productLoader;
 
-    ProductService(ProductRepository repo, @Autowired(required = false) ProductCacheService productCacheService) {
+    ProductService(
+            ProductRepository repo,
+            @Autowired(required = false) ProductCacheService productCacheService,
+            MeterRegistry meterRegistry) {
         this.repo = repo;
         this.productCacheService = productCacheService;
+        this.productLoader = new SingleFlightLoader<>(
+                "products-cache", meterRegistry, product -> product.map(ProductService::copyOf));
 
         if (productCacheService != null) {
             log.info("ProductService initialized with cache support enabled");
@@ -50,7 +63,14 @@ public class ProductService {
         return PagedResults.fromPage(productsPage);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Look up a product, cache first.
+     * Not transactional: concurrent misses wait in the single-flight loader without holding a
+     * connection, and only the shared load runs the read-only {@link ProductRepository#findByCode}.
+     *
+     * @param code the product code
+     * @return the product, if it exists
+     */
     public Optional<ProductEntity> getByCode(String code) {
         // Try cache first if available
         if (isCacheAvailable()) {
@@ -71,7 +91,11 @@ public class ProductService {
             log.debug("Cache service unavailable - querying database directly for product code: {}", code);
         }
 
-        // Cache miss or cache unavailable - query database
+        // Cache miss or cache unavailable - query database, sharing one load between concurrent misses
+        return productLoader.load(code, () -> loadAndCache(code));
+    }
+
+    private Optional<ProductEntity> loadAndCache(String code) {
         Optional<ProductEntity> product = repo.findByCode(code);
 
         // Cache the result if found and cache is available
@@ -87,4 +111,63 @@ public class ProductService {
 
         return product;
     }
+
+    private static ProductEntity copyOf(ProductEntity product) {
+        ProductEntity copy = new ProductEntity();
+        copy.setId(product.getId());
+        copy.setCode(product.getCode());
+        copy.setName(product.getName());
+        copy.setDescription(product.getDescription());
+        copy.setImageUrl(product.getImageUrl());
+        copy.setPrice(product.getPrice());
+        return copy;
+    }
+
+    /**
+     * Look up several products at once.
+     * Cached products are fetched in one IMap.getAll round trip; codes still missing afterwards are
+     * read with a single findByCodeIn query and cached with one putAll.
+     * Not transactional, like {@link #getByCode(String)}: no connection is held while the cache is
+     * consulted, and only the read-only {@link ProductRepository#findByCodeIn} opens a transaction.
+     *
+     * @param codes the product codes to look up
+     * @return map of the product codes found to their products
+     */
+    public Map<String, ProductEntity> getByCodes(Collection<String> codes) {
+        Set<String> requested = new LinkedHashSet<>(codes);
+        Map<String, ProductEntity> products = new HashMap<>();
+        if (requested.isEmpty()) {
+            return products;
+        }
+
+        if (isCacheAvailable()) {
+            try {
+                products.putAll(productCacheService.findByProductCodes(requested));
+                log.debug("Found {} of {} products in cache", products.size(), requested.size());
+            } catch (Exception e) {
+                log.warn("Failed to read products from cache - falling back to database: {}", e.getMessage());
+            }
+        }
+
+        Set<String> missing = new LinkedHashSet<>(requested);
+        missing.removeAll(products.keySet());
+        if (missing.isEmpty()) {
+            return products;
+        }
+
+        Map<String, ProductEntity> loaded = new HashMap<>();
+        repo.findByCodeIn(missing).forEach(product -> loaded.put(product.getCode(), product));
+        products.putAll(loaded);
+
+        if (!loaded.isEmpty() && isCacheAvailable()) {
+            try {
+                productCacheService.cacheProducts(loaded);
+                log.debug("Cached {} products after database retrieval", loaded.size());
+            } catch (Exception e) {
+                log.warn("Failed to cache {} products after database retrieval: {}", loaded.size(), e.getMessage());
+            }
+        }
+
+        return products;
+    }
 }
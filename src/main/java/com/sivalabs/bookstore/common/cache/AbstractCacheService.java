@@ -1,6 +1,12 @@
 package com.sivalabs.bookstore.common.cache;
 
 import com.hazelcast.map.IMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,12 +28,20 @@ public abstract class AbstractCacheService<K, V> {
     protected final CacheErrorHandler errorHandler;
     protected final Class<V> valueType;
 
+    /**
+     * @param cache the backing Hazelcast map
+     * @param errorHandler the shared error handler; it is scoped to this cache so that the cache gets
+     *     its own circuit breaker
+     * @param valueType the cached value type
+     */
     protected AbstractCacheService(IMap<K, Object> cache, CacheErrorHandler errorHandler, Class<V> valueType) {
         this.cache = cache;
-        this.errorHandler = errorHandler;
+        this.errorHandler = errorHandler.forCache(cache.getName());
         this.valueType = valueType;
         logger.info(
-                "{} initialized with cache: {} and error handler", getClass().getSimpleName(), cache.getName());
+                "{} initialized with cache: {} and its own circuit breaker",
+                getClass().getSimpleName(),
+                cache.getName());
     }
 
     /**
@@ -148,6 +162,11 @@ public abstract class AbstractCacheService<K, V> {
         return errorHandler.executeWithFallback(
                 () -> {
                     boolean exists = cache.containsKey(key);
+                    if (exists) {
+                        errorHandler.getMetrics().recordHit("existsInCache");
+                    } else {
+                        errorHandler.getMetrics().recordMiss("existsInCache");
+                    }
                     logger.debug("Cache existence check for {}: {}", key, exists);
                     return exists;
                 },
@@ -183,33 +202,65 @@ public abstract class AbstractCacheService<K, V> {
 
     /**
      * Warm up the cache by preloading frequently accessed entries.
+     * All keys are requested with a single {@link IMap#getAll(Set)}, which loads misses through the
+     * map's MapStore in one partition-parallel round trip.
      *
      * @param keys collection of keys to preload
      * @return number of entries successfully preloaded
      */
     public int warmUpCache(Iterable<K> keys) {
-        int successCount = 0;
+        Set<K> keySet = new LinkedHashSet<>();
+        keys.forEach(keySet::add);
+        if (keySet.isEmpty()) {
+            logger.info("{} cache warm-up skipped: no keys", getCacheDisplayName());
+            return 0;
+        }
+
         logger.info("Starting {} cache warm-up", getCacheDisplayName().toLowerCase());
 
-        for (K key : keys) {
-            boolean warmed = errorHandler.executeWithFallback(
-                    () -> {
-                        Object value = cache.get(key);
-                        return value != null;
-                    },
-                    "warmUpCache",
-                    String.valueOf(key),
-                    () -> false);
-
-            if (warmed) {
-                successCount++;
-            }
-        }
+        int successCount = errorHandler.executeWithFallback(
+                () -> cache.getAll(keySet).size(), "warmUpCache", keySet.size() + " keys", () -> 0);
 
         logger.info("{} cache warm-up completed: {} entries preloaded", getCacheDisplayName(), successCount);
         return successCount;
     }
 
+    /**
+     * Find multiple entries with a single {@link IMap#getAll(Set)} call.
+     * Hazelcast groups the keys by partition and fetches them in parallel; keys missing from the
+     * cache are loaded through the map's MapStore.loadAll.
+     *
+     * @param keys the keys to look up
+     * @return map of the keys found to their values, empty if none were found or on cache error
+     */
+    public Map<K, V> findAll(Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return errorHandler.executeWithFallback(
+                () -> {
+                    Map<K, Object> cachedValues = cache.getAll(new LinkedHashSet<>(keys));
+                    Map<K, V> result = new HashMap<>(cachedValues.size());
+                    cachedValues.forEach((key, cachedValue) -> {
+                        V value = safeCast(cachedValue, key);
+                        if (value != null) {
+                            result.put(key, value);
+                        }
+                    });
+                    errorHandler.getMetrics().recordGets("findAll", result.size(), keys.size() - result.size());
+                    logger.debug(
+                            "Found {} of {} {} entries in cache",
+                            result.size(),
+                            keys.size(),
+                            getCacheDisplayName().toLowerCase());
+                    return result;
+                },
+                "findAll",
+                keys.size() + " keys",
+                Collections::emptyMap);
+    }
+
     /**
      * Get the display name for this cache type (e.g., "Products", "Orders", "Inventory").
      * Subclasses should override this method to provide appropriate display names.
@@ -247,6 +298,33 @@ public abstract class AbstractCacheService<K, V> {
         }
     }
 
+    /**
+     * Cast a looked-up value and record the lookup as a hit or miss of {@code operationName}.
+     *
+     * @param operationName the lookup operation, used as the metrics tag
+     * @param cachedValue the object retrieved from cache
+     * @param key the cache key for logging purposes
+     * @return the cast object or null on a miss
+     */
+    protected V lookup(String operationName, Object cachedValue, K key) {
+        V value = safeCast(cachedValue, key);
+        if (value != null) {
+            errorHandler.getMetrics().recordHit(operationName);
+        } else {
+            errorHandler.getMetrics().recordMiss(operationName);
+        }
+        return value;
+    }
+
+    /**
+     * Get the hit/miss, error, fallback and latency statistics of this cache.
+     *
+     * @return the metrics of this cache, bound to a meter registry by the application's cache meter binder
+     */
+    public CacheMetrics getMetrics() {
+        return errorHandler.getMetrics();
+    }
+
     /**
      * Cache an entity with null validation.
      *
@@ -274,6 +352,35 @@ public abstract class AbstractCacheService<K, V> {
                 String.valueOf(key));
     }
 
+    /**
+     * Cache multiple entities with a single {@link IMap#putAll(Map)} call.
+     * Null values are skipped, matching {@link #cacheEntity(Object, Object)}.
+     *
+     * @param entries the entities to cache, keyed by cache key
+     * @return true if caching was successful, false otherwise
+     */
+    protected boolean cacheAll(Map<K, V> entries) {
+        Map<K, V> nonNullEntries = new HashMap<>(entries.size());
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                nonNullEntries.put(key, value);
+            }
+        });
+        if (nonNullEntries.isEmpty()) {
+            return false;
+        }
+
+        logger.debug("Caching {} {} entries", nonNullEntries.size(), getCacheDisplayName().toLowerCase());
+
+        return errorHandler.executeVoidOperation(
+                () -> {
+                    cache.putAll(nonNullEntries);
+                    logger.debug("{} {} entries cached successfully", nonNullEntries.size(), getCacheDisplayName());
+                },
+                "cacheAll" + getCacheDisplayName(),
+                nonNullEntries.size() + " entries");
+    }
+
     /**
      * Update an existing cached entity.
      *
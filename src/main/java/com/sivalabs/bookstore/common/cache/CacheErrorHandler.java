@@ -1,21 +1,20 @@
 package com.sivalabs.bookstore.common.cache;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 /**
  * Centralized error handler for cache operations.
  *
  * This utility provides consistent error handling, logging, and fallback decision-making
- * for all cache-related operations. It implements a basic circuit breaker pattern to
- * prevent cascading failures when the cache becomes unavailable.
+ * for all cache-related operations. Availability decisions are delegated to a lock-free
+ * {@link CircuitBreaker} to prevent cascading failures when the cache becomes unavailable.
  *
  * Key features:
  * - Centralized error logging with contextual information
@@ -29,25 +28,17 @@ public class CacheErrorHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(CacheErrorHandler.class);
 
-    // Circuit breaker configuration (externalized via properties)
-    private final int failureThreshold;
-    private final Duration circuitOpenDuration;
-
-    // Error tracking
-    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
-    private volatile LocalDateTime circuitOpenedAt = null;
-    private volatile boolean circuitOpen = false;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final CircuitBreaker circuitBreaker;
+    private final CacheMetrics metrics;
+    private final ConcurrentHashMap<String, CacheErrorHandler> cacheErrorHandlers = new ConcurrentHashMap<>();
 
     // Error metrics tracking
-    private final ConcurrentHashMap<String, AtomicInteger> errorCounts = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, LocalDateTime> lastErrorTimes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, OperationErrors> errorsByOperation = new ConcurrentHashMap<>();
 
     @org.springframework.beans.factory.annotation.Autowired
-    public CacheErrorHandler(
-            @Value("${bookstore.cache.circuit-breaker-failure-threshold:5}") int failureThreshold,
-            @Value("${bookstore.cache.circuit-breaker-recovery-timeout-ms:30000}") long circuitOpenMs) {
-        this.failureThreshold = failureThreshold;
-        this.circuitOpenDuration = Duration.ofMillis(circuitOpenMs);
+    public CacheErrorHandler(ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry) {
+        this(circuitBreakerRegistry.getIfAvailable(CircuitBreakerRegistry::new));
     }
 
     /**
@@ -55,8 +46,53 @@ public class CacheErrorHandler {
      * is not available. Uses sensible defaults aligned with configuration defaults.
      */
     public CacheErrorHandler() {
-        this.failureThreshold = 5;
-        this.circuitOpenDuration = Duration.ofMillis(30_000L);
+        this(new CircuitBreakerRegistry());
+    }
+
+    public CacheErrorHandler(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this(circuitBreakerRegistry, new CircuitBreaker("cache", circuitBreakerRegistry.getDefaultSettings()));
+    }
+
+    public CacheErrorHandler(CircuitBreaker circuitBreaker) {
+        this(new CircuitBreakerRegistry(), circuitBreaker);
+    }
+
+    private CacheErrorHandler(CircuitBreakerRegistry circuitBreakerRegistry, CircuitBreaker circuitBreaker) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = new CacheMetrics(circuitBreaker.getName());
+    }
+
+    /**
+     * Get an error handler scoped to a single cache.
+     *
+     * The returned handler uses the registry's circuit breaker for {@code cacheName} and keeps its own
+     * per-operation error statistics and {@link CacheMetrics}, so failures on one cache never bypass
+     * another. Repeated calls for the same cache return the same handler.
+     *
+     * @param cacheName the Hazelcast map name
+     * @return an error handler guarded by that cache's circuit breaker
+     */
+    public CacheErrorHandler forCache(String cacheName) {
+        CacheErrorHandler cacheErrorHandler = cacheErrorHandlers.get(cacheName);
+        if (cacheErrorHandler != null) {
+            return cacheErrorHandler;
+        }
+        return cacheErrorHandlers.computeIfAbsent(
+                cacheName,
+                name -> new CacheErrorHandler(circuitBreakerRegistry, circuitBreakerRegistry.circuitBreaker(name)));
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public CacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    public CircuitBreakerRegistry getCircuitBreakerRegistry() {
+        return circuitBreakerRegistry;
     }
 
     /**
@@ -84,20 +120,24 @@ public class CacheErrorHandler {
      * @return the result of the operation, or the fallback result if it fails
      */
     public <T> T executeWithFallback(Supplier<T> operation, String operationName, String key, Supplier<T> fallback) {
-        // Check circuit breaker state
-        if (isCircuitOpen()) {
+        // Check circuit breaker state (consumes a probe permit when half-open)
+        if (!circuitBreaker.tryAcquirePermission()) {
             logger.debug("Circuit breaker is open, skipping cache operation: {} for key: {}", operationName, key);
-            recordError(operationName, "Circuit breaker open");
+            metrics.recordFallback(operationName, CacheMetrics.FallbackReason.CIRCUIT_OPEN);
             return fallback.get();
         }
 
+        long startNanos = System.nanoTime();
         try {
             T result = operation.get();
+            metrics.recordLatency(operationName, System.nanoTime() - startNanos);
             recordSuccess(operationName);
             return result;
 
         } catch (Exception e) {
+            metrics.recordLatency(operationName, System.nanoTime() - startNanos);
             handleCacheError(e, operationName, key);
+            metrics.recordFallback(operationName, CacheMetrics.FallbackReason.ERROR);
             return fallback.get();
         }
     }
@@ -111,20 +151,24 @@ public class CacheErrorHandler {
      * @return true if the operation succeeded, false if it failed
      */
     public boolean executeVoidOperation(Runnable operation, String operationName, String key) {
-        // Check circuit breaker state
-        if (isCircuitOpen()) {
+        // Check circuit breaker state (consumes a probe permit when half-open)
+        if (!circuitBreaker.tryAcquirePermission()) {
             logger.debug("Circuit breaker is open, skipping cache operation: {} for key: {}", operationName, key);
-            recordError(operationName, "Circuit breaker open");
+            metrics.recordFallback(operationName, CacheMetrics.FallbackReason.CIRCUIT_OPEN);
             return false;
         }
 
+        long startNanos = System.nanoTime();
         try {
             operation.run();
+            metrics.recordLatency(operationName, System.nanoTime() - startNanos);
             recordSuccess(operationName);
             return true;
 
         } catch (Exception e) {
+            metrics.recordLatency(operationName, System.nanoTime() - startNanos);
             handleCacheError(e, operationName, key);
+            metrics.recordFallback(operationName, CacheMetrics.FallbackReason.ERROR);
             return false;
         }
     }
@@ -150,31 +194,17 @@ public class CacheErrorHandler {
         logger.debug("Cache operation failure details for {} with key {}", operationName, key, exception);
 
         // Update circuit breaker state
-        int failures = consecutiveFailures.incrementAndGet();
-        if (failures >= failureThreshold && !circuitOpen) {
-            openCircuit();
-        }
+        circuitBreaker.onFailure();
     }
 
     /**
      * Check if cache operations should be allowed or if we should fallback.
+     * This does not consume a half-open probe permit.
      *
-     * @return true if the circuit breaker is open (cache unavailable), false otherwise
+     * @return true if the circuit breaker is rejecting calls (cache unavailable), false otherwise
      */
     public boolean isCircuitOpen() {
-        if (!circuitOpen) {
-            return false;
-        }
-
-        // Check if circuit should be closed (recovery attempt)
-        LocalDateTime openedAt = circuitOpenedAt;
-        if (openedAt != null && Duration.between(openedAt, LocalDateTime.now()).compareTo(circuitOpenDuration) > 0) {
-            // Time to try again - half-open state
-            logger.info("Circuit breaker entering half-open state - attempting cache recovery");
-            return false;
-        }
-
-        return true;
+        return circuitBreaker.isCallNotPermitted();
     }
 
     /**
@@ -188,7 +218,7 @@ public class CacheErrorHandler {
     public boolean checkCacheHealth(Supplier<Boolean> healthCheck) {
         try {
             if (healthCheck.get()) {
-                closeCircuit();
+                circuitBreaker.transitionToClosed();
                 logger.info("Cache health check passed - circuit breaker closed");
                 return true;
             } else {
@@ -210,15 +240,17 @@ public class CacheErrorHandler {
     public String getCacheErrorStats() {
         StringBuilder stats = new StringBuilder();
         stats.append("Cache Error Statistics:\n");
-        stats.append(String.format("  Circuit Breaker: %s\n", circuitOpen ? "OPEN" : "CLOSED"));
-        stats.append(String.format("  Consecutive Failures: %d\n", consecutiveFailures.get()));
-
-        if (circuitOpenedAt != null) {
-            stats.append(String.format("  Circuit Opened At: %s\n", circuitOpenedAt));
-        }
-
-        errorCounts.forEach((operation, count) -> stats.append(
-                String.format("  %s Errors: %d (Last: %s)\n", operation, count.get(), lastErrorTimes.get(operation))));
+        stats.append(String.format("  Circuit Breaker: %s\n", circuitBreaker.getState()));
+        stats.append(String.format(
+                "  Failure Rate: %.1f%% (%d of %d calls in window)\n",
+                circuitBreaker.getFailureRate(),
+                circuitBreaker.getFailedCalls(),
+                circuitBreaker.getBufferedCalls()));
+        stats.append(String.format("  Not Permitted Calls: %d\n", circuitBreaker.getNotPermittedCalls()));
+
+        errorsByOperation.forEach((operation, errors) -> stats.append(String.format(
+                "  %s Errors: %d (Last: %s)\n",
+                operation, errors.count.sum(), Instant.ofEpochMilli(errors.lastErrorMillis))));
 
         return stats.toString();
     }
@@ -228,11 +260,8 @@ public class CacheErrorHandler {
      * Useful for testing or manual recovery.
      */
     public void resetErrorState() {
-        consecutiveFailures.set(0);
-        circuitOpen = false;
-        circuitOpenedAt = null;
-        errorCounts.clear();
-        lastErrorTimes.clear();
+        circuitBreaker.reset();
+        errorsByOperation.clear();
         logger.info("Cache error state has been reset");
     }
 
@@ -247,8 +276,8 @@ public class CacheErrorHandler {
             return true;
         }
 
-        AtomicInteger operationErrors = errorCounts.get(operationName);
-        if (operationErrors != null && operationErrors.get() > 3) {
+        OperationErrors operationErrors = errorsByOperation.get(operationName);
+        if (operationErrors != null && operationErrors.count.sum() > 3) {
             logger.debug("Recommending database fallback for {} due to repeated errors", operationName);
             return true;
         }
@@ -257,37 +286,24 @@ public class CacheErrorHandler {
     }
 
     private void recordSuccess(String operationName) {
-        // Reset consecutive failures on success
-        consecutiveFailures.set(0);
-
-        // If circuit was open, close it on first success
-        if (circuitOpen) {
-            closeCircuit();
-            logger.debug("Cache operation {} succeeded after circuit breaker recovery", operationName);
-        } else {
-            logger.trace("Cache operation {} completed successfully", operationName);
-        }
+        circuitBreaker.onSuccess();
+        logger.trace("Cache operation {} completed successfully", operationName);
     }
 
     private void recordError(String operationName, String errorMessage) {
-        errorCounts.computeIfAbsent(operationName, k -> new AtomicInteger(0)).incrementAndGet();
-        lastErrorTimes.put(operationName, LocalDateTime.now());
+        OperationErrors errors = errorsByOperation.get(operationName);
+        if (errors == null) {
+            errors = errorsByOperation.computeIfAbsent(operationName, k -> new OperationErrors());
+        }
+        errors.count.increment();
+        errors.lastErrorMillis = System.currentTimeMillis();
+        metrics.recordError(operationName);
 
         logger.debug("Recorded error for operation {}: {}", operationName, errorMessage);
     }
 
-    private void openCircuit() {
-        circuitOpen = true;
-        circuitOpenedAt = LocalDateTime.now();
-        logger.warn(
-                "Circuit breaker OPENED - Cache operations will be bypassed for {} seconds",
-                circuitOpenDuration.getSeconds());
-    }
-
-    private void closeCircuit() {
-        circuitOpen = false;
-        circuitOpenedAt = null;
-        consecutiveFailures.set(0);
-        logger.info("Circuit breaker CLOSED - Cache operations resumed");
+    private static final class OperationErrors {
+        private final LongAdder count = new LongAdder();
+        private volatile long lastErrorMillis;
     }
 }
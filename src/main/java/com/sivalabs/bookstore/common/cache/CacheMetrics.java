@@ -0,0 +1,166 @@
+package com.sivalabs.bookstore.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-cache, per-operation hit/miss, error, fallback and latency statistics.
+ *
+ * Recording is a map lookup on the operation name plus {@link LongAdder} increments, so it is cheap
+ * enough to stay on in production. Counters are published as function counters reading those adders:
+ * <ul>
+ *   <li>{@code bookstore.cache.gets} (tags {@code cache}, {@code operation}, {@code result=hit|miss})</li>
+ *   <li>{@code bookstore.cache.errors} (tags {@code cache}, {@code operation})</li>
+ *   <li>{@code bookstore.cache.fallbacks} (tags {@code cache}, {@code operation},
+ *       {@code reason=circuit_open|error})</li>
+ *   <li>{@code bookstore.cache.operation.duration} timer with a percentile histogram
+ *       (tags {@code cache}, {@code operation})</li>
+ * </ul>
+ * Meters for an operation are registered the first time it is recorded after {@link #bindTo} was
+ * called; latency samples taken before binding are not kept.
+ */
+public final class CacheMetrics implements MeterBinder {
+
+    private static final String METRICS_PREFIX = "bookstore.cache";
+
+    public enum FallbackReason {
+        CIRCUIT_OPEN,
+        ERROR
+    }
+
+    private final String cacheName;
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public CacheMetrics(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        synchronized (operations) {
+            this.meterRegistry = registry;
+            operations.forEach((operation, metrics) -> metrics.register(operation, registry));
+        }
+    }
+
+    public void recordHit(String operation) {
+        operation(operation).hits.increment();
+    }
+
+    public void recordMiss(String operation) {
+        operation(operation).misses.increment();
+    }
+
+    public void recordGets(String operation, long hits, long misses) {
+        OperationMetrics metrics = operation(operation);
+        metrics.hits.add(hits);
+        metrics.misses.add(misses);
+    }
+
+    public void recordError(String operation) {
+        operation(operation).errors.increment();
+    }
+
+    public void recordFallback(String operation, FallbackReason reason) {
+        OperationMetrics metrics = operation(operation);
+        if (reason == FallbackReason.CIRCUIT_OPEN) {
+            metrics.circuitOpenFallbacks.increment();
+        } else {
+            metrics.errorFallbacks.increment();
+        }
+    }
+
+    public void recordLatency(String operation, long nanos) {
+        Timer latency = operation(operation).latency;
+        if (latency != null) {
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public long getHits(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        return metrics != null ? metrics.hits.sum() : 0;
+    }
+
+    public long getMisses(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        return metrics != null ? metrics.misses.sum() : 0;
+    }
+
+    public long getErrors(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        return metrics != null ? metrics.errors.sum() : 0;
+    }
+
+    public long getFallbacks(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        return metrics != null ? metrics.circuitOpenFallbacks.sum() + metrics.errorFallbacks.sum() : 0;
+    }
+
+    private OperationMetrics operation(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        if (metrics != null) {
+            return metrics;
+        }
+        synchronized (operations) {
+            return operations.computeIfAbsent(operation, this::createOperationMetrics);
+        }
+    }
+
+    private OperationMetrics createOperationMetrics(String operation) {
+        OperationMetrics metrics = new OperationMetrics();
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            metrics.register(operation, registry);
+        }
+        return metrics;
+    }
+
+    private final class OperationMetrics {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder circuitOpenFallbacks = new LongAdder();
+        private final LongAdder errorFallbacks = new LongAdder();
+        private volatile Timer latency;
+
+        private void register(String operation, MeterRegistry registry) {
+            FunctionCounter.builder(METRICS_PREFIX + ".gets", hits, LongAdder::sum)
+                    .description("Cache lookups by result")
+                    .tags("cache", cacheName, "operation", operation, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder(METRICS_PREFIX + ".gets", misses, LongAdder::sum)
+                    .description("Cache lookups by result")
+                    .tags("cache", cacheName, "operation", operation, "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder(METRICS_PREFIX + ".errors", errors, LongAdder::sum)
+                    .description("Cache operations that failed with an exception")
+                    .tags("cache", cacheName, "operation", operation)
+                    .register(registry);
+            FunctionCounter.builder(METRICS_PREFIX + ".fallbacks", circuitOpenFallbacks, LongAdder::sum)
+                    .description("Cache operations answered by the fallback path instead of the cache")
+                    .tags("cache", cacheName, "operation", operation, "reason", "circuit_open")
+                    .register(registry);
+            FunctionCounter.builder(METRICS_PREFIX + ".fallbacks", errorFallbacks, LongAdder::sum)
+                    .description("Cache operations answered by the fallback path instead of the cache")
+                    .tags("cache", cacheName, "operation", operation, "reason", "error")
+                    .register(registry);
+            latency = Timer.builder(METRICS_PREFIX + ".operation.duration")
+                    .description("Latency of cache operations")
+                    .tags("cache", cacheName, "operation", operation)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.sivalabs.bookstore.common.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lock-free circuit breaker with a time-based sliding failure-rate window.
+ *
+ * The CLOSED / OPEN / HALF_OPEN state lives in a single {@link AtomicLong}: the two high bits hold
+ * the state, the remaining bits hold the open timestamp (OPEN) or the admitted and successful probe
+ * counts (HALF_OPEN). Every transition is a single compare-and-set, so exactly one caller wins it.
+ *
+ * Outcomes in CLOSED state are counted in a ring of time slices backed by {@link LongAdder}s.
+ * Recording a success is a volatile read, {@link System#nanoTime()} and a striped increment, with
+ * no allocation and no shared write. The window is only summed on failures. Slice rollover is
+ * best-effort: an increment racing with the reset of a recycled slice may be lost.
+ *
+ * The circuit opens when at least {@code minimumNumberOfCalls} calls were recorded in the window
+ * and the failure rate reaches {@code failureRateThreshold}. After {@code openDuration} up to
+ * {@code permittedHalfOpenCalls} probes are admitted; the circuit closes when all of them succeed
+ * and reopens on the first probe failure.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Breaker thresholds.
+     *
+     * @param failureRateThreshold failure percentage (1-100) in the window that opens the circuit
+     * @param minimumNumberOfCalls calls required in the window before the failure rate is evaluated
+     * @param slidingWindow length of the failure-rate window
+     * @param openDuration how long the circuit stays open before admitting probes
+     * @param permittedHalfOpenCalls probes admitted in half-open state, all of which must succeed
+     */
+    public record Settings(
+            int failureRateThreshold,
+            int minimumNumberOfCalls,
+            Duration slidingWindow,
+            Duration openDuration,
+            int permittedHalfOpenCalls) {
+
+        public Settings {
+            if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+                throw new IllegalArgumentException("failureRateThreshold must be between 1 and 100");
+            }
+            if (minimumNumberOfCalls < 1 || permittedHalfOpenCalls < 1) {
+                throw new IllegalArgumentException("minimumNumberOfCalls and permittedHalfOpenCalls must be positive");
+            }
+            if (slidingWindow.isNegative() || slidingWindow.isZero() || openDuration.isNegative()) {
+                throw new IllegalArgumentException("slidingWindow must be positive and openDuration not negative");
+            }
+        }
+
+        public static Settings defaults() {
+            return new Settings(50, 5, Duration.ofSeconds(10), Duration.ofSeconds(30), 3);
+        }
+    }
+
+    private static final int STATE_SHIFT = 62;
+    private static final long PAYLOAD_MASK = (1L << STATE_SHIFT) - 1;
+    private static final long CLOSED = 0L;
+    private static final long OPEN = 1L;
+    private static final long HALF_OPEN = 2L;
+    private static final int PROBE_BITS = 31;
+    private static final long PROBE_MASK = (1L << PROBE_BITS) - 1;
+    private static final int WINDOW_SLICES = 10;
+
+    private final String name;
+    private final Settings settings;
+    private final long baseNanos = System.nanoTime();
+    private final long openDurationNanos;
+    private final long sliceNanos;
+    private final AtomicLong state = new AtomicLong(encode(CLOSED, 0));
+    private final Slice[] slices = new Slice[WINDOW_SLICES];
+    private final LongAdder notPermittedCalls = new LongAdder();
+    private volatile long halfOpenSinceNanos;
+
+    public CircuitBreaker(String name, Settings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.openDurationNanos = settings.openDuration().toNanos();
+        this.sliceNanos = Math.max(1, settings.slidingWindow().toNanos() / WINDOW_SLICES);
+        for (int i = 0; i < WINDOW_SLICES; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Ask permission for a call. In half-open state this consumes one of the probe permits.
+     *
+     * @return true if the call may proceed, false if it must take the fallback path
+     */
+    public boolean tryAcquirePermission() {
+        while (true) {
+            long current = state.get();
+            long currentState = stateOf(current);
+            if (currentState == CLOSED) {
+                return true;
+            }
+
+            long now = System.nanoTime();
+            if (currentState == OPEN) {
+                if (now - openedAt(current) < openDurationNanos) {
+                    notPermittedCalls.increment();
+                    return false;
+                }
+                if (state.compareAndSet(current, halfOpen(1, 0))) {
+                    // Only the thread that won the transition records it, as on the re-admit path below
+                    halfOpenSinceNanos = now;
+                    logger.info(
+                            "Circuit breaker {} HALF_OPEN - admitting up to {} probes",
+                            name,
+                            settings.permittedHalfOpenCalls());
+                    return true;
+                }
+                continue;
+            }
+
+            long admitted = current & PROBE_MASK;
+            if (admitted < settings.permittedHalfOpenCalls()) {
+                if (state.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                continue;
+            }
+            // All probes taken: re-admit if none of them reported back within the open duration
+            if (now - halfOpenSinceNanos >= openDurationNanos && state.compareAndSet(current, halfOpen(1, 0))) {
+                halfOpenSinceNanos = now;
+                return true;
+            }
+            if (state.get() == current) {
+                notPermittedCalls.increment();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Check, without consuming a probe permit, whether calls are currently being rejected.
+     */
+    public boolean isCallNotPermitted() {
+        long current = state.get();
+        long currentState = stateOf(current);
+        if (currentState == CLOSED) {
+            return false;
+        }
+        if (currentState == OPEN) {
+            return System.nanoTime() - openedAt(current) < openDurationNanos;
+        }
+        return (current & PROBE_MASK) >= settings.permittedHalfOpenCalls()
+                && System.nanoTime() - halfOpenSinceNanos < openDurationNanos;
+    }
+
+    public void onSuccess() {
+        long current = state.get();
+        long currentState = stateOf(current);
+        if (currentState == CLOSED) {
+            currentSlice(System.nanoTime()).successes.increment();
+            return;
+        }
+        if (currentState == HALF_OPEN) {
+            onProbeSuccess();
+        }
+        // OPEN: a call admitted before the circuit opened; its outcome no longer matters
+    }
+
+    public void onFailure() {
+        long current = state.get();
+        long currentState = stateOf(current);
+        long now = System.nanoTime();
+        if (currentState == CLOSED) {
+            currentSlice(now).failures.increment();
+            if (failureRateExceeded(now) && state.compareAndSet(current, encode(OPEN, now - baseNanos))) {
+                logger.warn(
+                        "Circuit breaker {} OPENED - failure rate {}% over the last {} - calls bypassed for {}",
+                        name,
+                        Math.round(getFailureRate()),
+                        settings.slidingWindow(),
+                        settings.openDuration());
+            }
+            return;
+        }
+        if (currentState == HALF_OPEN && state.compareAndSet(current, encode(OPEN, now - baseNanos))) {
+            logger.warn("Circuit breaker {} probe failed - OPEN again for {}", name, settings.openDuration());
+        }
+    }
+
+    /**
+     * Close the circuit and clear the failure window, e.g. after a successful health check.
+     */
+    public void transitionToClosed() {
+        long previous = state.getAndSet(encode(CLOSED, 0));
+        clearWindow();
+        if (stateOf(previous) != CLOSED) {
+            logger.info("Circuit breaker {} CLOSED - calls resumed", name);
+        }
+    }
+
+    /**
+     * Close the circuit and clear all recorded statistics.
+     */
+    public void reset() {
+        transitionToClosed();
+        notPermittedCalls.reset();
+    }
+
+    public State getState() {
+        long currentState = stateOf(state.get());
+        if (currentState == OPEN) {
+            return State.OPEN;
+        }
+        return currentState == HALF_OPEN ? State.HALF_OPEN : State.CLOSED;
+    }
+
+    /**
+     * @return failure percentage over the sliding window, or 0 if no calls were recorded
+     */
+    public double getFailureRate() {
+        long now = System.nanoTime();
+        long calls = windowCalls(now);
+        return calls == 0 ? 0.0 : windowFailures(now) * 100.0 / calls;
+    }
+
+    public long getBufferedCalls() {
+        return windowCalls(System.nanoTime());
+    }
+
+    public long getFailedCalls() {
+        return windowFailures(System.nanoTime());
+    }
+
+    public long getNotPermittedCalls() {
+        return notPermittedCalls.sum();
+    }
+
+    private void onProbeSuccess() {
+        while (true) {
+            long current = state.get();
+            if (stateOf(current) != HALF_OPEN) {
+                return;
+            }
+            long successes = ((current & PAYLOAD_MASK) >>> PROBE_BITS) + 1;
+            if (successes >= settings.permittedHalfOpenCalls()) {
+                if (state.compareAndSet(current, encode(CLOSED, 0))) {
+                    clearWindow();
+                    logger.info("Circuit breaker {} CLOSED after {} successful probes", name, successes);
+                    return;
+                }
+            } else if (state.compareAndSet(current, halfOpen(current & PROBE_MASK, successes))) {
+                return;
+            }
+        }
+    }
+
+    private boolean failureRateExceeded(long now) {
+        long calls = windowCalls(now);
+        if (calls < settings.minimumNumberOfCalls()) {
+            return false;
+        }
+        return windowFailures(now) * 100 >= (long) settings.failureRateThreshold() * calls;
+    }
+
+    private Slice currentSlice(long now) {
+        long index = (now - baseNanos) / sliceNanos;
+        Slice slice = slices[(int) (index % WINDOW_SLICES)];
+        long seen = slice.index.get();
+        if (seen < index && slice.index.compareAndSet(seen, index)) {
+            slice.successes.reset();
+            slice.failures.reset();
+        }
+        return slice;
+    }
+
+    private long windowCalls(long now) {
+        long oldest = (now - baseNanos) / sliceNanos - WINDOW_SLICES + 1;
+        long calls = 0;
+        for (Slice slice : slices) {
+            if (slice.index.get() >= oldest) {
+                calls += slice.successes.sum() + slice.failures.sum();
+            }
+        }
+        return calls;
+    }
+
+    private long windowFailures(long now) {
+        long oldest = (now - baseNanos) / sliceNanos - WINDOW_SLICES + 1;
+        long failures = 0;
+        for (Slice slice : slices) {
+            if (slice.index.get() >= oldest) {
+                failures += slice.failures.sum();
+            }
+        }
+        return failures;
+    }
+
+    private void clearWindow() {
+        for (Slice slice : slices) {
+            slice.successes.reset();
+            slice.failures.reset();
+        }
+    }
+
+    private long openedAt(long word) {
+        return baseNanos + (word & PAYLOAD_MASK);
+    }
+
+    private static long stateOf(long word) {
+        return word >>> STATE_SHIFT;
+    }
+
+    private static long encode(long state, long payload) {
+        return (state << STATE_SHIFT) | (payload & PAYLOAD_MASK);
+    }
+
+    private static long halfOpen(long admitted, long successes) {
+        return encode(HALF_OPEN, (successes << PROBE_BITS) | admitted);
+    }
+
+    private static final class Slice {
+        private final AtomicLong index = new AtomicLong(-1);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+}
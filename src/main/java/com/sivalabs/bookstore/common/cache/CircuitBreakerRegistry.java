@@ -0,0 +1,91 @@
+package com.sivalabs.bookstore.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds one {@link CircuitBreaker} per cache name, so a failing map only bypasses its own cache.
+ *
+ * Breakers are created on first use with the settings configured for that cache, or the default
+ * settings when the cache has no dedicated configuration. Each breaker is published on the meter
+ * registry as {@code bookstore.cache.circuit-breaker.state} (0=closed, 1=open, 2=half-open),
+ * {@code .failure-rate} and {@code .not-permitted}, tagged with the cache name.
+ */
+public class CircuitBreakerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+    private static final String METRICS_PREFIX = "bookstore.cache.circuit-breaker";
+
+    private final CircuitBreaker.Settings defaultSettings;
+    private final Map<String, CircuitBreaker.Settings> cacheSettings;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry() {
+        this(CircuitBreaker.Settings.defaults(), Map.of(), Metrics.globalRegistry);
+    }
+
+    public CircuitBreakerRegistry(
+            CircuitBreaker.Settings defaultSettings,
+            Map<String, CircuitBreaker.Settings> cacheSettings,
+            MeterRegistry meterRegistry) {
+        this.defaultSettings = defaultSettings;
+        this.cacheSettings = Map.copyOf(cacheSettings);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Get the circuit breaker for a cache, creating it on first use.
+     *
+     * @param cacheName the Hazelcast map name
+     * @return the breaker guarding that cache
+     */
+    public CircuitBreaker circuitBreaker(String cacheName) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(cacheName);
+        if (circuitBreaker != null) {
+            return circuitBreaker;
+        }
+        return circuitBreakers.computeIfAbsent(cacheName, this::createCircuitBreaker);
+    }
+
+    /**
+     * @return the breakers created so far, keyed and sorted by cache name
+     */
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(new TreeMap<>(circuitBreakers));
+    }
+
+    public CircuitBreaker.Settings getDefaultSettings() {
+        return defaultSettings;
+    }
+
+    private CircuitBreaker createCircuitBreaker(String cacheName) {
+        CircuitBreaker.Settings settings = cacheSettings.getOrDefault(cacheName, defaultSettings);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(cacheName, settings);
+
+        Gauge.builder(METRICS_PREFIX + ".state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("Circuit breaker state (0=closed, 1=open, 2=half-open)")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        Gauge.builder(METRICS_PREFIX + ".failure-rate", circuitBreaker, CircuitBreaker::getFailureRate)
+                .description("Failure percentage over the circuit breaker sliding window")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        FunctionCounter.builder(METRICS_PREFIX + ".not-permitted", circuitBreaker, CircuitBreaker::getNotPermittedCalls)
+                .description("Calls that bypassed the cache because the circuit breaker rejected them")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+
+        logger.info("Created circuit breaker for {} with {}", cacheName, settings);
+        return circuitBreaker;
+    }
+}
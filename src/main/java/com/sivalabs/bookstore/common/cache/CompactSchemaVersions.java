@@ -0,0 +1,56 @@
+package com.sivalabs.bookstore.common.cache;
+
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+/**
+ * Helpers shared by the Compact serializers that modules register for their cached entities.
+ *
+ * <p>Every serializer writes a {@value #VERSION_FIELD} field next to its payload and keeps its
+ * type name stable across versions. Fields added in a later version must be read behind
+ * {@link #hasField(CompactReader, String)} so entries written by older members, or still held in
+ * backups, keep deserializing during a rolling upgrade. Fields are never renamed or retyped;
+ * a replacement field is added instead.</p>
+ *
+ * <p>The version is only bumped when a layout cannot be read that way. Serializers start their
+ * {@code read} with {@link #readSupportedVersion(CompactReader, String, int)}, branch on the
+ * returned version for older layouts, and refuse entries written by a newer, incompatible layout
+ * instead of misreading them; the cache services treat the failed read as a miss.</p>
+ */
+public final class CompactSchemaVersions {
+
+    public static final String VERSION_FIELD = "schemaVersion";
+
+    private CompactSchemaVersions() {}
+
+    public static void writeVersion(CompactWriter writer, int version) {
+        writer.writeInt32(VERSION_FIELD, version);
+    }
+
+    /**
+     * Returns the schema version the entry was written with, or 0 when it predates versioning.
+     */
+    public static int readVersion(CompactReader reader) {
+        return hasField(reader, VERSION_FIELD) ? reader.readInt32(VERSION_FIELD) : 0;
+    }
+
+    /**
+     * Returns the schema version of the entry being read after checking that this member knows it.
+     *
+     * @throws HazelcastSerializationException if the entry was written with a newer schema version
+     */
+    public static int readSupportedVersion(CompactReader reader, String typeName, int supportedVersion) {
+        int version = readVersion(reader);
+        if (version > supportedVersion) {
+            throw new HazelcastSerializationException("Cannot read " + typeName + " schema version " + version
+                    + ", this member supports up to version " + supportedVersion);
+        }
+        return version;
+    }
+
+    public static boolean hasField(CompactReader reader, String fieldName) {
+        return reader.getFieldKind(fieldName) != FieldKind.NOT_AVAILABLE;
+    }
+}
@@ -0,0 +1,114 @@
+package com.sivalabs.bookstore.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces concurrent cache-miss loads for the same key into a single in-flight call.
+ *
+ * The first caller for a key runs the loader; callers arriving while it is still running wait for
+ * its result, or its exception. Nothing is kept once the load completes, so this only collapses
+ * concurrent misses and never serves stale data. The first caller gets the loaded value itself and
+ * every waiting caller gets its own copy made with the {@code copier}, so mutable values such as
+ * entities are never shared between callers.
+ *
+ * The loader runs on the first caller's thread, so the load should open its own transaction
+ * rather than run inside one opened by the caller; callers waiting here then hold no connection.
+ *
+ * Loads and coalesced callers are exposed as {@code bookstore.cache.single-flight.loads} and
+ * {@code bookstore.cache.single-flight.coalesced} (tag {@code cache}).
+ *
+ * @param <K> the key type
+ * @param <V> the loaded value type
+ */
+public class SingleFlightLoader<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlightLoader.class);
+    private static final String METRICS_PREFIX = "bookstore.cache.single-flight";
+
+    private final String name;
+    private final UnaryOperator<V> copier;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Create a loader for immutable values, which coalesced callers can share as they are.
+     */
+    public SingleFlightLoader(String name, MeterRegistry meterRegistry) {
+        this(name, meterRegistry, UnaryOperator.identity());
+    }
+
+    public SingleFlightLoader(String name, MeterRegistry meterRegistry, UnaryOperator<V> copier) {
+        this.name = name;
+        this.copier = copier;
+        FunctionCounter.builder(METRICS_PREFIX + ".loads", loads, LongAdder::sum)
+                .description("Cache-miss loads executed against the backing store")
+                .tag("cache", name)
+                .register(meterRegistry);
+        FunctionCounter.builder(METRICS_PREFIX + ".coalesced", coalesced, LongAdder::sum)
+                .description("Callers that shared an in-flight load instead of issuing their own")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load the value for {@code key}, joining an in-flight load for the same key if there is one.
+     *
+     * @param key the key being loaded
+     * @param loader the load to run when no load for the key is in flight
+     * @return the loaded value, or a copy of it for callers that joined an in-flight load
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            logger.debug("Joining in-flight {} load for key {}", name, key);
+            return copier.apply(await(existing));
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
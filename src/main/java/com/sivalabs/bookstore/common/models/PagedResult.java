@@ -1,5 +1,6 @@
 package com.sivalabs.bookstore.common.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 import java.util.function.Function;
@@ -17,7 +18,22 @@ public record PagedResult<T>(
         @Schema(description = "Whether there is a next page available", example = "true", required = true)
                 boolean hasNext,
         @Schema(description = "Whether there is a previous page available", example = "false", required = true)
-                boolean hasPrevious) {
+                boolean hasPrevious,
+        @Schema(description = "Keyset pagination token for the next page, absent on the last page", example = "1234")
+                @JsonInclude(JsonInclude.Include.NON_NULL)
+                String nextPageToken) {
+
+    public PagedResult(
+            List<T> data,
+            long totalElements,
+            int pageNumber,
+            int totalPages,
+            boolean isFirst,
+            boolean isLast,
+            boolean hasNext,
+            boolean hasPrevious) {
+        this(data, totalElements, pageNumber, totalPages, isFirst, isLast, hasNext, hasPrevious, null);
+    }
 
     public static <S, T> PagedResult<T> of(PagedResult<S> pagedResult, Function<S, T> mapper) {
         return new PagedResult<>(
@@ -28,6 +44,7 @@ public record PagedResult<T>(
                 pagedResult.isFirst,
                 pagedResult.isLast,
                 pagedResult.hasNext,
-                pagedResult.hasPrevious);
+                pagedResult.hasPrevious,
+                pagedResult.nextPageToken);
     }
 }
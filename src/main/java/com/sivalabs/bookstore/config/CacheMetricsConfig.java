@@ -2,16 +2,15 @@ package com.sivalabs.bookstore.config;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
-import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
-import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -31,17 +30,6 @@ public class CacheMetricsConfig {
     private final IMap<String, Object> ordersCache;
     private final CacheProperties cacheProperties;
 
-    // Custom metrics counters
-    private Counter cacheHitCounter;
-    private Counter cacheMissCounter;
-    private Counter cacheEvictionCounter;
-    private Counter cacheErrorCounter;
-    private Timer cacheOperationTimer;
-
-    // Circuit breaker metrics
-    private final AtomicLong circuitBreakerOpenTime = new AtomicLong(0);
-    private final AtomicLong circuitBreakerTotalFailures = new AtomicLong(0);
-
     public CacheMetricsConfig(
             MeterRegistry meterRegistry,
             HazelcastInstance hazelcastInstance,
@@ -53,36 +41,24 @@ public class CacheMetricsConfig {
         this.cacheProperties = cacheProperties;
     }
 
+    /**
+     * Binds hit/miss, error, fallback and latency metrics of every cache service, tagged per cache and
+     * operation. Circuit breaker state is published per cache by the CircuitBreakerRegistry.
+     *
+     * Static because it is a bean post-processor and must not pull this configuration in early.
+     *
+     * @param meterRegistry the application meter registry, resolved when the first cache service is created
+     * @return post-processor binding each cache service as it is created
+     */
+    @Bean
+    public static CacheServiceMeterBinder cacheServiceMeterBinder(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new CacheServiceMeterBinder(meterRegistry);
+    }
+
     @PostConstruct
     public void initializeCacheMetrics() {
         logger.info("Initializing cache metrics for Prometheus monitoring");
 
-        // Initialize custom counters
-        cacheHitCounter = Counter.builder(CACHE_METRICS_PREFIX + ".hits")
-                .description("Number of cache hits")
-                .tag("cache", "orders-cache")
-                .register(meterRegistry);
-
-        cacheMissCounter = Counter.builder(CACHE_METRICS_PREFIX + ".misses")
-                .description("Number of cache misses")
-                .tag("cache", "orders-cache")
-                .register(meterRegistry);
-
-        cacheEvictionCounter = Counter.builder(CACHE_METRICS_PREFIX + ".evictions")
-                .description("Number of cache evictions")
-                .tag("cache", "orders-cache")
-                .register(meterRegistry);
-
-        cacheErrorCounter = Counter.builder(CACHE_METRICS_PREFIX + ".errors")
-                .description("Number of cache operation errors")
-                .tag("cache", "orders-cache")
-                .register(meterRegistry);
-
-        cacheOperationTimer = Timer.builder(CACHE_METRICS_PREFIX + ".operation.duration")
-                .description("Time taken for cache operations")
-                .tag("cache", "orders-cache")
-                .register(meterRegistry);
-
         // Register cache size gauge
         Gauge.builder(CACHE_METRICS_PREFIX + ".size", this, CacheMetricsConfig::getCacheSize)
                 .description("Current number of entries in cache")
@@ -101,9 +77,6 @@ public class CacheMetricsConfig {
         // Register configuration metrics
         registerConfigurationMetrics();
 
-        // Register circuit breaker metrics
-        registerCircuitBreakerMetrics();
-
         logger.info("Cache metrics initialization completed");
     }
 
@@ -157,20 +130,6 @@ public class CacheMetricsConfig {
                 .register(meterRegistry);
     }
 
-    private void registerCircuitBreakerMetrics() {
-        // Circuit breaker state
-        Gauge.builder(CACHE_METRICS_PREFIX + ".circuit_breaker.open_time", circuitBreakerOpenTime, AtomicLong::get)
-                .description("Time when circuit breaker was opened (timestamp)")
-                .register(meterRegistry);
-
-        Gauge.builder(
-                        CACHE_METRICS_PREFIX + ".circuit_breaker.total_failures",
-                        circuitBreakerTotalFailures,
-                        AtomicLong::get)
-                .description("Total number of circuit breaker failures")
-                .register(meterRegistry);
-    }
-
     // Helper methods for metric calculations
     private double getCacheSize() {
         try {
@@ -195,68 +154,6 @@ public class CacheMetricsConfig {
         return 0.0;
     }
 
-    // Public methods for recording custom metrics
-
-    /**
-     * Record a cache hit event.
-     */
-    public void recordCacheHit() {
-        cacheHitCounter.increment();
-    }
-
-    /**
-     * Record a cache miss event.
-     */
-    public void recordCacheMiss() {
-        cacheMissCounter.increment();
-    }
-
-    /**
-     * Record a cache eviction event.
-     */
-    public void recordCacheEviction() {
-        cacheEvictionCounter.increment();
-    }
-
-    /**
-     * Record a cache operation error.
-     */
-    public void recordCacheError() {
-        cacheErrorCounter.increment();
-    }
-
-    /**
-     * Record a cache operation duration.
-     * @param operation The operation name for tagging
-     * @return Timer.Sample to stop when operation completes
-     */
-    public Timer.Sample startCacheOperationTimer(String operation) {
-        return Timer.start(meterRegistry);
-    }
-
-    /**
-     * Stop the cache operation timer and record the duration.
-     * @param sample The timer sample from startCacheOperationTimer
-     */
-    public void stopCacheOperationTimer(Timer.Sample sample) {
-        sample.stop(cacheOperationTimer);
-    }
-
-    /**
-     * Record circuit breaker opened event.
-     */
-    public void recordCircuitBreakerOpened() {
-        circuitBreakerOpenTime.set(System.currentTimeMillis());
-        circuitBreakerTotalFailures.incrementAndGet();
-    }
-
-    /**
-     * Record circuit breaker closed event.
-     */
-    public void recordCircuitBreakerClosed() {
-        circuitBreakerOpenTime.set(0);
-    }
-
     /**
      * Get current metrics summary for logging/debugging.
      * @return formatted metrics summary
@@ -1,6 +1,12 @@
 package com.sivalabs.bookstore.config;
 
+import com.sivalabs.bookstore.common.cache.CircuitBreaker;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -81,7 +87,8 @@ public class CacheProperties {
     @Min(0) private int backupCount = 1;
 
     /**
-     * Circuit breaker failure threshold before opening the circuit. Default is 5 failures.
+     * Minimum number of calls in the sliding window before a circuit breaker evaluates the failure rate.
+     * Default is 5 calls.
      */
     @Min(1) private int circuitBreakerFailureThreshold = 5;
 
@@ -90,6 +97,28 @@ public class CacheProperties {
      */
     @Min(0) private long circuitBreakerRecoveryTimeoutMs = 30_000L;
 
+    /**
+     * Failure percentage in the sliding window that opens a circuit breaker. Default is 50.
+     */
+    @Min(1) @Max(100) private int circuitBreakerFailureRateThreshold = 50;
+
+    /**
+     * Length of the circuit breaker failure-rate window in milliseconds. Default is 10000 ms (10 seconds).
+     */
+    @Min(1) private long circuitBreakerSlidingWindowMs = 10_000L;
+
+    /**
+     * Probe calls admitted while a circuit breaker is half-open. Default is 3.
+     */
+    @Min(1) private int circuitBreakerHalfOpenPermittedCalls = 3;
+
+    /**
+     * Per-cache circuit breaker overrides keyed by cache name, e.g.
+     * {@code bookstore.cache.circuit-breakers.inventory-cache.failure-threshold=20}.
+     * Unset values fall back to the shared circuit breaker settings above.
+     */
+    @Valid private Map<String, CircuitBreakerOverrides> circuitBreakers = new LinkedHashMap<>();
+
     public CacheProperties() {}
 
     public boolean isEnabled() {
@@ -212,6 +241,60 @@ public class CacheProperties {
         this.circuitBreakerRecoveryTimeoutMs = circuitBreakerRecoveryTimeoutMs;
     }
 
+    public int getCircuitBreakerFailureRateThreshold() {
+        return circuitBreakerFailureRateThreshold;
+    }
+
+    public void setCircuitBreakerFailureRateThreshold(int circuitBreakerFailureRateThreshold) {
+        this.circuitBreakerFailureRateThreshold = circuitBreakerFailureRateThreshold;
+    }
+
+    public long getCircuitBreakerSlidingWindowMs() {
+        return circuitBreakerSlidingWindowMs;
+    }
+
+    public void setCircuitBreakerSlidingWindowMs(long circuitBreakerSlidingWindowMs) {
+        this.circuitBreakerSlidingWindowMs = circuitBreakerSlidingWindowMs;
+    }
+
+    public int getCircuitBreakerHalfOpenPermittedCalls() {
+        return circuitBreakerHalfOpenPermittedCalls;
+    }
+
+    public void setCircuitBreakerHalfOpenPermittedCalls(int circuitBreakerHalfOpenPermittedCalls) {
+        this.circuitBreakerHalfOpenPermittedCalls = circuitBreakerHalfOpenPermittedCalls;
+    }
+
+    public Map<String, CircuitBreakerOverrides> getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    public void setCircuitBreakers(Map<String, CircuitBreakerOverrides> circuitBreakers) {
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    /**
+     * @return the circuit breaker settings shared by caches without overrides
+     */
+    public CircuitBreaker.Settings getDefaultCircuitBreakerSettings() {
+        return new CircuitBreaker.Settings(
+                circuitBreakerFailureRateThreshold,
+                circuitBreakerFailureThreshold,
+                Duration.ofMillis(circuitBreakerSlidingWindowMs),
+                Duration.ofMillis(circuitBreakerRecoveryTimeoutMs),
+                circuitBreakerHalfOpenPermittedCalls);
+    }
+
+    /**
+     * @return circuit breaker settings for every cache with overrides, merged over the shared settings
+     */
+    public Map<String, CircuitBreaker.Settings> getCacheCircuitBreakerSettings() {
+        CircuitBreaker.Settings defaults = getDefaultCircuitBreakerSettings();
+        Map<String, CircuitBreaker.Settings> settings = new LinkedHashMap<>();
+        circuitBreakers.forEach((cacheName, overrides) -> settings.put(cacheName, overrides.applyTo(defaults)));
+        return settings;
+    }
+
     @Override
     public String toString() {
         return "CacheProperties{" + "enabled="
@@ -229,6 +312,75 @@ public class CacheProperties {
                 + maxIdleSeconds + ", backupCount="
                 + backupCount + ", circuitBreakerFailureThreshold="
                 + circuitBreakerFailureThreshold + ", circuitBreakerRecoveryTimeoutMs="
-                + circuitBreakerRecoveryTimeoutMs + '}';
+                + circuitBreakerRecoveryTimeoutMs + ", circuitBreakerFailureRateThreshold="
+                + circuitBreakerFailureRateThreshold + ", circuitBreakerSlidingWindowMs="
+                + circuitBreakerSlidingWindowMs + ", circuitBreakerHalfOpenPermittedCalls="
+                + circuitBreakerHalfOpenPermittedCalls + ", circuitBreakers="
+                + circuitBreakers.keySet() + '}';
+    }
+
+    /**
+     * Circuit breaker settings for a single cache. Unset values inherit the shared settings.
+     */
+    public static class CircuitBreakerOverrides {
+
+        @Min(1) private Integer failureThreshold;
+
+        @Min(0) private Long recoveryTimeoutMs;
+
+        @Min(1) @Max(100) private Integer failureRateThreshold;
+
+        @Min(1) private Long slidingWindowMs;
+
+        @Min(1) private Integer halfOpenPermittedCalls;
+
+        public Integer getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(Integer failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public Long getRecoveryTimeoutMs() {
+            return recoveryTimeoutMs;
+        }
+
+        public void setRecoveryTimeoutMs(Long recoveryTimeoutMs) {
+            this.recoveryTimeoutMs = recoveryTimeoutMs;
+        }
+
+        public Integer getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(Integer failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Long getSlidingWindowMs() {
+            return slidingWindowMs;
+        }
+
+        public void setSlidingWindowMs(Long slidingWindowMs) {
+            this.slidingWindowMs = slidingWindowMs;
+        }
+
+        public Integer getHalfOpenPermittedCalls() {
+            return halfOpenPermittedCalls;
+        }
+
+        public void setHalfOpenPermittedCalls(Integer halfOpenPermittedCalls) {
+            this.halfOpenPermittedCalls = halfOpenPermittedCalls;
+        }
+
+        CircuitBreaker.Settings applyTo(CircuitBreaker.Settings defaults) {
+            return new CircuitBreaker.Settings(
+                    failureRateThreshold != null ? failureRateThreshold : defaults.failureRateThreshold(),
+                    failureThreshold != null ? failureThreshold : defaults.minimumNumberOfCalls(),
+                    slidingWindowMs != null ? Duration.ofMillis(slidingWindowMs) : defaults.slidingWindow(),
+                    recoveryTimeoutMs != null ? Duration.ofMillis(recoveryTimeoutMs) : defaults.openDuration(),
+                    halfOpenPermittedCalls != null ? halfOpenPermittedCalls : defaults.permittedHalfOpenCalls());
+        }
     }
 }
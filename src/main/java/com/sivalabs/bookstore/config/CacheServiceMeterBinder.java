@@ -0,0 +1,39 @@
+package com.sivalabs.bookstore.config;
+
+import com.sivalabs.bookstore.common.cache.AbstractCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Binds the per-cache {@link com.sivalabs.bookstore.common.cache.CacheMetrics} of every
+ * {@link AbstractCacheService} to the application meter registry.
+ *
+ * Cache services are owned by their modules and recognised by type, so this binder does not depend on
+ * any module internals. Each service is bound when the container creates it, which keeps the
+ * {@code @Lazy} cache services lazy: a cache that is never used never registers meters.
+ */
+public class CacheServiceMeterBinder implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheServiceMeterBinder.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public CacheServiceMeterBinder(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractCacheService<?, ?> cacheService) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                cacheService.getMetrics().bindTo(registry);
+                logger.info("Bound cache metrics for {}", cacheService.getMetrics().getCacheName());
+            }
+        }
+        return bean;
+    }
+}
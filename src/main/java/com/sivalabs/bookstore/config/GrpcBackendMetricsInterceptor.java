@@ -0,0 +1,84 @@
+package com.sivalabs.bookstore.config;
+
+import io.grpc.Attributes;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientStreamTracer;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side interceptor recording latency and outcome per backend instance.
+ *
+ * A stream tracer is attached to every attempt, so retries and hedges are timed against the instance that
+ * actually served them. Attempts are recorded in the {@code bookstore.grpc.client.backend.calls} timer,
+ * tagged with the backend address, the method and the status code; an instance whose error rate or
+ * latency drifts from its peers stands out without any server-side metrics.
+ */
+public class GrpcBackendMetricsInterceptor implements ClientInterceptor {
+
+    private static final String UNKNOWN_BACKEND = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    public GrpcBackendMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        String methodName = method.getFullMethodName();
+        ClientStreamTracer.Factory tracerFactory = new ClientStreamTracer.Factory() {
+            @Override
+            public ClientStreamTracer newClientStreamTracer(ClientStreamTracer.StreamInfo info, Metadata headers) {
+                return new BackendTracer(methodName);
+            }
+        };
+        return next.newCall(method, callOptions.withStreamTracerFactory(tracerFactory));
+    }
+
+    private static String describe(SocketAddress address) {
+        if (address instanceof InetSocketAddress inetAddress) {
+            return inetAddress.getHostString() + ":" + inetAddress.getPort();
+        }
+        return address.toString();
+    }
+
+    private final class BackendTracer extends ClientStreamTracer {
+
+        private final String method;
+        private final long startNanos = System.nanoTime();
+        private volatile String backend = UNKNOWN_BACKEND;
+
+        private BackendTracer(String method) {
+            this.method = method;
+        }
+
+        @Override
+        public void streamCreated(Attributes transportAttrs, Metadata headers) {
+            SocketAddress remoteAddress = transportAttrs.get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+            if (remoteAddress != null) {
+                backend = describe(remoteAddress);
+            }
+        }
+
+        @Override
+        public void streamClosed(Status status) {
+            Timer.builder("bookstore.grpc.client.backend.calls")
+                    .description("gRPC client call attempts per backend instance")
+                    .tags("backend", backend, "method", method, "status", status.getCode().name())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.sivalabs.bookstore.config;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.Status;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-method gRPC meters shared by {@link GrpcServerMetricsInterceptor} and {@link GrpcClientMetricsInterceptor}.
+ *
+ * For a prefix such as {@code bookstore.grpc.server} this publishes, tagged by {@code grpc.method}:
+ * <ul>
+ *   <li>{@code <prefix>.requests}: a timer per {@code grpc.status} with the configured SLO buckets, giving
+ *       call counts by status code and latency histograms</li>
+ *   <li>{@code <prefix>.requests.active}: calls in flight</li>
+ *   <li>{@code <prefix>.request.size} / {@code <prefix>.response.size}: serialized message sizes</li>
+ * </ul>
+ * Meters are created once per method and status and cached, so recording a call does not go through
+ * the registry.
+ */
+final class GrpcCallMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final String prefix;
+    private final Duration[] sloBoundaries;
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    GrpcCallMetrics(MeterRegistry meterRegistry, String prefix, List<Duration> sloBoundaries) {
+        this.meterRegistry = meterRegistry;
+        this.prefix = prefix;
+        this.sloBoundaries = sloBoundaries.toArray(Duration[]::new);
+    }
+
+    MethodMetrics forMethod(String fullMethodName) {
+        return methods.computeIfAbsent(fullMethodName, MethodMetrics::new);
+    }
+
+    final class MethodMetrics {
+
+        private final String method;
+        private final AtomicInteger activeCalls = new AtomicInteger();
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+        private final Map<Status.Code, Timer> timers = new ConcurrentHashMap<>();
+
+        private MethodMetrics(String method) {
+            this.method = method;
+            Gauge.builder(prefix + ".requests.active", activeCalls, AtomicInteger::get)
+                    .description("gRPC calls in flight")
+                    .tag("grpc.method", method)
+                    .register(meterRegistry);
+            this.requestSize = messageSize(prefix + ".request.size", "Serialized size of gRPC request messages");
+            this.responseSize = messageSize(prefix + ".response.size", "Serialized size of gRPC response messages");
+        }
+
+        /**
+         * @return the start time to pass to {@link #callFinished}
+         */
+        long callStarted() {
+            activeCalls.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        void callFinished(long startNanos, Status status) {
+            activeCalls.decrementAndGet();
+            timers.computeIfAbsent(status.getCode(), this::timer)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        void requestMessage(Object message) {
+            record(requestSize, message);
+        }
+
+        void responseMessage(Object message) {
+            record(responseSize, message);
+        }
+
+        private Timer timer(Status.Code code) {
+            return Timer.builder(prefix + ".requests")
+                    .description("gRPC calls by method and status")
+                    .tags("grpc.method", method, "grpc.status", code.name())
+                    .serviceLevelObjectives(sloBoundaries)
+                    .register(meterRegistry);
+        }
+
+        private DistributionSummary messageSize(String name, String description) {
+            return DistributionSummary.builder(name)
+                    .description(description)
+                    .baseUnit("bytes")
+                    .tag("grpc.method", method)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static void record(DistributionSummary summary, Object message) {
+        // The size is memoized by the message and computed anyway when it is marshalled
+        if (message instanceof MessageLite protobufMessage) {
+            summary.record(protobufMessage.getSerializedSize());
+        }
+    }
+}
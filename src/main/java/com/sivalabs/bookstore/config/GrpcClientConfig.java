@@ -2,8 +2,18 @@ package com.sivalabs.bookstore.config;
 
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.annotation.PreDestroy;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -14,6 +24,8 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties(GrpcProperties.class)
 public class GrpcClientConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(GrpcClientConfig.class);
+
     private final GrpcProperties grpcProperties;
     private ManagedChannel managedChannel;
 
@@ -22,28 +34,119 @@ public class GrpcClientConfig {
     }
 
     @Bean
-    public GrpcRetryInterceptor grpcRetryInterceptor() {
-        return new GrpcRetryInterceptor(grpcProperties.getClient());
+    public GrpcRetryInterceptor grpcRetryInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new GrpcRetryInterceptor(
+                grpcProperties.getClient(), meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    public GrpcBackendMetricsInterceptor grpcBackendMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new GrpcBackendMetricsInterceptor(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    public GrpcClientMetricsInterceptor grpcClientMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new GrpcClientMetricsInterceptor(
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                grpcProperties.getMetrics().getSloBoundaries());
     }
 
+    /**
+     * Creates the channel used by the gRPC clients. When the target is this application's own server
+     * (see {@link GrpcProperties#useInProcessChannel()}) calls go through the in-process transport
+     * registered by {@link GrpcServerConfig}; interceptors and per-call deadlines apply either way.
+     * Otherwise calls are balanced across the static {@code addresses}, or across every address the
+     * {@code target} resolves to, skipping backends whose gRPC health service reports them unhealthy.
+     */
     @Bean(destroyMethod = "shutdownNow")
-    public ManagedChannel managedChannel(GrpcRetryInterceptor retryInterceptor) {
+    public ManagedChannel managedChannel(
+            GrpcRetryInterceptor retryInterceptor,
+            GrpcBackendMetricsInterceptor backendMetricsInterceptor,
+            GrpcClientMetricsInterceptor metricsInterceptor) {
         var clientProperties = grpcProperties.getClient();
-        ManagedChannelBuilder<?> builder =
-                ManagedChannelBuilder.forTarget(clientProperties.getTarget()).usePlaintext();
-
-        builder.keepAliveTime(30, TimeUnit.SECONDS)
-                .keepAliveTimeout(10, TimeUnit.SECONDS)
-                .idleTimeout(5, TimeUnit.MINUTES);
+        ManagedChannelBuilder<?> builder;
+        if (grpcProperties.useInProcessChannel()) {
+            if (!grpcProperties.getServer().isEnabled()) {
+                throw new IllegalStateException(
+                        "bookstore.grpc.client.mode=in-process requires bookstore.grpc.server.enabled=true");
+            }
+            log.info("gRPC client using in-process channel {}", grpcProperties.getInProcessServerName());
+            builder = InProcessChannelBuilder.forName(grpcProperties.getInProcessServerName());
+        } else {
+            builder = networkChannelBuilder(clientProperties)
+                    .usePlaintext()
+                    .keepAliveTime(30, TimeUnit.SECONDS)
+                    .keepAliveTimeout(10, TimeUnit.SECONDS)
+                    .defaultServiceConfig(loadBalancingServiceConfig(clientProperties));
+        }
+        builder.idleTimeout(5, TimeUnit.MINUTES);
 
+        // Interceptors added last run first: each attempt of a retried call gets its own backend metrics
+        builder.intercept(backendMetricsInterceptor);
         if (clientProperties.isRetryEnabled()) {
             builder.intercept(retryInterceptor);
         }
+        if (grpcProperties.getMetrics().isEnabled()) {
+            builder.intercept(metricsInterceptor);
+        }
 
         this.managedChannel = builder.build();
         return managedChannel;
     }
 
+    @SuppressWarnings("deprecation") // the addresses are per channel, so the resolver is not registered globally
+    private static ManagedChannelBuilder<?> networkChannelBuilder(GrpcProperties.ClientProperties clientProperties) {
+        if (clientProperties.getAddresses().isEmpty()) {
+            log.info(
+                    "gRPC client using {} across the addresses of {}",
+                    clientProperties.getLoadBalancingPolicy(),
+                    clientProperties.getTarget());
+            return ManagedChannelBuilder.forTarget(clientProperties.getTarget());
+        }
+        log.info(
+                "gRPC client using {} across {}",
+                clientProperties.getLoadBalancingPolicy(),
+                clientProperties.getAddresses());
+        List<InetSocketAddress> addresses = clientProperties.getAddresses().stream()
+                .map(GrpcClientConfig::toSocketAddress)
+                .toList();
+        return ManagedChannelBuilder.forTarget(GrpcStaticNameResolverProvider.SCHEME + ":///orders-service")
+                .nameResolverFactory(new GrpcStaticNameResolverProvider(addresses));
+    }
+
+    /**
+     * Service config selecting the load-balancing policy and, when enabled, client-side health checking
+     * against the {@code grpc.health.v1.Health} service each backend registers.
+     */
+    static Map<String, ?> loadBalancingServiceConfig(GrpcProperties.ClientProperties clientProperties) {
+        Map<String, Object> serviceConfig = new LinkedHashMap<>();
+        serviceConfig.put(
+                "loadBalancingConfig",
+                List.of(Map.of(clientProperties.getLoadBalancingPolicy().getPolicyName(), Map.of())));
+        if (clientProperties.isHealthCheckEnabled()) {
+            serviceConfig.put("healthCheckConfig", Map.of("serviceName", clientProperties.getHealthCheckServiceName()));
+        }
+        return serviceConfig;
+    }
+
+    private static InetSocketAddress toSocketAddress(String address) {
+        int separator = address.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid bookstore.grpc.client.addresses entry '" + address + "', expected host:port");
+        }
+        String host = address.substring(0, separator).trim();
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        try {
+            return new InetSocketAddress(host, Integer.parseInt(address.substring(separator + 1).trim()));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(
+                    "Invalid bookstore.grpc.client.addresses entry '" + address + "', expected host:port", ex);
+        }
+    }
+
     @PreDestroy
     void shutdownChannel() {
         if (managedChannel == null) {
@@ -0,0 +1,63 @@
+package com.sivalabs.bookstore.config;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Client-side interceptor recording per-method call counts by status, latency histograms, message sizes
+ * and calls in flight under {@code bookstore.grpc.client.*} (see {@link GrpcCallMetrics}).
+ *
+ * Installed as the outermost client interceptor, so it measures the call as the caller sees it, including
+ * retries and hedges; {@link GrpcBackendMetricsInterceptor} measures the individual attempts.
+ */
+public class GrpcClientMetricsInterceptor implements ClientInterceptor {
+
+    private final GrpcCallMetrics callMetrics;
+
+    public GrpcClientMetricsInterceptor(MeterRegistry meterRegistry, List<Duration> sloBoundaries) {
+        this.callMetrics = new GrpcCallMetrics(meterRegistry, "bookstore.grpc.client", sloBoundaries);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        GrpcCallMetrics.MethodMetrics metrics = callMetrics.forMethod(method.getFullMethodName());
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                long startNanos = metrics.callStarted();
+                super.start(
+                        new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                            @Override
+                            public void onMessage(RespT message) {
+                                metrics.responseMessage(message);
+                                super.onMessage(message);
+                            }
+
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                metrics.callFinished(startNanos, status);
+                                super.onClose(status, trailers);
+                            }
+                        },
+                        headers);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                metrics.requestMessage(message);
+                super.sendMessage(message);
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.sivalabs.bookstore.config;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Server-side interceptor capping the number of concurrent calls per RPC method.
+ *
+ * Calls beyond a method's limit are closed immediately with {@code RESOURCE_EXHAUSTED} instead of
+ * waiting for a worker thread or a database connection, so an overloaded server sheds load rather
+ * than queueing it. A permit is held from the start of the call until it is closed or cancelled.
+ * Limits are keyed by bare method name (e.g. {@code CreateOrder}), matched ignoring case and dashes;
+ * methods without a limit pass through untouched. Calls in flight per method are published by
+ * {@link GrpcServerMetricsInterceptor} as {@code bookstore.grpc.server.requests.active}.
+ */
+public class GrpcConcurrencyLimitInterceptor implements ServerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcConcurrencyLimitInterceptor.class);
+
+    private final Map<String, MethodLimit> limits = new HashMap<>();
+
+    public GrpcConcurrencyLimitInterceptor(Map<String, Integer> maxConcurrentCalls, MeterRegistry meterRegistry) {
+        maxConcurrentCalls.forEach((method, limit) -> {
+            if (limit == null || limit <= 0) {
+                return;
+            }
+            MethodLimit methodLimit = new MethodLimit(method, limit, meterRegistry);
+            limits.put(normalize(method), methodLimit);
+            log.info("gRPC method {} limited to {} concurrent calls", method, limit);
+        });
+    }
+
+    public boolean hasLimits() {
+        return !limits.isEmpty();
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        MethodLimit limit = limits.get(normalize(call.getMethodDescriptor().getBareMethodName()));
+        if (limit == null) {
+            return next.startCall(call, headers);
+        }
+        if (!limit.permits.tryAcquire()) {
+            limit.rejected.increment();
+            log.debug("Rejecting {}: {} concurrent calls in flight", limit.method, limit.maxConcurrentCalls);
+            call.close(
+                    Status.RESOURCE_EXHAUSTED.withDescription("Too many concurrent " + limit.method + " calls"),
+                    new Metadata());
+            return new ServerCall.Listener<>() {};
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                limit.permits.release();
+            }
+        };
+        ServerCall<ReqT, RespT> releasingCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                release.run();
+                super.close(status, trailers);
+            }
+        };
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(releasingCall, headers);
+        } catch (RuntimeException ex) {
+            release.run();
+            throw ex;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onCancel() {
+                release.run();
+                super.onCancel();
+            }
+
+            @Override
+            public void onComplete() {
+                release.run();
+                super.onComplete();
+            }
+        };
+    }
+
+    private static String normalize(String method) {
+        return method.replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class MethodLimit {
+
+        private final String method;
+        private final int maxConcurrentCalls;
+        private final Semaphore permits;
+        private final Counter rejected;
+
+        private MethodLimit(String method, int maxConcurrentCalls, MeterRegistry meterRegistry) {
+            this.method = method;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.permits = new Semaphore(maxConcurrentCalls);
+            this.rejected = Counter.builder("bookstore.grpc.server.calls.rejected")
+                    .description("gRPC calls rejected with RESOURCE_EXHAUSTED by the concurrency limit")
+                    .tag("method", method)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.sivalabs.bookstore.config;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA transaction manager that bounds transactions started while serving a gRPC call by that call.
+ *
+ * The remaining time of the call's {@link Context} deadline becomes the transaction timeout, which
+ * Hibernate applies as the JDBC query timeout of every statement in the transaction. When the call is
+ * cancelled (the client gave up or its deadline passed), the statement running at that moment is
+ * cancelled through {@link Session#cancelQuery()}. Either way the transaction fails fast and returns its
+ * connection to the pool instead of finishing work nobody waits for. Transactions outside gRPC calls,
+ * where the current context is the root context, are unaffected.
+ */
+public class GrpcDeadlineAwareTransactionManager extends JpaTransactionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcDeadlineAwareTransactionManager.class);
+
+    // Cancelling a query opens a connection to the database; keep that off the transport threads
+    private static final Executor CANCEL_EXECUTOR = task -> Thread.ofVirtual().name("grpc-query-cancel").start(task);
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        Deadline deadline = Context.current().getDeadline();
+        if (deadline == null) {
+            return timeout;
+        }
+        long remainingMillis = deadline.timeRemaining(TimeUnit.MILLISECONDS);
+        if (remainingMillis <= 0) {
+            throw new TransactionTimedOutException("gRPC deadline expired before the transaction started");
+        }
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT
+                ? remainingSeconds
+                : Math.min(timeout, remainingSeconds);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Context context = Context.current();
+        if (context.isCancelled()) {
+            throw new TransactionTimedOutException("gRPC call cancelled before the transaction started");
+        }
+        super.doBegin(transaction, definition);
+        if (context == Context.ROOT) {
+            return;
+        }
+
+        var holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        Session session = holder.getEntityManager().unwrap(Session.class);
+        Context.CancellationListener cancelQuery = cancelledContext -> {
+            log.debug("gRPC call cancelled, cancelling running query", cancelledContext.cancellationCause());
+            try {
+                session.cancelQuery();
+            } catch (RuntimeException ex) {
+                log.debug("Failed to cancel query of cancelled gRPC call", ex);
+            }
+        };
+        context.addListener(cancelQuery, CANCEL_EXECUTOR);
+        // Keyed by the transaction object, so nested REQUIRES_NEW transactions keep their own listener
+        TransactionSynchronizationManager.bindResource(transaction, new CancellationRegistration(context, cancelQuery));
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        if (TransactionSynchronizationManager.unbindResourceIfPossible(transaction)
+                instanceof CancellationRegistration registration) {
+            registration.context.removeListener(registration.listener);
+        }
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    private record CancellationRegistration(Context context, Context.CancellationListener listener) {}
+}
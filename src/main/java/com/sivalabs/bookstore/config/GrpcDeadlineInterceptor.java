@@ -0,0 +1,62 @@
+package com.sivalabs.bookstore.config;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Server-side interceptor that keeps calls the client has already given up on from reaching the handlers.
+ *
+ * Calls arriving with less than {@code min-deadline-ms} left are closed with {@code DEADLINE_EXCEEDED}
+ * before taking a concurrency permit or a database connection. Calls whose deadline expires or that
+ * are cancelled while waiting for an executor thread are dropped instead of being run; gRPC has already
+ * reported the outcome to the client. Work that does start is bounded by
+ * {@link GrpcDeadlineAwareTransactionManager}.
+ */
+public class GrpcDeadlineInterceptor implements ServerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcDeadlineInterceptor.class);
+
+    private final long minDeadlineMs;
+
+    public GrpcDeadlineInterceptor(long minDeadlineMs) {
+        this.minDeadlineMs = minDeadlineMs;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        String method = call.getMethodDescriptor().getFullMethodName();
+        Deadline deadline = Context.current().getDeadline();
+        if (deadline != null && minDeadlineMs > 0) {
+            long remainingMs = deadline.timeRemaining(TimeUnit.MILLISECONDS);
+            if (remainingMs < minDeadlineMs) {
+                log.debug("Rejecting {}: {} ms left before its deadline", method, remainingMs);
+                Status status = Status.DEADLINE_EXCEEDED.withDescription(
+                        "Deadline too short: " + remainingMs + " ms left, " + minDeadlineMs + " ms required");
+                call.close(status, new Metadata());
+                return new ServerCall.Listener<>() {};
+            }
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+            @Override
+            public void onHalfClose() {
+                // Unary and server-streaming handlers run here, possibly after queueing for a thread
+                if (Context.current().isCancelled()) {
+                    log.debug("Skipping {}: cancelled before the handler ran", method);
+                    return;
+                }
+                super.onHalfClose();
+            }
+        };
+    }
+}
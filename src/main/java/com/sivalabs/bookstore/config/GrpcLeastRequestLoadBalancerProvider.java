@@ -0,0 +1,231 @@
+package com.sivalabs.bookstore.config;
+
+import io.grpc.ClientStreamTracer;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.protobuf.services.HealthCheckingLoadBalancerUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Least-request load-balancing policy for the orders client.
+ *
+ * Each pick compares two randomly chosen ready backends and sends the call to the one with fewer calls in
+ * flight ("power of two choices"), which steers load away from slow instances without the coordination of
+ * a global least-loaded search. Backends are wrapped with gRPC client-side health checking, so an instance
+ * whose health service reports {@code NOT_SERVING} is treated as unavailable until it recovers.
+ *
+ * Registered through {@code META-INF/services/io.grpc.LoadBalancerProvider} under {@link #POLICY_NAME}.
+ */
+public class GrpcLeastRequestLoadBalancerProvider extends LoadBalancerProvider {
+
+    public static final String POLICY_NAME = "bookstore_least_request";
+
+    private static final LoadBalancer.Factory FACTORY = new LoadBalancer.Factory() {
+        @Override
+        public LoadBalancer newLoadBalancer(LoadBalancer.Helper helper) {
+            return new LeastRequestLoadBalancer(helper);
+        }
+    };
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public int getPriority() {
+        return 5;
+    }
+
+    @Override
+    public String getPolicyName() {
+        return POLICY_NAME;
+    }
+
+    @Override
+    public LoadBalancer newLoadBalancer(LoadBalancer.Helper helper) {
+        return HealthCheckingLoadBalancerUtil.newHealthCheckingLoadBalancer(FACTORY, helper);
+    }
+
+    private static final class LeastRequestLoadBalancer extends LoadBalancer {
+
+        private final Helper helper;
+        private final Map<EquivalentAddressGroup, Backend> backends = new HashMap<>();
+        private ConnectivityState currentState;
+
+        private LeastRequestLoadBalancer(Helper helper) {
+            this.helper = helper;
+        }
+
+        @Override
+        public Status acceptResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+            List<EquivalentAddressGroup> addresses = resolvedAddresses.getAddresses();
+            if (addresses.isEmpty()) {
+                Status status = Status.UNAVAILABLE.withDescription("Name resolver returned no addresses");
+                handleNameResolutionError(status);
+                return status;
+            }
+
+            Set<EquivalentAddressGroup> resolved = new HashSet<>();
+            for (EquivalentAddressGroup group : addresses) {
+                // Attributes may change between resolutions; the addresses identify the backend
+                EquivalentAddressGroup key = new EquivalentAddressGroup(group.getAddresses());
+                resolved.add(key);
+                Backend backend = backends.get(key);
+                if (backend != null) {
+                    backend.subchannel.updateAddresses(List.of(group));
+                    continue;
+                }
+                Subchannel subchannel = helper.createSubchannel(
+                        CreateSubchannelArgs.newBuilder().setAddresses(group).build());
+                Backend added = new Backend(subchannel);
+                backends.put(key, added);
+                subchannel.start(stateInfo -> onSubchannelState(added, stateInfo));
+                subchannel.requestConnection();
+            }
+            backends.entrySet().removeIf(entry -> {
+                if (resolved.contains(entry.getKey())) {
+                    return false;
+                }
+                entry.getValue().removed = true;
+                entry.getValue().subchannel.shutdown();
+                return true;
+            });
+            updateBalancingState();
+            return Status.OK;
+        }
+
+        @Override
+        public void handleNameResolutionError(Status error) {
+            if (currentState != ConnectivityState.READY) {
+                updateState(ConnectivityState.TRANSIENT_FAILURE, new FixedPicker(PickResult.withError(error)));
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            backends.values().forEach(backend -> {
+                backend.removed = true;
+                backend.subchannel.shutdown();
+            });
+            backends.clear();
+        }
+
+        private void onSubchannelState(Backend backend, ConnectivityStateInfo stateInfo) {
+            if (backend.removed) {
+                return;
+            }
+            if (stateInfo.getState() == ConnectivityState.IDLE) {
+                backend.subchannel.requestConnection();
+            }
+            backend.state = stateInfo;
+            updateBalancingState();
+        }
+
+        private void updateBalancingState() {
+            List<Backend> ready = new ArrayList<>();
+            boolean connecting = false;
+            Status lastError = Status.UNAVAILABLE.withDescription("No ready orders-service backend");
+            for (Backend backend : backends.values()) {
+                switch (backend.state.getState()) {
+                    case READY -> ready.add(backend);
+                    case CONNECTING, IDLE -> connecting = true;
+                    case TRANSIENT_FAILURE -> lastError = backend.state.getStatus();
+                    default -> {}
+                }
+            }
+            if (!ready.isEmpty()) {
+                updateState(ConnectivityState.READY, new LeastRequestPicker(ready));
+            } else if (connecting) {
+                updateState(ConnectivityState.CONNECTING, new FixedPicker(PickResult.withNoResult()));
+            } else {
+                updateState(ConnectivityState.TRANSIENT_FAILURE, new FixedPicker(PickResult.withError(lastError)));
+            }
+        }
+
+        private void updateState(ConnectivityState state, SubchannelPicker picker) {
+            currentState = state;
+            helper.updateBalancingState(state, picker);
+        }
+    }
+
+    static final class Backend {
+
+        private final LoadBalancer.Subchannel subchannel;
+        private final AtomicInteger activeCalls = new AtomicInteger();
+        private final ClientStreamTracer.Factory tracerFactory = new ClientStreamTracer.Factory() {
+            @Override
+            public ClientStreamTracer newClientStreamTracer(ClientStreamTracer.StreamInfo info, Metadata headers) {
+                // Counted here rather than in the pick: a pick that is dropped or re-picked before a stream is
+                // created never gets a tracer, so it would never be decremented
+                activeCalls.incrementAndGet();
+                return new ClientStreamTracer() {
+                    @Override
+                    public void streamClosed(Status status) {
+                        activeCalls.decrementAndGet();
+                    }
+                };
+            }
+        };
+        private volatile ConnectivityStateInfo state = ConnectivityStateInfo.forNonError(ConnectivityState.IDLE);
+        private volatile boolean removed;
+
+        Backend(LoadBalancer.Subchannel subchannel) {
+            this.subchannel = subchannel;
+        }
+
+        int activeCalls() {
+            return activeCalls.get();
+        }
+    }
+
+    static final class LeastRequestPicker extends LoadBalancer.SubchannelPicker {
+
+        private final List<Backend> ready;
+
+        LeastRequestPicker(List<Backend> ready) {
+            this.ready = List.copyOf(ready);
+        }
+
+        @Override
+        public LoadBalancer.PickResult pickSubchannel(LoadBalancer.PickSubchannelArgs args) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int size = ready.size();
+            int first = random.nextInt(size);
+            Backend chosen = ready.get(first);
+            if (size > 1) {
+                Backend other = ready.get((first + 1 + random.nextInt(size - 1)) % size);
+                if (other.activeCalls.get() < chosen.activeCalls.get()) {
+                    chosen = other;
+                }
+            }
+            return LoadBalancer.PickResult.withSubchannel(chosen.subchannel, chosen.tracerFactory);
+        }
+    }
+
+    private static final class FixedPicker extends LoadBalancer.SubchannelPicker {
+
+        private final LoadBalancer.PickResult result;
+
+        private FixedPicker(LoadBalancer.PickResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public LoadBalancer.PickResult pickSubchannel(LoadBalancer.PickSubchannelArgs args) {
+            return result;
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.sivalabs.bookstore.config;
 
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -14,8 +23,12 @@ import org.springframework.validation.annotation.Validated;
 @ConfigurationProperties(prefix = "bookstore.grpc")
 @Validated
 public class GrpcProperties {
+    private static final Set<String> LOOPBACK_HOSTS = Set.of("localhost", "127.0.0.1", "::1", "0:0:0:0:0:0:0:1");
+
     private final ServerProperties server = new ServerProperties();
     private final ClientProperties client = new ClientProperties();
+    private final MetricsProperties metrics = new MetricsProperties();
+    private final String inProcessServerName = "bookstore-grpc-" + UUID.randomUUID();
 
     public ServerProperties getServer() {
         return server;
@@ -24,6 +37,55 @@ public class GrpcProperties {
     public ClientProperties getClient() {
         return client;
     }
+
+    public MetricsProperties getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Name under which the in-process server is registered; unique per application context so that
+     * several contexts in one JVM (as in tests) do not collide.
+     */
+    public String getInProcessServerName() {
+        return inProcessServerName;
+    }
+
+    /**
+     * Whether the client reaches the gRPC services of this application through the in-process transport
+     * instead of a network channel: always in {@code in-process} mode, never in {@code network} mode, and
+     * in {@code auto} mode when the local server is enabled, no static {@code addresses} are configured and
+     * the client targets its loopback port.
+     */
+    public boolean useInProcessChannel() {
+        return switch (client.getMode()) {
+            case IN_PROCESS -> true;
+            case NETWORK -> false;
+            case AUTO -> server.isEnabled()
+                    && client.getAddresses().isEmpty()
+                    && isSelfTarget(client.getTarget(), server.getPort());
+        };
+    }
+
+    static boolean isSelfTarget(String target, int serverPort) {
+        if (target == null) {
+            return false;
+        }
+        String authority = target.startsWith("dns:///") ? target.substring("dns:///".length()) : target;
+        int separator = authority.lastIndexOf(':');
+        if (separator <= 0) {
+            return false;
+        }
+        String host = authority.substring(0, separator);
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        try {
+            int port = Integer.parseInt(authority.substring(separator + 1));
+            return port == serverPort && LOOPBACK_HOSTS.contains(host.toLowerCase(Locale.ROOT));
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
     /**
      * Server-side gRPC configuration group.
      */
@@ -39,6 +101,21 @@ public class GrpcProperties {
 
         @Min(0) private long shutdownGracePeriodSeconds = 30L;
 
+        private ExecutorMode executor = ExecutorMode.VIRTUAL;
+
+        @Min(1) private int executorPoolSize = 32;
+
+        @Min(1) private int executorQueueCapacity = 100;
+
+        /** Maximum concurrent calls per RPC method, keyed by bare method name such as {@code CreateOrder}. */
+        private final Map<String, Integer> maxConcurrentCalls = new LinkedHashMap<>();
+
+        @Min(1) private int maxConcurrentCallsPerConnection = Integer.MAX_VALUE;
+
+        @Min(1) private int flowControlWindow = 1_048_576;
+
+        @Min(0) private long minDeadlineMs = 50L;
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -86,6 +163,83 @@ public class GrpcProperties {
         public void setShutdownGracePeriodSeconds(long shutdownGracePeriodSeconds) {
             this.shutdownGracePeriodSeconds = shutdownGracePeriodSeconds;
         }
+
+        public ExecutorMode getExecutor() {
+            return executor;
+        }
+
+        public void setExecutor(ExecutorMode executor) {
+            this.executor = executor;
+        }
+
+        public int getExecutorPoolSize() {
+            return executorPoolSize;
+        }
+
+        public void setExecutorPoolSize(int executorPoolSize) {
+            this.executorPoolSize = executorPoolSize;
+        }
+
+        /**
+         * Calls allowed to wait for a thread of the bounded executor; calls beyond it are rejected with
+         * {@code RESOURCE_EXHAUSTED}. Ignored by the other executor modes.
+         */
+        public int getExecutorQueueCapacity() {
+            return executorQueueCapacity;
+        }
+
+        public void setExecutorQueueCapacity(int executorQueueCapacity) {
+            this.executorQueueCapacity = executorQueueCapacity;
+        }
+
+        public Map<String, Integer> getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public int getMaxConcurrentCallsPerConnection() {
+            return maxConcurrentCallsPerConnection;
+        }
+
+        public void setMaxConcurrentCallsPerConnection(int maxConcurrentCallsPerConnection) {
+            this.maxConcurrentCallsPerConnection = maxConcurrentCallsPerConnection;
+        }
+
+        public int getFlowControlWindow() {
+            return flowControlWindow;
+        }
+
+        public void setFlowControlWindow(int flowControlWindow) {
+            this.flowControlWindow = flowControlWindow;
+        }
+
+        /**
+         * Calls arriving with less time than this left before their deadline are rejected with
+         * {@code DEADLINE_EXCEEDED} instead of starting work the client will not wait for; 0 disables the check.
+         */
+        public long getMinDeadlineMs() {
+            return minDeadlineMs;
+        }
+
+        public void setMinDeadlineMs(long minDeadlineMs) {
+            this.minDeadlineMs = minDeadlineMs;
+        }
+
+        /**
+         * Executor running server call handlers.
+         */
+        public enum ExecutorMode {
+            /** One virtual thread per call; blocking handlers do not pin platform threads. */
+            VIRTUAL,
+            /**
+             * A fixed pool of {@code executor-pool-size} platform threads; up to {@code executor-queue-capacity}
+             * calls queue and the rest are rejected.
+             */
+            BOUNDED,
+            /** The unbounded cached thread pool gRPC uses by default. */
+            CACHED,
+            /** Handlers run on the transport thread; only for handlers that never block. */
+            DIRECT
+        }
     }
     /**
      * Client-side gRPC configuration group.
@@ -93,12 +247,36 @@ public class GrpcProperties {
     public static class ClientProperties {
         private String target = "localhost:9091";
 
+        private Mode mode = Mode.AUTO;
+
+        private List<String> addresses = new ArrayList<>();
+
+        private LoadBalancingPolicy loadBalancingPolicy = LoadBalancingPolicy.ROUND_ROBIN;
+
+        private boolean healthCheckEnabled = true;
+
+        private String healthCheckServiceName = "";
+
         @Min(1_000) private int deadlineMs = 5_000;
 
         private boolean retryEnabled = true;
 
         @Min(1) private int maxRetryAttempts = 3;
 
+        @Min(1) private int maxRetryBackoffMs = 2_000;
+
+        @DecimalMin("1") private double retryThrottlingMaxTokens = 10;
+
+        @DecimalMin("0.001") private double retryThrottlingTokenRatio = 0.1;
+
+        private boolean hedgingEnabled = false;
+
+        private List<String> hedgedMethods = new ArrayList<>(List.of("GetOrder", "ListOrders"));
+
+        @Min(1) private int hedgingDelayMs = 100;
+
+        @Min(1) private int maxHedgedAttempts = 2;
+
         public String getTarget() {
             return target;
         }
@@ -107,6 +285,54 @@ public class GrpcProperties {
             this.target = target;
         }
 
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        /**
+         * Static {@code host:port} list of orders-service instances. When set, calls are balanced across
+         * these addresses and {@code target} is ignored.
+         */
+        public List<String> getAddresses() {
+            return addresses;
+        }
+
+        public void setAddresses(List<String> addresses) {
+            this.addresses = addresses;
+        }
+
+        public LoadBalancingPolicy getLoadBalancingPolicy() {
+            return loadBalancingPolicy;
+        }
+
+        public void setLoadBalancingPolicy(LoadBalancingPolicy loadBalancingPolicy) {
+            this.loadBalancingPolicy = loadBalancingPolicy;
+        }
+
+        public boolean isHealthCheckEnabled() {
+            return healthCheckEnabled;
+        }
+
+        public void setHealthCheckEnabled(boolean healthCheckEnabled) {
+            this.healthCheckEnabled = healthCheckEnabled;
+        }
+
+        /**
+         * Service name polled through the gRPC health service of each backend; empty for the overall
+         * server status.
+         */
+        public String getHealthCheckServiceName() {
+            return healthCheckServiceName;
+        }
+
+        public void setHealthCheckServiceName(String healthCheckServiceName) {
+            this.healthCheckServiceName = healthCheckServiceName;
+        }
+
         public int getDeadlineMs() {
             return deadlineMs;
         }
@@ -131,14 +357,164 @@ public class GrpcProperties {
             this.maxRetryAttempts = maxRetryAttempts;
         }
 
+        public int getMaxRetryBackoffMs() {
+            return maxRetryBackoffMs;
+        }
+
+        public void setMaxRetryBackoffMs(int maxRetryBackoffMs) {
+            this.maxRetryBackoffMs = maxRetryBackoffMs;
+        }
+
+        public double getRetryThrottlingMaxTokens() {
+            return retryThrottlingMaxTokens;
+        }
+
+        public void setRetryThrottlingMaxTokens(double retryThrottlingMaxTokens) {
+            this.retryThrottlingMaxTokens = retryThrottlingMaxTokens;
+        }
+
+        public double getRetryThrottlingTokenRatio() {
+            return retryThrottlingTokenRatio;
+        }
+
+        public void setRetryThrottlingTokenRatio(double retryThrottlingTokenRatio) {
+            this.retryThrottlingTokenRatio = retryThrottlingTokenRatio;
+        }
+
+        public boolean isHedgingEnabled() {
+            return hedgingEnabled;
+        }
+
+        public void setHedgingEnabled(boolean hedgingEnabled) {
+            this.hedgingEnabled = hedgingEnabled;
+        }
+
+        /**
+         * Unary methods hedged when hedging is enabled. Only list idempotent methods: a hedged call may
+         * run on the server more than once.
+         */
+        public List<String> getHedgedMethods() {
+            return hedgedMethods;
+        }
+
+        public void setHedgedMethods(List<String> hedgedMethods) {
+            this.hedgedMethods = hedgedMethods;
+        }
+
+        public int getHedgingDelayMs() {
+            return hedgingDelayMs;
+        }
+
+        public void setHedgingDelayMs(int hedgingDelayMs) {
+            this.hedgingDelayMs = hedgingDelayMs;
+        }
+
+        public int getMaxHedgedAttempts() {
+            return maxHedgedAttempts;
+        }
+
+        public void setMaxHedgedAttempts(int maxHedgedAttempts) {
+            this.maxHedgedAttempts = maxHedgedAttempts;
+        }
+
         @Override
         public String toString() {
             return "ClientProperties{"
                     + "target='" + target + '\''
+                    + ", mode=" + mode
+                    + ", addresses=" + addresses
+                    + ", loadBalancingPolicy=" + loadBalancingPolicy
+                    + ", healthCheckEnabled=" + healthCheckEnabled
+                    + ", healthCheckServiceName='" + healthCheckServiceName + '\''
                     + ", deadlineMs=" + deadlineMs
                     + ", retryEnabled=" + retryEnabled
                     + ", maxRetryAttempts=" + maxRetryAttempts
+                    + ", maxRetryBackoffMs=" + maxRetryBackoffMs
+                    + ", retryThrottlingMaxTokens=" + retryThrottlingMaxTokens
+                    + ", retryThrottlingTokenRatio=" + retryThrottlingTokenRatio
+                    + ", hedgingEnabled=" + hedgingEnabled
+                    + ", hedgedMethods=" + hedgedMethods
+                    + ", hedgingDelayMs=" + hedgingDelayMs
+                    + ", maxHedgedAttempts=" + maxHedgedAttempts
                     + '}';
         }
+
+        /**
+         * Transport used by the client.
+         */
+        public enum Mode {
+            /** In-process when the target is this application's own server, network otherwise. */
+            AUTO,
+            /** Always call the server of this application through the in-process transport. */
+            IN_PROCESS,
+            /** Always use a network channel to {@code target}. */
+            NETWORK
+        }
+
+        /**
+         * Load-balancing policy of the network channel across the resolved orders-service instances.
+         */
+        public enum LoadBalancingPolicy {
+            /** Send every call to the first reachable address. */
+            PICK_FIRST("pick_first"),
+            /** Rotate over the healthy addresses. */
+            ROUND_ROBIN("round_robin"),
+            /** Send each call to whichever of two random addresses has fewer calls in flight. */
+            LEAST_REQUEST(GrpcLeastRequestLoadBalancerProvider.POLICY_NAME);
+
+            private final String policyName;
+
+            LoadBalancingPolicy(String policyName) {
+                this.policyName = policyName;
+            }
+
+            public String getPolicyName() {
+                return policyName;
+            }
+        }
+    }
+
+    /**
+     * Micrometer metrics recorded by the server and client interceptors.
+     */
+    public static class MetricsProperties {
+        private boolean enabled = true;
+
+        private List<Duration> sloBoundaries = new ArrayList<>(List.of(
+                Duration.ofMillis(5),
+                Duration.ofMillis(10),
+                Duration.ofMillis(25),
+                Duration.ofMillis(50),
+                Duration.ofMillis(100),
+                Duration.ofMillis(250),
+                Duration.ofMillis(500),
+                Duration.ofSeconds(1),
+                Duration.ofMillis(2500),
+                Duration.ofSeconds(5)));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Latency histogram bucket boundaries, published for every method so that percentiles can be
+         * aggregated across instances.
+         */
+        public List<Duration> getSloBoundaries() {
+            return sloBoundaries;
+        }
+
+        public void setSloBoundaries(List<Duration> sloBoundaries) {
+            this.sloBoundaries = sloBoundaries;
+        }
+
+        @Override
+        public String toString() {
+            return "MetricsProperties{" + "enabled=" + enabled + ", sloBoundaries=" + sloBoundaries + '}';
+        }
     }
 }
@@ -5,32 +5,72 @@ import io.grpc.CallOptions;
 import io.grpc.Channel;
 import io.grpc.ClientCall;
 import io.grpc.ClientInterceptor;
+import io.grpc.Context;
+import io.grpc.Deadline;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
 import io.grpc.Status;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Client-side interceptor providing exponential backoff retries for unary calls.
+ * Client-side interceptor providing retries and hedging for unary calls.
+ *
+ * Calls failing with a retryable status are retried after a full-jitter exponential backoff, a random
+ * delay between zero and {@code 100ms * 2^(attempt-1)} capped at {@code max-retry-backoff-ms}, so that
+ * clients failing together do not retry together. Methods listed in {@code hedged-methods} (idempotent
+ * reads) are hedged instead when hedging is enabled: another attempt starts every {@code hedging-delay-ms}
+ * until one completes, up to {@code max-hedged-attempts}, and the first result wins while the others are
+ * cancelled. All retries and hedges draw on a {@link GrpcRetryThrottle} shared by every call through the
+ * channel, so a failing server is not hit with a multiple of its normal load.
+ *
+ * Each attempt gets {@code deadline-ms} but never outlives the caller's own deadline, taken from the call
+ * options or the calling context. No retry or hedge is scheduled unless at least 50 ms of the caller's
+ * deadline would be left for it once it starts; the last failure is returned instead.
+ *
+ * Retries, hedges and throttled attempts are counted per method as {@code bookstore.grpc.client.retries},
+ * {@code bookstore.grpc.client.hedges} and {@code bookstore.grpc.client.retries.throttled}.
  */
 public class GrpcRetryInterceptor implements ClientInterceptor {
 
     private static final Logger log = LoggerFactory.getLogger(GrpcRetryInterceptor.class);
     private static final Set<Status.Code> RETRYABLE_CODES = EnumSet.of(Status.Code.UNAVAILABLE);
     private static final long BASE_DELAY_MILLIS = 100L;
+    // Matches the server's default min-deadline-ms, below which it rejects calls without running them
+    private static final long MIN_ATTEMPT_MILLIS = 50L;
 
     private final ClientProperties clientProperties;
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final MeterRegistry meterRegistry;
+    private final GrpcRetryThrottle throttle;
+    private final Set<String> hedgedMethods;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("grpc-retry").daemon().factory());
 
-    public GrpcRetryInterceptor(ClientProperties clientProperties) {
+    public GrpcRetryInterceptor(ClientProperties clientProperties, MeterRegistry meterRegistry) {
         this.clientProperties = clientProperties;
+        this.meterRegistry = meterRegistry;
+        this.throttle = new GrpcRetryThrottle(
+                clientProperties.getRetryThrottlingMaxTokens(), clientProperties.getRetryThrottlingTokenRatio());
+        this.hedgedMethods = clientProperties.getHedgedMethods().stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        Gauge.builder("bookstore.grpc.client.retry.tokens", throttle, GrpcRetryThrottle::getTokens)
+                .description("Tokens left in the retry throttle; retries and hedges stop at half the maximum")
+                .register(meterRegistry);
     }
 
     @PreDestroy
@@ -44,146 +84,296 @@ public class GrpcRetryInterceptor implements ClientInterceptor {
         if (!clientProperties.isRetryEnabled() || method.getType() != MethodDescriptor.MethodType.UNARY) {
             return next.newCall(method, callOptions);
         }
-        return new RetryingClientCall<>(next, method, callOptions, clientProperties);
+        boolean hedged = clientProperties.isHedgingEnabled()
+                && hedgedMethods.contains(method.getBareMethodName().toLowerCase(Locale.ROOT));
+        return new RetryingClientCall<>(next, method, callOptions, hedged);
     }
 
+    /**
+     * Runs one logical call as a sequence of retried attempts, or as overlapping hedged attempts, and
+     * delivers the result of exactly one of them to the caller. Responses are buffered per attempt until
+     * that attempt is committed, so a losing hedge never leaks headers or messages to the caller.
+     */
     private final class RetryingClientCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
 
         private final Channel channel;
         private final MethodDescriptor<ReqT, RespT> method;
         private final CallOptions callOptions;
-        private final ClientProperties clientProperties;
+        private final Deadline callDeadline;
+        private final boolean hedged;
+        private final int maxAttempts;
+        private final Object lock = new Object();
+        private final List<Attempt> liveAttempts = new ArrayList<>();
 
         private Listener<RespT> responseListener;
         private Metadata headers;
         private ReqT requestMessage;
         private boolean messageSent;
         private boolean halfClosed;
-        private ClientCall<ReqT, RespT> delegate;
-        private int attempt;
-        private volatile boolean completed;
+        private int requested;
+        private int attemptsStarted;
+        private ScheduledFuture<?> scheduledAttempt;
+        private boolean committed;
+        private boolean cancelled;
 
         private RetryingClientCall(
-                Channel channel,
-                MethodDescriptor<ReqT, RespT> method,
-                CallOptions callOptions,
-                ClientProperties clientProperties) {
+                Channel channel, MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, boolean hedged) {
             this.channel = channel;
             this.method = method;
             this.callOptions = callOptions;
-            this.clientProperties = clientProperties;
+            // Attempts after the first start on the scheduler thread, outside the caller's context
+            this.callDeadline = earliest(callOptions.getDeadline(), Context.current().getDeadline());
+            this.hedged = hedged;
+            this.maxAttempts = Math.max(
+                    1, hedged ? clientProperties.getMaxHedgedAttempts() : clientProperties.getMaxRetryAttempts());
         }
 
         @Override
         public void start(Listener<RespT> listener, Metadata headers) {
-            this.responseListener = listener;
-            this.headers = headers;
-            startNewAttempt();
-        }
-
-        private void startNewAttempt() {
-            if (completed) {
-                return;
+            synchronized (lock) {
+                this.responseListener = listener;
+                this.headers = headers;
+                startAttempt();
+                scheduleHedge();
             }
-            attempt++;
-            CallOptions optionsForAttempt = withFreshDeadline(callOptions);
-            delegate = channel.newCall(method, optionsForAttempt);
-            delegate.start(new RetryListener(attempt), headers);
-            if (messageSent) {
-                delegate.sendMessage(requestMessage);
-                if (halfClosed) {
-                    delegate.halfClose();
-                }
-            }
-            delegate.request(1);
         }
 
         @Override
         public void request(int numMessages) {
-            delegate.request(numMessages);
+            synchronized (lock) {
+                requested += numMessages;
+                liveAttempts.forEach(attempt -> attempt.call.request(numMessages));
+            }
         }
 
         @Override
         public void cancel(String message, Throwable cause) {
-            completed = true;
-            delegate.cancel(message, cause);
+            synchronized (lock) {
+                if (committed || cancelled) {
+                    return;
+                }
+                cancelled = true;
+                cancelScheduledAttempt();
+                if (liveAttempts.isEmpty()) {
+                    // Waiting for a retry: no attempt will report the cancellation, so report it here
+                    committed = true;
+                    Status status = Status.CANCELLED.withDescription(message).withCause(cause);
+                    scheduler.execute(() -> responseListener.onClose(status, new Metadata()));
+                    return;
+                }
+                List.copyOf(liveAttempts).forEach(attempt -> attempt.call.cancel(message, cause));
+            }
         }
 
         @Override
         public void halfClose() {
-            halfClosed = true;
-            delegate.halfClose();
+            synchronized (lock) {
+                halfClosed = true;
+                liveAttempts.forEach(attempt -> attempt.call.halfClose());
+            }
         }
 
         @Override
         public void sendMessage(ReqT message) {
-            this.requestMessage = message;
-            this.messageSent = true;
-            delegate.sendMessage(message);
+            synchronized (lock) {
+                this.requestMessage = message;
+                this.messageSent = true;
+                liveAttempts.forEach(attempt -> attempt.call.sendMessage(message));
+            }
         }
 
-        private final class RetryListener extends ClientCall.Listener<RespT> {
+        private void startAttempt() {
+            if (committed || cancelled) {
+                return;
+            }
+            attemptsStarted++;
+            Attempt attempt = new Attempt(channel.newCall(method, attemptCallOptions()));
+            liveAttempts.add(attempt);
+            attempt.call.start(attempt, headers);
+            if (messageSent) {
+                attempt.call.sendMessage(requestMessage);
+                if (halfClosed) {
+                    attempt.call.halfClose();
+                }
+            }
+            attempt.call.request(Math.max(1, requested));
+        }
 
-            private final int currentAttempt;
+        private void scheduleHedge() {
+            if (!hedged
+                    || attemptsStarted >= maxAttempts
+                    || !hasTimeForAttemptAfter(clientProperties.getHedgingDelayMs())) {
+                return;
+            }
+            scheduledAttempt = scheduler.schedule(
+                    this::startHedge, clientProperties.getHedgingDelayMs(), TimeUnit.MILLISECONDS);
+        }
 
-            RetryListener(int currentAttempt) {
-                this.currentAttempt = currentAttempt;
+        private void startHedge() {
+            synchronized (lock) {
+                if (committed || cancelled || !hasTimeForAttemptAfter(0)) {
+                    return;
+                }
+                if (!throttle.isPermitted()) {
+                    count("bookstore.grpc.client.retries.throttled");
+                    return;
+                }
+                count("bookstore.grpc.client.hedges");
+                log.debug("Hedging gRPC call {} with attempt {}", method.getFullMethodName(), attemptsStarted + 1);
+                startAttempt();
+                scheduleHedge();
+            }
+        }
+
+        private void scheduleRetry(int failedAttempt, long delay) {
+            count("bookstore.grpc.client.retries");
+            log.debug(
+                    "Retrying gRPC call {} attempt {} after {} ms", method.getFullMethodName(), failedAttempt, delay);
+            scheduledAttempt = scheduler.schedule(
+                    () -> {
+                        synchronized (lock) {
+                            startAttempt();
+                        }
+                    },
+                    delay,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        private void cancelScheduledAttempt() {
+            if (scheduledAttempt != null) {
+                scheduledAttempt.cancel(false);
+                scheduledAttempt = null;
+            }
+        }
+
+        /**
+         * Decides what to do with a finished attempt.
+         *
+         * @return true if the attempt's result should be delivered to the caller
+         */
+        private boolean onAttemptClosed(Attempt attempt, Status status) {
+            liveAttempts.remove(attempt);
+            if (committed) {
+                return false;
+            }
+            if (cancelled) {
+                return liveAttempts.isEmpty() && commit();
+            }
+            if (status.isOk()) {
+                throttle.onSuccess();
+                return commit();
+            }
+            if (!RETRYABLE_CODES.contains(status.getCode())) {
+                return commit();
+            }
+
+            boolean permitted = throttle.onFailure();
+            if (hedged && !liveAttempts.isEmpty()) {
+                // Another hedge is still running and may succeed; start the next one right away if allowed
+                if (permitted && attemptsStarted < maxAttempts) {
+                    cancelScheduledAttempt();
+                    startHedge();
+                }
+                return false;
+            }
+            if (attemptsStarted >= maxAttempts) {
+                log.warn("gRPC call {} exhausted retries (attempts={})", method.getFullMethodName(), attemptsStarted);
+                return commit();
+            }
+            if (!permitted) {
+                count("bookstore.grpc.client.retries.throttled");
+                log.debug("Not retrying gRPC call {}: retry throttle engaged", method.getFullMethodName());
+                return commit();
+            }
+            long delay = hedged ? 0 : computeBackoffDelay(attemptsStarted);
+            if (!hasTimeForAttemptAfter(delay)) {
+                log.debug("Not retrying gRPC call {}: too little of its deadline left", method.getFullMethodName());
+                return commit();
+            }
+            if (hedged) {
+                cancelScheduledAttempt();
+                startHedge();
+            } else {
+                scheduleRetry(attemptsStarted, delay);
+            }
+            return false;
+        }
+
+        /**
+         * Per-attempt deadline of {@code deadline-ms}, capped by the caller's deadline.
+         */
+        private CallOptions attemptCallOptions() {
+            Deadline deadline = callDeadline;
+            if (clientProperties.getDeadlineMs() > 0) {
+                deadline = earliest(deadline, Deadline.after(clientProperties.getDeadlineMs(), TimeUnit.MILLISECONDS));
+            }
+            return deadline == null ? callOptions : callOptions.withDeadline(deadline);
+        }
+
+        private boolean hasTimeForAttemptAfter(long delayMillis) {
+            return callDeadline == null
+                    || callDeadline.timeRemaining(TimeUnit.MILLISECONDS) - delayMillis >= MIN_ATTEMPT_MILLIS;
+        }
+
+        private boolean commit() {
+            committed = true;
+            cancelScheduledAttempt();
+            List.copyOf(liveAttempts).forEach(other -> other.call.cancel("Superseded by another hedged attempt", null));
+            return true;
+        }
+
+        private void count(String meterName) {
+            meterRegistry.counter(meterName, "method", method.getFullMethodName()).increment();
+        }
+
+        private final class Attempt extends ClientCall.Listener<RespT> {
+
+            private final ClientCall<ReqT, RespT> call;
+            private final List<RespT> messages = new ArrayList<>(1);
+            private Metadata responseHeaders;
+
+            private Attempt(ClientCall<ReqT, RespT> call) {
+                this.call = call;
             }
 
             @Override
             public void onHeaders(Metadata headers) {
-                responseListener.onHeaders(headers);
+                this.responseHeaders = headers;
             }
 
             @Override
             public void onMessage(RespT message) {
-                responseListener.onMessage(message);
+                messages.add(message);
             }
 
             @Override
             public void onClose(Status status, Metadata trailers) {
-                if (completed) {
-                    responseListener.onClose(status, trailers);
-                    return;
+                boolean deliver;
+                synchronized (lock) {
+                    deliver = onAttemptClosed(this, status);
                 }
-
-                if (status.isOk() || !shouldRetry(status)) {
-                    responseListener.onClose(status, trailers);
+                if (!deliver) {
                     return;
                 }
-
-                int maxAttempts = Math.max(1, clientProperties.getMaxRetryAttempts());
-                if (currentAttempt >= maxAttempts) {
-                    log.warn(
-                            "gRPC call {} exhausted retries (attempts={})", method.getFullMethodName(), currentAttempt);
-                    responseListener.onClose(status, trailers);
-                    return;
+                if (responseHeaders != null) {
+                    responseListener.onHeaders(responseHeaders);
                 }
-
-                long delay = computeBackoffDelay(currentAttempt);
-                log.debug(
-                        "Retrying gRPC call {} attempt {} after {} ms",
-                        method.getFullMethodName(),
-                        currentAttempt,
-                        delay);
-
-                scheduler.schedule(RetryingClientCall.this::startNewAttempt, delay, TimeUnit.MILLISECONDS);
+                messages.forEach(responseListener::onMessage);
+                responseListener.onClose(status, trailers);
             }
         }
     }
 
-    private boolean shouldRetry(Status status) {
-        return RETRYABLE_CODES.contains(status.getCode());
-    }
-
     private long computeBackoffDelay(int attempt) {
-        return (long) (BASE_DELAY_MILLIS * Math.pow(2, attempt - 1));
+        long ceiling = Math.min(
+                (long) (BASE_DELAY_MILLIS * Math.pow(2, attempt - 1)), clientProperties.getMaxRetryBackoffMs());
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
     }
 
-    private CallOptions withFreshDeadline(CallOptions base) {
-        if (clientProperties.getDeadlineMs() <= 0) {
-            return base;
+    private static Deadline earliest(Deadline first, Deadline second) {
+        if (first == null) {
+            return second;
         }
-        return base.withDeadlineAfter(clientProperties.getDeadlineMs(), TimeUnit.MILLISECONDS);
+        return second == null ? first : first.minimum(second);
     }
 }
@@ -0,0 +1,71 @@
+package com.sivalabs.bookstore.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Token bucket shared by all calls of a channel that stops retries and hedges while the server is failing.
+ *
+ * Follows the gRPC retry throttling design: every retryable failure takes one token, every success
+ * returns {@code tokenRatio} tokens, and further attempts are only made while more than half of
+ * {@code maxTokens} remain. A struggling server therefore sees at most a small fraction of extra
+ * attempts instead of every call multiplying its load. Tokens are kept in thousandths so that fractional
+ * ratios can be applied atomically.
+ */
+final class GrpcRetryThrottle {
+
+    private static final int SCALE = 1_000;
+
+    private final int maxTokens;
+    private final int threshold;
+    private final int tokenRatio;
+    private final AtomicInteger tokens;
+
+    GrpcRetryThrottle(double maxTokens, double tokenRatio) {
+        this.maxTokens = (int) (maxTokens * SCALE);
+        this.threshold = this.maxTokens / 2;
+        this.tokenRatio = (int) (tokenRatio * SCALE);
+        this.tokens = new AtomicInteger(this.maxTokens);
+    }
+
+    /**
+     * Records a retryable failure.
+     *
+     * @return whether another attempt may be made
+     */
+    boolean onFailure() {
+        while (true) {
+            int current = tokens.get();
+            if (current == 0) {
+                return false;
+            }
+            int decremented = Math.max(current - SCALE, 0);
+            if (tokens.compareAndSet(current, decremented)) {
+                return decremented > threshold;
+            }
+        }
+    }
+
+    /**
+     * @return whether another attempt may be made, without consuming a token
+     */
+    boolean isPermitted() {
+        return tokens.get() > threshold;
+    }
+
+    void onSuccess() {
+        while (true) {
+            int current = tokens.get();
+            if (current == maxTokens) {
+                return;
+            }
+            int incremented = Math.min(current + tokenRatio, maxTokens);
+            if (tokens.compareAndSet(current, incremented)) {
+                return;
+            }
+        }
+    }
+
+    double getTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+}
@@ -5,15 +5,22 @@ import io.grpc.Server;
 import io.grpc.ServerBuilder;
 import io.grpc.ServerServiceDefinition;
 import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
 import io.grpc.protobuf.services.HealthStatusManager;
 import io.grpc.protobuf.services.ProtoReflectionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import java.util.List;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 /**
  * Base configuration entry point for wiring gRPC server components.
@@ -28,14 +35,135 @@ import org.springframework.context.annotation.Configuration;
 public class GrpcServerConfig {
 
     @Bean
+    public GrpcServerExecutor grpcServerExecutor(
+            GrpcProperties grpcProperties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new GrpcServerExecutor(
+                grpcProperties.getServer(), meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    public GrpcConcurrencyLimitInterceptor grpcConcurrencyLimitInterceptor(
+            GrpcProperties grpcProperties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new GrpcConcurrencyLimitInterceptor(
+                grpcProperties.getServer().getMaxConcurrentCalls(),
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    public GrpcServerMetricsInterceptor grpcServerMetricsInterceptor(
+            GrpcProperties grpcProperties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new GrpcServerMetricsInterceptor(
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry),
+                grpcProperties.getMetrics().getSloBoundaries());
+    }
+
+    @Bean
+    public GrpcDeadlineInterceptor grpcDeadlineInterceptor(GrpcProperties grpcProperties) {
+        return new GrpcDeadlineInterceptor(grpcProperties.getServer().getMinDeadlineMs());
+    }
+
+    @Bean
+    @Primary
     public Server grpcServer(
             GrpcProperties grpcProperties,
             List<BindableService> grpcServices,
-            ObjectProvider<HealthStatusManager> healthStatusManagerProvider) {
+            ObjectProvider<HealthStatusManager> healthStatusManagerProvider,
+            GrpcServerExecutor grpcServerExecutor,
+            GrpcConcurrencyLimitInterceptor concurrencyLimitInterceptor,
+            GrpcDeadlineInterceptor deadlineInterceptor,
+            GrpcServerMetricsInterceptor metricsInterceptor) {
+        var serverProperties = grpcProperties.getServer();
+
+        ServerBuilder<?> serverBuilder = NettyServerBuilder.forPort(serverProperties.getPort())
+                .maxInboundMessageSize(serverProperties.getMaxInboundMessageSize())
+                .maxConcurrentCallsPerConnection(serverProperties.getMaxConcurrentCallsPerConnection())
+                .flowControlWindow(serverProperties.getFlowControlWindow());
+        configureServer(
+                serverBuilder,
+                grpcProperties,
+                grpcServices,
+                healthStatusManagerProvider,
+                grpcServerExecutor,
+                concurrencyLimitInterceptor,
+                deadlineInterceptor,
+                metricsInterceptor);
+        return serverBuilder.build();
+    }
+
+    /**
+     * Serves the same services as {@link #grpcServer} to clients in this JVM without TCP or HTTP/2
+     * framing. Registered only when {@link GrpcClientConfig} selects the in-process channel.
+     */
+    @Bean
+    @Conditional(InProcessGrpcChannelCondition.class)
+    public Server inProcessGrpcServer(
+            GrpcProperties grpcProperties,
+            List<BindableService> grpcServices,
+            ObjectProvider<HealthStatusManager> healthStatusManagerProvider,
+            GrpcServerExecutor grpcServerExecutor,
+            GrpcConcurrencyLimitInterceptor concurrencyLimitInterceptor,
+            GrpcDeadlineInterceptor deadlineInterceptor,
+            GrpcServerMetricsInterceptor metricsInterceptor) {
         var serverProperties = grpcProperties.getServer();
 
-        ServerBuilder<?> serverBuilder = ServerBuilder.forPort(serverProperties.getPort())
+        ServerBuilder<?> serverBuilder = InProcessServerBuilder.forName(grpcProperties.getInProcessServerName())
                 .maxInboundMessageSize(serverProperties.getMaxInboundMessageSize());
+        configureServer(
+                serverBuilder,
+                grpcProperties,
+                grpcServices,
+                healthStatusManagerProvider,
+                grpcServerExecutor,
+                concurrencyLimitInterceptor,
+                deadlineInterceptor,
+                metricsInterceptor);
+        return serverBuilder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(
+            name = "bookstore.grpc.server.health-check-enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    public HealthStatusManager healthStatusManager() {
+        return new HealthStatusManager();
+    }
+
+    @Bean
+    public GrpcServerLifecycle grpcServerLifecycle(Server grpcServer, GrpcProperties grpcProperties) {
+        long gracePeriodSeconds = grpcProperties.getServer().getShutdownGracePeriodSeconds();
+        return new GrpcServerLifecycle(grpcServer, gracePeriodSeconds);
+    }
+
+    @Bean
+    @Conditional(InProcessGrpcChannelCondition.class)
+    public GrpcServerLifecycle inProcessGrpcServerLifecycle(
+            @Qualifier("inProcessGrpcServer") Server inProcessGrpcServer, GrpcProperties grpcProperties) {
+        long gracePeriodSeconds = grpcProperties.getServer().getShutdownGracePeriodSeconds();
+        return new GrpcServerLifecycle(inProcessGrpcServer, gracePeriodSeconds);
+    }
+
+    private static void configureServer(
+            ServerBuilder<?> serverBuilder,
+            GrpcProperties grpcProperties,
+            List<BindableService> grpcServices,
+            ObjectProvider<HealthStatusManager> healthStatusManagerProvider,
+            GrpcServerExecutor executor,
+            GrpcConcurrencyLimitInterceptor concurrencyLimitInterceptor,
+            GrpcDeadlineInterceptor deadlineInterceptor,
+            GrpcServerMetricsInterceptor metricsInterceptor) {
+        var serverProperties = grpcProperties.getServer();
+        executor.applyTo(serverBuilder);
+        if (concurrencyLimitInterceptor.hasLimits()) {
+            serverBuilder.intercept(concurrencyLimitInterceptor);
+        }
+        serverBuilder.intercept(executor.admissionInterceptor());
+        // Interceptors added last run first: calls with too little deadline left or no room in the executor
+        // queue never take a permit, and calls rejected by any of them are still measured
+        serverBuilder.intercept(deadlineInterceptor);
+        if (grpcProperties.getMetrics().isEnabled()) {
+            serverBuilder.intercept(metricsInterceptor);
+        }
 
         HealthStatusManager healthStatusManager = null;
         if (serverProperties.isHealthCheckEnabled()) {
@@ -56,22 +184,5 @@ public class GrpcServerConfig {
         if (serverProperties.isReflectionEnabled()) {
             serverBuilder.addService(ProtoReflectionService.newInstance());
         }
-
-        return serverBuilder.build();
-    }
-
-    @Bean
-    @ConditionalOnProperty(
-            name = "bookstore.grpc.server.health-check-enabled",
-            havingValue = "true",
-            matchIfMissing = true)
-    public HealthStatusManager healthStatusManager() {
-        return new HealthStatusManager();
-    }
-
-    @Bean
-    public GrpcServerLifecycle grpcServerLifecycle(Server grpcServer, GrpcProperties grpcProperties) {
-        long gracePeriodSeconds = grpcProperties.getServer().getShutdownGracePeriodSeconds();
-        return new GrpcServerLifecycle(grpcServer, gracePeriodSeconds);
     }
 }
@@ -0,0 +1,168 @@
+package com.sivalabs.bookstore.config;
+
+import com.sivalabs.bookstore.config.GrpcProperties.ServerProperties.ExecutorMode;
+import io.grpc.Metadata;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Executor running the call handlers of the gRPC servers, selected by {@code bookstore.grpc.server.executor}.
+ *
+ * In bounded mode a {@link ThreadPoolExecutor} of {@code executor-pool-size} platform threads runs the calls
+ * and at most {@code executor-queue-capacity} tasks wait for a thread. Calls arriving while the queue is full
+ * are closed with {@code RESOURCE_EXHAUSTED} on the transport thread before any handler code runs. The bound
+ * is checked when a call is admitted rather than by rejecting tasks, because gRPC has no way to fail a call
+ * whose later messages or callbacks cannot be queued; the queue can briefly exceed the capacity by the
+ * follow-up tasks of calls already admitted.
+ *
+ * Except in direct mode the executor is instrumented as {@code grpc.server}, exporting task execution and
+ * queue wait times, plus pool and queue sizes for the bounded pool. The executor is deliberately not
+ * exposed as an {@link java.util.concurrent.Executor} bean, which would replace Spring's application task
+ * executor.
+ */
+public class GrpcServerExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServerExecutor.class);
+    private static final String THREAD_NAME_PREFIX = "grpc-server-";
+    private static final Metadata.Key<String> REJECTED_KEY =
+            Metadata.Key.of("bookstore-executor-rejected", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final ExecutorMode mode;
+    private final ExecutorService executor;
+    private final BlockingQueue<Runnable> queue;
+    private final int queueCapacity;
+    private final Counter rejected;
+
+    public GrpcServerExecutor(GrpcProperties.ServerProperties serverProperties, MeterRegistry meterRegistry) {
+        this.mode = serverProperties.getExecutor();
+        this.queueCapacity = serverProperties.getExecutorQueueCapacity();
+        this.queue = mode == ExecutorMode.BOUNDED ? new LinkedBlockingQueue<>() : null;
+        this.executor = switch (mode) {
+            case VIRTUAL -> monitor(Executors.newThreadPerTaskExecutor(virtualThreads()), meterRegistry);
+            case BOUNDED -> monitor(
+                    new ThreadPoolExecutor(
+                            serverProperties.getExecutorPoolSize(),
+                            serverProperties.getExecutorPoolSize(),
+                            0L,
+                            TimeUnit.MILLISECONDS,
+                            queue,
+                            platformThreads()),
+                    meterRegistry);
+            case CACHED -> monitor(Executors.newCachedThreadPool(platformThreads()), meterRegistry);
+            case DIRECT -> null;
+        };
+        this.rejected = Counter.builder("bookstore.grpc.server.executor.rejected")
+                .description("gRPC calls and exports rejected because the server executor queue was full")
+                .register(meterRegistry);
+    }
+
+    public ExecutorMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Run work that outlives its call handler, such as a streaming export, on this executor so it counts
+     * against the same pool and queue as the calls. In direct mode, where handlers must not block, the
+     * work gets a virtual thread of its own.
+     *
+     * @throws RejectedExecutionException if the bounded queue is full
+     */
+    public void execute(Runnable task) {
+        if (executor == null) {
+            Thread.ofVirtual().name(THREAD_NAME_PREFIX + "task").start(task);
+            return;
+        }
+        if (!admits()) {
+            rejected.increment();
+            throw new RejectedExecutionException("gRPC server executor queue is full");
+        }
+        executor.execute(task);
+    }
+
+    void applyTo(ServerBuilder<?> serverBuilder) {
+        if (executor == null) {
+            serverBuilder.directExecutor();
+        } else if (mode == ExecutorMode.BOUNDED) {
+            // Calls start on the transport thread, which only decides whether to hand them to the pool
+            serverBuilder.directExecutor().callExecutor(this::admit);
+        } else {
+            serverBuilder.executor(executor);
+        }
+    }
+
+    /**
+     * Closes calls the bounded executor did not admit; must be registered on every server this executor
+     * is {@linkplain #applyTo applied to}. Calls pass straight through in the other modes.
+     */
+    ServerInterceptor admissionInterceptor() {
+        return new ServerInterceptor() {
+            @Override
+            public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+                    ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+                if (queue == null || !headers.containsKey(REJECTED_KEY)) {
+                    return next.startCall(call, headers);
+                }
+                rejected.increment();
+                log.debug(
+                        "Rejecting {}: gRPC server executor queue is full",
+                        call.getMethodDescriptor().getFullMethodName());
+                call.close(
+                        Status.RESOURCE_EXHAUSTED.withDescription("Server is overloaded, try again later"),
+                        new Metadata());
+                return new ServerCall.Listener<>() {};
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private <ReqT, RespT> Executor admit(ServerCall<ReqT, RespT> call, Metadata headers) {
+        // Never trust the marker from the wire
+        headers.discardAll(REJECTED_KEY);
+        if (admits()) {
+            return executor;
+        }
+        // Stay on the transport thread just long enough for admissionInterceptor to close the call
+        headers.put(REJECTED_KEY, "queue-full");
+        return null;
+    }
+
+    private boolean admits() {
+        return queue == null || queue.size() < queueCapacity;
+    }
+
+    private static ThreadFactory virtualThreads() {
+        return Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory();
+    }
+
+    private static ThreadFactory platformThreads() {
+        return Thread.ofPlatform().name(THREAD_NAME_PREFIX, 0).daemon().factory();
+    }
+
+    private static ExecutorService monitor(ExecutorService executor, MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "grpc.server");
+    }
+}
@@ -33,7 +33,11 @@ public class GrpcServerLifecycle implements SmartLifecycle {
         try {
             server.start();
             running = true;
-            log.info("gRPC server started on port {}", server.getPort());
+            if (server.getPort() < 0) {
+                log.info("gRPC in-process server started as {}", server.getListenSockets());
+            } else {
+                log.info("gRPC server started on port {}", server.getPort());
+            }
         } catch (IOException ex) {
             throw new IllegalStateException("Failed to start gRPC server", ex);
         }
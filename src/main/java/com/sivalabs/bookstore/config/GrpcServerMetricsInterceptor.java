@@ -0,0 +1,77 @@
+package com.sivalabs.bookstore.config;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-side interceptor recording per-method call counts by status, latency histograms, message sizes
+ * and calls in flight under {@code bookstore.grpc.server.*} (see {@link GrpcCallMetrics}).
+ *
+ * Installed outside the concurrency limit, so calls it rejects are counted as {@code RESOURCE_EXHAUSTED}.
+ * Latency runs from the start of the call until it is closed or cancelled.
+ */
+public class GrpcServerMetricsInterceptor implements ServerInterceptor {
+
+    private final GrpcCallMetrics callMetrics;
+
+    public GrpcServerMetricsInterceptor(MeterRegistry meterRegistry, List<Duration> sloBoundaries) {
+        this.callMetrics = new GrpcCallMetrics(meterRegistry, "bookstore.grpc.server", sloBoundaries);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        GrpcCallMetrics.MethodMetrics metrics = callMetrics.forMethod(call.getMethodDescriptor().getFullMethodName());
+        long startNanos = metrics.callStarted();
+        AtomicBoolean finished = new AtomicBoolean();
+        ServerCall<ReqT, RespT> measuredCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                metrics.responseMessage(message);
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (finished.compareAndSet(false, true)) {
+                    metrics.callFinished(startNanos, status);
+                }
+                super.close(status, trailers);
+            }
+        };
+
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(measuredCall, headers);
+        } catch (RuntimeException ex) {
+            if (finished.compareAndSet(false, true)) {
+                metrics.callFinished(startNanos, Status.fromThrowable(ex));
+            }
+            throw ex;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                metrics.requestMessage(message);
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onCancel() {
+                if (finished.compareAndSet(false, true)) {
+                    metrics.callFinished(startNanos, Status.CANCELLED);
+                }
+                super.onCancel();
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.sivalabs.bookstore.config;
+
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.NameResolverProvider;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Name resolver for a fixed list of backend addresses, used when {@code bookstore.grpc.client.addresses}
+ * lists several orders-service instances. Each address becomes its own subchannel, so the configured
+ * load-balancing policy spreads calls across them.
+ *
+ * Targets use the {@code static} scheme; the path only names the service, e.g. {@code static:///orders-service}.
+ */
+class GrpcStaticNameResolverProvider extends NameResolverProvider {
+
+    static final String SCHEME = "static";
+
+    private final List<? extends SocketAddress> addresses;
+
+    GrpcStaticNameResolverProvider(List<? extends SocketAddress> addresses) {
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("At least one address is required");
+        }
+        this.addresses = List.copyOf(addresses);
+    }
+
+    @Override
+    public NameResolver newNameResolver(URI targetUri, NameResolver.Args args) {
+        if (!SCHEME.equals(targetUri.getScheme())) {
+            return null;
+        }
+        String authority = targetUri.getPath().startsWith("/") ? targetUri.getPath().substring(1) : targetUri.getPath();
+        return new StaticNameResolver(authority);
+    }
+
+    @Override
+    public String getDefaultScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    protected boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    protected int priority() {
+        return 5;
+    }
+
+    @Override
+    public Collection<Class<? extends SocketAddress>> getProducedSocketAddressTypes() {
+        Set<Class<? extends SocketAddress>> types = new HashSet<>();
+        addresses.forEach(address -> types.add(address.getClass()));
+        return types;
+    }
+
+    private final class StaticNameResolver extends NameResolver {
+
+        private final String authority;
+
+        private StaticNameResolver(String authority) {
+            this.authority = authority;
+        }
+
+        @Override
+        public String getServiceAuthority() {
+            return authority;
+        }
+
+        @Override
+        public void start(Listener2 listener) {
+            List<EquivalentAddressGroup> groups = addresses.stream().map(EquivalentAddressGroup::new).toList();
+            listener.onResult(ResolutionResult.newBuilder().setAddresses(groups).build());
+        }
+
+        @Override
+        public void shutdown() {}
+    }
+}
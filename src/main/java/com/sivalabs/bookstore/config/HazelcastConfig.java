@@ -6,7 +6,11 @@ import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
 import com.hazelcast.spring.context.SpringManagedContext;
+import com.sivalabs.bookstore.common.cache.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
@@ -40,12 +44,15 @@ public class HazelcastConfig {
      * Creates and configures the main Hazelcast configuration.
      *
      * @param cacheProperties externalized cache configuration
+     * @param mapConfigs map configurations contributed by modules
+     * @param compactSerializers Compact serializers contributed by modules for their cached entities
      * @return configured Hazelcast Config instance
      */
     @Bean
     public Config hazelcastConfiguration(
             CacheProperties cacheProperties,
             ObjectProvider<MapConfig> mapConfigs,
+            ObjectProvider<CompactSerializer<?>> compactSerializers,
             SpringManagedContext springManagedContext) {
         logger.info("Initializing Hazelcast configuration");
 
@@ -80,6 +87,9 @@ public class HazelcastConfig {
         serializationConfig.setEnableCompression(false); // Disable compression for better debugging
         serializationConfig.setEnableSharedObject(false); // Disable shared object references for simpler serialization
 
+        // Cached entities use explicit Compact serializers owned by their modules instead of Java serialization
+        compactSerializers.orderedStream().forEach(serializationConfig.getCompactSerializationConfig()::addSerializer);
+
         logger.info("Configured serialization for better Java record support");
 
         // Configure management center (disabled for now)
@@ -101,6 +111,23 @@ public class HazelcastConfig {
         return springManagedContext;
     }
 
+    /**
+     * Creates the per-cache circuit breakers used by the cache services, so that a failing map only
+     * bypasses its own cache.
+     *
+     * @param cacheProperties shared and per-cache circuit breaker thresholds
+     * @param meterRegistry registry on which each breaker publishes its state
+     * @return CircuitBreakerRegistry
+     */
+    @Bean
+    public CircuitBreakerRegistry cacheCircuitBreakerRegistry(
+            CacheProperties cacheProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new CircuitBreakerRegistry(
+                cacheProperties.getDefaultCircuitBreakerSettings(),
+                cacheProperties.getCacheCircuitBreakerSettings(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
     /**
      * Creates the Hazelcast instance using the provided configuration.
      *
@@ -170,24 +197,6 @@ public class HazelcastConfig {
         return PRODUCTS_CACHE_NAME;
     }
 
-    /**
-     * Creates the inventory cache IMap bean.
-     * Note: Using Object as value type to avoid module boundary violations.
-     * The actual InventoryEntity will be handled by the inventory module components.
-     * Uses Long keys for inventory ID-based lookups.
-     *
-     * @param hazelcastInstance the Hazelcast instance
-     * @return IMap for inventory cache
-     */
-    @Bean("inventoryCache")
-    @Lazy // Keep consistent with other cache bean patterns
-    public IMap<Long, Object> inventoryCache(HazelcastInstance hazelcastInstance) {
-        logger.info("Creating inventory cache map");
-        IMap<Long, Object> inventoryMap = hazelcastInstance.getMap(INVENTORY_CACHE_NAME);
-        logger.info("Inventory cache map created: {} with MapStore support", INVENTORY_CACHE_NAME);
-        return inventoryMap;
-    }
-
     /**
      * Provides inventory cache name constant for other components.
      *
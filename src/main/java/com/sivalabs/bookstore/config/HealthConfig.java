@@ -3,9 +3,11 @@ package com.sivalabs.bookstore.config;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import com.sivalabs.bookstore.common.cache.CacheErrorHandler;
+import com.sivalabs.bookstore.common.cache.CircuitBreaker;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
@@ -22,7 +24,7 @@ import org.springframework.stereotype.Component;
  * This component provides comprehensive health monitoring for:
  * - Orders cache (String keys)
  * - Products cache (String keys)
- * - Inventory cache (Long keys)
+ * - Inventory cache (module-owned partition-aware keys)
  * - Hazelcast infrastructure
  * - Circuit breaker status across all caches
  *
@@ -38,7 +40,8 @@ public class HealthConfig implements HealthIndicator {
     private final HazelcastInstance hazelcastInstance;
     private final IMap<String, Object> ordersCache;
     private final IMap<String, Object> productsCache;
-    private final IMap<Long, Object> inventoryCache;
+    private final IMap<?, Object> inventoryCache;
+    private final Object inventoryHealthCheckKey;
 
     private final CacheErrorHandler cacheErrorHandler;
     private final CacheProperties cacheProperties;
@@ -52,7 +55,8 @@ public class HealthConfig implements HealthIndicator {
             HazelcastInstance hazelcastInstance,
             @Qualifier("ordersCache") IMap<String, Object> ordersCache,
             @Qualifier("productsCache") IMap<String, Object> productsCache,
-            @Qualifier("inventoryCache") IMap<Long, Object> inventoryCache,
+            @Qualifier("inventoryCache") IMap<?, Object> inventoryCache,
+            @Qualifier("inventoryCacheHealthCheckKey") Object inventoryHealthCheckKey,
             CacheErrorHandler cacheErrorHandler,
             CacheProperties cacheProperties) {
 
@@ -60,6 +64,7 @@ public class HealthConfig implements HealthIndicator {
         this.ordersCache = ordersCache;
         this.productsCache = productsCache;
         this.inventoryCache = inventoryCache;
+        this.inventoryHealthCheckKey = inventoryHealthCheckKey;
         this.cacheErrorHandler = cacheErrorHandler;
         this.cacheProperties = cacheProperties;
 
@@ -277,7 +282,7 @@ public class HealthConfig implements HealthIndicator {
             stats.put("status", "AVAILABLE");
             stats.put("name", name);
             stats.put("size", size);
-            stats.put("keyType", "Long"); // Distinguish Long keys from String keys
+            stats.put("keyType", inventoryHealthCheckKey.getClass().getSimpleName());
 
             if (inventoryCache.getLocalMapStats() != null) {
                 var localStats = inventoryCache.getLocalMapStats();
@@ -304,17 +309,28 @@ public class HealthConfig implements HealthIndicator {
 
     private boolean checkCircuitBreakerHealth(Map<String, Object> details) {
         try {
-            boolean circuitOpen = cacheErrorHandler.isCircuitOpen();
-            String errorStats = cacheErrorHandler.getCacheErrorStats();
+            Map<String, CircuitBreaker> circuitBreakers =
+                    cacheErrorHandler.getCircuitBreakerRegistry().getCircuitBreakers();
+            Map<String, Object> caches = new LinkedHashMap<>();
+            boolean anyOpen = false;
+            for (CircuitBreaker circuitBreaker : circuitBreakers.values()) {
+                boolean rejecting = circuitBreaker.isCallNotPermitted();
+                anyOpen |= rejecting;
+                caches.put(
+                        circuitBreaker.getName(),
+                        Map.of(
+                                "state", circuitBreaker.getState().name(),
+                                "healthy", !rejecting,
+                                "failureRate", String.format("%.1f%%", circuitBreaker.getFailureRate()),
+                                "bufferedCalls", circuitBreaker.getBufferedCalls(),
+                                "notPermittedCalls", circuitBreaker.getNotPermittedCalls()));
+            }
 
             details.put(
                     "circuitBreaker",
-                    Map.of(
-                            "status", circuitOpen ? "OPEN" : "CLOSED",
-                            "healthy", !circuitOpen,
-                            "errorStats", errorStats != null ? errorStats : "No error statistics available"));
+                    Map.of("status", anyOpen ? "OPEN" : "CLOSED", "healthy", !anyOpen, "caches", caches));
 
-            return !circuitOpen; // Healthy when circuit is closed
+            return !anyOpen; // Healthy when every cache circuit is closed
 
         } catch (Exception e) {
             details.put("circuitBreaker", Map.of("status", "ERROR", "error", e.getMessage()));
@@ -340,7 +356,6 @@ public class HealthConfig implements HealthIndicator {
 
             String testKey = HEALTH_CHECK_KEY_PREFIX + System.currentTimeMillis();
             String testValue = "health-test-value";
-            Long testLongKey = System.currentTimeMillis();
 
             // Test orders cache operations
             try {
@@ -380,18 +395,11 @@ public class HealthConfig implements HealthIndicator {
                 allOperationsSuccessful = false;
             }
 
-            // Test inventory cache operations (Long keys)
+            // Test inventory cache reads with the key contributed by the inventory module, since its MapStore
+            // only accepts that module's key type. Writes are skipped: a put would be stored to the database.
             try {
-                boolean inventorySuccess;
-                if (readOnly) {
-                    inventoryCache.get(testLongKey);
-                    inventorySuccess = true; // success if no exception
-                } else {
-                    inventoryCache.put(testLongKey, testValue);
-                    String retrieved = (String) inventoryCache.get(testLongKey);
-                    inventorySuccess = testValue.equals(retrieved);
-                    inventoryCache.remove(testLongKey);
-                }
+                inventoryCache.get(inventoryHealthCheckKey);
+                boolean inventorySuccess = true; // success if no exception
                 operationResults.put("inventoryCache", inventorySuccess ? "OK" : "FAILED");
                 allOperationsSuccessful &= inventorySuccess;
             } catch (Exception e) {
@@ -487,7 +495,7 @@ public class HealthConfig implements HealthIndicator {
                         Map.of(
                                 "orders", "String keys",
                                 "products", "String keys",
-                                "inventory", "Long keys")));
+                                "inventory", inventoryHealthCheckKey.getClass().getSimpleName() + " keys")));
     }
 
     /**
@@ -0,0 +1,21 @@
+package com.sivalabs.bookstore.config;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Matches when {@link GrpcProperties#useInProcessChannel()} selects the in-process transport, so that
+ * the in-process server is only registered when the client will actually use it.
+ */
+class InProcessGrpcChannelCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return Binder.get(context.getEnvironment())
+                .bind("bookstore.grpc", GrpcProperties.class)
+                .orElseGet(GrpcProperties::new)
+                .useInProcessChannel();
+    }
+}
@@ -0,0 +1,31 @@
+package com.sivalabs.bookstore.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.transaction.autoconfigure.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Transaction manager configuration.
+ *
+ * Registered whether or not {@code bookstore.grpc.server.enabled} is set, since gRPC handlers also run on
+ * servers {@link GrpcServerConfig} does not create, such as in-process test servers. Outside gRPC calls
+ * the transaction manager behaves like Spring Boot's own.
+ */
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Replaces Spring Boot's JPA transaction manager so that transactions run by gRPC handlers time out
+     * with the call's deadline and abort their query when the call is cancelled. Customizers are applied
+     * as Spring Boot does for its own, so spring.transaction.* properties keep working.
+     */
+    @Bean
+    public JpaTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        GrpcDeadlineAwareTransactionManager transactionManager = new GrpcDeadlineAwareTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sivalabs.bookstore.inventory;
+
+import com.sivalabs.bookstore.orders.api.events.OrderCreatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Opt-in replacement for {@link OrderEventInventoryHandler} that hands events to the
+ * {@link InventoryDecrementBatcher}.
+ *
+ * The listener intentionally has no transaction of its own, so no database connection is held
+ * while it waits for the batch containing its event to be applied. Returning normally lets Spring Modulith
+ * mark the event publication completed, so all publications of a batch complete together,
+ * while a failed decrement leaves its publication incomplete for resubmission.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bookstore.inventory.event-batching", name = "enabled", havingValue = "true")
+class BatchingOrderEventInventoryHandler {
+    private static final Logger log = LoggerFactory.getLogger(BatchingOrderEventInventoryHandler.class);
+    private final InventoryDecrementBatcher batcher;
+
+    BatchingOrderEventInventoryHandler(InventoryDecrementBatcher batcher) {
+        this.batcher = batcher;
+    }
+
+    @Async
+    @TransactionalEventListener
+    void handle(OrderCreatedEvent event) {
+        log.debug("[Inventory]: Queueing order created event for batched stock decrement: {}", event);
+        batcher.submit(event.productCode(), event.quantity()).join();
+    }
+}
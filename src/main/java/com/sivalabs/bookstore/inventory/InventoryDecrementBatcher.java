@@ -0,0 +1,197 @@
+package com.sivalabs.bookstore.inventory;
+
+import com.sivalabs.bookstore.inventory.cache.InventoryCacheService;
+import com.sivalabs.bookstore.inventory.domain.InventoryBatchRepository;
+import com.sivalabs.bookstore.inventory.domain.InventoryService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects stock decrements for a short window, or until a maximum batch size is reached,
+ * and applies them together.
+ *
+ * Decrements are merged per product code and written with one JDBC batch, so the number of
+ * inventory statements scales with the number of distinct products instead of the number of
+ * orders. Products whose merged decrement cannot be applied (unknown product or insufficient
+ * stock for the combined quantity) fall back to {@link InventoryService#decreaseStockLevel},
+ * one order at a time, preserving the per-order outcome.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bookstore.inventory.event-batching", name = "enabled", havingValue = "true")
+class InventoryDecrementBatcher implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(InventoryDecrementBatcher.class);
+
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final InventoryService inventoryService;
+    private final ObjectProvider<InventoryCacheService> inventoryCacheServiceProvider;
+    private final int maxBatchSize;
+    private final long windowMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-batch-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private List<PendingDecrement> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    InventoryDecrementBatcher(
+            InventoryBatchRepository inventoryBatchRepository,
+            InventoryService inventoryService,
+            ObjectProvider<InventoryCacheService> inventoryCacheServiceProvider,
+            @Value("${bookstore.inventory.event-batching.max-size:100}") int maxBatchSize,
+            @Value("${bookstore.inventory.event-batching.window-ms:20}") long windowMs) {
+        this.inventoryBatchRepository = inventoryBatchRepository;
+        this.inventoryService = inventoryService;
+        this.inventoryCacheServiceProvider = inventoryCacheServiceProvider;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.windowMs = Math.max(1, windowMs);
+        log.info("InventoryDecrementBatcher initialized - max batch size: {}, window: {} ms", maxBatchSize, windowMs);
+    }
+
+    /**
+     * Queue a stock decrement for the next batch.
+     *
+     * @return a future completed once the decrement has been applied, or completed exceptionally if it failed
+     */
+    CompletableFuture<Void> submit(String productCode, int quantity) {
+        PendingDecrement decrement = new PendingDecrement(productCode, quantity, new CompletableFuture<>());
+        List<PendingDecrement> fullBatch = null;
+
+        lock.lock();
+        try {
+            pending.add(decrement);
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            apply(fullBatch);
+        }
+        return decrement.result();
+    }
+
+    void flush() {
+        List<PendingDecrement> batch;
+        lock.lock();
+        try {
+            batch = drain();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            apply(batch);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+        scheduler.shutdownNow();
+    }
+
+    private List<PendingDecrement> drain() {
+        List<PendingDecrement> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void apply(List<PendingDecrement> batch) {
+        // Sorted so concurrent flushes lock overlapping inventory rows in the same order and cannot deadlock
+        Map<String, Long> quantitiesByProductCode = new TreeMap<>();
+        List<PendingDecrement> individual = new ArrayList<>();
+        for (PendingDecrement decrement : batch) {
+            if (decrement.quantity() > 0) {
+                quantitiesByProductCode.merge(decrement.productCode(), (long) decrement.quantity(), Long::sum);
+            } else {
+                // Let InventoryService reject invalid quantities with its usual exception
+                individual.add(decrement);
+            }
+        }
+
+        Set<String> notUpdated;
+        try {
+            notUpdated = quantitiesByProductCode.isEmpty()
+                    ? Set.of()
+                    : inventoryBatchRepository.decreaseQuantities(quantitiesByProductCode);
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Batched stock decrement failed for {} products - applying orders individually: {}",
+                    quantitiesByProductCode.size(),
+                    e.getMessage());
+            notUpdated = quantitiesByProductCode.keySet();
+        }
+
+        log.info(
+                "Applied batched stock decrement: {} orders, {} products, {} products falling back",
+                batch.size(),
+                quantitiesByProductCode.size(),
+                notUpdated.size());
+
+        for (String productCode : quantitiesByProductCode.keySet()) {
+            if (!notUpdated.contains(productCode)) {
+                evictFromCache(productCode);
+            }
+        }
+
+        for (PendingDecrement decrement : batch) {
+            if (decrement.quantity() > 0 && !notUpdated.contains(decrement.productCode())) {
+                decrement.result().complete(null);
+            } else if (decrement.quantity() > 0) {
+                individual.add(decrement);
+            }
+        }
+
+        for (PendingDecrement decrement : individual) {
+            try {
+                inventoryService.decreaseStockLevel(decrement.productCode(), decrement.quantity());
+                decrement.result().complete(null);
+            } catch (RuntimeException e) {
+                decrement.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void evictFromCache(String productCode) {
+        InventoryCacheService inventoryCacheService = inventoryCacheServiceProvider.getIfAvailable();
+        if (inventoryCacheService == null || inventoryCacheService.isCircuitBreakerOpen()) {
+            return;
+        }
+        try {
+            inventoryCacheService.evictByProductCode(productCode);
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to evict inventory from cache for product code {} - database update successful: {}",
+                    productCode,
+                    e.getMessage());
+        }
+    }
+
+    private record PendingDecrement(String productCode, int quantity, CompletableFuture<Void> result) {}
+}
@@ -4,10 +4,13 @@ import com.sivalabs.bookstore.inventory.domain.InventoryService;
 import com.sivalabs.bookstore.orders.api.events.OrderCreatedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.modulith.events.ApplicationModuleListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(
+        prefix = "bookstore.inventory.event-batching", name = "enabled", havingValue = "false", matchIfMissing = true)
 class OrderEventInventoryHandler {
     private static final Logger log = LoggerFactory.getLogger(OrderEventInventoryHandler.class);
     private final InventoryService inventoryService;
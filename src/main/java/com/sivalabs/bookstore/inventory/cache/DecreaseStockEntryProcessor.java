@@ -0,0 +1,43 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import com.hazelcast.map.EntryProcessor;
+import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
+import java.util.Map;
+
+/**
+ * Hazelcast entry processor that checks and decreases the stock of a single inventory record.
+ *
+ * The processor runs on the partition thread owning the key, so concurrent decrements for
+ * the same inventory record are applied one after another without any lost updates.
+ * {@link InventoryKey} routes on the product code, so that is the partition also holding the
+ * product's {@code products-cache} entry.
+ * Setting the new value triggers {@link InventoryMapStore#store} which persists the
+ * quantity to the database.
+ */
+public class DecreaseStockEntryProcessor implements EntryProcessor<InventoryKey, Object, StockDecrementResult> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long quantity;
+
+    public DecreaseStockEntryProcessor(long quantity) {
+        this.quantity = quantity;
+    }
+
+    @Override
+    public StockDecrementResult process(Map.Entry<InventoryKey, Object> entry) {
+        if (!(entry.getValue() instanceof InventoryEntity inventory) || inventory.getQuantity() == null) {
+            return StockDecrementResult.notFound();
+        }
+
+        long available = inventory.getQuantity();
+        if (available < quantity) {
+            return StockDecrementResult.insufficient(available);
+        }
+
+        long remaining = available - quantity;
+        inventory.setQuantity(remaining);
+        entry.setValue(inventory);
+        return StockDecrementResult.applied(remaining);
+    }
+}
@@ -19,10 +19,15 @@ import org.springframework.stereotype.Service;
  * This service provides a dedicated map where keys are product codes (String)
  * and values are inventory IDs (Long). It avoids scanning values() on the
  * primary inventory cache when looking up by product code.
+ *
+ * Only used with {@code bookstore.inventory.product-code-lookup=index-map}; the attribute-index mode
+ * queries {@code inventory-cache} directly instead.
  */
 @Service
 @Lazy
 @ConditionalOnProperty(prefix = "bookstore.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(
+        prefix = "bookstore.inventory", name = "product-code-lookup", havingValue = "index-map", matchIfMissing = true)
 @ConditionalOnBean(name = "inventoryByProductCodeCache")
 public class InventoryByProductCodeIndex extends AbstractCacheService<String, Long> {
 
@@ -52,7 +57,7 @@ public class InventoryByProductCodeIndex extends AbstractCacheService<String, Lo
         return errorHandler.executeWithFallback(
                 () -> {
                     Object cached = cache.get(productCode);
-                    Long id = safeCast(cached, productCode);
+                    Long id = lookup("findInventoryIdByProductCode", cached, productCode);
                     return Optional.ofNullable(id);
                 },
                 "findInventoryIdByProductCode",
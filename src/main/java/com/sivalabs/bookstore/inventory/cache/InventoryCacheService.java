@@ -1,13 +1,20 @@
 package com.sivalabs.bookstore.inventory.cache;
 
 import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.sivalabs.bookstore.common.cache.AbstractCacheService;
 import com.sivalabs.bookstore.common.cache.CacheErrorHandler;
 import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
@@ -19,24 +26,44 @@ import org.springframework.stereotype.Service;
  * cache operations while inheriting common cache functionality.
  *
  * Key features:
- * - Long ID-based cache operations for inventory lookups
+ * - {@link InventoryKey} cache keys partitioned by product code, co-locating a SKU's inventory
+ *   with its product entry
  * - Consistent error handling with circuit breaker pattern
  * - Optimized TTL configuration for inventory volatility
  * - Integration with inventory domain operations
+ * - Atomic, partition-local stock decrements via {@link DecreaseStockEntryProcessor}
+ *
+ * Inventory records cached by this service have already been read from or written to
+ * the database, so they are put transiently and never trigger {@link InventoryMapStore#store}.
+ * Only changes made inside the grid are persisted through the MapStore.
+ *
+ * Lookups by product code follow {@link ProductCodeLookupMode}: through the
+ * {@link InventoryByProductCodeIndex} side map (default), or with a predicate served by a HASH
+ * index on {@value #PRODUCT_CODE_ATTRIBUTE}. Without either, the cached values are scanned.
  */
 @Service
 @ConditionalOnProperty(prefix = "bookstore.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
 @Lazy
-public class InventoryCacheService extends AbstractCacheService<Long, InventoryEntity> {
+public class InventoryCacheService extends AbstractCacheService<InventoryKey, InventoryEntity> {
+
+    /**
+     * Inventory attribute indexed on {@code inventory-cache} in {@link ProductCodeLookupMode#ATTRIBUTE_INDEX} mode.
+     */
+    public static final String PRODUCT_CODE_ATTRIBUTE = "productCode";
 
     private final InventoryByProductCodeIndex index;
+    private final ProductCodeLookupMode productCodeLookupMode;
 
     public InventoryCacheService(
-            @Qualifier("inventoryCache") IMap<Long, Object> inventoryCache,
+            @Qualifier("inventoryCache") IMap<InventoryKey, Object> inventoryCache,
             @Autowired(required = false) CacheErrorHandler errorHandler,
-            ObjectProvider<InventoryByProductCodeIndex> indexProvider) {
+            ObjectProvider<InventoryByProductCodeIndex> indexProvider,
+            @Value("${bookstore.inventory.product-code-lookup:index-map}") String productCodeLookup) {
         super(inventoryCache, errorHandler != null ? errorHandler : new CacheErrorHandler(), InventoryEntity.class);
-        this.index = indexProvider != null ? indexProvider.getIfAvailable() : null;
+        this.productCodeLookupMode = ProductCodeLookupMode.fromProperty(productCodeLookup);
+        this.index = productCodeLookupMode == ProductCodeLookupMode.INDEX_MAP && indexProvider != null
+                ? indexProvider.getIfAvailable()
+                : null;
     }
 
     @Override
@@ -45,38 +72,38 @@ public class InventoryCacheService extends AbstractCacheService<Long, InventoryE
     }
 
     @Override
-    protected Long createHealthCheckKey() {
-        return System.currentTimeMillis();
+    protected InventoryKey createHealthCheckKey() {
+        return new InventoryKey(System.currentTimeMillis(), "health-check");
     }
 
     /**
-     * Find an inventory record by its unique ID from the cache.
+     * Find an inventory record by its key from the cache.
      *
-     * @param inventoryId the inventory ID to search for
+     * @param key the inventory key to search for
      * @return Optional containing the inventory if found in cache, empty if not found or cache error
      */
-    public Optional<InventoryEntity> findById(Long inventoryId) {
+    public Optional<InventoryEntity> findById(InventoryKey key) {
         return errorHandler.executeWithFallback(
                 () -> {
-                    Object cachedValue = cache.get(inventoryId);
-                    InventoryEntity inventory = safeCast(cachedValue, inventoryId);
+                    Object cachedValue = cache.get(key);
+                    InventoryEntity inventory = lookup("findById", cachedValue, key);
                     return Optional.ofNullable(inventory);
                 },
                 "findById",
-                String.valueOf(inventoryId),
+                String.valueOf(key),
                 Optional::empty);
     }
 
     /**
      * Cache an inventory entity.
      *
-     * @param inventoryId the inventory ID (cache key)
+     * @param inventoryId the inventory ID, combined with the entity's product code into the cache key
      * @param inventory the inventory entity to cache
      * @return true if caching was successful, false otherwise
      */
     public boolean cacheInventory(Long inventoryId, InventoryEntity inventory) {
-        boolean cached = cacheEntity(inventoryId, inventory);
-        if (cached && index != null && inventory != null && inventory.getProductCode() != null) {
+        boolean cached = putPersistedInventory(inventoryId, inventory, "cacheInventory");
+        if (cached && index != null && inventory.getProductCode() != null) {
             index.updateIndex(inventory.getProductCode(), inventoryId);
         }
         return cached;
@@ -85,21 +112,127 @@ public class InventoryCacheService extends AbstractCacheService<Long, InventoryE
     /**
      * Update an existing cached inventory record.
      *
-     * @param inventoryId the inventory ID (cache key)
+     * @param inventoryId the inventory ID, combined with the entity's product code into the cache key
      * @param inventory the updated inventory entity
      * @return true if update was successful, false otherwise
      */
     public boolean updateCachedInventory(Long inventoryId, InventoryEntity inventory) {
-        boolean updated = updateCachedEntity(inventoryId, inventory);
-        if (updated && index != null && inventory != null && inventory.getProductCode() != null) {
+        boolean updated = putPersistedInventory(inventoryId, inventory, "updateCachedInventory");
+        if (updated && index != null && inventory.getProductCode() != null) {
             index.updateIndex(inventory.getProductCode(), inventoryId);
         }
         return updated;
     }
 
+    /**
+     * Atomically decrease the stock level of a product inside the cache.
+     *
+     * The availability check and the decrement run as a single {@link DecreaseStockEntryProcessor}
+     * on the partition owning the inventory record, so concurrent decrements for the same product
+     * are serialized by Hazelcast instead of racing on a read-modify-write. That partition is chosen
+     * by product code and also holds the product's cache entry. A missing entry is
+     * loaded through the MapStore first, and the new quantity is persisted by
+     * {@link InventoryMapStore#store}.
+     *
+     * @param productCode the product code to decrease stock for
+     * @param quantity the quantity to remove
+     * @param inventoryIdFallback supplier resolving the inventory ID when the index has no entry
+     * @return the decrement result, or empty if the cache operation failed
+     */
+    public Optional<StockDecrementResult> decreaseStock(
+            String productCode, int quantity, Supplier<Optional<Long>> inventoryIdFallback) {
+        Optional<Long> inventoryIdOpt = findInventoryIdByProductCode(productCode);
+        if (inventoryIdOpt.isEmpty()) {
+            inventoryIdOpt = inventoryIdFallback.get();
+            if (inventoryIdOpt.isEmpty()) {
+                return Optional.of(StockDecrementResult.notFound());
+            }
+            if (index != null) {
+                index.updateIndex(productCode, inventoryIdOpt.get());
+            }
+        }
+
+        InventoryKey key = new InventoryKey(inventoryIdOpt.get(), productCode);
+        return errorHandler.executeWithFallback(
+                () -> Optional.of(cache.executeOnKey(key, new DecreaseStockEntryProcessor(quantity))),
+                "decreaseStock",
+                productCode,
+                Optional::empty);
+    }
+
+    /**
+     * Evict the cached inventory record of a product after it was changed directly in the database.
+     * The index entry is kept since the inventory ID does not change.
+     *
+     * @param productCode the product code whose inventory record should be evicted
+     * @return true if eviction was successful or nothing was cached, false otherwise
+     */
+    public boolean evictByProductCode(String productCode) {
+        if (index == null && productCodeLookupMode != ProductCodeLookupMode.ATTRIBUTE_INDEX) {
+            return findByProductCode(productCode)
+                    .map(inventory -> removeFromCache(InventoryKey.of(inventory)))
+                    .orElse(true);
+        }
+        return findInventoryIdByProductCode(productCode)
+                .map(inventoryId -> removeFromCache(new InventoryKey(inventoryId, productCode)))
+                .orElse(true);
+    }
+
+    /**
+     * Resolve the inventory ID of a product from the cache without loading the inventory record.
+     *
+     * @param productCode the product code to resolve
+     * @return the inventory ID, or empty if it is not cached or the lookup mode has no index
+     */
+    private Optional<Long> findInventoryIdByProductCode(String productCode) {
+        if (index != null) {
+            return index.findInventoryIdByProductCode(productCode);
+        }
+        if (productCodeLookupMode != ProductCodeLookupMode.ATTRIBUTE_INDEX) {
+            return Optional.empty();
+        }
+        return errorHandler.executeWithFallback(
+                () -> {
+                    Set<InventoryKey> keys = cache.keySet(productCodePredicate(productCode));
+                    return keys.stream().findFirst().map(InventoryKey::inventoryId);
+                },
+                "findInventoryIdByProductCode",
+                productCode,
+                Optional::empty);
+    }
+
+    /**
+     * Equality predicate on the product code, limited to the partition the product code routes to.
+     * Every {@link InventoryKey} of the product lives there, so the other partitions are not queried.
+     */
+    private static Predicate<InventoryKey, Object> productCodePredicate(String productCode) {
+        return Predicates.partitionPredicate(productCode, Predicates.equal(PRODUCT_CODE_ATTRIBUTE, productCode));
+    }
+
+    private boolean putPersistedInventory(Long inventoryId, InventoryEntity inventory, String operationName) {
+        if (inventory == null) {
+            logger.warn("Attempted to cache null inventory for key: {}", inventoryId);
+            return false;
+        }
+        if (inventoryId == null || inventory.getProductCode() == null) {
+            logger.warn("Attempted to cache inventory without ID or product code for key: {}", inventoryId);
+            return false;
+        }
+
+        InventoryKey key = new InventoryKey(inventoryId, inventory.getProductCode());
+        return errorHandler.executeVoidOperation(
+                () -> {
+                    // Negative TTL keeps the map's configured time-to-live
+                    cache.putTransient(key, inventory, -1, TimeUnit.SECONDS);
+                    logger.debug("Inventory cached successfully: {}", inventoryId);
+                },
+                operationName,
+                String.valueOf(inventoryId));
+    }
+
     /**
      * Find inventory by product code from the cache.
-     * This method searches through cache values to find inventory by product code.
+     * Uses the configured {@link ProductCodeLookupMode}, or scans the cached values when no index is available.
      *
      * @param productCode the product code to search for
      * @return Optional containing the inventory if found in cache, empty if not found or cache error
@@ -109,10 +242,21 @@ public class InventoryCacheService extends AbstractCacheService<Long, InventoryE
 
         return errorHandler.executeWithFallback(
                 () -> {
+                    if (productCodeLookupMode == ProductCodeLookupMode.ATTRIBUTE_INDEX) {
+                        Set<Map.Entry<InventoryKey, Object>> matches =
+                                cache.entrySet(productCodePredicate(productCode));
+                        if (matches.isEmpty()) {
+                            errorHandler.getMetrics().recordMiss("findByProductCode");
+                            return Optional.empty();
+                        }
+                        Map.Entry<InventoryKey, Object> match = matches.iterator().next();
+                        return Optional.ofNullable(lookup("findByProductCode", match.getValue(), match.getKey()));
+                    }
+
                     if (index != null) {
                         Optional<Long> idOpt = index.findInventoryIdByProductCode(productCode);
                         if (idOpt.isPresent()) {
-                            return findById(idOpt.get());
+                            return findById(new InventoryKey(idOpt.get(), productCode));
                         }
                         logger.debug("Index miss for product code: {}", productCode);
                         return Optional.empty();
@@ -140,16 +284,16 @@ public class InventoryCacheService extends AbstractCacheService<Long, InventoryE
      * Find inventory with automatic fallback to database if cache fails.
      * This method integrates with the circuit breaker pattern.
      *
-     * @param inventoryId the inventory ID to find
+     * @param key the inventory key to find
      * @param databaseFallback the fallback function to call if cache fails
      * @return Optional containing the inventory from cache or database
      */
     public Optional<InventoryEntity> findWithAutomaticFallback(
-            Long inventoryId, java.util.function.Supplier<Optional<InventoryEntity>> databaseFallback) {
+            InventoryKey key, java.util.function.Supplier<Optional<InventoryEntity>> databaseFallback) {
 
         // First try cache if circuit breaker is closed
         if (!errorHandler.isCircuitOpen()) {
-            Optional<InventoryEntity> cacheResult = findById(inventoryId);
+            Optional<InventoryEntity> cacheResult = findById(key);
 
             // If cache returns result, use it
             if (cacheResult.isPresent()) {
@@ -157,13 +301,13 @@ public class InventoryCacheService extends AbstractCacheService<Long, InventoryE
             }
 
             // Cache miss - always fallback to database for normal operation
-            logger.debug("Cache miss for inventory lookup: {} - using database fallback", inventoryId);
+            logger.debug("Cache miss for inventory lookup: {} - using database fallback", key);
             return databaseFallback.get();
         }
 
         // Circuit breaker is open, skip cache and use database directly
         logger.debug(
-                "Circuit breaker open for inventory cache - using database fallback for inventory ID: {}", inventoryId);
+                "Circuit breaker open for inventory cache - using database fallback for inventory key: {}", key);
         return databaseFallback.get();
     }
 
@@ -0,0 +1,45 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import com.sivalabs.bookstore.common.cache.CompactSchemaVersions;
+import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
+
+/**
+ * Compact serializer for {@link InventoryEntity} values in the inventory-cache.
+ * Also used for the entity sent back and forth by {@link DecreaseStockEntryProcessor}.
+ */
+public class InventoryEntityCompactSerializer implements CompactSerializer<InventoryEntity> {
+
+    static final String TYPE_NAME = "bookstore.inventory.InventoryEntity";
+    static final int SCHEMA_VERSION = 1;
+
+    @Override
+    public InventoryEntity read(CompactReader reader) {
+        CompactSchemaVersions.readSupportedVersion(reader, TYPE_NAME, SCHEMA_VERSION);
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setId(reader.readNullableInt64("id"));
+        inventory.setProductCode(reader.readString("productCode"));
+        inventory.setQuantity(reader.readNullableInt64("quantity"));
+        return inventory;
+    }
+
+    @Override
+    public void write(CompactWriter writer, InventoryEntity inventory) {
+        CompactSchemaVersions.writeVersion(writer, SCHEMA_VERSION);
+        writer.writeNullableInt64("id", inventory.getId());
+        writer.writeString("productCode", inventory.getProductCode());
+        writer.writeNullableInt64("quantity", inventory.getQuantity());
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Class<InventoryEntity> getCompactClass() {
+        return InventoryEntity.class;
+    }
+}
@@ -0,0 +1,37 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import com.hazelcast.partition.PartitionAware;
+import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
+import java.util.Objects;
+
+/**
+ * Key of an inventory record in {@code inventory-cache}.
+ *
+ * The key carries the product code next to the inventory ID and routes on it through
+ * {@link PartitionAware}, so the inventory record of a SKU lives in the same partition as its
+ * {@code products-cache} and {@code inventory-by-product-code-cache} entries, both keyed by the
+ * product code. Work touching the product and its stock, such as {@link DecreaseStockEntryProcessor},
+ * then stays on the member owning that partition.
+ *
+ * Hazelcast compares keys by their serialized form, so both fields take part in equality: a lookup
+ * needs the product code as well as the ID.
+ *
+ * @param inventoryId the inventory ID, also the database primary key
+ * @param productCode the product code the entry is partitioned by
+ */
+public record InventoryKey(Long inventoryId, String productCode) implements PartitionAware<String> {
+
+    public InventoryKey {
+        Objects.requireNonNull(inventoryId, "inventoryId must not be null");
+        Objects.requireNonNull(productCode, "productCode must not be null");
+    }
+
+    public static InventoryKey of(InventoryEntity inventory) {
+        return new InventoryKey(inventory.getId(), inventory.getProductCode());
+    }
+
+    @Override
+    public String getPartitionKey() {
+        return productCode;
+    }
+}
@@ -0,0 +1,38 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import com.sivalabs.bookstore.common.cache.CompactSchemaVersions;
+
+/**
+ * Compact serializer for {@link InventoryKey} keys of the inventory-cache.
+ */
+public class InventoryKeyCompactSerializer implements CompactSerializer<InventoryKey> {
+
+    static final String TYPE_NAME = "bookstore.inventory.InventoryKey";
+    static final int SCHEMA_VERSION = 1;
+
+    @Override
+    public InventoryKey read(CompactReader reader) {
+        CompactSchemaVersions.readSupportedVersion(reader, TYPE_NAME, SCHEMA_VERSION);
+        return new InventoryKey(reader.readInt64("inventoryId"), reader.readString("productCode"));
+    }
+
+    @Override
+    public void write(CompactWriter writer, InventoryKey key) {
+        CompactSchemaVersions.writeVersion(writer, SCHEMA_VERSION);
+        writer.writeInt64("inventoryId", key.inventoryId());
+        writer.writeString("productCode", key.productCode());
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Class<InventoryKey> getCompactClass() {
+        return InventoryKey.class;
+    }
+}
@@ -24,16 +24,16 @@ import org.springframework.stereotype.Component;
  * cache operations with the PostgreSQL database through InventoryRepository.
  *
  * Key behaviors:
- * - store() writes to database when cache entries are added/updated
+ * - store() persists quantity changes made in the grid (e.g. entry processor decrements)
  * - load() reads from database when cache misses occur
  * - delete() removes from database when cache entries are removed
  * - loadAll() provides bulk loading capabilities
  *
- * Note: Uses Long keys for inventory ID-based operations, following inventory domain patterns.
+ * Keys are {@link InventoryKey} values; the database is always accessed by the inventory ID they carry.
  */
 @SpringAware
 @Component
-public class InventoryMapStore implements MapStore<Long, InventoryEntity>, MapLoaderLifecycleSupport {
+public class InventoryMapStore implements MapStore<InventoryKey, InventoryEntity>, MapLoaderLifecycleSupport {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryMapStore.class);
     private static final long STARTUP_GRACE_PERIOD_MS = 30_000L;
@@ -67,51 +67,63 @@ public class InventoryMapStore implements MapStore<Long, InventoryEntity>, MapLo
 
     /**
      * Store an inventory record in the database (write-through operation).
-     * This method is called when an entry is put into the cache.
+     * This method is called when an entry is put into the cache or modified by an
+     * entry processor such as {@link DecreaseStockEntryProcessor}.
      *
-     * @param inventoryId the inventory ID (cache key)
+     * Only the quantity is persisted; the row itself is managed by the service layer.
+     * Errors are rethrown so Hazelcast does not keep a value the database rejected.
+     * Cache population of rows read from the database uses transient puts and does not reach this method.
+     *
+     * @param key the cache key
      * @param inventoryEntity the inventory entity to store
      */
     @Override
-    public void store(Long inventoryId, InventoryEntity inventoryEntity) {
+    public void store(InventoryKey key, InventoryEntity inventoryEntity) {
+        Long inventoryId = key.inventoryId();
         logger.debug("Storing inventory in database: inventoryId={}", inventoryId);
 
-        try {
-            // Ensure the inventoryId matches the entity
-            if (inventoryEntity != null && !inventoryId.equals(inventoryEntity.getId())) {
-                logger.warn(
-                        "InventoryId mismatch: key={}, entity.inventoryId={}", inventoryId, inventoryEntity.getId());
-            }
+        if (inventoryEntity == null || inventoryEntity.getQuantity() == null) {
+            logger.debug("Skipping store for inventoryId={} - no quantity to persist", inventoryId);
+            return;
+        }
 
-            // Note: For write-through, we assume the inventory is already persisted
-            // The cache is being updated after the database operation
-            logger.debug("Inventory store operation completed for inventoryId={}", inventoryId);
+        // Ensure the inventoryId matches the entity
+        if (!inventoryId.equals(inventoryEntity.getId())) {
+            logger.warn("InventoryId mismatch: key={}, entity.inventoryId={}", inventoryId, inventoryEntity.getId());
+        }
 
-        } catch (Exception e) {
+        try {
+            int updated = inventoryRepository().updateQuantity(inventoryId, inventoryEntity.getQuantity());
+            logger.debug(
+                    "Inventory store operation completed for inventoryId={}, quantity={}, rows updated={}",
+                    inventoryId,
+                    inventoryEntity.getQuantity(),
+                    updated);
+        } catch (RuntimeException e) {
             if (withinStartupWindow()) {
                 logger.debug(
                         "Store operation error during startup for inventoryId={}: {}", inventoryId, e.getMessage());
             } else {
                 logger.warn("Store operation error for inventoryId={}: {}", inventoryId, e.getMessage());
             }
+            throw e;
         }
     }
 
     /**
      * Store multiple inventory records in the database (bulk write-through operation).
+     * Used by write-behind mode to flush batched quantity changes.
      *
-     * @param entries map of inventory IDs to inventory entities
+     * @param entries map of cache keys to inventory entities
      */
     @Override
-    public void storeAll(Map<Long, InventoryEntity> entries) {
+    public void storeAll(Map<InventoryKey, InventoryEntity> entries) {
         logger.debug("Storing {} inventory records in database", entries.size());
 
         try {
-            // Note: For write-through, inventory records are already persisted by the time they reach here
-            // This method is called for cache warming or batch operations
+            entries.forEach(this::store);
             logger.debug("StoreAll operation completed for {} inventory records", entries.size());
-
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             if (withinStartupWindow()) {
                 logger.debug(
                         "StoreAll operation error during startup for {} inventory records: {}",
@@ -120,6 +132,7 @@ public class InventoryMapStore implements MapStore<Long, InventoryEntity>, MapLo
             } else {
                 logger.warn("StoreAll operation error for {} inventory records: {}", entries.size(), e.getMessage());
             }
+            throw e;
         }
     }
 
@@ -127,11 +140,12 @@ public class InventoryMapStore implements MapStore<Long, InventoryEntity>, MapLo
      * Load an inventory record from the database (cache miss operation).
      * This method is called when a cache get() operation results in a miss.
      *
-     * @param inventoryId the inventory ID to load
+     * @param key the cache key to load
      * @return the inventory entity or null if not found
      */
     @Override
-    public InventoryEntity load(Long inventoryId) {
+    public InventoryEntity load(InventoryKey key) {
+        Long inventoryId = key.inventoryId();
         logger.debug("Loading inventory from database: inventoryId={}", inventoryId);
 
         try {
@@ -162,22 +176,25 @@ public class InventoryMapStore implements MapStore<Long, InventoryEntity>, MapLo
      * Load multiple inventory records from the database (bulk cache miss operation).
      * This method is called when multiple cache get() operations result in misses.
      *
-     * @param inventoryIds collection of inventory IDs to load
-     * @return map of inventory IDs to inventory entities
+     * @param keys collection of cache keys to load
+     * @return map of cache keys to inventory entities
      */
     @Override
-    public Map<Long, InventoryEntity> loadAll(Collection<Long> inventoryIds) {
-        logger.debug("Loading {} inventory records from database", inventoryIds.size());
+    public Map<InventoryKey, InventoryEntity> loadAll(Collection<InventoryKey> keys) {
+        logger.debug("Loading {} inventory records from database", keys.size());
 
         try {
-            // Load inventory records by IDs using repository's findAllById method
-            Map<Long, InventoryEntity> loadedInventory = inventoryRepository().findAllById(inventoryIds).stream()
-                    .collect(Collectors.toMap(InventoryEntity::getId, inventory -> inventory));
+            Set<Long> inventoryIds = keys.stream().map(InventoryKey::inventoryId).collect(Collectors.toSet());
+            // Only rows still matching the requested key are returned, a changed product code is a different key
+            Map<InventoryKey, InventoryEntity> loadedInventory =
+                    inventoryRepository().findAllById(inventoryIds).stream()
+                            .filter(inventory -> keys.contains(InventoryKey.of(inventory)))
+                            .collect(Collectors.toMap(InventoryKey::of, inventory -> inventory));
 
             logger.debug(
                     "Successfully loaded {} out of {} requested inventory records from database",
                     loadedInventory.size(),
-                    inventoryIds.size());
+                    keys.size());
 
             return loadedInventory;
 
@@ -185,29 +202,29 @@ public class InventoryMapStore implements MapStore<Long, InventoryEntity>, MapLo
             if (withinStartupWindow()) {
                 logger.debug(
                         "LoadAll operation error during startup for {} inventory records: {}",
-                        inventoryIds.size(),
+                        keys.size(),
                         e.getMessage());
             } else {
                 logger.warn(
-                        "LoadAll operation error for {} inventory records: {}", inventoryIds.size(), e.getMessage());
+                        "LoadAll operation error for {} inventory records: {}", keys.size(), e.getMessage());
             }
             return java.util.Collections.emptyMap();
         }
     }
 
     /**
-     * Get all inventory IDs from the database (used for pre-loading).
+     * Get all inventory keys from the database (used for pre-loading).
      * This method is called during cache initialization or warm-up.
      *
-     * @return set of all inventory IDs
+     * @return set of all inventory keys
      */
     @Override
-    public Iterable<Long> loadAllKeys() {
+    public Iterable<InventoryKey> loadAllKeys() {
         logger.debug("Loading all inventory IDs from database");
 
         try {
-            Set<Long> allInventoryIds = inventoryRepository().findAll().stream()
-                    .map(InventoryEntity::getId)
+            Set<InventoryKey> allInventoryIds = inventoryRepository().findAll().stream()
+                    .map(InventoryKey::of)
                     .collect(Collectors.toSet());
 
             logger.debug("Successfully loaded {} inventory IDs from database", allInventoryIds.size());
@@ -227,10 +244,11 @@ public class InventoryMapStore implements MapStore<Long, InventoryEntity>, MapLo
      * Delete an inventory record from the database (write-through operation).
      * This method is called when an entry is removed from the cache.
      *
-     * @param inventoryId the inventory ID to delete
+     * @param key the cache key to delete
      */
     @Override
-    public void delete(Long inventoryId) {
+    public void delete(InventoryKey key) {
+        Long inventoryId = key.inventoryId();
         logger.debug("Deleting inventory from database: inventoryId={}", inventoryId);
 
         try {
@@ -252,10 +270,10 @@ public class InventoryMapStore implements MapStore<Long, InventoryEntity>, MapLo
     /**
      * Delete multiple inventory records from the database (bulk write-through operation).
      *
-     * @param inventoryIds collection of inventory IDs to delete
+     * @param inventoryIds collection of cache keys to delete
      */
     @Override
-    public void deleteAll(Collection<Long> inventoryIds) {
+    public void deleteAll(Collection<InventoryKey> inventoryIds) {
         logger.debug("Deleting {} inventory records from database", inventoryIds.size());
 
         try {
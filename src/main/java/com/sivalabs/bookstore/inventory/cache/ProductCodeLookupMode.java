@@ -0,0 +1,35 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import java.util.Locale;
+
+/**
+ * Strategy used by {@link InventoryCacheService} to find cached inventory records by product code.
+ *
+ * Configured through {@code bookstore.inventory.product-code-lookup}.
+ */
+public enum ProductCodeLookupMode {
+
+    /**
+     * Resolve the inventory ID through the {@code inventory-by-product-code-cache} side map, then read
+     * {@code inventory-cache} by ID. Two hops, and the side map has no MapStore so it can drift.
+     */
+    INDEX_MAP,
+
+    /**
+     * Query {@code inventory-cache} directly with an equality predicate on {@code productCode}, served
+     * by a HASH attribute index on that map. One hop, and no second map to keep in sync.
+     */
+    ATTRIBUTE_INDEX;
+
+    public static ProductCodeLookupMode fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return INDEX_MAP;
+        }
+        String normalized = value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported bookstore.inventory.product-code-lookup: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of an atomic stock decrement executed inside the inventory cache.
+ *
+ * @param outcome whether the decrement was applied, rejected or the record was missing
+ * @param quantity the remaining quantity when applied, or the available quantity when rejected
+ */
+public record StockDecrementResult(Outcome outcome, long quantity) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Outcome {
+        APPLIED,
+        INSUFFICIENT,
+        NOT_FOUND
+    }
+
+    public static StockDecrementResult applied(long remainingQuantity) {
+        return new StockDecrementResult(Outcome.APPLIED, remainingQuantity);
+    }
+
+    public static StockDecrementResult insufficient(long availableQuantity) {
+        return new StockDecrementResult(Outcome.INSUFFICIENT, availableQuantity);
+    }
+
+    public static StockDecrementResult notFound() {
+        return new StockDecrementResult(Outcome.NOT_FOUND, 0L);
+    }
+}
@@ -2,14 +2,26 @@ package com.sivalabs.bookstore.inventory.config;
 
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
 import com.sivalabs.bookstore.common.cache.SpringAwareMapStoreConfig;
+import com.sivalabs.bookstore.inventory.cache.InventoryCacheService;
+import com.sivalabs.bookstore.inventory.cache.InventoryEntityCompactSerializer;
+import com.sivalabs.bookstore.inventory.cache.InventoryKey;
+import com.sivalabs.bookstore.inventory.cache.InventoryKeyCompactSerializer;
 import com.sivalabs.bookstore.inventory.cache.InventoryMapStore;
+import com.sivalabs.bookstore.inventory.cache.ProductCodeLookupMode;
+import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.env.Environment;
 
 /**
@@ -42,6 +54,14 @@ class HazelcastInventoryCacheConfig {
         inventoryCacheConfig.setReadBackupData(getBoolean(environment, "bookstore.cache.read-backup-data", true));
         inventoryCacheConfig.setStatisticsEnabled(getBoolean(environment, "bookstore.cache.metrics-enabled", true));
 
+        ProductCodeLookupMode productCodeLookupMode = ProductCodeLookupMode.fromProperty(
+                environment.getProperty("bookstore.inventory.product-code-lookup", "index-map"));
+        if (productCodeLookupMode == ProductCodeLookupMode.ATTRIBUTE_INDEX) {
+            // Serves productCode equality predicates without deserializing every entry
+            inventoryCacheConfig.addIndexConfig(
+                    new IndexConfig(IndexType.HASH, InventoryCacheService.PRODUCT_CODE_ATTRIBUTE));
+        }
+
         SpringAwareMapStoreConfig mapStoreConfig = new SpringAwareMapStoreConfig();
         mapStoreConfig.setEnabled(true);
         mapStoreConfig.setImplementation(inventoryMapStore);
@@ -87,6 +107,37 @@ class HazelcastInventoryCacheConfig {
         return inventoryByProductCodeConfig;
     }
 
+    /**
+     * Creates the inventory cache IMap bean.
+     * Declared here rather than in the shared Hazelcast configuration because its keys are
+     * {@link InventoryKey} values owned by this module.
+     */
+    @Bean("inventoryCache")
+    @Lazy
+    IMap<InventoryKey, Object> inventoryCache(HazelcastInstance hazelcastInstance) {
+        return hazelcastInstance.getMap(INVENTORY_CACHE_NAME);
+    }
+
+    /**
+     * Key the shared cache health check reads from {@code inventory-cache}. It is exposed as a plain
+     * object so the health check does not depend on {@link InventoryKey}; no inventory record has a
+     * negative ID, so the read is a miss that still goes through the MapStore.
+     */
+    @Bean("inventoryCacheHealthCheckKey")
+    Object inventoryCacheHealthCheckKey() {
+        return new InventoryKey(-1L, "health-check");
+    }
+
+    @Bean
+    CompactSerializer<InventoryEntity> inventoryEntityCompactSerializer() {
+        return new InventoryEntityCompactSerializer();
+    }
+
+    @Bean
+    CompactSerializer<InventoryKey> inventoryKeyCompactSerializer() {
+        return new InventoryKeyCompactSerializer();
+    }
+
     private int getInt(Environment environment, String propertyKey, int defaultValue) {
         return environment.getProperty(propertyKey, Integer.class, defaultValue);
     }
@@ -0,0 +1,69 @@
+package com.sivalabs.bookstore.inventory.domain;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC repository applying many stock decrements in a single batched round trip.
+ */
+@Repository
+public class InventoryBatchRepository {
+
+    private static final String DECREASE_QUANTITY_SQL =
+            """
+        update inventory.inventory
+        set quantity = quantity - ?
+        where product_code = ? and quantity >= ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    InventoryBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Decrease the stock of several products in one transaction and one JDBC batch.
+     * Each statement is guarded so that stock never drops below zero. Rows are updated in product code
+     * order, so concurrent batches over overlapping products take their row locks in the same order.
+     *
+     * @param quantitiesByProductCode the quantity to remove per product code
+     * @return the product codes that were not updated, either unknown or with insufficient stock
+     */
+    @Transactional
+    public Set<String> decreaseQuantities(Map<String, Long> quantitiesByProductCode) {
+        List<Map.Entry<String, Long>> decrements = new ArrayList<>(quantitiesByProductCode.entrySet());
+        decrements.sort(Map.Entry.comparingByKey());
+        int[] updateCounts = jdbcTemplate.batchUpdate(DECREASE_QUANTITY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<String, Long> decrement = decrements.get(i);
+                ps.setLong(1, decrement.getValue());
+                ps.setString(2, decrement.getKey());
+                ps.setLong(3, decrement.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return decrements.size();
+            }
+        });
+
+        Set<String> notUpdated = new HashSet<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                notUpdated.add(decrements.get(i).getKey());
+            }
+        }
+        return notUpdated;
+    }
+}
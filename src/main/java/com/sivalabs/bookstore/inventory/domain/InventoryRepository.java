@@ -2,7 +2,32 @@ package com.sivalabs.bookstore.inventory.domain;
 
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface InventoryRepository extends JpaRepository<InventoryEntity, Long> {
+    @Transactional(readOnly = true)
     Optional<InventoryEntity> findByProductCode(String productCode);
+
+    @Transactional
+    @Modifying
+    @Query("update InventoryEntity i set i.quantity = :quantity where i.id = :id")
+    int updateQuantity(Long id, Long quantity);
+
+    /**
+     * Decrease the stock of a product in a single guarded statement.
+     *
+     * @return the new quantity, or empty if the product does not exist or has insufficient stock
+     */
+    @Transactional
+    @Query(
+            value = """
+        update inventory.inventory
+        set quantity = quantity - :quantity
+        where product_code = :productCode and quantity >= :quantity
+        returning quantity
+        """,
+            nativeQuery = true)
+    Optional<Long> decreaseQuantity(String productCode, long quantity);
 }
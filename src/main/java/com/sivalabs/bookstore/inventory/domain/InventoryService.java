@@ -1,10 +1,14 @@
 package com.sivalabs.bookstore.inventory.domain;
 
+import com.sivalabs.bookstore.common.cache.SingleFlightLoader;
 import com.sivalabs.bookstore.inventory.cache.InventoryCacheService;
+import com.sivalabs.bookstore.inventory.cache.StockDecrementResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,15 +17,44 @@ public class InventoryService {
     private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
     private final InventoryRepository inventoryRepository;
     private final InventoryCacheService inventoryCacheService;
+    private final StockDecrementMode stockDecrementMode;
+    private final SingleFlightLoader<String, Optional<InventoryEntity>> inventoryLoader;
 
     InventoryService(
             InventoryRepository inventoryRepository,
-            @Autowired(required = false) InventoryCacheService inventoryCacheService) {
+            InventoryCacheService inventoryCacheService,
+            MeterRegistry meterRegistry) {
+        this(inventoryRepository, inventoryCacheService, StockDecrementMode.READ_MODIFY_WRITE, meterRegistry);
+    }
+
+    @Autowired
+    InventoryService(
+            InventoryRepository inventoryRepository,
+            @Autowired(required = false) InventoryCacheService inventoryCacheService,
+            @Value("${bookstore.inventory.stock-decrement-mode:read-modify-write}") String stockDecrementMode,
+            MeterRegistry meterRegistry) {
+        this(
+                inventoryRepository,
+                inventoryCacheService,
+                StockDecrementMode.fromProperty(stockDecrementMode),
+                meterRegistry);
+    }
+
+    InventoryService(
+            InventoryRepository inventoryRepository,
+            InventoryCacheService inventoryCacheService,
+            StockDecrementMode stockDecrementMode,
+            MeterRegistry meterRegistry) {
         this.inventoryRepository = inventoryRepository;
         this.inventoryCacheService = inventoryCacheService;
+        this.stockDecrementMode = stockDecrementMode;
+        this.inventoryLoader = new SingleFlightLoader<>(
+                "inventory-cache", meterRegistry, inventory -> inventory.map(InventoryService::copyOf));
 
         if (inventoryCacheService != null) {
-            log.info("InventoryService initialized with cache support enabled");
+            log.info(
+                    "InventoryService initialized with cache support enabled (stock decrement mode: {})",
+                    stockDecrementMode);
         } else {
             log.info("InventoryService initialized without cache support (cache disabled or unavailable)");
         }
@@ -49,6 +82,25 @@ public class InventoryService {
                     "Quantity to decrease must be greater than zero. Provided: " + quantity);
         }
 
+        if (stockDecrementMode == StockDecrementMode.ENTRY_PROCESSOR && isCacheAvailable()) {
+            Optional<StockDecrementResult> result = inventoryCacheService.decreaseStock(
+                    productCode,
+                    quantity,
+                    () -> inventoryRepository.findByProductCode(productCode).map(InventoryEntity::getId));
+            if (result.isPresent()) {
+                applyDecrementResult(productCode, quantity, result.get());
+                return;
+            }
+            log.warn(
+                    "Entry processor decrement failed for product code {} - falling back to read-modify-write",
+                    productCode);
+        }
+
+        if (stockDecrementMode == StockDecrementMode.CONDITIONAL_UPDATE) {
+            decreaseStockLevelWithConditionalUpdate(productCode, quantity);
+            return;
+        }
+
         // Find inventory record - use cache if available with database fallback
         Optional<InventoryEntity> inventoryOpt;
         if (isCacheAvailable()) {
@@ -109,7 +161,71 @@ public class InventoryService {
         }
     }
 
-    @Transactional(readOnly = true)
+    private void decreaseStockLevelWithConditionalUpdate(String productCode, int quantity) {
+        Optional<Long> newQuantity = inventoryRepository.decreaseQuantity(productCode, quantity);
+        if (newQuantity.isEmpty()) {
+            // Zero rows updated - read the row only on this slow path to report why
+            Optional<InventoryEntity> inventoryOpt = inventoryRepository.findByProductCode(productCode);
+            if (inventoryOpt.isEmpty()) {
+                log.warn("Invalid product code {}", productCode);
+                return;
+            }
+            long available = inventoryOpt.get().getQuantity();
+            log.warn(
+                    "Insufficient inventory for product code {}. Available: {}, requested decrease: {}",
+                    productCode,
+                    available,
+                    quantity);
+            throw new InsufficientInventoryException("Insufficient stock for product code "
+                    + productCode
+                    + ". Available: "
+                    + available
+                    + ", requested: "
+                    + quantity);
+        }
+        log.info("Updated stock level for product code {} to: {}", productCode, newQuantity.get());
+
+        // The row was changed behind the cache, drop the stale entry
+        if (isCacheAvailable()) {
+            try {
+                inventoryCacheService.evictByProductCode(productCode);
+            } catch (Exception e) {
+                log.warn(
+                        "Failed to evict inventory from cache for product code {} - database update successful: {}",
+                        productCode,
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void applyDecrementResult(String productCode, int quantity, StockDecrementResult result) {
+        switch (result.outcome()) {
+            case APPLIED -> log.info("Updated stock level for product code {} to: {}", productCode, result.quantity());
+            case INSUFFICIENT -> {
+                log.warn(
+                        "Insufficient inventory for product code {}. Available: {}, requested decrease: {}",
+                        productCode,
+                        result.quantity(),
+                        quantity);
+                throw new InsufficientInventoryException("Insufficient stock for product code "
+                        + productCode
+                        + ". Available: "
+                        + result.quantity()
+                        + ", requested: "
+                        + quantity);
+            }
+            case NOT_FOUND -> log.warn("Invalid product code {}", productCode);
+        }
+    }
+
+    /**
+     * Look up the stock level of a product, cache first.
+     * Not transactional: concurrent misses wait in the single-flight loader without holding a
+     * connection, and only the shared load runs the read-only {@link InventoryRepository#findByProductCode}.
+     *
+     * @param productCode the product code
+     * @return the quantity in stock, 0 for unknown products
+     */
     public Long getStockLevel(String productCode) {
         log.debug("Getting stock level for product code: {}", productCode);
 
@@ -118,17 +234,17 @@ public class InventoryService {
         if (isCacheAvailable()) {
             try {
                 inventoryOpt = inventoryCacheService.findByProductCodeWithFallback(
-                        productCode, () -> inventoryRepository.findByProductCode(productCode));
+                        productCode, () -> loadFromDatabase(productCode));
             } catch (Exception e) {
                 log.warn(
                         "Cache lookup failed for product code {} - using database directly: {}",
                         productCode,
                         e.getMessage());
-                inventoryOpt = inventoryRepository.findByProductCode(productCode);
+                inventoryOpt = loadFromDatabase(productCode);
             }
         } else {
             log.debug("Cache service unavailable - querying database directly for product code: {}", productCode);
-            inventoryOpt = inventoryRepository.findByProductCode(productCode);
+            inventoryOpt = loadFromDatabase(productCode);
         }
 
         if (isCacheAvailable() && inventoryOpt.isPresent()) {
@@ -162,4 +278,19 @@ public class InventoryService {
         log.info("Stock level for product code {} is: {}", productCode, stock);
         return stock;
     }
+
+    /**
+     * Database lookup shared by concurrent cache misses for the same product code.
+     */
+    private Optional<InventoryEntity> loadFromDatabase(String productCode) {
+        return inventoryLoader.load(productCode, () -> inventoryRepository.findByProductCode(productCode));
+    }
+
+    private static InventoryEntity copyOf(InventoryEntity inventory) {
+        InventoryEntity copy = new InventoryEntity();
+        copy.setId(inventory.getId());
+        copy.setProductCode(inventory.getProductCode());
+        copy.setQuantity(inventory.getQuantity());
+        return copy;
+    }
 }
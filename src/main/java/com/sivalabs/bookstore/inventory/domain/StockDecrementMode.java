@@ -0,0 +1,40 @@
+package com.sivalabs.bookstore.inventory.domain;
+
+import java.util.Locale;
+
+/**
+ * Strategy used by {@link InventoryService#decreaseStockLevel(String, int)} to apply a stock decrement.
+ *
+ * Configured through {@code bookstore.inventory.stock-decrement-mode}.
+ */
+enum StockDecrementMode {
+
+    /**
+     * Load the inventory record, check and decrease the quantity in the JVM and save it back.
+     */
+    READ_MODIFY_WRITE,
+
+    /**
+     * Check and decrease the quantity inside the owning Hazelcast partition with an entry processor,
+     * persisting the new value through the inventory MapStore.
+     */
+    ENTRY_PROCESSOR,
+
+    /**
+     * Check and decrease the quantity with a single guarded {@code UPDATE ... RETURNING} statement,
+     * bypassing the cache and the persistence context.
+     */
+    CONDITIONAL_UPDATE;
+
+    static StockDecrementMode fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return READ_MODIFY_WRITE;
+        }
+        String normalized = value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported bookstore.inventory.stock-decrement-mode: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.sivalabs.bookstore.orders;
+
+public class IdempotencyKeyReusedException extends InvalidOrderException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+
+    public static IdempotencyKeyReusedException forIdempotencyKey(String idempotencyKey) {
+        return new IdempotencyKeyReusedException(
+                "Idempotency-Key " + idempotencyKey + " was already used for a different order request");
+    }
+}
@@ -0,0 +1,13 @@
+package com.sivalabs.bookstore.orders;
+
+public class OrderInProgressException extends RuntimeException {
+
+    public OrderInProgressException(String message) {
+        super(message);
+    }
+
+    public static OrderInProgressException forIdempotencyKey(String idempotencyKey) {
+        return new OrderInProgressException(
+                "Order for Idempotency-Key " + idempotencyKey + " is still being processed, retry later");
+    }
+}
@@ -6,10 +6,18 @@ import com.sivalabs.bookstore.orders.api.CreateOrderResponse;
 import com.sivalabs.bookstore.orders.api.OrderDto;
 import com.sivalabs.bookstore.orders.api.OrderView;
 import com.sivalabs.bookstore.orders.api.OrdersApi;
+import com.sivalabs.bookstore.orders.cache.OrderIdempotencyStore;
+import com.sivalabs.bookstore.orders.domain.OrderNumberGenerator;
 import com.sivalabs.bookstore.orders.domain.OrderService;
 import com.sivalabs.bookstore.orders.domain.ProductServiceClient;
 import com.sivalabs.bookstore.orders.mappers.OrderMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Optional;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -17,17 +25,59 @@ public class OrdersApiService implements OrdersApi {
 
     private final OrderService orderService;
     private final ProductServiceClient productServiceClient;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderIdempotencyStore idempotencyStore;
 
-    OrdersApiService(OrderService orderService, ProductServiceClient productServiceClient) {
+    OrdersApiService(
+            OrderService orderService,
+            ProductServiceClient productServiceClient,
+            OrderNumberGenerator orderNumberGenerator,
+            ObjectProvider<OrderIdempotencyStore> idempotencyStoreProvider) {
         this.orderService = orderService;
         this.productServiceClient = productServiceClient;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.idempotencyStore = idempotencyStoreProvider.getIfAvailable();
     }
 
     @Override
-    public CreateOrderResponse createOrder(CreateOrderRequest request) {
+    public CreateOrderResponse createOrder(CreateOrderRequest request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyStore == null) {
+            return new CreateOrderResponse(insertOrder(request));
+        }
+        String orderNumber =
+                idempotencyStore.createOnce(idempotencyKey, fingerprint(request), () -> insertOrder(request));
+        return new CreateOrderResponse(orderNumber);
+    }
+
+    /**
+     * SHA-256 over the request fields, so that a reused {@code Idempotency-Key} can be told apart from a
+     * retry. Prices are compared by value, so {@code 34.5} and {@code 34.50} describe the same order.
+     */
+    private static String fingerprint(CreateOrderRequest request) {
+        var customer = request.customer();
+        var item = request.item();
+        String canonical = String.join(
+                "\u0000",
+                customer.name(),
+                customer.email(),
+                customer.phone(),
+                request.deliveryAddress(),
+                item.code(),
+                item.name(),
+                item.price() != null ? item.price().stripTrailingZeros().toPlainString() : null,
+                String.valueOf(item.quantity()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String insertOrder(CreateOrderRequest request) {
         productServiceClient.validate(request.item().code(), request.item().price());
-        var savedOrder = orderService.createOrder(OrderMapper.convertToEntity(request));
-        return new CreateOrderResponse(savedOrder.getOrderNumber());
+        var orderEntity = OrderMapper.convertToEntity(request, orderNumberGenerator.nextOrderNumber());
+        return orderService.createOrder(orderEntity).getOrderNumber();
     }
 
     @Override
@@ -39,4 +89,14 @@ public class OrdersApiService implements OrdersApi {
     public PagedResult<OrderView> findOrders(int page, int size) {
         return OrderMapper.convertToOrderViewPage(orderService.findOrders(page, size));
     }
+
+    @Override
+    public PagedResult<OrderView> findOrders(String pageToken, int size, boolean includeTotal) {
+        return OrderMapper.convertToOrderViewPage(orderService.findOrders(pageToken, size, includeTotal));
+    }
+
+    @Override
+    public long streamOrders(int fetchSize, Predicate<OrderView> sink) {
+        return orderService.streamOrders(fetchSize, sink);
+    }
 }
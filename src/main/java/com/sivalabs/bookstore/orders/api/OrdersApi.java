@@ -2,15 +2,44 @@ package com.sivalabs.bookstore.orders.api;
 
 import com.sivalabs.bookstore.common.models.PagedResult;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Public facade exposing order operations to other modules.
  */
 public interface OrdersApi {
 
-    CreateOrderResponse createOrder(CreateOrderRequest request);
+    default CreateOrderResponse createOrder(CreateOrderRequest request) {
+        return createOrder(request, null);
+    }
+
+    /**
+     * Create an order at most once per idempotency key. A repeated request with the same key, including
+     * one that arrives while the first is still running, returns the order number of the first request.
+     *
+     * @param idempotencyKey the client-supplied {@code Idempotency-Key}, or null to skip de-duplication
+     */
+    CreateOrderResponse createOrder(CreateOrderRequest request, String idempotencyKey);
 
     Optional<OrderDto> findOrder(String orderNumber);
 
     PagedResult<OrderView> findOrders(int page, int size);
+
+    /**
+     * Find orders using keyset pagination, newest first.
+     *
+     * @param pageToken the {@code nextPageToken} of the previous page, or null for the first page
+     * @param size the maximum number of orders to return
+     * @param includeTotal whether to compute the total number of orders
+     */
+    PagedResult<OrderView> findOrders(String pageToken, int size, boolean includeTotal);
+
+    /**
+     * Stream all orders, oldest first, without loading them into memory at once.
+     *
+     * @param fetchSize the number of rows fetched per database round trip
+     * @param sink receives each order and returns false to stop early
+     * @return the number of orders accepted by the sink
+     */
+    long streamOrders(int fetchSize, Predicate<OrderView> sink);
 }
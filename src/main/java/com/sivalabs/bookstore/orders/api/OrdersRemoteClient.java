@@ -1,15 +1,49 @@
 package com.sivalabs.bookstore.orders.api;
 
 import com.sivalabs.bookstore.common.models.PagedResult;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Remote client abstraction for interacting with the Orders service via non-local transports (e.g. gRPC).
+ *
+ * The {@code *Async} variants issue the call without blocking the caller, so several calls can be in flight
+ * at once. They apply the same deadline as the blocking calls, and their futures complete exceptionally with
+ * the same exceptions the blocking calls throw.
  */
 public interface OrdersRemoteClient {
 
-    CreateOrderResponse createOrder(CreateOrderRequest request);
+    default CreateOrderResponse createOrder(CreateOrderRequest request) {
+        return createOrder(request, null);
+    }
+
+    /**
+     * Create an order, sending the given {@code Idempotency-Key} so that retries of the same request
+     * return the original order instead of creating another one.
+     *
+     * @param idempotencyKey the client-supplied key, or null to let the client generate one per call
+     */
+    CreateOrderResponse createOrder(CreateOrderRequest request, String idempotencyKey);
+
+    CompletableFuture<CreateOrderResponse> createOrderAsync(CreateOrderRequest request, String idempotencyKey);
 
     OrderDto getOrder(String orderNumber);
 
+    CompletableFuture<OrderDto> getOrderAsync(String orderNumber);
+
     PagedResult<OrderView> listOrders(int page, int size);
+
+    PagedResult<OrderView> listOrders(String pageToken, int size, boolean includeTotal);
+
+    CompletableFuture<PagedResult<OrderView>> listOrdersAsync(int page, int size);
+
+    CompletableFuture<PagedResult<OrderView>> listOrdersAsync(String pageToken, int size, boolean includeTotal);
+
+    /**
+     * Stream all orders, oldest first, for bulk export. Blocks until the stream is exhausted;
+     * if the consumer throws, the remote call is cancelled and the exception is rethrown.
+     *
+     * @return the number of orders passed to the consumer
+     */
+    long streamOrders(int fetchSize, Consumer<OrderView> consumer);
 }
@@ -0,0 +1,40 @@
+package com.sivalabs.bookstore.orders.cache;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import com.sivalabs.bookstore.common.cache.CompactSchemaVersions;
+import com.sivalabs.bookstore.orders.api.model.Customer;
+
+/**
+ * Compact serializer for the {@link Customer} embedded in cached orders.
+ */
+public class CustomerCompactSerializer implements CompactSerializer<Customer> {
+
+    static final String TYPE_NAME = "bookstore.orders.Customer";
+    static final int SCHEMA_VERSION = 1;
+
+    @Override
+    public Customer read(CompactReader reader) {
+        CompactSchemaVersions.readSupportedVersion(reader, TYPE_NAME, SCHEMA_VERSION);
+        return new Customer(reader.readString("name"), reader.readString("email"), reader.readString("phone"));
+    }
+
+    @Override
+    public void write(CompactWriter writer, Customer customer) {
+        CompactSchemaVersions.writeVersion(writer, SCHEMA_VERSION);
+        writer.writeString("name", customer.name());
+        writer.writeString("email", customer.email());
+        writer.writeString("phone", customer.phone());
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Class<Customer> getCompactClass() {
+        return Customer.class;
+    }
+}
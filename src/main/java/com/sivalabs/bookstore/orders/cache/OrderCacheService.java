@@ -58,7 +58,7 @@ public class OrderCacheService extends AbstractCacheService<String, OrderEntity>
         return errorHandler.executeWithFallback(
                 () -> {
                     Object cachedValue = cache.get(orderNumber);
-                    OrderEntity order = safeCast(cachedValue, orderNumber);
+                    OrderEntity order = lookup("findByOrderNumber", cachedValue, orderNumber);
                     return Optional.ofNullable(order);
                 },
                 "findByOrderNumber",
@@ -80,7 +80,7 @@ public class OrderCacheService extends AbstractCacheService<String, OrderEntity>
                                 .toCompletableFuture()
                                 .get(CACHE_READ_TIMEOUT_MS, TimeUnit.MILLISECONDS);
 
-                        OrderEntity order = safeCast(cachedValue, orderNumber);
+                        OrderEntity order = lookup("findByOrderNumberWithTimeout", cachedValue, orderNumber);
                         return Optional.ofNullable(order);
                     } catch (Exception e) {
                         throw new RuntimeException("Cache operation timeout or error", e);
@@ -0,0 +1,59 @@
+package com.sivalabs.bookstore.orders.cache;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import com.sivalabs.bookstore.common.cache.CompactSchemaVersions;
+import com.sivalabs.bookstore.orders.api.model.OrderStatus;
+import com.sivalabs.bookstore.orders.domain.OrderEntity;
+
+/**
+ * Compact serializer for {@link OrderEntity} values in the orders-cache.
+ *
+ * Replaces Java serialization for every put, get, backup and write-behind queue entry.
+ * The nested customer and order item are written through {@link CustomerCompactSerializer}
+ * and {@link OrderItemCompactSerializer}; the status is stored by enum name.
+ */
+public class OrderEntityCompactSerializer implements CompactSerializer<OrderEntity> {
+
+    static final String TYPE_NAME = "bookstore.orders.OrderEntity";
+    static final int SCHEMA_VERSION = 1;
+
+    @Override
+    public OrderEntity read(CompactReader reader) {
+        CompactSchemaVersions.readSupportedVersion(reader, TYPE_NAME, SCHEMA_VERSION);
+        String status = reader.readString("status");
+        return new OrderEntity(
+                reader.readNullableInt64("id"),
+                reader.readString("orderNumber"),
+                reader.readCompact("customer"),
+                reader.readString("deliveryAddress"),
+                reader.readCompact("orderItem"),
+                status != null ? OrderStatus.valueOf(status) : null,
+                reader.readTimestamp("createdAt"),
+                reader.readTimestamp("updatedAt"));
+    }
+
+    @Override
+    public void write(CompactWriter writer, OrderEntity order) {
+        CompactSchemaVersions.writeVersion(writer, SCHEMA_VERSION);
+        writer.writeNullableInt64("id", order.getId());
+        writer.writeString("orderNumber", order.getOrderNumber());
+        writer.writeCompact("customer", order.getCustomer());
+        writer.writeString("deliveryAddress", order.getDeliveryAddress());
+        writer.writeCompact("orderItem", order.getOrderItem());
+        writer.writeString("status", order.getStatus() != null ? order.getStatus().name() : null);
+        writer.writeTimestamp("createdAt", order.getCreatedAt());
+        writer.writeTimestamp("updatedAt", order.getUpdatedAt());
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Class<OrderEntity> getCompactClass() {
+        return OrderEntity.class;
+    }
+}
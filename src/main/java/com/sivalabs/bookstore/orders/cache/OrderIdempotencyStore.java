@@ -0,0 +1,181 @@
+package com.sivalabs.bookstore.orders.cache;
+
+import com.hazelcast.map.IMap;
+import com.sivalabs.bookstore.orders.IdempotencyKeyReusedException;
+import com.sivalabs.bookstore.orders.OrderInProgressException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which order an {@code Idempotency-Key} created, in the {@code orders-idempotency-cache}.
+ *
+ * The first request carrying a key claims it with an in-flight marker through
+ * {@link IMap#putIfAbsent} and replaces the marker with the order number once the order is saved.
+ * A duplicate arriving while the first request is still running polls until the order number
+ * appears and returns it instead of inserting a second order. If the first request fails, its
+ * claim is removed and a waiting duplicate claims the key itself. The in-flight marker has its own
+ * short TTL, so a member crashing mid-request does not block the key for the full retention period.
+ *
+ * Both the marker and the order number are stored with a fingerprint of the request body. A request
+ * reusing a key with a different body is rejected with {@link IdempotencyKeyReusedException} instead
+ * of being answered with an order it did not describe. Entries written without a fingerprint are
+ * replayed unchecked.
+ *
+ * The store fails open: when the cache cannot be reached, while claiming the key or while waiting
+ * for another request, the order is created without de-duplication rather than rejected.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bookstore.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OrderIdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyStore.class);
+
+    /** Separates the request fingerprint from the order number, which is empty while in flight. */
+    static final char SEPARATOR = '|';
+
+    private static final long POLL_INTERVAL_MILLIS = 25;
+
+    private final IMap<String, String> idempotencyCache;
+    private final long ttlSeconds;
+    private final long inFlightTtlSeconds;
+    private final long waitTimeoutMillis;
+
+    public OrderIdempotencyStore(
+            @Qualifier("ordersIdempotencyCache") IMap<String, String> idempotencyCache,
+            @Value("${bookstore.orders.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${bookstore.orders.idempotency.in-flight-ttl-seconds:30}") long inFlightTtlSeconds,
+            @Value("${bookstore.orders.idempotency.wait-timeout-ms:4000}") long waitTimeoutMillis) {
+        this.idempotencyCache = idempotencyCache;
+        this.ttlSeconds = ttlSeconds;
+        this.inFlightTtlSeconds = inFlightTtlSeconds;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    /**
+     * Create an order at most once per idempotency key.
+     *
+     * @param idempotencyKey the client-supplied key
+     * @param fingerprint identifies the request body; repeats of the key must carry the same one
+     * @param createOrder creates the order and returns its order number
+     * @return the number of the order created for this key, by this call or an earlier one
+     * @throws IdempotencyKeyReusedException if the key was used for a request with another fingerprint
+     * @throws OrderInProgressException if another request holds the key longer than the wait timeout
+     */
+    public String createOnce(String idempotencyKey, String fingerprint, Supplier<String> createOrder) {
+        String inFlight = entry(fingerprint, "");
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+        while (true) {
+            String existing;
+            try {
+                existing = idempotencyCache.putIfAbsent(idempotencyKey, inFlight, inFlightTtlSeconds, TimeUnit.SECONDS);
+            } catch (RuntimeException e) {
+                return createWithoutDeduplication(createOrder, e);
+            }
+            if (existing == null) {
+                return createAndRecord(idempotencyKey, fingerprint, createOrder);
+            }
+            String orderNumber = orderNumber(idempotencyKey, fingerprint, existing);
+            if (!orderNumber.isEmpty()) {
+                logger.debug("Replaying order {} for idempotency key {}", orderNumber, idempotencyKey);
+                return orderNumber;
+            }
+            try {
+                orderNumber = awaitOrderNumber(idempotencyKey, fingerprint, deadline);
+            } catch (CacheUnavailableException e) {
+                return createWithoutDeduplication(createOrder, e.getCause());
+            }
+            if (orderNumber != null) {
+                logger.debug("Replaying order {} created concurrently for key {}", orderNumber, idempotencyKey);
+                return orderNumber;
+            }
+            // The first request failed or its claim expired; try to claim the key again
+        }
+    }
+
+    private String createAndRecord(String idempotencyKey, String fingerprint, Supplier<String> createOrder) {
+        String orderNumber;
+        try {
+            orderNumber = createOrder.get();
+        } catch (RuntimeException e) {
+            try {
+                idempotencyCache.remove(idempotencyKey, entry(fingerprint, ""));
+            } catch (RuntimeException removeFailure) {
+                e.addSuppressed(removeFailure);
+            }
+            throw e;
+        }
+        try {
+            idempotencyCache.set(idempotencyKey, entry(fingerprint, orderNumber), ttlSeconds, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record order {} for key {}: {}", orderNumber, idempotencyKey, e.getMessage());
+        }
+        return orderNumber;
+    }
+
+    private String createWithoutDeduplication(Supplier<String> createOrder, Throwable cacheFailure) {
+        logger.warn(
+                "Idempotency cache unavailable, creating order without de-duplication: {}", cacheFailure.getMessage());
+        return createOrder.get();
+    }
+
+    /**
+     * @return the order number once the claim holder records it, or null if the claim was released
+     * @throws CacheUnavailableException if the cache cannot be read while waiting
+     */
+    private String awaitOrderNumber(String idempotencyKey, String fingerprint, long deadline) {
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw OrderInProgressException.forIdempotencyKey(idempotencyKey);
+            }
+            String value;
+            try {
+                value = idempotencyCache.get(idempotencyKey);
+            } catch (RuntimeException e) {
+                throw new CacheUnavailableException(e);
+            }
+            if (value == null) {
+                return null;
+            }
+            String orderNumber = orderNumber(idempotencyKey, fingerprint, value);
+            if (!orderNumber.isEmpty()) {
+                return orderNumber;
+            }
+        }
+        throw OrderInProgressException.forIdempotencyKey(idempotencyKey);
+    }
+
+    static String entry(String fingerprint, String orderNumber) {
+        return fingerprint + SEPARATOR + orderNumber;
+    }
+
+    /**
+     * @return the order number of a cached entry, empty while the order is in flight
+     * @throws IdempotencyKeyReusedException if the entry was recorded for another request
+     */
+    private static String orderNumber(String idempotencyKey, String fingerprint, String value) {
+        int separator = value.indexOf(SEPARATOR);
+        if (separator < 0) {
+            // Written before fingerprints were stored; nothing to compare
+            return value;
+        }
+        if (!fingerprint.equals(value.substring(0, separator))) {
+            throw IdempotencyKeyReusedException.forIdempotencyKey(idempotencyKey);
+        }
+        return value.substring(separator + 1);
+    }
+
+    private static final class CacheUnavailableException extends RuntimeException {
+        private CacheUnavailableException(RuntimeException cause) {
+            super(cause);
+        }
+    }
+}
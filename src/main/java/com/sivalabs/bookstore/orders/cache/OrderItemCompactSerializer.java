@@ -0,0 +1,46 @@
+package com.sivalabs.bookstore.orders.cache;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import com.sivalabs.bookstore.common.cache.CompactSchemaVersions;
+import com.sivalabs.bookstore.orders.api.model.OrderItem;
+
+/**
+ * Compact serializer for the {@link OrderItem} embedded in cached orders.
+ * The price is written as a Compact decimal so scale is preserved without string formatting.
+ */
+public class OrderItemCompactSerializer implements CompactSerializer<OrderItem> {
+
+    static final String TYPE_NAME = "bookstore.orders.OrderItem";
+    static final int SCHEMA_VERSION = 1;
+
+    @Override
+    public OrderItem read(CompactReader reader) {
+        CompactSchemaVersions.readSupportedVersion(reader, TYPE_NAME, SCHEMA_VERSION);
+        return new OrderItem(
+                reader.readString("code"),
+                reader.readString("name"),
+                reader.readDecimal("price"),
+                reader.readNullableInt32("quantity"));
+    }
+
+    @Override
+    public void write(CompactWriter writer, OrderItem orderItem) {
+        CompactSchemaVersions.writeVersion(writer, SCHEMA_VERSION);
+        writer.writeString("code", orderItem.code());
+        writer.writeString("name", orderItem.name());
+        writer.writeDecimal("price", orderItem.price());
+        writer.writeNullableInt32("quantity", orderItem.quantity());
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Class<OrderItem> getCompactClass() {
+        return OrderItem.class;
+    }
+}
@@ -4,9 +4,13 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.MapLoaderLifecycleSupport;
 import com.hazelcast.map.MapStore;
 import com.hazelcast.spring.context.SpringAware;
+import com.sivalabs.bookstore.orders.domain.OrderBatchRepository;
 import com.sivalabs.bookstore.orders.domain.OrderEntity;
 import com.sivalabs.bookstore.orders.domain.OrderRepository;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -23,7 +27,7 @@ import org.springframework.stereotype.Component;
  * cache operations with the PostgreSQL database through OrderRepository.
  *
  * Key behaviors:
- * - store() writes to database when cache entries are added/updated
+ * - store()/storeAll() insert orders staged in the cache by write-behind mode
  * - load() reads from database when cache misses occur
  * - delete() removes from database when cache entries are removed
  * - loadAll() provides bulk loading capabilities
@@ -37,9 +41,13 @@ public class OrderMapStore implements MapStore<String, OrderEntity>, MapLoaderLi
     private final long initTimestamp;
 
     private final ObjectProvider<OrderRepository> orderRepositoryProvider;
+    private final ObjectProvider<OrderBatchRepository> orderBatchRepositoryProvider;
 
-    public OrderMapStore(ObjectProvider<OrderRepository> orderRepositoryProvider) {
+    public OrderMapStore(
+            ObjectProvider<OrderRepository> orderRepositoryProvider,
+            ObjectProvider<OrderBatchRepository> orderBatchRepositoryProvider) {
         this.orderRepositoryProvider = orderRepositoryProvider;
+        this.orderBatchRepositoryProvider = orderBatchRepositoryProvider;
         this.initTimestamp = System.currentTimeMillis();
         logger.info("OrderMapStore initialized with lazy OrderRepository access");
     }
@@ -48,6 +56,10 @@ public class OrderMapStore implements MapStore<String, OrderEntity>, MapLoaderLi
         return orderRepositoryProvider.getObject();
     }
 
+    private OrderBatchRepository orderBatchRepository() {
+        return orderBatchRepositoryProvider.getObject();
+    }
+
     private boolean withinStartupWindow() {
         return (System.currentTimeMillis() - initTimestamp) < STARTUP_GRACE_PERIOD_MS;
     }
@@ -63,41 +75,27 @@ public class OrderMapStore implements MapStore<String, OrderEntity>, MapLoaderLi
     }
 
     /**
-     * Store an order in the database (write-through operation).
+     * Store an order in the database.
      * This method is called when an entry is put into the cache.
      *
+     * Orders created through JPA already carry an id and are skipped. Orders staged in the
+     * cache by write-behind mode have no id yet and are inserted.
+     *
      * @param orderNumber the order number (cache key)
      * @param orderEntity the order entity to store
      */
     @Override
     public void store(String orderNumber, OrderEntity orderEntity) {
         logger.debug("Storing order in database: orderNumber={}", orderNumber);
-
-        try {
-            // Ensure the orderNumber matches the entity
-            if (orderEntity != null && !orderNumber.equals(orderEntity.getOrderNumber())) {
-                logger.warn(
-                        "OrderNumber mismatch: key={}, entity.orderNumber={}",
-                        orderNumber,
-                        orderEntity.getOrderNumber());
-            }
-
-            // Note: For write-through, we assume the order is already persisted
-            // The cache is being updated after the database operation
-            logger.debug("Order store operation completed for orderNumber={}", orderNumber);
-
-        } catch (Exception e) {
-            if (withinStartupWindow()) {
-                logger.debug(
-                        "Store operation error during startup for orderNumber={}: {}", orderNumber, e.getMessage());
-            } else {
-                logger.warn("Store operation error for orderNumber={}: {}", orderNumber, e.getMessage());
-            }
-        }
+        storeAll(Collections.singletonMap(orderNumber, orderEntity));
     }
 
     /**
-     * Store multiple orders in the database (bulk write-through operation).
+     * Store multiple orders in the database with a single JDBC batch insert.
+     * In write-behind mode Hazelcast calls this with coalesced batches honoring
+     * {@code bookstore.cache.write-delay-seconds} and {@code bookstore.cache.write-batch-size}.
+     *
+     * Errors are rethrown so Hazelcast keeps the entries queued and retries the batch.
      *
      * @param entries map of order numbers to order entities
      */
@@ -105,18 +103,42 @@ public class OrderMapStore implements MapStore<String, OrderEntity>, MapLoaderLi
     public void storeAll(Map<String, OrderEntity> entries) {
         logger.debug("Storing {} orders in database", entries.size());
 
-        try {
-            // Note: For write-through, orders are already persisted by the time they reach here
-            // This method is called for cache warming or batch operations
-            logger.debug("StoreAll operation completed for {} orders", entries.size());
+        List<OrderEntity> pendingOrders = new ArrayList<>();
+        entries.forEach((orderNumber, orderEntity) -> {
+            if (orderEntity == null) {
+                return;
+            }
+            // Ensure the orderNumber matches the entity
+            if (!orderNumber.equals(orderEntity.getOrderNumber())) {
+                logger.warn(
+                        "OrderNumber mismatch: key={}, entity.orderNumber={}",
+                        orderNumber,
+                        orderEntity.getOrderNumber());
+            }
+            // Orders with an id were saved through JPA before being cached
+            if (orderEntity.getId() == null) {
+                pendingOrders.add(orderEntity);
+            }
+        });
 
-        } catch (Exception e) {
+        if (pendingOrders.isEmpty()) {
+            logger.debug("StoreAll operation completed - {} orders already persisted", entries.size());
+            return;
+        }
+
+        try {
+            int inserted = orderBatchRepository().insertAll(pendingOrders);
+            logger.debug("StoreAll operation inserted {} of {} pending orders", inserted, pendingOrders.size());
+        } catch (RuntimeException e) {
             if (withinStartupWindow()) {
                 logger.debug(
-                        "StoreAll operation error during startup for {} orders: {}", entries.size(), e.getMessage());
+                        "StoreAll operation error during startup for {} orders: {}",
+                        pendingOrders.size(),
+                        e.getMessage());
             } else {
-                logger.warn("StoreAll operation error for {} orders: {}", entries.size(), e.getMessage());
+                logger.warn("StoreAll operation error for {} orders: {}", pendingOrders.size(), e.getMessage());
             }
+            throw e;
         }
     }
 
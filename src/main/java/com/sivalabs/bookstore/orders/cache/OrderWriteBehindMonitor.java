@@ -0,0 +1,70 @@
+package com.sivalabs.bookstore.orders.cache;
+
+import com.hazelcast.map.IMap;
+import com.sivalabs.bookstore.orders.domain.OrderBatchRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Durability support for orders write-behind mode.
+ *
+ * Exposes the number of orders waiting in the write-behind queue as the
+ * {@code bookstore.orders.write-behind.pending} gauge and flushes the queue on shutdown.
+ * Depending on the orders cache and {@link OrderBatchRepository} makes Spring destroy this
+ * bean before the Hazelcast instance and the persistence layer, so the flush can still
+ * reach the database.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bookstore.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(prefix = "bookstore.orders.write-behind", name = "enabled", havingValue = "true")
+public class OrderWriteBehindMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderWriteBehindMonitor.class);
+
+    private final IMap<String, Object> ordersCache;
+
+    public OrderWriteBehindMonitor(
+            @Qualifier("ordersCache") IMap<String, Object> ordersCache,
+            OrderBatchRepository orderBatchRepository,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.ordersCache = ordersCache;
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            Gauge.builder("bookstore.orders.write-behind.pending", this, OrderWriteBehindMonitor::getPendingWrites)
+                    .description("Orders accepted in the cache but not yet persisted to the database")
+                    .tag("cache", "orders-cache")
+                    .register(meterRegistry);
+        }
+        logger.info("Orders write-behind mode enabled - order inserts are deferred to OrderMapStore");
+    }
+
+    /**
+     * @return the number of locally owned orders-cache entries not yet persisted
+     */
+    public long getPendingWrites() {
+        try {
+            return ordersCache.getLocalMapStats().getDirtyEntryCount();
+        } catch (Exception e) {
+            logger.debug("Failed to read write-behind queue size: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        long pending = getPendingWrites();
+        logger.info("Flushing {} pending write-behind orders before shutdown", pending);
+        try {
+            ordersCache.flush();
+        } catch (Exception e) {
+            logger.error("Failed to flush {} pending write-behind orders on shutdown: {}", pending, e.getMessage());
+        }
+    }
+}
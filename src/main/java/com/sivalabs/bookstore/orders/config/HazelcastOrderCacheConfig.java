@@ -5,11 +5,21 @@ import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
 import com.sivalabs.bookstore.common.cache.SpringAwareMapStoreConfig;
+import com.sivalabs.bookstore.orders.api.model.Customer;
+import com.sivalabs.bookstore.orders.api.model.OrderItem;
+import com.sivalabs.bookstore.orders.cache.CustomerCompactSerializer;
+import com.sivalabs.bookstore.orders.cache.OrderEntityCompactSerializer;
+import com.sivalabs.bookstore.orders.cache.OrderItemCompactSerializer;
 import com.sivalabs.bookstore.orders.cache.OrderMapStore;
+import com.sivalabs.bookstore.orders.domain.OrderEntity;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.env.Environment;
 
 /**
@@ -23,6 +33,7 @@ import org.springframework.core.env.Environment;
 public class HazelcastOrderCacheConfig {
 
     private static final String ORDERS_CACHE_NAME = "orders-cache";
+    private static final String ORDERS_IDEMPOTENCY_CACHE_NAME = "orders-idempotency-cache";
 
     @Bean
     public MapConfig ordersCacheMapConfig(Environment environment, OrderMapStore orderMapStore) {
@@ -45,7 +56,9 @@ public class HazelcastOrderCacheConfig {
         mapStoreConfig.setImplementation(orderMapStore);
         mapStoreConfig.setInitialLoadMode(MapStoreConfig.InitialLoadMode.LAZY);
 
-        boolean writeThrough = getBoolean(environment, "bookstore.cache.write-through", true);
+        // Orders write-behind mode requires a delayed, coalescing MapStore regardless of the global setting
+        boolean writeBehind = getBoolean(environment, "bookstore.orders.write-behind.enabled", false);
+        boolean writeThrough = getBoolean(environment, "bookstore.cache.write-through", true) && !writeBehind;
         if (writeThrough) {
             mapStoreConfig.setWriteDelaySeconds(0);
             mapStoreConfig.setWriteBatchSize(getInt(environment, "bookstore.cache.write-batch-size", 1));
@@ -56,12 +69,51 @@ public class HazelcastOrderCacheConfig {
             }
             mapStoreConfig.setWriteDelaySeconds(writeDelaySeconds);
             mapStoreConfig.setWriteBatchSize(getInt(environment, "bookstore.cache.write-batch-size", 100));
+            mapStoreConfig.setWriteCoalescing(true);
         }
 
         ordersCacheConfig.setMapStoreConfig(mapStoreConfig);
         return ordersCacheConfig;
     }
 
+    @Bean
+    public MapConfig ordersIdempotencyCacheMapConfig(Environment environment) {
+        MapConfig idempotencyCacheConfig = new MapConfig(ORDERS_IDEMPOTENCY_CACHE_NAME);
+
+        // Entries expire through their TTL only; evicting a live key would let a retry insert a duplicate order
+        idempotencyCacheConfig.setTimeToLiveSeconds(
+                getInt(environment, "bookstore.orders.idempotency.ttl-seconds", 86_400));
+        idempotencyCacheConfig.setBackupCount(getInt(environment, "bookstore.cache.backup-count", 1));
+        idempotencyCacheConfig.setStatisticsEnabled(getBoolean(environment, "bookstore.cache.metrics-enabled", true));
+
+        // No MapStore: keys and the order numbers they created are kept in memory only
+        return idempotencyCacheConfig;
+    }
+
+    /**
+     * Creates the IMap mapping {@code Idempotency-Key} values to the order numbers they created.
+     */
+    @Bean("ordersIdempotencyCache")
+    @Lazy
+    public IMap<String, String> ordersIdempotencyCache(HazelcastInstance hazelcastInstance) {
+        return hazelcastInstance.getMap(ORDERS_IDEMPOTENCY_CACHE_NAME);
+    }
+
+    @Bean
+    public CompactSerializer<OrderEntity> orderEntityCompactSerializer() {
+        return new OrderEntityCompactSerializer();
+    }
+
+    @Bean
+    public CompactSerializer<Customer> customerCompactSerializer() {
+        return new CustomerCompactSerializer();
+    }
+
+    @Bean
+    public CompactSerializer<OrderItem> orderItemCompactSerializer() {
+        return new OrderItemCompactSerializer();
+    }
+
     private int getInt(Environment environment, String propertyKey, int defaultValue) {
         return environment.getProperty(propertyKey, Integer.class, defaultValue);
     }
@@ -0,0 +1,42 @@
+package com.sivalabs.bookstore.orders.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.sivalabs.bookstore.orders.domain.FlakeIdOrderNumberGenerator;
+import com.sivalabs.bookstore.orders.domain.OrderNumberGenerator;
+import com.sivalabs.bookstore.orders.domain.OrderNumberStrategy;
+import com.sivalabs.bookstore.orders.domain.UuidOrderNumberGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link OrderNumberGenerator} configured through {@code bookstore.orders.order-number-strategy}.
+ */
+@Configuration
+public class OrderNumberConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderNumberConfig.class);
+
+    static final String ORDER_NUMBER_GENERATOR_NAME = "order-numbers";
+
+    @Bean
+    public OrderNumberGenerator orderNumberGenerator(
+            @Value("${bookstore.orders.order-number-strategy:uuid}") String orderNumberStrategy,
+            ObjectProvider<HazelcastInstance> hazelcastInstance) {
+        OrderNumberStrategy strategy = OrderNumberStrategy.fromProperty(orderNumberStrategy);
+        log.info("Generating order numbers with strategy {}", strategy);
+        if (strategy == OrderNumberStrategy.UUID) {
+            return new UuidOrderNumberGenerator();
+        }
+
+        HazelcastInstance instance = hazelcastInstance.getIfAvailable();
+        if (instance == null) {
+            throw new IllegalStateException(
+                    "bookstore.orders.order-number-strategy=flake-id requires bookstore.cache.enabled=true");
+        }
+        return new FlakeIdOrderNumberGenerator(instance.getFlakeIdGenerator(ORDER_NUMBER_GENERATOR_NAME));
+    }
+}
@@ -0,0 +1,48 @@
+package com.sivalabs.bookstore.orders.domain;
+
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
+
+/**
+ * Generates order numbers from a cluster-wide Hazelcast {@link FlakeIdGenerator}.
+ *
+ * Flake IDs are 64-bit values made of a timestamp, a sequence and a member ID, so they are unique
+ * across the cluster without a round trip per order: members reserve batches of IDs ahead of time.
+ * Each ID is written as 13 Crockford base-32 digits, zero-padded, after {@value #PREFIX}. The fixed
+ * width and the ascending alphabet keep string order equal to numeric order, so numbers created later
+ * sort later and inserts into the unique {@code order_number} index stay on its rightmost pages.
+ *
+ * The 17-character numbers never collide with the 40-character UUID numbers created before, and both
+ * are looked up the same way, so existing orders keep their numbers when the strategy is switched.
+ */
+public class FlakeIdOrderNumberGenerator implements OrderNumberGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final FlakeIdGenerator idGenerator;
+
+    public FlakeIdOrderNumberGenerator(FlakeIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public String nextOrderNumber() {
+        return PREFIX + encode(idGenerator.newId());
+    }
+
+    /**
+     * Encodes a non-negative ID as 13 base-32 digits, most significant first.
+     */
+    static String encode(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Flake ID must not be negative: " + id);
+        }
+        char[] digits = new char[ENCODED_LENGTH];
+        long remaining = id;
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            digits[i] = ALPHABET[(int) (remaining & 31)];
+            remaining >>>= 5;
+        }
+        return new String(digits);
+    }
+}
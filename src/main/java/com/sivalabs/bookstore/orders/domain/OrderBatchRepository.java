@@ -0,0 +1,90 @@
+package com.sivalabs.bookstore.orders.domain;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC repository inserting orders staged in the orders cache in batches.
+ *
+ * Used by write-behind persistence, where orders are first written to the cache only
+ * and persisted later by {@code OrderMapStore}. Inserts are idempotent on the order number,
+ * so a retried or re-coalesced batch never creates duplicates.
+ */
+@Repository
+public class OrderBatchRepository {
+
+    private static final String INSERT_ORDER_SQL =
+            """
+        insert into orders.orders(order_number, customer_name, customer_email, customer_phone, delivery_address,
+                                  product_code, product_name, product_price, quantity, status, created_at, updated_at)
+        values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        on conflict (order_number) do nothing
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert the given orders with a single JDBC batch.
+     *
+     * @param orders the orders to insert
+     * @return the number of orders actually inserted
+     */
+    @Transactional
+    public int insertAll(Collection<OrderEntity> orders) {
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        List<OrderEntity> batch = new ArrayList<>(orders);
+        int[] updateCounts = jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderEntity order = batch.get(i);
+                ps.setString(1, order.getOrderNumber());
+                ps.setString(2, order.getCustomer().name());
+                ps.setString(3, order.getCustomer().email());
+                ps.setString(4, order.getCustomer().phone());
+                ps.setString(5, order.getDeliveryAddress());
+                ps.setString(6, order.getOrderItem().code());
+                ps.setString(7, order.getOrderItem().name());
+                ps.setBigDecimal(8, order.getOrderItem().price());
+                ps.setInt(9, order.getOrderItem().quantity());
+                ps.setString(10, order.getStatus().name());
+                ps.setTimestamp(11, toTimestamp(order.getCreatedAt()));
+                if (order.getUpdatedAt() != null) {
+                    ps.setTimestamp(12, toTimestamp(order.getUpdatedAt()));
+                } else {
+                    ps.setNull(12, Types.TIMESTAMP);
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+
+        int inserted = 0;
+        for (int count : updateCounts) {
+            inserted += Math.max(count, 0);
+        }
+        return inserted;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime != null ? dateTime : LocalDateTime.now());
+    }
+}
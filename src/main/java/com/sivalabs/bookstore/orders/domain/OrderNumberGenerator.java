@@ -0,0 +1,16 @@
+package com.sivalabs.bookstore.orders.domain;
+
+/**
+ * Source of the customer-facing order numbers assigned when an order is created.
+ *
+ * Order numbers are the primary lookup key of {@code orders-cache} and carry a unique index in
+ * {@code orders.orders}, so implementations must never hand out the same number twice across the
+ * cluster. Numbers from every strategy share the {@value #PREFIX} prefix and can coexist in the table.
+ */
+@FunctionalInterface
+public interface OrderNumberGenerator {
+
+    String PREFIX = "ORD-";
+
+    String nextOrderNumber();
+}
@@ -0,0 +1,36 @@
+package com.sivalabs.bookstore.orders.domain;
+
+import java.util.Locale;
+
+/**
+ * How new order numbers are generated.
+ *
+ * Configured through {@code bookstore.orders.order-number-strategy}.
+ */
+public enum OrderNumberStrategy {
+
+    /**
+     * {@code ORD-} followed by a random UUID: 40 characters, no coordination, random position in the
+     * order number index.
+     */
+    UUID,
+
+    /**
+     * {@code ORD-} followed by a Hazelcast {@code FlakeIdGenerator} ID in a fixed-width base-32
+     * encoding: 17 characters, increasing over time so new rows land at the right edge of the index.
+     * Requires the Hazelcast cache to be enabled.
+     */
+    FLAKE_ID;
+
+    public static OrderNumberStrategy fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return UUID;
+        }
+        String normalized = value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported bookstore.orders.order-number-strategy: " + value, e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
     @Query("""
@@ -20,6 +21,7 @@ public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
         from OrderEntity o left join fetch o.orderItem
         where o.orderNumber = :orderNumber
         """)
+    @Transactional(readOnly = true)
     Optional<OrderEntity> findByOrderNumber(String orderNumber);
 
     List<OrderEntity> findByOrderNumberIn(Collection<String> orderNumbers);
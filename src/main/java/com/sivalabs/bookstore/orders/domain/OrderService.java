@@ -1,15 +1,26 @@
 package com.sivalabs.bookstore.orders.domain;
 
+import com.sivalabs.bookstore.common.cache.SingleFlightLoader;
 import com.sivalabs.bookstore.common.models.PagedResult;
+import com.sivalabs.bookstore.orders.InvalidOrderException;
+import com.sivalabs.bookstore.orders.api.OrderView;
 import com.sivalabs.bookstore.orders.api.events.OrderCreatedEvent;
 import com.sivalabs.bookstore.orders.cache.OrderCacheService;
+import io.grpc.Context;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,19 +33,26 @@ public class OrderService {
     private final ApplicationEventPublisher eventPublisher;
     private final OrderCacheService orderCacheService;
     private final EntityManager entityManager;
+    private final boolean writeBehindEnabled;
+    private final SingleFlightLoader<String, Optional<OrderEntity>> orderLoader;
 
     OrderService(
             OrderRepository orderRepository,
             ApplicationEventPublisher publisher,
             @Autowired(required = false) OrderCacheService orderCacheService,
-            EntityManager entityManager) {
+            EntityManager entityManager,
+            @Value("${bookstore.orders.write-behind.enabled:false}") boolean writeBehindEnabled,
+            MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.eventPublisher = publisher;
         this.orderCacheService = orderCacheService;
         this.entityManager = entityManager;
+        this.writeBehindEnabled = writeBehindEnabled;
+        this.orderLoader =
+                new SingleFlightLoader<>("orders-cache", meterRegistry, order -> order.map(OrderService::copyOf));
 
         if (orderCacheService != null) {
-            log.info("OrderService initialized with cache support enabled");
+            log.info("OrderService initialized with cache support enabled (write-behind: {})", writeBehindEnabled);
         } else {
             log.info("OrderService initialized without cache support (cache disabled or unavailable)");
         }
@@ -51,6 +69,18 @@ public class OrderService {
 
     @Transactional
     public OrderEntity createOrder(OrderEntity orderEntity) {
+        if (writeBehindEnabled && isCacheAvailable()) {
+            // Write-behind: the orders cache is the system of record until OrderMapStore persists the order
+            if (orderCacheService.cacheOrder(orderEntity.getOrderNumber(), orderEntity)) {
+                log.info("Created Order with orderNumber={} (persistence deferred)", orderEntity.getOrderNumber());
+                publishOrderCreatedEvent(orderEntity);
+                return orderEntity;
+            }
+            log.warn(
+                    "Failed to stage order {} in cache - falling back to synchronous persistence",
+                    orderEntity.getOrderNumber());
+        }
+
         OrderEntity savedOrder = orderRepository.save(orderEntity);
         log.info("Created Order with orderNumber={}", savedOrder.getOrderNumber());
 
@@ -71,16 +101,27 @@ public class OrderService {
                     "Cache service unavailable - skipping cache operation for order: {}", savedOrder.getOrderNumber());
         }
 
+        publishOrderCreatedEvent(savedOrder);
+        return savedOrder;
+    }
+
+    private void publishOrderCreatedEvent(OrderEntity order) {
         OrderCreatedEvent event = new OrderCreatedEvent(
-                savedOrder.getOrderNumber(),
-                savedOrder.getOrderItem().code(),
-                savedOrder.getOrderItem().quantity(),
-                savedOrder.getCustomer());
+                order.getOrderNumber(),
+                order.getOrderItem().code(),
+                order.getOrderItem().quantity(),
+                order.getCustomer());
         eventPublisher.publishEvent(event);
-        return savedOrder;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Look up an order, cache first.
+     * Not transactional: concurrent misses wait in the single-flight loader without holding a
+     * connection, and only the shared load runs the read-only {@link OrderRepository#findByOrderNumber}.
+     *
+     * @param orderNumber the order number
+     * @return the order, if it exists
+     */
     public Optional<OrderEntity> findOrder(String orderNumber) {
         // Try cache first if available
         if (isCacheAvailable()) {
@@ -101,7 +142,25 @@ public class OrderService {
             log.debug("Cache service unavailable - querying database directly for order: {}", orderNumber);
         }
 
-        // Cache miss or cache unavailable - query database
+        // Cache miss or cache unavailable - query database, sharing one load between concurrent misses
+        return orderLoader.load(orderNumber, () -> detached(() -> loadAndCache(orderNumber)));
+    }
+
+    /**
+     * Run a load shared by concurrent callers outside the deadline and cancellation of the gRPC call that
+     * happened to start it, so that call giving up does not cancel the query for every caller that joined.
+     */
+    private static <T> T detached(Supplier<T> load) {
+        Context forked = Context.current().fork();
+        Context previous = forked.attach();
+        try {
+            return load.get();
+        } finally {
+            forked.detach(previous);
+        }
+    }
+
+    private Optional<OrderEntity> loadAndCache(String orderNumber) {
         Optional<OrderEntity> order = orderRepository.findByOrderNumber(orderNumber);
 
         // Cache the result if found and cache is available
@@ -118,6 +177,18 @@ public class OrderService {
         return order;
     }
 
+    private static OrderEntity copyOf(OrderEntity order) {
+        return new OrderEntity(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getCustomer(),
+                order.getDeliveryAddress(),
+                order.getOrderItem(),
+                order.getStatus(),
+                order.getCreatedAt(),
+                order.getUpdatedAt());
+    }
+
     @Transactional(readOnly = true)
     public PagedResult<OrderEntity> findOrders(int page, int size) {
         int validPage = Math.max(page, 1);
@@ -139,6 +210,97 @@ public class OrderService {
         boolean hasNext = !isLast && totalPages > 0;
         boolean hasPrevious = validPage > 1 && total > 0;
 
-        return new PagedResult<>(orders, total, validPage, totalPages, isFirst, isLast, hasNext, hasPrevious);
+        String nextPageToken = hasNext && !orders.isEmpty() ? toPageToken(orders.getLast()) : null;
+
+        return new PagedResult<>(
+                orders, total, validPage, totalPages, isFirst, isLast, hasNext, hasPrevious, nextPageToken);
+    }
+
+    /**
+     * Find orders using keyset (seek) pagination, newest first.
+     *
+     * The page token carries the id of the last order of the previous page, so every page is
+     * read with an indexed {@code o.id < :lastSeenId} predicate instead of an offset and costs
+     * the same no matter how deep it is. One extra row is fetched to detect a next page, and the
+     * total count is only queried when requested. Without a count, {@code totalElements} and
+     * {@code totalPages} are reported as -1; {@code pageNumber} is always 0 in this mode.
+     *
+     * @param pageToken token returned as {@code nextPageToken} by the previous page, or null for the first page
+     * @param size the maximum number of orders to return
+     * @param includeTotal whether to run the total count query
+     * @return the requested slice of orders
+     */
+    @Transactional(readOnly = true)
+    public PagedResult<OrderEntity> findOrders(String pageToken, int size, boolean includeTotal) {
+        int validSize = Math.max(size, 1);
+        Long lastSeenId = parsePageToken(pageToken);
+
+        TypedQuery<OrderEntity> dataQuery = lastSeenId == null
+                ? entityManager.createQuery("select o from OrderEntity o order by o.id desc", OrderEntity.class)
+                : entityManager
+                        .createQuery(
+                                "select o from OrderEntity o where o.id < :lastSeenId order by o.id desc",
+                                OrderEntity.class)
+                        .setParameter("lastSeenId", lastSeenId);
+        List<OrderEntity> rows = dataQuery.setMaxResults(validSize + 1).getResultList();
+
+        boolean hasNext = rows.size() > validSize;
+        List<OrderEntity> orders = hasNext ? List.copyOf(rows.subList(0, validSize)) : rows;
+        String nextPageToken = hasNext ? toPageToken(orders.getLast()) : null;
+
+        long total = -1;
+        int totalPages = -1;
+        if (includeTotal) {
+            total = entityManager.createQuery("select count(o) from OrderEntity o", Long.class).getSingleResult();
+            totalPages = total == 0 ? 0 : (int) Math.ceil((double) total / validSize);
+        }
+
+        boolean isFirst = lastSeenId == null;
+        return new PagedResult<>(orders, total, 0, totalPages, isFirst, !hasNext, hasNext, !isFirst, nextPageToken);
+    }
+
+    /**
+     * Stream all orders, oldest first, through a database cursor.
+     *
+     * Rows are read as {@link OrderView} projections with the given JDBC fetch size, so nothing is
+     * kept in the persistence context and memory use does not grow with the number of orders.
+     *
+     * @param fetchSize the number of rows fetched per database round trip
+     * @param sink receives each order and returns false to stop early
+     * @return the number of orders accepted by the sink
+     */
+    @Transactional(readOnly = true)
+    public long streamOrders(int fetchSize, Predicate<OrderView> sink) {
+        long count = 0;
+        try (Stream<OrderView> orders = entityManager
+                .createQuery(
+                        "select new com.sivalabs.bookstore.orders.api.OrderView(o.orderNumber, o.status, o.customer)"
+                                + " from OrderEntity o order by o.id",
+                        OrderView.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Math.max(fetchSize, 1))
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<OrderView> iterator = orders.iterator();
+            while (iterator.hasNext() && sink.test(iterator.next())) {
+                count++;
+            }
+        }
+        log.debug("Streamed {} orders with fetch size {}", count, fetchSize);
+        return count;
+    }
+
+    private static String toPageToken(OrderEntity lastOrder) {
+        return String.valueOf(lastOrder.getId());
+    }
+
+    private static Long parsePageToken(String pageToken) {
+        if (pageToken == null || pageToken.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(pageToken.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidOrderException("Invalid page token: " + pageToken);
+        }
     }
 }
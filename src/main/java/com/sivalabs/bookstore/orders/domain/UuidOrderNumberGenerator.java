@@ -0,0 +1,15 @@
+package com.sivalabs.bookstore.orders.domain;
+
+import java.util.UUID;
+
+/**
+ * Generates {@code ORD-<random UUID>} order numbers, the format used before order numbers became
+ * pluggable.
+ */
+public class UuidOrderNumberGenerator implements OrderNumberGenerator {
+
+    @Override
+    public String nextOrderNumber() {
+        return PREFIX + UUID.randomUUID();
+    }
+}
@@ -1,14 +1,22 @@
 package com.sivalabs.bookstore.orders.grpc;
 
+import com.sivalabs.bookstore.orders.IdempotencyKeyReusedException;
 import com.sivalabs.bookstore.orders.InvalidOrderException;
+import com.sivalabs.bookstore.orders.OrderInProgressException;
 import com.sivalabs.bookstore.orders.OrderNotFoundException;
+import io.grpc.Context;
+import io.grpc.Metadata;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import java.sql.SQLException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionTimedOutException;
 
 /**
  * Utility to translate domain/service exceptions into gRPC {@link StatusRuntimeException}.
@@ -19,6 +27,22 @@ public final class GrpcExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GrpcExceptionHandler.class);
 
+    /**
+     * Trailer naming the reason of a failure whose status code alone is ambiguous, so that clients map only
+     * that reason to a domain exception.
+     */
+    public static final Metadata.Key<String> ERROR_REASON_KEY =
+            Metadata.Key.of("bookstore-error-reason", Metadata.ASCII_STRING_MARSHALLER);
+
+    /** {@code ABORTED}: another request with the same idempotency key is still creating the order. */
+    public static final String ORDER_IN_PROGRESS = "ORDER_IN_PROGRESS";
+
+    /** {@code INVALID_ARGUMENT}: the idempotency key was already used for a different request. */
+    public static final String IDEMPOTENCY_KEY_REUSED = "IDEMPOTENCY_KEY_REUSED";
+
+    /** PostgreSQL {@code query_canceled}: the statement timed out or was cancelled. */
+    private static final String QUERY_CANCELED_SQL_STATE = "57014";
+
     private GrpcExceptionHandler() {
         // utility class
     }
@@ -36,6 +60,14 @@ public final class GrpcExceptionHandler {
                     .asRuntimeException();
         }
 
+        if (exception instanceof IdempotencyKeyReusedException reusedException) {
+            log.debug("Idempotency key reused: {}", reusedException.getMessage());
+            return Status.INVALID_ARGUMENT
+                    .withDescription(reusedException.getMessage())
+                    .withCause(reusedException)
+                    .asRuntimeException(errorReason(IDEMPOTENCY_KEY_REUSED));
+        }
+
         if (exception instanceof InvalidOrderException invalidOrderException) {
             log.debug("Invalid order: {}", invalidOrderException.getMessage());
             return Status.INVALID_ARGUMENT
@@ -44,6 +76,24 @@ public final class GrpcExceptionHandler {
                     .asRuntimeException();
         }
 
+        if (exception instanceof OrderInProgressException inProgressException) {
+            log.debug("Order still in progress: {}", inProgressException.getMessage());
+            return Status.ABORTED
+                    .withDescription(inProgressException.getMessage())
+                    .withCause(inProgressException)
+                    .asRuntimeException(errorReason(ORDER_IN_PROGRESS));
+        }
+
+        if (isDatabaseWorkAborted(exception)) {
+            // Raised once the call's deadline has run out or the call was cancelled mid-query
+            Context context = Context.current();
+            Status status = context.isCancelled() && !(context.cancellationCause() instanceof TimeoutException)
+                    ? Status.CANCELLED
+                    : Status.DEADLINE_EXCEEDED;
+            log.debug("Database work aborted for gRPC call: {}", exception.getMessage());
+            return status.withDescription(exception.getMessage()).withCause(exception).asRuntimeException();
+        }
+
         if (exception instanceof ConstraintViolationException violationException) {
             log.debug("Constraint violation while processing gRPC request", violationException);
             var violations = violationException.getConstraintViolations();
@@ -71,6 +121,32 @@ public final class GrpcExceptionHandler {
                 .asRuntimeException();
     }
 
+    /**
+     * Whether the exception, or any of its causes, reports a transaction or query stopped by its timeout
+     * or by a cancel request. Queries run through the {@code EntityManager} surface these as JPA or
+     * Hibernate exceptions, or as a bare {@code PersistenceException} around the driver's SQL state,
+     * rather than as Spring's translated ones.
+     */
+    private static boolean isDatabaseWorkAborted(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransactionTimedOutException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof jakarta.persistence.QueryTimeoutException
+                    || cause instanceof org.hibernate.QueryTimeoutException
+                    || (cause instanceof SQLException sqlException
+                            && QUERY_CANCELED_SQL_STATE.equals(sqlException.getSQLState()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Metadata errorReason(String reason) {
+        Metadata trailers = new Metadata();
+        trailers.put(ERROR_REASON_KEY, reason);
+        return trailers;
+    }
+
     private static String formatViolation(ConstraintViolation<?> violation) {
         return violation.getPropertyPath() + ": " + violation.getMessage();
     }
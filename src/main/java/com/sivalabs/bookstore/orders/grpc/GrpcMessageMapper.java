@@ -12,14 +12,37 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
  * Mapping logic between gRPC generated messages and domain DTOs.
+ *
+ * Prices and totals are written as {@code DecimalValue} (unscaled digits plus scale), which maps onto
+ * {@link BigDecimal} without formatting or parsing text. During the rollout the deprecated decimal string
+ * fields are written as well while {@code bookstore.grpc.write-legacy-decimal-strings} is on, so peers that
+ * predate the decimal fields keep reading prices. The strings are always read when a message from such a
+ * peer lacks the decimal fields.
  */
 @Component
 public class GrpcMessageMapper {
 
+    private final boolean writeLegacyDecimalStrings;
+
+    /**
+     * Mapper writing the legacy decimal strings, as during the rollout.
+     */
+    public GrpcMessageMapper() {
+        this(true);
+    }
+
+    @Autowired
+    public GrpcMessageMapper(
+            @Value("${bookstore.grpc.write-legacy-decimal-strings:true}") boolean writeLegacyDecimalStrings) {
+        this.writeLegacyDecimalStrings = writeLegacyDecimalStrings;
+    }
+
     public CreateOrderRequest toCreateOrderRequest(
             com.sivalabs.bookstore.orders.grpc.proto.CreateOrderRequest request) {
         Customer customer = request.hasCustomer() ? toCustomer(request.getCustomer()) : null;
@@ -54,6 +77,7 @@ public class GrpcMessageMapper {
         return new CreateOrderResponse(response.getOrderNumber());
     }
 
+    @SuppressWarnings("deprecation")
     public com.sivalabs.bookstore.orders.grpc.proto.OrderDto toOrderDto(OrderDto dto) {
         var builder = com.sivalabs.bookstore.orders.grpc.proto.OrderDto.newBuilder()
                 .setOrderNumber(dto.orderNumber())
@@ -64,11 +88,14 @@ public class GrpcMessageMapper {
             builder.setCustomer(toCustomerProto(dto.customer()));
         }
 
+        BigDecimal totalAmount = dto.item() != null ? dto.getTotalAmount() : BigDecimal.ZERO;
         if (dto.item() != null) {
-            builder.setItem(toOrderItemProto(dto.item()))
-                    .setTotalAmount(dto.getTotalAmount().toPlainString());
-        } else {
-            builder.setTotalAmount(BigDecimal.ZERO.toPlainString());
+            builder.setItem(toOrderItemProto(dto.item()));
+        }
+        builder.setTotalAmountDecimal(toDecimalValue(totalAmount));
+        if (writeLegacyDecimalStrings) {
+            // total_amount is deprecated but still written for peers that only read the string
+            builder.setTotalAmount(totalAmount.toPlainString());
         }
 
         if (dto.createdAt() != null) {
@@ -120,7 +147,7 @@ public class GrpcMessageMapper {
         if (proto == null) {
             return null;
         }
-        BigDecimal price = parseBigDecimal(proto.getPrice());
+        BigDecimal price = proto.hasPriceDecimal() ? toBigDecimal(proto.getPriceDecimal()) : legacyPrice(proto);
         return new OrderItem(proto.getCode(), proto.getName(), price, proto.getQuantity());
     }
 
@@ -132,13 +159,18 @@ public class GrpcMessageMapper {
                 .build();
     }
 
+    @SuppressWarnings("deprecation")
     private com.sivalabs.bookstore.orders.grpc.proto.OrderItem toOrderItemProto(OrderItem item) {
-        return com.sivalabs.bookstore.orders.grpc.proto.OrderItem.newBuilder()
+        var builder = com.sivalabs.bookstore.orders.grpc.proto.OrderItem.newBuilder()
                 .setCode(item.code())
                 .setName(item.name())
-                .setPrice(item.price().toPlainString())
-                .setQuantity(item.quantity())
-                .build();
+                .setPriceDecimal(toDecimalValue(item.price()))
+                .setQuantity(item.quantity());
+        if (writeLegacyDecimalStrings) {
+            // price is deprecated but still written for peers that only read the string
+            builder.setPrice(item.price().toPlainString());
+        }
+        return builder.build();
     }
 
     private com.sivalabs.bookstore.orders.grpc.proto.OrderStatus toOrderStatusProto(OrderStatus status) {
@@ -175,6 +207,23 @@ public class GrpcMessageMapper {
                 Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos()), ZoneId.systemDefault());
     }
 
+    private com.sivalabs.bookstore.orders.grpc.proto.DecimalValue toDecimalValue(BigDecimal value) {
+        // Exact: prices beyond 18 significant digits are rejected rather than rounded
+        return com.sivalabs.bookstore.orders.grpc.proto.DecimalValue.newBuilder()
+                .setUnscaledValue(value.unscaledValue().longValueExact())
+                .setScale(value.scale())
+                .build();
+    }
+
+    private BigDecimal toBigDecimal(com.sivalabs.bookstore.orders.grpc.proto.DecimalValue value) {
+        return BigDecimal.valueOf(value.getUnscaledValue(), value.getScale());
+    }
+
+    @SuppressWarnings("deprecation")
+    private BigDecimal legacyPrice(com.sivalabs.bookstore.orders.grpc.proto.OrderItem proto) {
+        return parseBigDecimal(proto.getPrice());
+    }
+
     private BigDecimal parseBigDecimal(String value) {
         if (value == null || value.isBlank()) {
             return BigDecimal.ZERO;
@@ -1,7 +1,13 @@
 package com.sivalabs.bookstore.orders.grpc;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.sivalabs.bookstore.common.models.PagedResult;
+import com.sivalabs.bookstore.orders.IdempotencyKeyReusedException;
 import com.sivalabs.bookstore.orders.InvalidOrderException;
+import com.sivalabs.bookstore.orders.OrderInProgressException;
 import com.sivalabs.bookstore.orders.OrderNotFoundException;
 import com.sivalabs.bookstore.orders.api.CreateOrderRequest;
 import com.sivalabs.bookstore.orders.api.CreateOrderResponse;
@@ -9,18 +15,25 @@ import com.sivalabs.bookstore.orders.api.OrderDto;
 import com.sivalabs.bookstore.orders.api.OrderView;
 import com.sivalabs.bookstore.orders.api.OrdersRemoteClient;
 import com.sivalabs.bookstore.orders.grpc.proto.OrdersServiceGrpc;
+import io.grpc.Context;
 import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
 import io.grpc.StatusRuntimeException;
 import jakarta.annotation.PostConstruct;
+import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
- * Thin wrapper around the generated OrdersService blocking stub. Provides mapping between domain
- * DTOs and protobuf messages.
+ * Thin wrapper around the generated OrdersService blocking and future stubs. Provides mapping between
+ * domain DTOs and protobuf messages.
  */
 @Component
 public class OrdersGrpcClient implements OrdersRemoteClient {
@@ -29,6 +42,7 @@ public class OrdersGrpcClient implements OrdersRemoteClient {
     private final GrpcMessageMapper messageMapper;
     private final long deadlineMs;
     private OrdersServiceGrpc.OrdersServiceBlockingStub blockingStub;
+    private OrdersServiceGrpc.OrdersServiceFutureStub futureStub;
 
     public OrdersGrpcClient(
             ManagedChannel channel,
@@ -42,11 +56,16 @@ public class OrdersGrpcClient implements OrdersRemoteClient {
     @PostConstruct
     void init() {
         this.blockingStub = OrdersServiceGrpc.newBlockingStub(channel);
+        this.futureStub = OrdersServiceGrpc.newFutureStub(channel);
     }
 
+    /**
+     * Create an order. Without a caller-supplied key a random one is generated per call, so that
+     * transport-level retries of this call are de-duplicated by the server.
+     */
     @Override
-    public CreateOrderResponse createOrder(CreateOrderRequest request) {
-        var grpcRequest = messageMapper.toCreateOrderRequestProto(request);
+    public CreateOrderResponse createOrder(CreateOrderRequest request, String idempotencyKey) {
+        var grpcRequest = toCreateOrderRequestProto(request, idempotencyKey);
         try {
             var grpcResponse = stubWithDeadline().createOrder(grpcRequest);
             return messageMapper.toCreateOrderResponseDto(grpcResponse);
@@ -55,11 +74,16 @@ public class OrdersGrpcClient implements OrdersRemoteClient {
         }
     }
 
+    @Override
+    public CompletableFuture<CreateOrderResponse> createOrderAsync(CreateOrderRequest request, String idempotencyKey) {
+        var grpcRequest = toCreateOrderRequestProto(request, idempotencyKey);
+        return toCompletableFuture(
+                futureStubWithDeadline().createOrder(grpcRequest), messageMapper::toCreateOrderResponseDto);
+    }
+
     @Override
     public OrderDto getOrder(String orderNumber) {
-        var grpcRequest = com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest.newBuilder()
-                .setOrderNumber(orderNumber)
-                .build();
+        var grpcRequest = toGetOrderRequestProto(orderNumber);
         try {
             var grpcResponse = stubWithDeadline().getOrder(grpcRequest);
             return messageMapper.toOrderDtoDto(grpcResponse.getOrder());
@@ -68,28 +92,124 @@ public class OrdersGrpcClient implements OrdersRemoteClient {
         }
     }
 
+    @Override
+    public CompletableFuture<OrderDto> getOrderAsync(String orderNumber) {
+        var grpcRequest = toGetOrderRequestProto(orderNumber);
+        return toCompletableFuture(
+                futureStubWithDeadline().getOrder(grpcRequest),
+                grpcResponse -> messageMapper.toOrderDtoDto(grpcResponse.getOrder()));
+    }
+
     @Override
     public PagedResult<OrderView> listOrders(int page, int size) {
-        var grpcRequest = com.sivalabs.bookstore.orders.grpc.proto.ListOrdersRequest.newBuilder()
+        return executeListOrders(toListOrdersRequestProto(page, size));
+    }
+
+    @Override
+    public PagedResult<OrderView> listOrders(String pageToken, int size, boolean includeTotal) {
+        return executeListOrders(toListOrdersRequestProto(pageToken, size, includeTotal));
+    }
+
+    @Override
+    public CompletableFuture<PagedResult<OrderView>> listOrdersAsync(int page, int size) {
+        return toCompletableFuture(
+                futureStubWithDeadline().listOrders(toListOrdersRequestProto(page, size)), this::toPagedResult);
+    }
+
+    @Override
+    public CompletableFuture<PagedResult<OrderView>> listOrdersAsync(String pageToken, int size, boolean includeTotal) {
+        var grpcRequest = toListOrdersRequestProto(pageToken, size, includeTotal);
+        return toCompletableFuture(futureStubWithDeadline().listOrders(grpcRequest), this::toPagedResult);
+    }
+
+    private PagedResult<OrderView> executeListOrders(
+            com.sivalabs.bookstore.orders.grpc.proto.ListOrdersRequest grpcRequest) {
+        try {
+            return toPagedResult(stubWithDeadline().listOrders(grpcRequest));
+        } catch (StatusRuntimeException ex) {
+            throw mapStatusRuntimeException(ex);
+        }
+    }
+
+    /**
+     * Without a caller-supplied key a random one is generated per call, so that transport-level
+     * retries of this call are de-duplicated by the server.
+     */
+    private com.sivalabs.bookstore.orders.grpc.proto.CreateOrderRequest toCreateOrderRequestProto(
+            CreateOrderRequest request, String idempotencyKey) {
+        String key = idempotencyKey != null && !idempotencyKey.isBlank()
+                ? idempotencyKey
+                : UUID.randomUUID().toString();
+        return messageMapper.toCreateOrderRequestProto(request).toBuilder().setIdempotencyKey(key).build();
+    }
+
+    private com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest toGetOrderRequestProto(String orderNumber) {
+        return com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest.newBuilder()
+                .setOrderNumber(orderNumber)
+                .build();
+    }
+
+    private com.sivalabs.bookstore.orders.grpc.proto.ListOrdersRequest toListOrdersRequestProto(int page, int size) {
+        return com.sivalabs.bookstore.orders.grpc.proto.ListOrdersRequest.newBuilder()
                 .setPage(Math.max(1, page))
                 .setPageSize(Math.max(1, size))
                 .build();
-        try {
-            var grpcResponse = stubWithDeadline().listOrders(grpcRequest);
-            List<OrderView> orders = grpcResponse.getOrdersList().stream()
-                    .map(messageMapper::toOrderViewDto)
-                    .collect(Collectors.toList());
-            return new PagedResult<>(
-                    orders,
-                    grpcResponse.getTotalElements(),
-                    grpcResponse.getPageNumber(),
-                    grpcResponse.getTotalPages(),
-                    grpcResponse.getIsFirst(),
-                    grpcResponse.getIsLast(),
-                    grpcResponse.getHasNext(),
-                    grpcResponse.getHasPrevious());
+    }
+
+    private com.sivalabs.bookstore.orders.grpc.proto.ListOrdersRequest toListOrdersRequestProto(
+            String pageToken, int size, boolean includeTotal) {
+        return com.sivalabs.bookstore.orders.grpc.proto.ListOrdersRequest.newBuilder()
+                .setPageToken(pageToken != null ? pageToken : "")
+                .setPageSize(Math.max(1, size))
+                .setIncludeTotal(includeTotal)
+                .build();
+    }
+
+    private PagedResult<OrderView> toPagedResult(
+            com.sivalabs.bookstore.orders.grpc.proto.ListOrdersResponse grpcResponse) {
+        List<OrderView> orders = grpcResponse.getOrdersList().stream()
+                .map(messageMapper::toOrderViewDto)
+                .collect(Collectors.toList());
+        return new PagedResult<>(
+                orders,
+                grpcResponse.getTotalElements(),
+                grpcResponse.getPageNumber(),
+                grpcResponse.getTotalPages(),
+                grpcResponse.getIsFirst(),
+                grpcResponse.getIsLast(),
+                grpcResponse.getHasNext(),
+                grpcResponse.getHasPrevious(),
+                grpcResponse.getNextPageToken().isEmpty() ? null : grpcResponse.getNextPageToken());
+    }
+
+    /**
+     * Stream all orders from the server. No deadline is applied since exports may run for a long
+     * time; the blocking iterator requests messages one at a time, so a slow consumer throttles
+     * the server through flow control instead of buffering orders in memory.
+     */
+    @Override
+    public long streamOrders(int fetchSize, Consumer<OrderView> consumer) {
+        var grpcRequest = com.sivalabs.bookstore.orders.grpc.proto.StreamOrdersRequest.newBuilder()
+                .setFetchSize(Math.max(0, fetchSize))
+                .build();
+        // Closing the cancellable context cancels the call if the consumer stops early
+        try (Context.CancellableContext context = Context.current().withCancellation()) {
+            return context.call(() -> {
+                long received = 0;
+                Iterator<com.sivalabs.bookstore.orders.grpc.proto.OrderView> orders =
+                        blockingStub.streamOrders(grpcRequest);
+                while (orders.hasNext()) {
+                    consumer.accept(messageMapper.toOrderViewDto(orders.next()));
+                    received++;
+                }
+                return received;
+            });
         } catch (StatusRuntimeException ex) {
             throw mapStatusRuntimeException(ex);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException("Order stream failed", ex);
         }
     }
 
@@ -97,15 +217,65 @@ public class OrdersGrpcClient implements OrdersRemoteClient {
         return blockingStub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
     }
 
+    private OrdersServiceGrpc.OrdersServiceFutureStub futureStubWithDeadline() {
+        return futureStub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adapts a gRPC future to a {@link CompletableFuture}, completing it exceptionally with the same
+     * domain exceptions as the blocking calls. Cancelling the returned future cancels the RPC.
+     */
+    private <T, R> CompletableFuture<R> toCompletableFuture(ListenableFuture<T> grpcFuture, Function<T, R> mapper) {
+        CompletableFuture<R> result = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                grpcFuture.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        Futures.addCallback(
+                grpcFuture,
+                new FutureCallback<>() {
+                    @Override
+                    public void onSuccess(T grpcResponse) {
+                        try {
+                            result.complete(mapper.apply(grpcResponse));
+                        } catch (RuntimeException ex) {
+                            result.completeExceptionally(ex);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Throwable failure) {
+                        result.completeExceptionally(
+                                failure instanceof StatusRuntimeException ex ? mapStatusRuntimeException(ex) : failure);
+                    }
+                },
+                MoreExecutors.directExecutor());
+        return result;
+    }
+
     private RuntimeException mapStatusRuntimeException(StatusRuntimeException ex) {
         var status = ex.getStatus();
         String description = status.getDescription() != null
                 ? status.getDescription()
                 : status.getCode().name();
+        Metadata trailers = ex.getTrailers();
+        String reason = trailers != null ? trailers.get(GrpcExceptionHandler.ERROR_REASON_KEY) : null;
         return switch (status.getCode()) {
             case NOT_FOUND -> new OrderNotFoundException(description);
-            case INVALID_ARGUMENT -> new InvalidOrderException(description);
+            case INVALID_ARGUMENT -> invalidArgument(reason, description);
+            // Only the in-progress duplicate is a domain error; other ABORTED failures are passed through
+            case ABORTED -> GrpcExceptionHandler.ORDER_IN_PROGRESS.equals(reason)
+                    ? new OrderInProgressException(description)
+                    : ex;
             default -> ex;
         };
     }
+
+    private static InvalidOrderException invalidArgument(String reason, String description) {
+        return GrpcExceptionHandler.IDEMPOTENCY_KEY_REUSED.equals(reason)
+                ? new IdempotencyKeyReusedException(description)
+                : new InvalidOrderException(description);
+    }
 }
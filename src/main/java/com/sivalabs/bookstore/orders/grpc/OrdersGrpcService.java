@@ -1,10 +1,21 @@
 package com.sivalabs.bookstore.orders.grpc;
 
+import com.sivalabs.bookstore.config.GrpcServerExecutor;
 import com.sivalabs.bookstore.orders.api.OrdersApi;
 import com.sivalabs.bookstore.orders.grpc.proto.OrdersServiceGrpc;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,14 +27,24 @@ import org.springframework.stereotype.Component;
 @Component
 public class OrdersGrpcService extends OrdersServiceGrpc.OrdersServiceImplBase {
 
+    private static final Logger log = LoggerFactory.getLogger(OrdersGrpcService.class);
+    private static final int DEFAULT_STREAM_FETCH_SIZE = 500;
+    private static final int MAX_STREAM_FETCH_SIZE = 10_000;
+
     private final OrdersApi ordersApi;
     private final GrpcMessageMapper messageMapper;
     private final Validator validator;
+    private final ObjectProvider<GrpcServerExecutor> serverExecutorProvider;
 
-    public OrdersGrpcService(OrdersApi ordersApi, GrpcMessageMapper messageMapper, Validator validator) {
+    public OrdersGrpcService(
+            OrdersApi ordersApi,
+            GrpcMessageMapper messageMapper,
+            Validator validator,
+            ObjectProvider<GrpcServerExecutor> serverExecutorProvider) {
         this.ordersApi = ordersApi;
         this.messageMapper = messageMapper;
         this.validator = validator;
+        this.serverExecutorProvider = serverExecutorProvider;
     }
 
     @Override
@@ -34,7 +55,7 @@ public class OrdersGrpcService extends OrdersServiceGrpc.OrdersServiceImplBase {
         try {
             var createOrderRequest = messageMapper.toCreateOrderRequest(request);
             validateCreateOrderRequest(createOrderRequest);
-            var response = ordersApi.createOrder(createOrderRequest);
+            var response = ordersApi.createOrder(createOrderRequest, request.getIdempotencyKey());
             var grpcResponse = messageMapper.toCreateOrderResponse(response);
             responseObserver.onNext(grpcResponse);
             responseObserver.onCompleted();
@@ -73,8 +94,13 @@ public class OrdersGrpcService extends OrdersServiceGrpc.OrdersServiceImplBase {
         try {
             int page = request.getPage() > 0 ? request.getPage() : 1;
             int size = request.getPageSize() > 0 ? request.getPageSize() : 20;
+            boolean keyset = !request.getPageToken().isEmpty()
+                    || (request.hasIncludeTotal() && !request.getIncludeTotal());
 
-            var pagedOrders = ordersApi.findOrders(page, size);
+            var pagedOrders = keyset
+                    ? ordersApi.findOrders(
+                            request.getPageToken(), size, request.hasIncludeTotal() && request.getIncludeTotal())
+                    : ordersApi.findOrders(page, size);
             var grpcOrders =
                     pagedOrders.data().stream().map(messageMapper::toOrderView).toList();
 
@@ -87,6 +113,7 @@ public class OrdersGrpcService extends OrdersServiceGrpc.OrdersServiceImplBase {
                     .setIsLast(pagedOrders.isLast())
                     .setHasNext(pagedOrders.hasNext())
                     .setHasPrevious(pagedOrders.hasPrevious())
+                    .setNextPageToken(pagedOrders.nextPageToken() != null ? pagedOrders.nextPageToken() : "")
                     .build();
             responseObserver.onNext(grpcResponse);
             responseObserver.onCompleted();
@@ -95,6 +122,66 @@ public class OrdersGrpcService extends OrdersServiceGrpc.OrdersServiceImplBase {
         }
     }
 
+    /**
+     * Streams all orders under gRPC flow control.
+     *
+     * The export is handed to the {@link GrpcServerExecutor} rather than run by the handler, so that the
+     * transport can deliver on-ready and cancellation callbacks for this call; the export waits whenever
+     * the outbound buffer is full ({@link ServerCallStreamObserver#isReady()} is false) and stops reading
+     * the database cursor once the client cancels. Exports the executor has no room for fail with
+     * {@code RESOURCE_EXHAUSTED}.
+     */
+    @Override
+    public void streamOrders(
+            com.sivalabs.bookstore.orders.grpc.proto.StreamOrdersRequest request,
+            io.grpc.stub.StreamObserver<com.sivalabs.bookstore.orders.grpc.proto.OrderView> responseObserver) {
+        var serverObserver =
+                (ServerCallStreamObserver<com.sivalabs.bookstore.orders.grpc.proto.OrderView>) responseObserver;
+        int fetchSize = request.getFetchSize() > 0
+                ? Math.min(request.getFetchSize(), MAX_STREAM_FETCH_SIZE)
+                : DEFAULT_STREAM_FETCH_SIZE;
+        var flowControl = new StreamFlowControl(serverObserver);
+        serverObserver.setOnReadyHandler(flowControl::signal);
+        serverObserver.setOnCancelHandler(flowControl::cancel);
+
+        Runnable export = () -> {
+            try {
+                long sent = ordersApi.streamOrders(fetchSize, order -> {
+                    if (!flowControl.awaitReady()) {
+                        return false;
+                    }
+                    serverObserver.onNext(messageMapper.toOrderView(order));
+                    return true;
+                });
+                if (flowControl.isCancelled()) {
+                    log.debug("Order stream cancelled by client after {} orders", sent);
+                } else {
+                    log.debug("Order stream completed with {} orders", sent);
+                    serverObserver.onCompleted();
+                }
+            } catch (Exception ex) {
+                if (!flowControl.isCancelled()) {
+                    serverObserver.onError(GrpcExceptionHandler.handleException(ex));
+                }
+            }
+        };
+        // Carry the call context over so the export transaction is bounded by the call's deadline
+        Runnable task = Context.current().wrap(export);
+        GrpcServerExecutor serverExecutor = serverExecutorProvider.getIfAvailable();
+        if (serverExecutor == null) {
+            Thread.ofVirtual().name("orders-stream-export").start(task);
+            return;
+        }
+        try {
+            // Exports hold a thread for the whole stream, so they share the server's pool and queue limits
+            serverExecutor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            serverObserver.onError(Status.RESOURCE_EXHAUSTED
+                    .withDescription("Server is overloaded, try again later")
+                    .asRuntimeException());
+        }
+    }
+
     private void validateCreateOrderRequest(com.sivalabs.bookstore.orders.api.CreateOrderRequest request) {
         if (request == null) {
             throw new ConstraintViolationException("CreateOrderRequest must not be null", Collections.emptySet());
@@ -104,4 +191,58 @@ public class OrdersGrpcService extends OrdersServiceGrpc.OrdersServiceImplBase {
             throw new ConstraintViolationException(violations);
         }
     }
+
+    /**
+     * Coordinates the export thread with the transport's readiness and cancellation callbacks.
+     */
+    private static final class StreamFlowControl {
+
+        private final ServerCallStreamObserver<?> observer;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition readyOrCancelled = lock.newCondition();
+        private volatile boolean cancelled;
+
+        StreamFlowControl(ServerCallStreamObserver<?> observer) {
+            this.observer = observer;
+        }
+
+        void signal() {
+            lock.lock();
+            try {
+                readyOrCancelled.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            signal();
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Wait until the call can accept another message.
+         *
+         * @return false if the call was cancelled
+         */
+        boolean awaitReady() {
+            lock.lock();
+            try {
+                while (!cancelled && !observer.isReady()) {
+                    // Timed wait guards against a readiness change racing with the check above
+                    readyOrCancelled.await(100, TimeUnit.MILLISECONDS);
+                }
+                return !cancelled;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
 }
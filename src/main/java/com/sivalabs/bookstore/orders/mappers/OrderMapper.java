@@ -6,14 +6,13 @@ import com.sivalabs.bookstore.orders.api.OrderDto;
 import com.sivalabs.bookstore.orders.api.OrderView;
 import com.sivalabs.bookstore.orders.api.model.OrderStatus;
 import com.sivalabs.bookstore.orders.domain.OrderEntity;
-import java.util.UUID;
 
 public final class OrderMapper {
     private OrderMapper() {}
 
-    public static OrderEntity convertToEntity(CreateOrderRequest request) {
+    public static OrderEntity convertToEntity(CreateOrderRequest request, String orderNumber) {
         OrderEntity entity = new OrderEntity();
-        entity.setOrderNumber("ORD-" + UUID.randomUUID().toString());
+        entity.setOrderNumber(orderNumber);
         entity.setStatus(OrderStatus.NEW);
         entity.setCustomer(request.customer());
         entity.setDeliveryAddress(request.deliveryAddress());
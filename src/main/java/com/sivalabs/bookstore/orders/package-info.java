@@ -1,4 +1,5 @@
-@ApplicationModule(allowedDependencies = {"catalog::product-api", "common::common-cache", "common::common-models"})
+@ApplicationModule(
+        allowedDependencies = {"catalog::product-api", "common::common-cache", "common::common-models", "config"})
 package com.sivalabs.bookstore.orders;
 
 import org.springframework.modulith.ApplicationModule;
@@ -7,6 +7,7 @@ import com.sivalabs.bookstore.orders.api.OrderDto;
 import com.sivalabs.bookstore.orders.api.OrderView;
 import com.sivalabs.bookstore.orders.api.OrdersRemoteClient;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -41,17 +43,31 @@ public class OrdersRestController {
                 description = "Order created successfully",
                 content = @Content(schema = @Schema(implementation = CreateOrderResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid order data"),
+        @ApiResponse(
+                responseCode = "409",
+                description = "An order with the same Idempotency-Key is still being processed"),
+        @ApiResponse(
+                responseCode = "422",
+                description = "The Idempotency-Key was already used for a different order request"),
         @ApiResponse(responseCode = "503", description = "Orders service unavailable")
     })
-    public ResponseEntity<CreateOrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        CreateOrderResponse response = ordersRemoteClient.createOrder(request);
+    public ResponseEntity<CreateOrderResponse> createOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @Parameter(description = "Client-generated key; retries with the same key return the original order")
+                    @RequestHeader(name = "Idempotency-Key", required = false)
+                    String idempotencyKey) {
+        CreateOrderResponse response = ordersRemoteClient.createOrder(request, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .header("Location", "/api/orders/" + response.orderNumber())
                 .body(response);
     }
 
     @GetMapping
-    @Operation(summary = "List orders", description = "Retrieves a paginated list of orders")
+    @Operation(
+            summary = "List orders",
+            description =
+                    "Retrieves a paginated list of orders. Pass the nextPageToken of a previous response as pageToken"
+                            + " for keyset pagination, which costs the same for every page.")
     @ApiResponses({
         @ApiResponse(
                 responseCode = "200",
@@ -66,8 +82,13 @@ public class OrdersRestController {
     })
     public ResponseEntity<PagedResult<OrderView>> listOrders(
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(name = "pageSize", defaultValue = "10") int size) {
-        PagedResult<OrderView> orders = ordersRemoteClient.listOrders(page, size);
+            @RequestParam(name = "pageSize", defaultValue = "10") int size,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) Boolean includeTotal) {
+        boolean keyset = (pageToken != null && !pageToken.isBlank()) || Boolean.FALSE.equals(includeTotal);
+        PagedResult<OrderView> orders = keyset
+                ? ordersRemoteClient.listOrders(pageToken, size, Boolean.TRUE.equals(includeTotal))
+                : ordersRemoteClient.listOrders(page, size);
         return ResponseEntity.ok(orders);
     }
 
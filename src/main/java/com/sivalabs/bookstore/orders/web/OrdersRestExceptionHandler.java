@@ -1,7 +1,9 @@
 package com.sivalabs.bookstore.orders.web;
 
 import com.sivalabs.bookstore.common.models.ErrorResponse;
+import com.sivalabs.bookstore.orders.IdempotencyKeyReusedException;
 import com.sivalabs.bookstore.orders.InvalidOrderException;
+import com.sivalabs.bookstore.orders.OrderInProgressException;
 import com.sivalabs.bookstore.orders.OrderNotFoundException;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
@@ -38,6 +40,17 @@ public class OrdersRestExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Handle IdempotencyKeyReusedException - maps to HTTP 422
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+        ErrorResponse errorResponse =
+                new ErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY.value(), ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
     /**
      * Handle InvalidOrderException - maps to HTTP 400
      */
@@ -51,6 +64,17 @@ public class OrdersRestExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handle OrderInProgressException - maps to HTTP 409
+     */
+    @ExceptionHandler(OrderInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleOrderInProgress(OrderInProgressException ex) {
+        log.warn("Order in progress: {}", ex.getMessage());
+        ErrorResponse errorResponse =
+                new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * Handle gRPC StatusRuntimeException - maps to appropriate HTTP status codes
      */
@@ -81,6 +105,11 @@ public class OrdersRestExceptionHandler extends ResponseEntityExceptionHandler {
                 message = "Orders service unavailable. Please try again later.";
                 log.error("gRPC UNAVAILABLE: {}", description);
             }
+            case RESOURCE_EXHAUSTED -> {
+                httpStatus = HttpStatus.SERVICE_UNAVAILABLE;
+                message = "Orders service is busy. Please try again later.";
+                log.warn("gRPC RESOURCE_EXHAUSTED: {}", description);
+            }
             case DEADLINE_EXCEEDED -> {
                 httpStatus = HttpStatus.GATEWAY_TIMEOUT;
                 message = "Request timeout. Please try again later.";
@@ -0,0 +1,4 @@
+SET search_path TO orders;
+
+alter table orders
+    alter column product_price type numeric using product_price::numeric;
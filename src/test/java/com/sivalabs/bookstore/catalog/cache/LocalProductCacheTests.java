@@ -0,0 +1,158 @@
+package com.sivalabs.bookstore.catalog.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryLoadedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapListener;
+import com.sivalabs.bookstore.catalog.domain.ProductEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LocalProductCacheTests {
+
+    @Mock
+    private IMap<String, Object> productsCache;
+
+    private MeterRegistry meterRegistry;
+    private LocalProductCache localCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        localCache = new LocalProductCache(productsCache, 100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromLocalCache() {
+        AtomicInteger loads = new AtomicInteger();
+        ProductEntity product = product("P100");
+
+        localCache.getOrLoad("P100", () -> load(loads, product));
+        Optional<ProductEntity> result = localCache.getOrLoad("P100", () -> load(loads, product));
+
+        assertThat(result).get().usingRecursiveComparison().isEqualTo(product);
+        assertThat(result).get().isNotSameAs(product);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("bookstore.cache.local.hits").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("bookstore.cache.local.staleness").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldNotKeepValueLoadedWhileInvalidationArrived() {
+        AtomicInteger loads = new AtomicInteger();
+        ProductEntity product = product("P100");
+
+        localCache.getOrLoad("P100", () -> {
+            localCache.invalidate("P100");
+            return load(loads, product);
+        });
+        localCache.getOrLoad("P100", () -> load(loads, product));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldNotShareCachedProductWithCallers() {
+        AtomicInteger loads = new AtomicInteger();
+        ProductEntity product = product("P100");
+        localCache.getOrLoad("P100", () -> load(loads, product));
+
+        product.setPrice(new BigDecimal("99.00"));
+        localCache.getOrLoad("P100", () -> load(loads, product)).orElseThrow().setName("Changed");
+        Optional<ProductEntity> result = localCache.getOrLoad("P100", () -> load(loads, product));
+
+        assertThat(loads).hasValue(1);
+        assertThat(result).get().extracting(ProductEntity::getName).isEqualTo("Product P100");
+        assertThat(result).get().extracting(ProductEntity::getPrice).isEqualTo(new BigDecimal("10.00"));
+    }
+
+    @Test
+    void shouldKeepValueLoadedWhileOtherProductWasInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+        ProductEntity product = product("P100");
+
+        localCache.getOrLoad("P100", () -> {
+            localCache.invalidate("P200");
+            return load(loads, product);
+        });
+        localCache.getOrLoad("P100", () -> load(loads, product));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldKeepBatchLoadedValuesNotInvalidatedDuringLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        ProductEntity p100 = product("P100");
+        ProductEntity p200 = product("P200");
+
+        localCache.getAllOrLoad(List.of("P100", "P200"), codes -> {
+            localCache.invalidate("P200");
+            loads.incrementAndGet();
+            return Map.of("P100", p100, "P200", p200);
+        });
+        localCache.getOrLoad("P100", () -> load(loads, p100));
+        localCache.getOrLoad("P200", () -> load(loads, p200));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldNotRegisterForEntryLoadedEvents() {
+        ArgumentCaptor<MapListener> listener = ArgumentCaptor.forClass(MapListener.class);
+        verify(productsCache).addEntryListener(listener.capture(), eq(false));
+
+        assertThat(listener.getValue()).isNotInstanceOf(EntryLoadedListener.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldInvalidateOnEntryUpdatedEvent() {
+        ArgumentCaptor<MapListener> listener = ArgumentCaptor.forClass(MapListener.class);
+        verify(productsCache).addEntryListener(listener.capture(), eq(false));
+        AtomicInteger loads = new AtomicInteger();
+        ProductEntity product = product("P100");
+        localCache.getOrLoad("P100", () -> load(loads, product));
+
+        EntryEvent<String, Object> event = mock(EntryEvent.class);
+        when(event.getKey()).thenReturn("P100");
+        ((EntryUpdatedListener<String, Object>) listener.getValue()).entryUpdated(event);
+        localCache.getOrLoad("P100", () -> load(loads, product));
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("bookstore.cache.local.invalidations").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private static Optional<ProductEntity> load(AtomicInteger loads, ProductEntity product) {
+        loads.incrementAndGet();
+        return Optional.of(product);
+    }
+
+    private static ProductEntity product(String code) {
+        ProductEntity product = new ProductEntity();
+        product.setCode(code);
+        product.setName("Product " + code);
+        product.setPrice(new BigDecimal("10.00"));
+        return product;
+    }
+}
@@ -0,0 +1,75 @@
+package com.sivalabs.bookstore.catalog.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.sivalabs.bookstore.catalog.cache.ProductCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceBatchLookupTests {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductCacheService productCacheService;
+
+    @Test
+    void shouldServeCachedProductsAndLoadOnlyMissingOnesFromDatabase() {
+        ProductEntity p100 = product("P100");
+        ProductEntity p101 = product("P101");
+        given(productCacheService.findByProductCodes(Set.of("P100", "P101", "P999"))).willReturn(Map.of("P100", p100));
+        given(productRepository.findByCodeIn(Set.of("P101", "P999"))).willReturn(List.of(p101));
+        ProductService productService =
+                new ProductService(productRepository, productCacheService, new SimpleMeterRegistry());
+
+        Map<String, ProductEntity> result = productService.getByCodes(List.of("P100", "P101", "P999"));
+
+        assertThat(result).containsOnlyKeys("P100", "P101");
+        verify(productCacheService).cacheProducts(Map.of("P101", p101));
+    }
+
+    @Test
+    void shouldSkipDatabaseWhenAllProductsAreCached() {
+        ProductEntity p100 = product("P100");
+        given(productCacheService.findByProductCodes(Set.of("P100"))).willReturn(Map.of("P100", p100));
+        ProductService productService =
+                new ProductService(productRepository, productCacheService, new SimpleMeterRegistry());
+
+        Map<String, ProductEntity> result = productService.getByCodes(List.of("P100"));
+
+        assertThat(result).containsEntry("P100", p100);
+        verify(productRepository, never()).findByCodeIn(anyCollection());
+    }
+
+    @Test
+    void shouldQueryDatabaseOnceWhenCacheIsDisabled() {
+        ProductEntity p100 = product("P100");
+        given(productRepository.findByCodeIn(Set.of("P100", "P101"))).willReturn(List.of(p100));
+        ProductService productService = new ProductService(productRepository, null, new SimpleMeterRegistry());
+
+        Map<String, ProductEntity> result = productService.getByCodes(List.of("P100", "P101"));
+
+        assertThat(result).containsOnlyKeys("P100");
+    }
+
+    private static ProductEntity product(String code) {
+        ProductEntity product = new ProductEntity();
+        product.setCode(code);
+        product.setName("Product " + code);
+        product.setPrice(new BigDecimal("10.00"));
+        return product;
+    }
+}
@@ -0,0 +1,126 @@
+package com.sivalabs.bookstore.catalog.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest(
+        webEnvironment = NONE,
+        properties = {
+            "bookstore.cache.enabled=false",
+            "bookstore.session.hazelcast.enabled=false",
+            "bookstore.grpc.server.enabled=false"
+        },
+        classes = {
+            com.sivalabs.bookstore.BookStoreApplication.class,
+            com.sivalabs.bookstore.testsupport.session.TestSessionConfiguration.class
+        })
+class ProductServiceSingleFlightTests {
+
+    private static final DockerImageName POSTGRES_IMAGE = DockerImageName.parse("postgres:17-alpine");
+    private static final int CALLERS = 8;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE)
+            .withDatabaseName("bookstore")
+            .withUsername("bookstore")
+            .withPassword("bookstore");
+
+    @MockitoBean
+    private org.springframework.amqp.rabbit.core.RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldServeConcurrentMissesWithOneConnection() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        double loadsBefore = singleFlightCount("loads");
+        double coalescedBefore = singleFlightCount("coalesced");
+        List<Future<Optional<ProductEntity>>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Hold a table lock so the shared load blocks in the database while the other misses arrive
+            try (Connection lock = dataSource.getConnection()) {
+                lock.setAutoCommit(false);
+                try (Statement statement = lock.createStatement()) {
+                    statement.execute("lock table catalog.products in access exclusive mode");
+                }
+
+                for (int i = 0; i < CALLERS; i++) {
+                    results.add(executor.submit(() -> productService.getByCode("P100")));
+                }
+                await().atMost(Duration.ofSeconds(10))
+                        .until(() -> singleFlightCount("coalesced") - coalescedBefore == CALLERS - 1);
+                await().atMost(Duration.ofSeconds(10))
+                        .until(() -> pool.getHikariPoolMXBean().getActiveConnections() >= 2);
+
+                // The lock connection plus the one connection of the shared load; waiting callers hold none
+                assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isEqualTo(2);
+
+                lock.rollback();
+            }
+
+            for (Future<Optional<ProductEntity>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS))
+                        .get()
+                        .extracting(ProductEntity::getName)
+                        .isEqualTo("The Hunger Games");
+            }
+        }
+
+        assertThat(singleFlightCount("loads") - loadsBefore).isEqualTo(1.0);
+        // Every caller gets its own instance rather than one shared detached entity
+        Set<ProductEntity> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        results.forEach(result -> instances.add(join(result)));
+        assertThat(instances).hasSize(CALLERS);
+    }
+
+    private double singleFlightCount(String counter) {
+        return meterRegistry
+                .get("bookstore.cache.single-flight." + counter)
+                .tag("cache", "products-cache")
+                .functionCounter()
+                .count();
+    }
+
+    private ProductEntity join(Future<Optional<ProductEntity>> result) {
+        try {
+            return result.get().orElseThrow();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sivalabs.bookstore.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheMetricsTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CacheErrorHandler errorHandler;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry(
+                new CircuitBreaker.Settings(50, 1, Duration.ofSeconds(10), Duration.ofMinutes(1), 1),
+                Map.of(),
+                meterRegistry);
+        errorHandler = new CacheErrorHandler(circuitBreakerRegistry).forCache("products-cache");
+        errorHandler.getMetrics().bindTo(meterRegistry);
+    }
+
+    @Test
+    void shouldRecordHitsMissesAndLatencyPerOperation() {
+        CacheMetrics metrics = errorHandler.getMetrics();
+
+        errorHandler.executeWithFallback(
+                () -> {
+                    metrics.recordHit("findByProductCode");
+                    return "P100";
+                },
+                "findByProductCode",
+                "P100");
+        metrics.recordGets("findAll", 2, 1);
+
+        assertThat(meterRegistry
+                        .get("bookstore.cache.gets")
+                        .tags("cache", "products-cache", "operation", "findAll", "result", "miss")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(1.0);
+        assertThat(metrics.getHits("findByProductCode")).isEqualTo(1);
+        assertThat(meterRegistry
+                        .get("bookstore.cache.operation.duration")
+                        .tags("cache", "products-cache", "operation", "findByProductCode")
+                        .timer()
+                        .count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void shouldRecordErrorsAndFallbacksByReason() {
+        errorHandler.executeWithFallback(
+                () -> {
+                    throw new IllegalStateException("partition lost");
+                },
+                "findByProductCode",
+                "P100");
+        errorHandler.executeWithFallback(() -> "P100", "findByProductCode", "P100");
+
+        assertThat(errorHandler.getMetrics().getErrors("findByProductCode")).isEqualTo(1);
+        assertThat(meterRegistry
+                        .get("bookstore.cache.fallbacks")
+                        .tags("cache", "products-cache", "operation", "findByProductCode", "reason", "error")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry
+                        .get("bookstore.cache.fallbacks")
+                        .tags("cache", "products-cache", "operation", "findByProductCode", "reason", "circuit_open")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(1.0);
+    }
+}
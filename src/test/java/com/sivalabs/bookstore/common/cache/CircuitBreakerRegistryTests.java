@@ -0,0 +1,66 @@
+package com.sivalabs.bookstore.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerRegistryTests {
+
+    private static final CircuitBreaker.Settings DEFAULT_SETTINGS =
+            new CircuitBreaker.Settings(50, 2, Duration.ofSeconds(10), Duration.ofMinutes(1), 1);
+    private static final CircuitBreaker.Settings PRODUCTS_SETTINGS =
+            new CircuitBreaker.Settings(50, 10, Duration.ofSeconds(10), Duration.ofMinutes(1), 1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry registry =
+            new CircuitBreakerRegistry(DEFAULT_SETTINGS, Map.of("products-cache", PRODUCTS_SETTINGS), meterRegistry);
+
+    @Test
+    void shouldKeepFailuresOfOneCacheAwayFromOtherCaches() {
+        CacheErrorHandler sharedErrorHandler = new CacheErrorHandler(registry);
+        CacheErrorHandler inventoryErrorHandler = sharedErrorHandler.forCache("inventory-by-product-code-cache");
+        CacheErrorHandler productsErrorHandler = sharedErrorHandler.forCache("products-cache");
+
+        for (int i = 0; i < 2; i++) {
+            inventoryErrorHandler.executeWithFallback(
+                    () -> {
+                        throw new IllegalStateException("partition lost");
+                    },
+                    "findByProductCode",
+                    "P100",
+                    () -> null);
+        }
+
+        assertThat(inventoryErrorHandler.isCircuitOpen()).isTrue();
+        assertThat(productsErrorHandler.isCircuitOpen()).isFalse();
+        assertThat(productsErrorHandler.executeWithFallback(() -> "cached", "findByProductCode", "P100"))
+                .isEqualTo("cached");
+    }
+
+    @Test
+    void shouldShareBreakerPerCacheNameAndApplyCacheSettings() {
+        CircuitBreaker products = registry.circuitBreaker("products-cache");
+
+        assertThat(registry.circuitBreaker("products-cache")).isSameAs(products);
+        assertThat(products.getSettings().minimumNumberOfCalls()).isEqualTo(10);
+        assertThat(registry.circuitBreaker("orders-cache").getSettings().minimumNumberOfCalls()).isEqualTo(2);
+        assertThat(registry.getCircuitBreakers()).containsOnlyKeys("orders-cache", "products-cache");
+    }
+
+    @Test
+    void shouldPublishStatePerCache() {
+        CircuitBreaker orders = registry.circuitBreaker("orders-cache");
+        orders.onFailure();
+        orders.onFailure();
+
+        assertThat(meterRegistry
+                        .get("bookstore.cache.circuit-breaker.state")
+                        .tag("cache", "orders-cache")
+                        .gauge()
+                        .value())
+                .isEqualTo(1.0);
+    }
+}
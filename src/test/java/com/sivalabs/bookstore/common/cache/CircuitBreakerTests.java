@@ -0,0 +1,99 @@
+package com.sivalabs.bookstore.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTests {
+
+    @Test
+    void shouldStayClosedUntilMinimumNumberOfCallsIsReached() {
+        CircuitBreaker breaker = new CircuitBreaker("test", settings(Duration.ofMinutes(1)));
+
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailedCalls()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateExceedsThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test", settings(Duration.ofMinutes(1)));
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isCallNotPermitted()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(breaker.getNotPermittedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAdmitLimitedProbesAndCloseAfterTheySucceed() {
+        CircuitBreaker breaker = openBreaker(Duration.ZERO);
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.isCallNotPermitted()).isFalse();
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getBufferedCalls()).isZero();
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        CircuitBreaker breaker = openBreaker(Duration.ofMillis(50));
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        sleep(Duration.ofMillis(60));
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void shouldFallBackThroughErrorHandlerWhileOpen() {
+        CacheErrorHandler errorHandler = new CacheErrorHandler(openBreaker(Duration.ofMinutes(1)));
+
+        String result = errorHandler.executeWithFallback(() -> "cached", "findById", "P100", () -> "database");
+
+        assertThat(result).isEqualTo("database");
+        assertThat(errorHandler.isCircuitOpen()).isTrue();
+        errorHandler.resetErrorState();
+        assertThat(errorHandler.executeWithFallback(() -> "cached", "findById", "P100")).isEqualTo("cached");
+    }
+
+    private static CircuitBreaker openBreaker(Duration openDuration) {
+        CircuitBreaker breaker = new CircuitBreaker("test", settings(openDuration));
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private static CircuitBreaker.Settings settings(Duration openDuration) {
+        return new CircuitBreaker.Settings(50, 4, Duration.ofSeconds(10), openDuration, 2);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
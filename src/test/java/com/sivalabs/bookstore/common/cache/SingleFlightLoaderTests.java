@@ -0,0 +1,117 @@
+package com.sivalabs.bookstore.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightLoaderTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlightLoader<String, String> loader = new SingleFlightLoader<>("test-cache", meterRegistry);
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> loader.load("P100", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "value";
+                })));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (loader.getCoalescedCount() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(loader.getLoadCount()).isEqualTo(1);
+        assertThat(loader.getCoalescedCount()).isEqualTo(callers - 1);
+        assertThat(meterRegistry
+                        .get("bookstore.cache.single-flight.coalesced")
+                        .tag("cache", "test-cache")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(callers - 1.0);
+    }
+
+    @Test
+    void shouldHandCoalescedCallersTheirOwnCopy() throws Exception {
+        SingleFlightLoader<String, StringBuilder> copyingLoader =
+                new SingleFlightLoader<>("copying-cache", meterRegistry, StringBuilder::new);
+        StringBuilder loaded = new StringBuilder("value");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<StringBuilder> first = executor.submit(() -> copyingLoader.load("P100", () -> {
+                loading.countDown();
+                await(release);
+                return loaded;
+            }));
+            await(loading);
+            Future<StringBuilder> second = executor.submit(() -> copyingLoader.load("P100", StringBuilder::new));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (copyingLoader.getCoalescedCount() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(loaded);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isNotSameAs(loaded).hasToString("value");
+        }
+    }
+
+    @Test
+    void shouldLoadAgainOnceInFlightLoadCompleted() {
+        AtomicInteger loads = new AtomicInteger();
+
+        loader.load("P100", () -> "v" + loads.incrementAndGet());
+        String second = loader.load("P100", () -> "v" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("v2");
+        assertThat(loader.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    void shouldPropagateLoaderFailureAndAllowRetry() {
+        assertThatThrownBy(() -> loader.load("P100", () -> {
+                    throw new IllegalStateException("database unavailable");
+                }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database unavailable");
+
+        assertThat(loader.load("P100", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.sivalabs.bookstore.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.sivalabs.bookstore.common.cache.CircuitBreaker;
+import java.time.Duration;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -37,4 +39,22 @@ class CachePropertiesTests {
                     assertThat(props.getInventoryTimeToLiveSeconds()).isEqualTo(1234);
                 });
     }
+
+    @Test
+    @DisplayName("Merges per-cache circuit breaker overrides over the shared settings")
+    void shouldBindPerCacheCircuitBreakerOverrides() {
+        contextRunner
+                .withPropertyValues(
+                        "bookstore.cache.circuit-breaker-failure-threshold=8",
+                        "bookstore.cache.circuit-breakers.inventory-cache.failure-threshold=20",
+                        "bookstore.cache.circuit-breakers.inventory-cache.recovery-timeout-ms=5000")
+                .run(ctx -> {
+                    CacheProperties props = ctx.getBean(CacheProperties.class);
+                    CircuitBreaker.Settings inventory = props.getCacheCircuitBreakerSettings().get("inventory-cache");
+                    assertThat(props.getDefaultCircuitBreakerSettings().minimumNumberOfCalls()).isEqualTo(8);
+                    assertThat(inventory.minimumNumberOfCalls()).isEqualTo(20);
+                    assertThat(inventory.openDuration()).isEqualTo(Duration.ofSeconds(5));
+                    assertThat(inventory.failureRateThreshold()).isEqualTo(50);
+                });
+    }
 }
@@ -0,0 +1,65 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sivalabs.bookstore.common.cache.AbstractCacheService;
+import com.sivalabs.bookstore.common.cache.CacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+class CacheServiceMeterBinderTests {
+
+    @Test
+    void shouldNotCreateLazyCacheServicesToBindThem() {
+        LazyCacheServiceConfig.created = false;
+        try (var context = new AnnotationConfigApplicationContext(LazyCacheServiceConfig.class)) {
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            assertThat(LazyCacheServiceConfig.created).isFalse();
+            assertThat(registry.find("bookstore.cache.gets").meters()).isEmpty();
+
+            AbstractCacheService<?, ?> cacheService = context.getBean(AbstractCacheService.class);
+            cacheService.getMetrics().recordHit("findById");
+
+            assertThat(LazyCacheServiceConfig.created).isTrue();
+            assertThat(registry.get("bookstore.cache.gets")
+                            .tags("cache", "lazy-cache", "operation", "findById", "result", "hit")
+                            .functionCounter()
+                            .count())
+                    .isEqualTo(1.0);
+        }
+    }
+
+    @Configuration
+    static class LazyCacheServiceConfig {
+
+        static volatile boolean created;
+
+        @Bean
+        static CacheServiceMeterBinder cacheServiceMeterBinder(ObjectProvider<MeterRegistry> meterRegistry) {
+            return new CacheServiceMeterBinder(meterRegistry);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        @Lazy
+        AbstractCacheService<?, ?> lazyCacheService() {
+            created = true;
+            AbstractCacheService<?, ?> cacheService = mock(AbstractCacheService.class);
+            when(cacheService.getMetrics()).thenReturn(new CacheMetrics("lazy-cache"));
+            return cacheService;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sivalabs.bookstore.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the Compact serializers of the cached entities with the default serialization used before
+ * them (Java serialization for orders, reflective zero-config Compact for products and inventory).
+ *
+ * Run with {@code task benchmark -- CompactSerializationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompactSerializationBenchmark {
+
+    @Param({"order", "product", "inventory"})
+    public String entity;
+
+    @Param({"compact", "default"})
+    public String format;
+
+    private HazelcastInstance member;
+    private SerializationService serializationService;
+    private Object sample;
+    private Data data;
+
+    @Setup
+    public void setUp() {
+        member = CompactSerializationTests.newMember(
+                "compact".equals(format) ? CompactSerializationTests.compactSerializers() : List.of());
+        serializationService = CompactSerializationTests.serializationService(member);
+        sample = switch (entity) {
+            case "order" -> CompactSerializationTests.sampleOrder();
+            case "product" -> CompactSerializationTests.sampleProduct();
+            case "inventory" -> CompactSerializationTests.sampleInventory();
+            default -> throw new IllegalArgumentException("Unknown entity " + entity);
+        };
+        data = serializationService.toData(sample);
+    }
+
+    @TearDown
+    public void tearDown() {
+        member.shutdown();
+    }
+
+    @Benchmark
+    public Data serialize() {
+        return serializationService.toData(sample);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializationService.toObject(data);
+    }
+}
@@ -0,0 +1,201 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.SerializationServiceSupport;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.sivalabs.bookstore.catalog.cache.ProductEntityCompactSerializer;
+import com.sivalabs.bookstore.catalog.domain.ProductEntity;
+import com.sivalabs.bookstore.common.cache.CompactSchemaVersions;
+import com.sivalabs.bookstore.inventory.cache.InventoryEntityCompactSerializer;
+import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
+import com.sivalabs.bookstore.orders.api.model.Customer;
+import com.sivalabs.bookstore.orders.api.model.OrderItem;
+import com.sivalabs.bookstore.orders.api.model.OrderStatus;
+import com.sivalabs.bookstore.orders.cache.CustomerCompactSerializer;
+import com.sivalabs.bookstore.orders.cache.OrderEntityCompactSerializer;
+import com.sivalabs.bookstore.orders.cache.OrderItemCompactSerializer;
+import com.sivalabs.bookstore.orders.domain.OrderEntity;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round-trip and schema version checks for the Compact serializers registered by the modules.
+ * Serialization speed is measured by {@link CompactSerializationBenchmark}.
+ */
+@DisplayName("Compact serialization of cached entities")
+class CompactSerializationTests {
+
+    private static final String INVENTORY_TYPE_NAME = "bookstore.inventory.InventoryEntity";
+
+    private static HazelcastInstance compactMember;
+
+    @BeforeAll
+    static void startMember() {
+        compactMember = newMember(compactSerializers());
+    }
+
+    @AfterAll
+    static void stopMember() {
+        compactMember.shutdown();
+    }
+
+    @Test
+    void shouldRoundTripOrderEntity() {
+        OrderEntity order = sampleOrder();
+
+        OrderEntity copy = roundTrip(serializationService(compactMember), order);
+
+        assertThat(copy).usingRecursiveComparison().isEqualTo(order);
+    }
+
+    @Test
+    void shouldRoundTripOrderEntityWithNullOptionalFields() {
+        OrderEntity order = sampleOrder();
+        order.setId(null);
+        order.setStatus(null);
+        order.setUpdatedAt(null);
+
+        OrderEntity copy = roundTrip(serializationService(compactMember), order);
+
+        assertThat(copy).usingRecursiveComparison().isEqualTo(order);
+    }
+
+    @Test
+    void shouldRoundTripProductEntity() {
+        ProductEntity product = sampleProduct();
+
+        ProductEntity copy = roundTrip(serializationService(compactMember), product);
+
+        assertThat(copy).usingRecursiveComparison().isEqualTo(product);
+    }
+
+    @Test
+    void shouldRoundTripInventoryEntity() {
+        InventoryEntity inventory = sampleInventory();
+
+        InventoryEntity copy = roundTrip(serializationService(compactMember), inventory);
+
+        assertThat(copy).usingRecursiveComparison().isEqualTo(inventory);
+    }
+
+    @Test
+    void shouldEncodeOrdersSmallerThanJavaSerialization() {
+        HazelcastInstance defaultMember = newMember(List.of());
+        try {
+            OrderEntity order = sampleOrder();
+
+            int javaBytes = serializationService(defaultMember).toData(order).totalSize();
+            int compactBytes = serializationService(compactMember).toData(order).totalSize();
+
+            assertThat(compactBytes).isLessThan(javaBytes);
+        } finally {
+            defaultMember.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReadEntriesWrittenWithSupportedSchemaVersion() {
+        SerializationService service = serializationService(compactMember);
+
+        InventoryEntity inventory = service.toObject(service.toData(inventoryRecord(1)));
+
+        assertThat(inventory.getProductCode()).isEqualTo("P100");
+        assertThat(inventory.getQuantity()).isEqualTo(250L);
+    }
+
+    @Test
+    void shouldRefuseEntriesWrittenWithNewerSchemaVersion() {
+        SerializationService service = serializationService(compactMember);
+        Data newerEntry = service.toData(inventoryRecord(2));
+
+        assertThatThrownBy(() -> service.toObject(newerEntry))
+                .isInstanceOf(HazelcastSerializationException.class)
+                .hasStackTraceContaining("schema version 2");
+    }
+
+    private static GenericRecord inventoryRecord(int schemaVersion) {
+        return GenericRecordBuilder.compact(INVENTORY_TYPE_NAME)
+                .setInt32(CompactSchemaVersions.VERSION_FIELD, schemaVersion)
+                .setNullableInt64("id", 1L)
+                .setString("productCode", "P100")
+                .setNullableInt64("quantity", 250L)
+                .build();
+    }
+
+    private static <T> T roundTrip(SerializationService service, T value) {
+        Data data = service.toData(value);
+        return service.toObject(data);
+    }
+
+    static List<CompactSerializer<?>> compactSerializers() {
+        return List.of(
+                new OrderEntityCompactSerializer(),
+                new CustomerCompactSerializer(),
+                new OrderItemCompactSerializer(),
+                new ProductEntityCompactSerializer(),
+                new InventoryEntityCompactSerializer());
+    }
+
+    static HazelcastInstance newMember(List<CompactSerializer<?>> serializers) {
+        Config config = new Config();
+        config.setInstanceName("compact-serialization-" + UUID.randomUUID());
+        config.setClusterName("compact-serialization-" + UUID.randomUUID());
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        serializers.forEach(config.getSerializationConfig().getCompactSerializationConfig()::addSerializer);
+        return Hazelcast.newHazelcastInstance(config);
+    }
+
+    static SerializationService serializationService(HazelcastInstance instance) {
+        return ((SerializationServiceSupport) instance).getSerializationService();
+    }
+
+    static OrderEntity sampleOrder() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30, 45, 123_000_000);
+        return new OrderEntity(
+                42L,
+                UUID.randomUUID().toString(),
+                new Customer("Siva", "siva@gmail.com", "99999999"),
+                "Hyderabad, India",
+                new OrderItem("P100", "The Hunger Games", new BigDecimal("34.00"), 2),
+                OrderStatus.NEW,
+                createdAt,
+                createdAt.plusMinutes(5));
+    }
+
+    static ProductEntity sampleProduct() {
+        ProductEntity product = new ProductEntity();
+        product.setId(1L);
+        product.setCode("P100");
+        product.setName("The Hunger Games");
+        product.setDescription("Winning will make you famous. Losing means certain death...");
+        product.setImageUrl("https://images.gr-assets.com/books/1447303603l/2767052.jpg");
+        product.setPrice(new BigDecimal("34.00"));
+        return product;
+    }
+
+    static InventoryEntity sampleInventory() {
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setId(1L);
+        inventory.setProductCode("P100");
+        inventory.setQuantity(250L);
+        return inventory;
+    }
+}
@@ -0,0 +1,109 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest;
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderResponse;
+import com.sivalabs.bookstore.orders.grpc.proto.ListOrdersRequest;
+import com.sivalabs.bookstore.orders.grpc.proto.ListOrdersResponse;
+import com.sivalabs.bookstore.orders.grpc.proto.OrdersServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GrpcConcurrencyLimitInterceptorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch getOrderStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseGetOrder = new CountDownLatch(1);
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var interceptor = new GrpcConcurrencyLimitInterceptor(Map.of("get-order", 1), meterRegistry);
+        String serverName = "concurrency-limit-" + UUID.randomUUID();
+        server = InProcessServerBuilder.forName(serverName)
+                .executor(Executors.newCachedThreadPool())
+                .addService(ServerInterceptors.intercept(new BlockingOrdersService(), interceptor))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseGetOrder.countDown();
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void shouldRejectCallsBeyondMethodLimitAndReleasePermitOnCompletion() throws Exception {
+        var futureStub = OrdersServiceGrpc.newFutureStub(channel);
+        var blockingStub = OrdersServiceGrpc.newBlockingStub(channel).withDeadlineAfter(5, TimeUnit.SECONDS);
+
+        var inFlight = futureStub.getOrder(getOrder("ORD-1"));
+        assertThat(getOrderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> blockingStub.getOrder(getOrder("ORD-2")))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                .isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(blockingStub.listOrders(ListOrdersRequest.getDefaultInstance())).isNotNull();
+        double rejected = meterRegistry
+                .get("bookstore.grpc.server.calls.rejected")
+                .tag("method", "get-order")
+                .counter()
+                .count();
+        assertThat(rejected).isEqualTo(1.0);
+
+        releaseGetOrder.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+
+        assertThat(blockingStub.getOrder(getOrder("ORD-3"))).isNotNull();
+    }
+
+    private static GetOrderRequest getOrder(String orderNumber) {
+        return GetOrderRequest.newBuilder().setOrderNumber(orderNumber).build();
+    }
+
+    private class BlockingOrdersService extends OrdersServiceGrpc.OrdersServiceImplBase {
+
+        @Override
+        public void getOrder(GetOrderRequest request, StreamObserver<GetOrderResponse> responseObserver) {
+            if ("ORD-1".equals(request.getOrderNumber())) {
+                getOrderStarted.countDown();
+                try {
+                    releaseGetOrder.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            responseObserver.onNext(GetOrderResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void listOrders(ListOrdersRequest request, StreamObserver<ListOrdersResponse> responseObserver) {
+            responseObserver.onNext(ListOrdersResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class GrpcDeadlineAwareTransactionManagerTests {
+
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final Session session = mock(Session.class);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final GrpcDeadlineAwareTransactionManager transactionManager = new GrpcDeadlineAwareTransactionManager();
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getTransaction()).thenReturn(mock(EntityTransaction.class));
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        transactionManager.setEntityManagerFactory(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void shouldKeepConfiguredTimeoutOutsideGrpcCalls() {
+        assertThat(transactionManager.determineTimeout(definition(TransactionDefinition.TIMEOUT_DEFAULT)))
+                .isEqualTo(TransactionDefinition.TIMEOUT_DEFAULT);
+        assertThat(transactionManager.determineTimeout(definition(30))).isEqualTo(30);
+    }
+
+    @Test
+    void shouldMapRemainingDeadlineToTimeoutRoundedUpToSeconds() {
+        Context.CancellableContext call = Context.ROOT.withDeadlineAfter(1_500, TimeUnit.MILLISECONDS, scheduler);
+        try {
+            call.run(() -> {
+                assertThat(transactionManager.determineTimeout(definition(TransactionDefinition.TIMEOUT_DEFAULT)))
+                        .isEqualTo(2);
+                assertThat(transactionManager.determineTimeout(definition(30))).isEqualTo(2);
+                assertThat(transactionManager.determineTimeout(definition(1))).isEqualTo(1);
+            });
+        } finally {
+            call.cancel(null);
+        }
+    }
+
+    @Test
+    void shouldRefuseTimeoutWhenDeadlineExpired() {
+        Context.CancellableContext call =
+                Context.ROOT.withDeadline(Deadline.after(-1, TimeUnit.MILLISECONDS), scheduler);
+
+        TransactionDefinition definition = definition(TransactionDefinition.TIMEOUT_DEFAULT);
+
+        call.run(() -> assertThatThrownBy(() -> transactionManager.determineTimeout(definition))
+                .isInstanceOf(TransactionTimedOutException.class)
+                .hasMessageContaining("deadline expired"));
+    }
+
+    @Test
+    void shouldRunTransactionWithDeadlineAsTimeout() {
+        Context.CancellableContext call = Context.ROOT.withDeadlineAfter(10, TimeUnit.SECONDS, scheduler);
+        try {
+            call.run(() -> {
+                TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+                var holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+
+                assertThat(holder.getTimeToLiveInSeconds()).isBetween(9, 10);
+
+                transactionManager.commit(status);
+            });
+        } finally {
+            call.cancel(null);
+        }
+    }
+
+    @Test
+    void shouldNotStartTransactionInCancelledCall() {
+        Context.CancellableContext call = Context.ROOT.withCancellation();
+        call.cancel(null);
+
+        TransactionDefinition definition = new DefaultTransactionDefinition();
+
+        call.run(() -> assertThatThrownBy(() -> transactionManager.getTransaction(definition))
+                .isInstanceOf(TransactionTimedOutException.class)
+                .hasMessageContaining("cancelled"));
+
+        verify(entityManagerFactory, never()).createEntityManager();
+    }
+
+    @Test
+    void shouldCancelRunningQueryWhenCallIsCancelled() {
+        Context.CancellableContext call = Context.ROOT.withCancellation();
+
+        call.run(() -> {
+            TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+
+            call.cancel(null);
+
+            verify(session, timeout(1_000)).cancelQuery();
+            transactionManager.rollback(status);
+        });
+    }
+
+    @Test
+    void shouldUnbindCancellationListenerAfterCompletion() {
+        Context.CancellableContext call = Context.ROOT.withCancellation();
+
+        call.run(() -> {
+            TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+            transactionManager.commit(status);
+        });
+
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+        call.cancel(null);
+        verify(session, after(200).never()).cancelQuery();
+    }
+
+    private static TransactionDefinition definition(int timeoutSeconds) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setTimeout(timeoutSeconds);
+        return definition;
+    }
+}
@@ -0,0 +1,84 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest;
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderResponse;
+import com.sivalabs.bookstore.orders.grpc.proto.OrderDto;
+import com.sivalabs.bookstore.orders.grpc.proto.OrdersServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GrpcDeadlineInterceptorTests {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = "deadline-" + UUID.randomUUID();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new OrdersService(), new GrpcDeadlineInterceptor(500)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void shouldRejectCallsWithLessThanMinimumDeadlineLeft() {
+        var stub = OrdersServiceGrpc.newBlockingStub(channel).withDeadlineAfter(100, TimeUnit.MILLISECONDS);
+
+        assertThatThrownBy(() -> stub.getOrder(getOrder("ORD-1")))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(invocations).hasValue(0);
+    }
+
+    @Test
+    void shouldServeCallsWithEnoughTimeLeftOrNoDeadline() {
+        var stub = OrdersServiceGrpc.newBlockingStub(channel);
+
+        stub.withDeadlineAfter(5, TimeUnit.SECONDS).getOrder(getOrder("ORD-1"));
+        stub.getOrder(getOrder("ORD-2"));
+
+        assertThat(invocations).hasValue(2);
+    }
+
+    private static GetOrderRequest getOrder(String orderNumber) {
+        return GetOrderRequest.newBuilder().setOrderNumber(orderNumber).build();
+    }
+
+    private class OrdersService extends OrdersServiceGrpc.OrdersServiceImplBase {
+
+        @Override
+        public void getOrder(GetOrderRequest request, StreamObserver<GetOrderResponse> responseObserver) {
+            invocations.incrementAndGet();
+            OrderDto order = OrderDto.newBuilder().setOrderNumber(request.getOrderNumber()).build();
+            responseObserver.onNext(GetOrderResponse.newBuilder().setOrder(order).build());
+            responseObserver.onCompleted();
+        }
+    }
+}
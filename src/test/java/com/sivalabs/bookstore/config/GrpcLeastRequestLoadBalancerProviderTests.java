@@ -0,0 +1,67 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.grpc.ClientStreamTracer;
+import io.grpc.LoadBalancer;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class GrpcLeastRequestLoadBalancerProviderTests {
+
+    private final LoadBalancer.Subchannel firstSubchannel = mock(LoadBalancer.Subchannel.class);
+    private final LoadBalancer.Subchannel secondSubchannel = mock(LoadBalancer.Subchannel.class);
+    private final GrpcLeastRequestLoadBalancerProvider.Backend first =
+            new GrpcLeastRequestLoadBalancerProvider.Backend(firstSubchannel);
+    private final GrpcLeastRequestLoadBalancerProvider.Backend second =
+            new GrpcLeastRequestLoadBalancerProvider.Backend(secondSubchannel);
+    private final GrpcLeastRequestLoadBalancerProvider.LeastRequestPicker picker =
+            new GrpcLeastRequestLoadBalancerProvider.LeastRequestPicker(List.of(first, second));
+
+    @Test
+    void shouldNotCountPicksThatNeverStartAStream() {
+        // Calls that fail or are re-picked before a stream is created never get a tracer
+        for (int i = 0; i < 100; i++) {
+            picker.pickSubchannel(mock(LoadBalancer.PickSubchannelArgs.class));
+        }
+
+        assertThat(first.activeCalls()).isZero();
+        assertThat(second.activeCalls()).isZero();
+    }
+
+    @Test
+    void shouldCountStreamsUntilTheyClose() {
+        ClientStreamTracer succeeded = startStream();
+        ClientStreamTracer failed = startStream();
+
+        assertThat(first.activeCalls() + second.activeCalls()).isEqualTo(2);
+
+        succeeded.streamClosed(Status.OK);
+        failed.streamClosed(Status.UNAVAILABLE);
+
+        assertThat(first.activeCalls()).isZero();
+        assertThat(second.activeCalls()).isZero();
+    }
+
+    @Test
+    void shouldPreferTheBackendWithFewerStreamsInFlight() {
+        ClientStreamTracer busy = startStream();
+        LoadBalancer.Subchannel busySubchannel = first.activeCalls() == 1 ? firstSubchannel : secondSubchannel;
+
+        for (int i = 0; i < 20; i++) {
+            LoadBalancer.PickResult result = picker.pickSubchannel(mock(LoadBalancer.PickSubchannelArgs.class));
+            assertThat(result.getSubchannel()).isNotSameAs(busySubchannel);
+        }
+
+        busy.streamClosed(Status.OK);
+    }
+
+    private ClientStreamTracer startStream() {
+        LoadBalancer.PickResult result = picker.pickSubchannel(mock(LoadBalancer.PickSubchannelArgs.class));
+        return result.getStreamTracerFactory()
+                .newClientStreamTracer(ClientStreamTracer.StreamInfo.newBuilder().build(), new Metadata());
+    }
+}
@@ -0,0 +1,163 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest;
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderResponse;
+import com.sivalabs.bookstore.orders.grpc.proto.OrderDto;
+import com.sivalabs.bookstore.orders.grpc.proto.OrdersServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.inprocess.InProcessSocketAddress;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class GrpcLoadBalancingTests {
+
+    private static final String HOLD = "HOLD";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GrpcProperties.ClientProperties clientProperties = new GrpcProperties.ClientProperties();
+    private final List<Backend> backends = new ArrayList<>();
+    private final CountDownLatch holdStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseHold = new CountDownLatch(1);
+
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        releaseHold.countDown();
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        backends.forEach(backend -> backend.server.shutdownNow());
+    }
+
+    @Test
+    void shouldRoundRobinAcrossBackendsAndSkipUnhealthyOnes() throws Exception {
+        clientProperties.setLoadBalancingPolicy(GrpcProperties.ClientProperties.LoadBalancingPolicy.ROUND_ROBIN);
+        var stub = stub(3);
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(servedBy(stub, 6)).containsExactlyInAnyOrderElementsOf(names()));
+
+        Backend unhealthy = backends.get(0);
+        unhealthy.health.setStatus("", HealthCheckResponse.ServingStatus.NOT_SERVING);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(servedBy(stub, 6))
+                .containsExactlyInAnyOrder(backends.get(1).name, backends.get(2).name));
+        double servedByHealthy = meterRegistry
+                .get("bookstore.grpc.client.backend.calls")
+                .tag("backend", backends.get(1).name)
+                .tag("status", "OK")
+                .timer()
+                .count();
+        assertThat(servedByHealthy).isPositive();
+    }
+
+    @Test
+    void shouldSendCallsToTheBackendWithFewerCallsInFlight() throws Exception {
+        clientProperties.setLoadBalancingPolicy(GrpcProperties.ClientProperties.LoadBalancingPolicy.LEAST_REQUEST);
+        var stub = stub(2);
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(servedBy(stub, 10)).containsExactlyInAnyOrderElementsOf(names()));
+
+        var held = OrdersServiceGrpc.newFutureStub(channel).getOrder(getOrder(HOLD));
+        assertThat(holdStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        String busy = backends.stream().filter(backend -> backend.holding).findFirst().orElseThrow().name;
+
+        Set<String> servedWhileBusy = servedBy(stub, 10);
+        releaseHold.countDown();
+
+        assertThat(servedWhileBusy).hasSize(1).doesNotContain(busy);
+        assertThat(held.get(5, TimeUnit.SECONDS).getOrder().getOrderNumber()).isEqualTo(busy);
+    }
+
+    private OrdersServiceGrpc.OrdersServiceBlockingStub stub(int backendCount) throws Exception {
+        List<InProcessSocketAddress> addresses = new ArrayList<>();
+        for (int i = 0; i < backendCount; i++) {
+            Backend backend = new Backend("orders-" + i + "-" + UUID.randomUUID());
+            backends.add(backend);
+            addresses.add(new InProcessSocketAddress(backend.name));
+        }
+        channel = newChannel(addresses);
+        return OrdersServiceGrpc.newBlockingStub(channel).withDeadlineAfter(5, TimeUnit.SECONDS);
+    }
+
+    @SuppressWarnings("deprecation")
+    private ManagedChannel newChannel(List<InProcessSocketAddress> addresses) {
+        return InProcessChannelBuilder.forTarget(GrpcStaticNameResolverProvider.SCHEME + ":///orders-service")
+                .nameResolverFactory(new GrpcStaticNameResolverProvider(addresses))
+                .defaultServiceConfig(GrpcClientConfig.loadBalancingServiceConfig(clientProperties))
+                .intercept(new GrpcBackendMetricsInterceptor(meterRegistry))
+                .build();
+    }
+
+    private static Set<String> servedBy(OrdersServiceGrpc.OrdersServiceBlockingStub stub, int calls) {
+        Set<String> servedBy = new HashSet<>();
+        for (int i = 0; i < calls; i++) {
+            servedBy.add(stub.getOrder(getOrder("ORD-" + i)).getOrder().getOrderNumber());
+        }
+        return servedBy;
+    }
+
+    private List<String> names() {
+        return backends.stream().map(backend -> backend.name).toList();
+    }
+
+    private static GetOrderRequest getOrder(String orderNumber) {
+        return GetOrderRequest.newBuilder().setOrderNumber(orderNumber).build();
+    }
+
+    /** In-process orders server that answers with its own name as the order number. */
+    private class Backend extends OrdersServiceGrpc.OrdersServiceImplBase {
+
+        private final String name;
+        private final HealthStatusManager health = new HealthStatusManager();
+        private final Server server;
+        private volatile boolean holding;
+
+        private Backend(String name) throws Exception {
+            this.name = name;
+            this.server = InProcessServerBuilder.forName(name)
+                    .executor(Executors.newCachedThreadPool())
+                    .addService(this)
+                    .addService(health.getHealthService())
+                    .build()
+                    .start();
+            health.setStatus("", HealthCheckResponse.ServingStatus.SERVING);
+        }
+
+        @Override
+        public void getOrder(GetOrderRequest request, StreamObserver<GetOrderResponse> responseObserver) {
+            if (HOLD.equals(request.getOrderNumber())) {
+                holding = true;
+                holdStarted.countDown();
+                try {
+                    releaseHold.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            OrderDto order = OrderDto.newBuilder().setOrderNumber(name).build();
+            responseObserver.onNext(GetOrderResponse.newBuilder().setOrder(order).build());
+            responseObserver.onCompleted();
+        }
+    }
+}
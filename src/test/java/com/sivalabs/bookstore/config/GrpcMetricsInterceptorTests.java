@@ -0,0 +1,130 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest;
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderResponse;
+import com.sivalabs.bookstore.orders.grpc.proto.OrderDto;
+import com.sivalabs.bookstore.orders.grpc.proto.OrdersServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GrpcMetricsInterceptorTests {
+
+    private static final String GET_ORDER = OrdersServiceGrpc.getGetOrderMethod().getFullMethodName();
+    private static final List<Duration> SLO_BOUNDARIES = List.of(Duration.ofMillis(10), Duration.ofMillis(100));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = "metrics-" + UUID.randomUUID();
+        var serverInterceptor = new GrpcServerMetricsInterceptor(meterRegistry, SLO_BOUNDARIES);
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new OrdersService(), serverInterceptor))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName)
+                .directExecutor()
+                .intercept(new GrpcClientMetricsInterceptor(meterRegistry, SLO_BOUNDARIES))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void shouldRecordCallsByStatusWithSloHistogramsOnBothSides() {
+        var stub = OrdersServiceGrpc.newBlockingStub(channel).withDeadlineAfter(5, TimeUnit.SECONDS);
+
+        stub.getOrder(getOrder("ORD-1"));
+        stub.getOrder(getOrder("ORD-2"));
+        assertThatThrownBy(() -> stub.getOrder(getOrder("missing"))).isInstanceOf(StatusRuntimeException.class);
+
+        for (String side : List.of("server", "client")) {
+            Timer ok = requests(side, "OK");
+            assertThat(ok.count()).isEqualTo(2);
+            assertThat(ok.takeSnapshot().histogramCounts()).hasSize(SLO_BOUNDARIES.size());
+            assertThat(requests(side, "NOT_FOUND").count()).isEqualTo(1);
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(activeCalls(side)).isZero());
+        }
+    }
+
+    @Test
+    void shouldRecordSerializedMessageSizes() {
+        GetOrderRequest request = getOrder("ORD-1");
+
+        GetOrderResponse response = OrdersServiceGrpc.newBlockingStub(channel).getOrder(request);
+
+        for (String side : List.of("server", "client")) {
+            var requestSize = meterRegistry
+                    .get("bookstore.grpc." + side + ".request.size")
+                    .tag("grpc.method", GET_ORDER)
+                    .summary();
+            var responseSize = meterRegistry
+                    .get("bookstore.grpc." + side + ".response.size")
+                    .tag("grpc.method", GET_ORDER)
+                    .summary();
+            assertThat(requestSize.totalAmount()).isEqualTo(request.getSerializedSize());
+            assertThat(responseSize.totalAmount()).isEqualTo(response.getSerializedSize());
+        }
+    }
+
+    private Timer requests(String side, String status) {
+        return meterRegistry
+                .get("bookstore.grpc." + side + ".requests")
+                .tag("grpc.method", GET_ORDER)
+                .tag("grpc.status", status)
+                .timer();
+    }
+
+    private double activeCalls(String side) {
+        return meterRegistry
+                .get("bookstore.grpc." + side + ".requests.active")
+                .tag("grpc.method", GET_ORDER)
+                .gauge()
+                .value();
+    }
+
+    private static GetOrderRequest getOrder(String orderNumber) {
+        return GetOrderRequest.newBuilder().setOrderNumber(orderNumber).build();
+    }
+
+    private static class OrdersService extends OrdersServiceGrpc.OrdersServiceImplBase {
+
+        @Override
+        public void getOrder(GetOrderRequest request, StreamObserver<GetOrderResponse> responseObserver) {
+            if ("missing".equals(request.getOrderNumber())) {
+                responseObserver.onError(Status.NOT_FOUND.asRuntimeException());
+                return;
+            }
+            OrderDto order = OrderDto.newBuilder().setOrderNumber(request.getOrderNumber()).build();
+            responseObserver.onNext(GetOrderResponse.newBuilder().setOrder(order).build());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+@DisplayName("GrpcProperties Client Transport Selection Tests")
+class GrpcPropertiesTests {
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner().withUserConfiguration(TestConfig.class);
+
+    @EnableConfigurationProperties(GrpcProperties.class)
+    static class TestConfig {}
+
+    @Test
+    @DisplayName("Uses the in-process channel by default when the client targets the local server")
+    void shouldUseInProcessChannelForSelfTarget() {
+        contextRunner.run(ctx -> {
+            GrpcProperties props = ctx.getBean(GrpcProperties.class);
+            assertThat(props.getClient().getMode()).isEqualTo(GrpcProperties.ClientProperties.Mode.AUTO);
+            assertThat(props.useInProcessChannel()).isTrue();
+        });
+    }
+
+    @Test
+    @DisplayName("Uses a network channel in auto mode for remote targets or a disabled local server")
+    void shouldUseNetworkChannelForRemoteTarget() {
+        contextRunner
+                .withPropertyValues("bookstore.grpc.client.target=orders-service:9091")
+                .run(ctx -> assertThat(ctx.getBean(GrpcProperties.class).useInProcessChannel()).isFalse());
+        contextRunner
+                .withPropertyValues("bookstore.grpc.server.enabled=false")
+                .run(ctx -> assertThat(ctx.getBean(GrpcProperties.class).useInProcessChannel()).isFalse());
+    }
+
+    @Test
+    @DisplayName("Honours an explicit client mode over target detection")
+    void shouldHonourExplicitMode() {
+        contextRunner
+                .withPropertyValues(
+                        "bookstore.grpc.client.target=orders-service:9091", "bookstore.grpc.client.mode=in-process")
+                .run(ctx -> assertThat(ctx.getBean(GrpcProperties.class).useInProcessChannel()).isTrue());
+        contextRunner
+                .withPropertyValues("bookstore.grpc.client.mode=network")
+                .run(ctx -> assertThat(ctx.getBean(GrpcProperties.class).useInProcessChannel()).isFalse());
+    }
+
+    @Test
+    @DisplayName("Recognises loopback targets on the server port only")
+    void shouldDetectSelfTargets() {
+        assertThat(GrpcProperties.isSelfTarget("localhost:9091", 9091)).isTrue();
+        assertThat(GrpcProperties.isSelfTarget("dns:///127.0.0.1:9091", 9091)).isTrue();
+        assertThat(GrpcProperties.isSelfTarget("[::1]:9091", 9091)).isTrue();
+        assertThat(GrpcProperties.isSelfTarget("localhost:9092", 9091)).isFalse();
+        assertThat(GrpcProperties.isSelfTarget("orders-service:9091", 9091)).isFalse();
+        assertThat(GrpcProperties.isSelfTarget("localhost", 9091)).isFalse();
+    }
+}
@@ -0,0 +1,194 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest;
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderResponse;
+import com.sivalabs.bookstore.orders.grpc.proto.OrderDto;
+import com.sivalabs.bookstore.orders.grpc.proto.OrdersServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GrpcRetryInterceptorTests {
+
+    private static final String GET_ORDER = OrdersServiceGrpc.getGetOrderMethod().getFullMethodName();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GrpcProperties.ClientProperties clientProperties = new GrpcProperties.ClientProperties();
+    private final FlakyOrdersService service = new FlakyOrdersService();
+
+    private String serverName;
+    private Server server;
+    private ManagedChannel channel;
+    private GrpcRetryInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        clientProperties.setMaxRetryBackoffMs(20);
+        serverName = "retry-" + UUID.randomUUID();
+        server = InProcessServerBuilder.forName(serverName)
+                .executor(Executors.newCachedThreadPool())
+                .addService(service)
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.releaseSlowCall.countDown();
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        if (interceptor != null) {
+            interceptor.shutdown();
+        }
+        server.shutdownNow();
+    }
+
+    @Test
+    void shouldRetryUnavailableCallsAndCountRetries() {
+        service.failures.set(2);
+
+        GetOrderResponse response = stub().getOrder(getOrder("ORD-1"));
+
+        assertThat(response.getOrder().getOrderNumber()).isEqualTo("ORD-1");
+        assertThat(service.calls).hasValue(3);
+        assertThat(counter("bookstore.grpc.client.retries")).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldStopRetryingOnceTheSharedRetryBudgetIsSpent() {
+        clientProperties.setRetryThrottlingMaxTokens(4);
+        clientProperties.setMaxRetryAttempts(5);
+        service.failures.set(Integer.MAX_VALUE);
+        var stub = stub();
+
+        // Tokens go 4 -> 3 (retry) -> 2 (no retry: must stay above half of the maximum)
+        assertThatThrownBy(() -> stub.getOrder(getOrder("ORD-1")))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                .isEqualTo(Status.Code.UNAVAILABLE);
+        assertThat(service.calls).hasValue(2);
+
+        // The budget is shared, so the next call is not retried at all
+        assertThatThrownBy(() -> stub.getOrder(getOrder("ORD-2"))).isInstanceOf(StatusRuntimeException.class);
+        assertThat(service.calls).hasValue(3);
+        assertThat(counter("bookstore.grpc.client.retries.throttled")).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldHedgeSlowIdempotentCallsAndReturnTheFirstResponse() {
+        clientProperties.setHedgingEnabled(true);
+        clientProperties.setHedgingDelayMs(50);
+        service.slowCalls.set(1);
+
+        GetOrderResponse response = stub().getOrder(getOrder("ORD-1"));
+
+        assertThat(response.getOrder().getOrderNumber()).isEqualTo("ORD-1");
+        assertThat(service.calls).hasValue(2);
+        assertThat(counter("bookstore.grpc.client.hedges")).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotExtendTheCallersDeadlineWithThePerAttemptDeadline() {
+        service.slowCalls.set(1);
+        var stub = stub(200);
+        long started = System.nanoTime();
+
+        // deadline-ms (5s) applies per attempt but must not outlive the caller's 200 ms
+        assertThatThrownBy(() -> stub.getOrder(getOrder("ORD-1")))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldNotRetryWhenTooLittleOfTheDeadlineIsLeft() {
+        service.failures.set(Integer.MAX_VALUE);
+        var stub = stub(30);
+
+        assertThatThrownBy(() -> stub.getOrder(getOrder("ORD-1")))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                .isEqualTo(Status.Code.UNAVAILABLE);
+        assertThat(service.calls).hasValue(1);
+        assertThat(meterRegistry.find("bookstore.grpc.client.retries").counter()).isNull();
+    }
+
+    @Test
+    void shouldNotHedgeWhenTheHedgeWouldStartTooCloseToTheDeadline() {
+        clientProperties.setHedgingEnabled(true);
+        clientProperties.setHedgingDelayMs(50);
+        service.slowCalls.set(1);
+        var stub = stub(80);
+
+        assertThatThrownBy(() -> stub.getOrder(getOrder("ORD-1")))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(service.calls).hasValue(1);
+        assertThat(meterRegistry.find("bookstore.grpc.client.hedges").counter()).isNull();
+    }
+
+    private OrdersServiceGrpc.OrdersServiceBlockingStub stub() {
+        return stub(5_000);
+    }
+
+    private OrdersServiceGrpc.OrdersServiceBlockingStub stub(long deadlineMs) {
+        interceptor = new GrpcRetryInterceptor(clientProperties, meterRegistry);
+        channel = InProcessChannelBuilder.forName(serverName).intercept(interceptor).build();
+        return OrdersServiceGrpc.newBlockingStub(channel).withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("method", GET_ORDER).counter().count();
+    }
+
+    private static GetOrderRequest getOrder(String orderNumber) {
+        return GetOrderRequest.newBuilder().setOrderNumber(orderNumber).build();
+    }
+
+    private static class FlakyOrdersService extends OrdersServiceGrpc.OrdersServiceImplBase {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+        private final CountDownLatch releaseSlowCall = new CountDownLatch(1);
+
+        @Override
+        public void getOrder(GetOrderRequest request, StreamObserver<GetOrderResponse> responseObserver) {
+            calls.incrementAndGet();
+            if (failures.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+                responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+                return;
+            }
+            if (slowCalls.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+                try {
+                    releaseSlowCall.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            OrderDto order = OrderDto.newBuilder().setOrderNumber(request.getOrderNumber()).build();
+            responseObserver.onNext(GetOrderResponse.newBuilder().setOrder(order).build());
+            responseObserver.onCompleted();
+        }
+    }
+}
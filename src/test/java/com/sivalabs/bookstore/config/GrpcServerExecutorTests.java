@@ -0,0 +1,139 @@
+package com.sivalabs.bookstore.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest;
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderResponse;
+import com.sivalabs.bookstore.orders.grpc.proto.OrdersServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GrpcServerExecutorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch blockedStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseBlocked = new CountDownLatch(1);
+
+    private GrpcServerExecutor executor;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var serverProperties = new GrpcProperties.ServerProperties();
+        serverProperties.setExecutor(GrpcProperties.ServerProperties.ExecutorMode.BOUNDED);
+        serverProperties.setExecutorPoolSize(1);
+        serverProperties.setExecutorQueueCapacity(1);
+        executor = new GrpcServerExecutor(serverProperties, meterRegistry);
+
+        String serverName = "server-executor-" + UUID.randomUUID();
+        ServerBuilder<?> serverBuilder = InProcessServerBuilder.forName(serverName);
+        executor.applyTo(serverBuilder);
+        server = serverBuilder
+                .intercept(executor.admissionInterceptor())
+                .addService(new BlockingOrdersService())
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseBlocked.countDown();
+        channel.shutdownNow();
+        server.shutdownNow();
+        executor.destroy();
+    }
+
+    @Test
+    void shouldRejectCallsWhileBoundedQueueIsFull() throws Exception {
+        var futureStub = OrdersServiceGrpc.newFutureStub(channel);
+        var blockingStub = OrdersServiceGrpc.newBlockingStub(channel).withDeadlineAfter(5, TimeUnit.SECONDS);
+
+        var running = futureStub.getOrder(getOrder("BLOCK-1"));
+        assertThat(blockedStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = futureStub.getOrder(getOrder("BLOCK-2"));
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> blockingStub.getOrder(getOrder("ORD-3")))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                .isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry
+                        .get("bookstore.grpc.server.executor.rejected")
+                        .counter()
+                        .count())
+                .isEqualTo(2.0);
+
+        releaseBlocked.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+
+        assertThat(blockingStub.getOrder(getOrder("ORD-4"))).isNotNull();
+    }
+
+    @Test
+    void shouldIgnoreRejectionMarkerSentByClient() {
+        var blockingStub = OrdersServiceGrpc.newBlockingStub(channel)
+                .withDeadlineAfter(5, TimeUnit.SECONDS)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(rejectionMarker()));
+
+        assertThat(blockingStub.getOrder(getOrder("ORD-1"))).isNotNull();
+    }
+
+    private void awaitQueued(int queuedTasks) {
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(meterRegistry
+                        .get("executor.queued")
+                        .tag("name", "grpc.server")
+                        .gauge()
+                        .value())
+                .isEqualTo(queuedTasks));
+    }
+
+    private static Metadata rejectionMarker() {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("bookstore-executor-rejected", Metadata.ASCII_STRING_MARSHALLER), "queue-full");
+        return headers;
+    }
+
+    private static GetOrderRequest getOrder(String orderNumber) {
+        return GetOrderRequest.newBuilder().setOrderNumber(orderNumber).build();
+    }
+
+    private class BlockingOrdersService extends OrdersServiceGrpc.OrdersServiceImplBase {
+
+        @Override
+        public void getOrder(GetOrderRequest request, StreamObserver<GetOrderResponse> responseObserver) {
+            if (request.getOrderNumber().startsWith("BLOCK")) {
+                blockedStarted.countDown();
+                try {
+                    releaseBlocked.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            responseObserver.onNext(GetOrderResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -17,6 +17,8 @@ import org.mockito.Mockito;
 @DisplayName("HealthConfig Optimization Tests")
 class HealthConfigOptimizationTests {
 
+    private static final Object PROBE_KEY = "inventory-probe-key";
+
     private HazelcastInstance healthyHazelcast() {
         HazelcastInstance hz = Mockito.mock(HazelcastInstance.class, Mockito.RETURNS_DEEP_STUBS);
         when(hz.getLifecycleService().isRunning()).thenReturn(true);
@@ -56,7 +58,8 @@ class HealthConfigOptimizationTests {
 
         CacheProperties props = new CacheProperties();
         CacheErrorHandler errorHandler = new CacheErrorHandler();
-        HealthConfig health = new HealthConfig(healthyHazelcast(), orders, products, inventory, errorHandler, props);
+        HealthConfig health =
+                new HealthConfig(healthyHazelcast(), orders, products, inventory, PROBE_KEY, errorHandler, props);
 
         // Act
         var healthResult = health.health();
@@ -90,8 +93,8 @@ class HealthConfigOptimizationTests {
         props.setBasicOperationsReadOnly(true);
         props.setTestBasicOperationsEnabled(true);
 
-        HealthConfig health =
-                new HealthConfig(healthyHazelcast(), orders, products, inventory, new CacheErrorHandler(), props);
+        HealthConfig health = new HealthConfig(
+                healthyHazelcast(), orders, products, inventory, PROBE_KEY, new CacheErrorHandler(), props);
 
         var result = health.health();
         assertThat(result).isNotNull();
@@ -104,6 +107,8 @@ class HealthConfigOptimizationTests {
         verify(orders, never()).remove(anyString());
         verify(products, never()).remove(anyString());
         verify(inventory, never()).remove(anyLong());
+
+        verify(inventory).get(PROBE_KEY);
     }
 
     @Test
@@ -123,8 +128,8 @@ class HealthConfigOptimizationTests {
         CacheProperties props = new CacheProperties();
         props.setTestBasicOperationsEnabled(false);
 
-        HealthConfig health =
-                new HealthConfig(healthyHazelcast(), orders, products, inventory, new CacheErrorHandler(), props);
+        HealthConfig health = new HealthConfig(
+                healthyHazelcast(), orders, products, inventory, PROBE_KEY, new CacheErrorHandler(), props);
 
         var result = health.health();
         assertThat(result).isNotNull();
@@ -136,6 +141,6 @@ class HealthConfigOptimizationTests {
 
         verify(orders, never()).get(startsWith("health-check-"));
         verify(products, never()).get(startsWith("health-check-"));
-        verify(inventory, never()).get(anyLong());
+        verify(inventory, never()).get(any());
     }
 }
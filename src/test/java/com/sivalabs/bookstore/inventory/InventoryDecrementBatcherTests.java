@@ -0,0 +1,108 @@
+package com.sivalabs.bookstore.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sivalabs.bookstore.inventory.cache.InventoryCacheService;
+import com.sivalabs.bookstore.inventory.domain.InsufficientInventoryException;
+import com.sivalabs.bookstore.inventory.domain.InventoryBatchRepository;
+import com.sivalabs.bookstore.inventory.domain.InventoryService;
+import com.sivalabs.bookstore.testsupport.TestObjectProvider;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryDecrementBatcherTests {
+
+    @Mock
+    private InventoryBatchRepository inventoryBatchRepository;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    private InventoryDecrementBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        batcher = new InventoryDecrementBatcher(
+                inventoryBatchRepository,
+                inventoryService,
+                new TestObjectProvider<InventoryCacheService>(() -> null),
+                3,
+                60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.destroy();
+    }
+
+    @Test
+    void shouldMergeDecrementsPerProductIntoSingleBatch() {
+        when(inventoryBatchRepository.decreaseQuantities(Map.of("P100", 3L, "P101", 4L)))
+                .thenReturn(Set.of());
+
+        CompletableFuture<Void> first = batcher.submit("P100", 1);
+        CompletableFuture<Void> second = batcher.submit("P101", 4);
+        CompletableFuture<Void> third = batcher.submit("P100", 2);
+
+        assertThat(CompletableFuture.allOf(first, second, third)).isCompleted();
+        verify(inventoryBatchRepository).decreaseQuantities(Map.of("P100", 3L, "P101", 4L));
+        verify(inventoryService, never()).decreaseStockLevel(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldPassDecrementsSortedByProductCode() {
+        ArgumentCaptor<Map<String, Long>> decrements = ArgumentCaptor.captor();
+        when(inventoryBatchRepository.decreaseQuantities(decrements.capture())).thenReturn(Set.of());
+
+        batcher.submit("P102", 1);
+        batcher.submit("P100", 1);
+        batcher.submit("P101", 1);
+
+        assertThat(decrements.getValue().keySet()).containsExactly("P100", "P101", "P102");
+    }
+
+    @Test
+    void shouldApplyOrdersIndividuallyWhenMergedDecrementIsRejected() {
+        when(inventoryBatchRepository.decreaseQuantities(Map.of("P100", 6L))).thenReturn(Set.of("P100"));
+        doThrow(new InsufficientInventoryException("Insufficient stock for product code P100"))
+                .when(inventoryService)
+                .decreaseStockLevel("P100", 3);
+
+        CompletableFuture<Void> first = batcher.submit("P100", 1);
+        CompletableFuture<Void> second = batcher.submit("P100", 2);
+        CompletableFuture<Void> third = batcher.submit("P100", 3);
+
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(third).isCompletedExceptionally();
+        verify(inventoryService).decreaseStockLevel("P100", 1);
+        verify(inventoryService).decreaseStockLevel("P100", 2);
+    }
+
+    @Test
+    void shouldFlushPartialBatchOnDemand() {
+        when(inventoryBatchRepository.decreaseQuantities(Map.of("P102", 5L))).thenReturn(Set.of());
+
+        CompletableFuture<Void> result = batcher.submit("P102", 5);
+        assertThat(result).isNotDone();
+
+        batcher.flush();
+
+        assertThat(result).isCompleted();
+    }
+}
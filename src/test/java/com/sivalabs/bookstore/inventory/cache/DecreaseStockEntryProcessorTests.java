@@ -0,0 +1,53 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
+import java.util.AbstractMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class DecreaseStockEntryProcessorTests {
+
+    private static final InventoryKey KEY = new InventoryKey(1L, "P-100");
+
+    @Test
+    void shouldDecreaseQuantityWhenStockIsSufficient() {
+        Map.Entry<InventoryKey, Object> entry = new AbstractMap.SimpleEntry<>(KEY, inventory(1L, "P-100", 10L));
+
+        StockDecrementResult result = new DecreaseStockEntryProcessor(4).process(entry);
+
+        assertThat(result).isEqualTo(StockDecrementResult.applied(6L));
+        assertThat(((InventoryEntity) entry.getValue()).getQuantity()).isEqualTo(6L);
+    }
+
+    @Test
+    void shouldLeaveEntryUntouchedWhenStockIsInsufficient() {
+        InventoryEntity inventory = inventory(1L, "P-100", 3L);
+        Map.Entry<InventoryKey, Object> entry = new AbstractMap.SimpleEntry<>(KEY, inventory);
+
+        StockDecrementResult result = new DecreaseStockEntryProcessor(5).process(entry);
+
+        assertThat(result).isEqualTo(StockDecrementResult.insufficient(3L));
+        assertThat(entry.getValue()).isSameAs(inventory);
+        assertThat(inventory.getQuantity()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldReportNotFoundWhenEntryIsMissing() {
+        Map.Entry<InventoryKey, Object> entry = new AbstractMap.SimpleEntry<>(KEY, null);
+
+        StockDecrementResult result = new DecreaseStockEntryProcessor(1).process(entry);
+
+        assertThat(result.outcome()).isEqualTo(StockDecrementResult.Outcome.NOT_FOUND);
+        assertThat(entry.getValue()).isNull();
+    }
+
+    private static InventoryEntity inventory(Long id, String productCode, Long quantity) {
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setId(id);
+        inventory.setProductCode(productCode);
+        inventory.setQuantity(quantity);
+        return inventory;
+    }
+}
@@ -59,43 +59,44 @@ class InventoryCacheServiceIntegrationTests {
     }
 
     @Nested
-    @DisplayName("Basic Cache Operations with Long Keys")
+    @DisplayName("Basic Cache Operations with Inventory Keys")
     class BasicCacheOperationsWithLongKeys {
 
         @Test
         @DisplayName("Should find inventory from cache after first database lookup")
         void shouldFindInventoryFromCacheAfterFirstDatabaseLookup() {
             Long inventoryId = testInventory.getId();
+            InventoryKey key = InventoryKey.of(testInventory);
 
             // First, manually cache the inventory (since findById only looks in cache, not
             // database)
             inventoryCacheService.cacheInventory(inventoryId, testInventory);
 
             // First call - should retrieve from cache
-            Optional<InventoryEntity> result1 = inventoryCacheService.findById(inventoryId);
+            Optional<InventoryEntity> result1 = inventoryCacheService.findById(key);
             assertThat(result1).isPresent();
             assertThat(result1.get().getId()).isEqualTo(inventoryId);
             assertThat(result1.get().getProductCode()).isEqualTo(testInventory.getProductCode());
             assertThat(result1.get().getQuantity()).isEqualTo(testInventory.getQuantity());
 
             // Second call - should also come from cache
-            Optional<InventoryEntity> result2 = inventoryCacheService.findById(inventoryId);
+            Optional<InventoryEntity> result2 = inventoryCacheService.findById(key);
             assertThat(result2).isPresent();
             assertThat(result2.get().getId()).isEqualTo(result1.get().getId());
             assertThat(result2.get().getProductCode()).isEqualTo(result1.get().getProductCode());
             assertThat(result2.get().getQuantity()).isEqualTo(result1.get().getQuantity());
 
             // Verify inventory is in cache
-            boolean existsInCache = inventoryCacheService.existsInCache(inventoryId);
+            boolean existsInCache = inventoryCacheService.existsInCache(key);
             assertThat(existsInCache).isTrue();
         }
 
         @Test
         @DisplayName("Should return empty when inventory does not exist")
         void shouldReturnEmptyWhenInventoryDoesNotExist() {
-            Long nonExistentInventoryId = 999999L;
+            InventoryKey nonExistentKey = new InventoryKey(999999L, "UNKNOWN");
 
-            Optional<InventoryEntity> result = inventoryCacheService.findById(nonExistentInventoryId);
+            Optional<InventoryEntity> result = inventoryCacheService.findById(nonExistentKey);
 
             assertThat(result).isEmpty();
         }
@@ -104,9 +105,10 @@ class InventoryCacheServiceIntegrationTests {
         @DisplayName("Should cache inventory successfully with Long key")
         void shouldCacheInventorySuccessfullyWithLongKey() {
             Long inventoryId = testInventory.getId();
+            InventoryKey key = InventoryKey.of(testInventory);
 
             // Inventory should not be in cache initially
-            boolean initiallyExists = inventoryCacheService.existsInCache(inventoryId);
+            boolean initiallyExists = inventoryCacheService.existsInCache(key);
             assertThat(initiallyExists).isFalse();
 
             // Cache the inventory
@@ -114,11 +116,11 @@ class InventoryCacheServiceIntegrationTests {
             assertThat(cached).isTrue();
 
             // Inventory should now be in cache
-            boolean existsAfterCache = inventoryCacheService.existsInCache(inventoryId);
+            boolean existsAfterCache = inventoryCacheService.existsInCache(key);
             assertThat(existsAfterCache).isTrue();
 
             // Should be able to retrieve from cache
-            Optional<InventoryEntity> cachedInventory = inventoryCacheService.findById(inventoryId);
+            Optional<InventoryEntity> cachedInventory = inventoryCacheService.findById(key);
             assertThat(cachedInventory).isPresent();
             assertThat(cachedInventory.get().getId()).isEqualTo(inventoryId);
             assertThat(cachedInventory.get().getQuantity()).isEqualTo(testInventory.getQuantity());
@@ -128,6 +130,7 @@ class InventoryCacheServiceIntegrationTests {
         @DisplayName("Should update cached inventory successfully")
         void shouldUpdateCachedInventorySuccessfully() {
             Long inventoryId = testInventory.getId();
+            InventoryKey key = InventoryKey.of(testInventory);
 
             // Cache the original inventory
             inventoryCacheService.cacheInventory(inventoryId, testInventory);
@@ -141,7 +144,7 @@ class InventoryCacheServiceIntegrationTests {
             assertThat(updated).isTrue();
 
             // Retrieve and verify the update
-            Optional<InventoryEntity> cachedInventory = inventoryCacheService.findById(inventoryId);
+            Optional<InventoryEntity> cachedInventory = inventoryCacheService.findById(key);
             assertThat(cachedInventory).isPresent();
             assertThat(cachedInventory.get().getQuantity()).isEqualTo(200L);
             assertThat(cachedInventory.get().getProductCode()).isEqualTo(testInventory.getProductCode());
@@ -151,17 +154,18 @@ class InventoryCacheServiceIntegrationTests {
         @DisplayName("Should remove inventory from cache successfully")
         void shouldRemoveInventoryFromCacheSuccessfully() {
             Long inventoryId = testInventory.getId();
+            InventoryKey key = InventoryKey.of(testInventory);
 
             // Cache the inventory first
             inventoryCacheService.cacheInventory(inventoryId, testInventory);
-            assertThat(inventoryCacheService.existsInCache(inventoryId)).isTrue();
+            assertThat(inventoryCacheService.existsInCache(key)).isTrue();
 
             // Remove from cache
-            boolean removed = inventoryCacheService.removeFromCache(inventoryId);
+            boolean removed = inventoryCacheService.removeFromCache(key);
             assertThat(removed).isTrue();
 
             // Inventory should no longer be in cache
-            boolean existsAfterRemoval = inventoryCacheService.existsInCache(inventoryId);
+            boolean existsAfterRemoval = inventoryCacheService.existsInCache(key);
             assertThat(existsAfterRemoval).isFalse();
         }
 
@@ -169,18 +173,19 @@ class InventoryCacheServiceIntegrationTests {
         @DisplayName("Should check existence with Long keys correctly")
         void shouldCheckExistenceWithLongKeysCorrectly() {
             Long inventoryId = testInventory.getId();
-            Long nonExistentId = 999999L;
+            InventoryKey key = InventoryKey.of(testInventory);
+            InventoryKey nonExistentKey = new InventoryKey(999999L, "UNKNOWN");
 
             // Initially should not exist
-            assertThat(inventoryCacheService.existsInCache(inventoryId)).isFalse();
-            assertThat(inventoryCacheService.existsInCache(nonExistentId)).isFalse();
+            assertThat(inventoryCacheService.existsInCache(key)).isFalse();
+            assertThat(inventoryCacheService.existsInCache(nonExistentKey)).isFalse();
 
             // Cache one inventory
             inventoryCacheService.cacheInventory(inventoryId, testInventory);
 
             // Now should exist for cached inventory but not for non-existent
-            assertThat(inventoryCacheService.existsInCache(inventoryId)).isTrue();
-            assertThat(inventoryCacheService.existsInCache(nonExistentId)).isFalse();
+            assertThat(inventoryCacheService.existsInCache(key)).isTrue();
+            assertThat(inventoryCacheService.existsInCache(nonExistentKey)).isFalse();
         }
     }
 
@@ -192,6 +197,7 @@ class InventoryCacheServiceIntegrationTests {
         @DisplayName("Should handle inventory quantity updates correctly")
         void shouldHandleInventoryQuantityUpdatesCorrectly() {
             Long inventoryId = testInventory.getId();
+            InventoryKey key = InventoryKey.of(testInventory);
             Long initialQuantity = testInventory.getQuantity();
 
             // Cache initial inventory
@@ -205,7 +211,7 @@ class InventoryCacheServiceIntegrationTests {
             assertThat(updated).isTrue();
 
             // Verify the quantity change
-            Optional<InventoryEntity> updated1 = inventoryCacheService.findById(inventoryId);
+            Optional<InventoryEntity> updated1 = inventoryCacheService.findById(key);
             assertThat(updated1).isPresent();
             assertThat(updated1.get().getQuantity()).isEqualTo(initialQuantity - 10);
 
@@ -215,7 +221,7 @@ class InventoryCacheServiceIntegrationTests {
 
             inventoryCacheService.updateCachedInventory(inventoryId, increasedStock);
 
-            Optional<InventoryEntity> updated2 = inventoryCacheService.findById(inventoryId);
+            Optional<InventoryEntity> updated2 = inventoryCacheService.findById(key);
             assertThat(updated2).isPresent();
             assertThat(updated2.get().getQuantity()).isEqualTo(initialQuantity + 20);
         }
@@ -231,12 +237,14 @@ class InventoryCacheServiceIntegrationTests {
             inventoryCacheService.cacheInventory(id2, anotherTestInventory);
 
             // Both should exist in cache
-            assertThat(inventoryCacheService.existsInCache(id1)).isTrue();
-            assertThat(inventoryCacheService.existsInCache(id2)).isTrue();
+            assertThat(inventoryCacheService.existsInCache(InventoryKey.of(testInventory)))
+                    .isTrue();
+            assertThat(inventoryCacheService.existsInCache(InventoryKey.of(anotherTestInventory)))
+                    .isTrue();
 
             // Both should be retrievable and have correct data
-            Optional<InventoryEntity> cached1 = inventoryCacheService.findById(id1);
-            Optional<InventoryEntity> cached2 = inventoryCacheService.findById(id2);
+            Optional<InventoryEntity> cached1 = inventoryCacheService.findById(InventoryKey.of(testInventory));
+            Optional<InventoryEntity> cached2 = inventoryCacheService.findById(InventoryKey.of(anotherTestInventory));
 
             assertThat(cached1).isPresent();
             assertThat(cached2).isPresent();
@@ -252,6 +260,7 @@ class InventoryCacheServiceIntegrationTests {
         @DisplayName("Should handle zero and negative quantities appropriately")
         void shouldHandleZeroAndNegativeQuantitiesAppropriately() {
             Long inventoryId = testInventory.getId();
+            InventoryKey key = InventoryKey.of(testInventory);
 
             // Test with zero quantity
             InventoryEntity zeroQuantityInventory = createTestInventory(testInventory.getProductCode(), 0L);
@@ -260,7 +269,7 @@ class InventoryCacheServiceIntegrationTests {
             boolean cached = inventoryCacheService.cacheInventory(inventoryId, zeroQuantityInventory);
             assertThat(cached).isTrue();
 
-            Optional<InventoryEntity> cached1 = inventoryCacheService.findById(inventoryId);
+            Optional<InventoryEntity> cached1 = inventoryCacheService.findById(key);
             assertThat(cached1).isPresent();
             assertThat(cached1.get().getQuantity()).isEqualTo(0L);
 
@@ -271,7 +280,7 @@ class InventoryCacheServiceIntegrationTests {
             boolean updated = inventoryCacheService.updateCachedInventory(inventoryId, negativeQuantityInventory);
             assertThat(updated).isTrue();
 
-            Optional<InventoryEntity> cached2 = inventoryCacheService.findById(inventoryId);
+            Optional<InventoryEntity> cached2 = inventoryCacheService.findById(key);
             assertThat(cached2).isPresent();
             assertThat(cached2.get().getQuantity()).isEqualTo(-5L);
         }
@@ -338,13 +347,14 @@ class InventoryCacheServiceIntegrationTests {
         @DisplayName("Should find with automatic fallback when cache is available")
         void shouldFindWithAutomaticFallbackWhenCacheIsAvailable() {
             Long inventoryId = testInventory.getId();
+            InventoryKey key = InventoryKey.of(testInventory);
 
             // Cache the inventory first
             inventoryCacheService.cacheInventory(inventoryId, testInventory);
 
             // Use automatic fallback - should prefer cache
             Optional<InventoryEntity> result = inventoryCacheService.findWithAutomaticFallback(
-                    inventoryId, () -> Optional.of(anotherTestInventory) // This fallback should not be used
+                    key, () -> Optional.of(anotherTestInventory) // This fallback should not be used
                     );
 
             assertThat(result).isPresent();
@@ -356,11 +366,11 @@ class InventoryCacheServiceIntegrationTests {
         @Test
         @DisplayName("Should use fallback when inventory not in cache")
         void shouldUseFallbackWhenInventoryNotInCache() {
-            Long inventoryId = 999999L; // Non-existent ID
+            InventoryKey key = new InventoryKey(999999L, "UNKNOWN"); // Non-existent ID
 
             // Inventory is not in cache, should use fallback
             Optional<InventoryEntity> result = inventoryCacheService.findWithAutomaticFallback(
-                    inventoryId, () -> Optional.of(anotherTestInventory));
+                    key, () -> Optional.of(anotherTestInventory));
 
             assertThat(result).isPresent();
             assertThat(result.get()).isEqualTo(anotherTestInventory);
@@ -369,10 +379,10 @@ class InventoryCacheServiceIntegrationTests {
         @Test
         @DisplayName("Should return empty when both cache and fallback fail")
         void shouldReturnEmptyWhenBothCacheAndFallbackFail() {
-            Long inventoryId = 999999L; // Non-existent ID
+            InventoryKey key = new InventoryKey(999999L, "UNKNOWN"); // Non-existent ID
 
             Optional<InventoryEntity> result = inventoryCacheService.findWithAutomaticFallback(
-                    inventoryId, () -> Optional.empty() // Fallback also returns empty
+                    key, () -> Optional.empty() // Fallback also returns empty
                     );
 
             assertThat(result).isEmpty();
@@ -386,23 +396,25 @@ class InventoryCacheServiceIntegrationTests {
         @Test
         @DisplayName("Should warm up cache with Long IDs successfully")
         void shouldWarmUpCacheWithLongIdsSuccessfully() {
-            List<Long> inventoryIds = Arrays.asList(
-                    testInventory.getId(), anotherTestInventory.getId(), 999999L // This one will fail
+            List<InventoryKey> inventoryKeys = Arrays.asList(
+                    InventoryKey.of(testInventory),
+                    InventoryKey.of(anotherTestInventory),
+                    new InventoryKey(999999L, "UNKNOWN") // This one will fail
                     );
 
             // Cache the inventories first so they can be warmed up
             inventoryCacheService.cacheInventory(testInventory.getId(), testInventory);
             inventoryCacheService.cacheInventory(anotherTestInventory.getId(), anotherTestInventory);
 
-            int warmedUp = inventoryCacheService.warmUpCache(inventoryIds);
+            int warmedUp = inventoryCacheService.warmUpCache(inventoryKeys);
 
             // Should warm up 2 out of 3 inventories
             assertThat(warmedUp).isEqualTo(2);
 
             // Verify inventories are in cache
-            assertThat(inventoryCacheService.existsInCache(testInventory.getId()))
+            assertThat(inventoryCacheService.existsInCache(InventoryKey.of(testInventory)))
                     .isTrue();
-            assertThat(inventoryCacheService.existsInCache(anotherTestInventory.getId()))
+            assertThat(inventoryCacheService.existsInCache(InventoryKey.of(anotherTestInventory)))
                     .isTrue();
         }
 
@@ -448,9 +460,10 @@ class InventoryCacheServiceIntegrationTests {
             // when errors occur or circuit breaker opens
 
             Long inventoryId = testInventory.getId();
+            InventoryKey key = InventoryKey.of(testInventory);
 
             // Operations should still work (may use fallback mechanisms)
-            Optional<InventoryEntity> result = inventoryCacheService.findById(inventoryId);
+            Optional<InventoryEntity> result = inventoryCacheService.findById(key);
             // Result may be empty or from database, both are acceptable
             assertThat(result).isNotNull(); // Optional itself should not be null
 
@@ -462,7 +475,7 @@ class InventoryCacheServiceIntegrationTests {
             // Result can be true or false depending on cache state
             assertThat(cached).isIn(true, false);
 
-            boolean exists = inventoryCacheService.existsInCache(inventoryId);
+            boolean exists = inventoryCacheService.existsInCache(key);
             // Result can be true or false depending on cache state
             assertThat(exists).isIn(true, false);
 
@@ -483,7 +496,7 @@ class InventoryCacheServiceIntegrationTests {
             boolean cached1 = inventoryCacheService.cacheInventory(maxValueId, maxValueInventory);
             assertThat(cached1).isTrue();
 
-            Optional<InventoryEntity> retrieved1 = inventoryCacheService.findById(maxValueId);
+            Optional<InventoryEntity> retrieved1 = inventoryCacheService.findById(InventoryKey.of(maxValueInventory));
             assertThat(retrieved1).isPresent();
             assertThat(retrieved1.get().getId()).isEqualTo(maxValueId);
 
@@ -495,7 +508,7 @@ class InventoryCacheServiceIntegrationTests {
             boolean cached2 = inventoryCacheService.cacheInventory(minValueId, minValueInventory);
             assertThat(cached2).isTrue();
 
-            Optional<InventoryEntity> retrieved2 = inventoryCacheService.findById(minValueId);
+            Optional<InventoryEntity> retrieved2 = inventoryCacheService.findById(InventoryKey.of(minValueInventory));
             assertThat(retrieved2).isPresent();
             assertThat(retrieved2.get().getId()).isEqualTo(minValueId);
         }
@@ -0,0 +1,80 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class InventoryKeyTests {
+
+    private static HazelcastInstance member;
+
+    @BeforeAll
+    static void startMember() {
+        Config config = new Config();
+        config.setInstanceName("inventory-key-" + UUID.randomUUID());
+        config.setClusterName("inventory-key-" + UUID.randomUUID());
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        config.getSerializationConfig()
+                .getCompactSerializationConfig()
+                .addSerializer(new InventoryEntityCompactSerializer())
+                .addSerializer(new InventoryKeyCompactSerializer());
+        config.addMapConfig(new MapConfig("inventory")
+                .addIndexConfig(new IndexConfig(IndexType.HASH, InventoryCacheService.PRODUCT_CODE_ATTRIBUTE)));
+        member = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterAll
+    static void stopMember() {
+        member.shutdown();
+    }
+
+    @Test
+    void shouldShareProductCodePartitionWithProductEntries() {
+        PartitionService partitionService = member.getPartitionService();
+
+        for (long id = 1; id <= 50; id++) {
+            String productCode = "P" + (1_000 + id);
+            int productPartition = partitionService.getPartition(productCode).getPartitionId();
+            int inventoryPartition = partitionService.getPartition(new InventoryKey(id, productCode)).getPartitionId();
+
+            assertThat(inventoryPartition).isEqualTo(productPartition);
+        }
+    }
+
+    @Test
+    void shouldFindEntryByKeyAndByPartitionScopedPredicate() {
+        IMap<InventoryKey, Object> inventory = member.getMap("inventory");
+        InventoryEntity entity = inventory(42L, "P042", 7L);
+        inventory.set(InventoryKey.of(entity), entity);
+
+        Predicate<InventoryKey, Object> byProductCode = Predicates.partitionPredicate(
+                "P042", Predicates.equal(InventoryCacheService.PRODUCT_CODE_ATTRIBUTE, "P042"));
+
+        assertThat(inventory.get(new InventoryKey(42L, "P042"))).isInstanceOf(InventoryEntity.class);
+        assertThat(inventory.keySet(byProductCode)).containsExactly(new InventoryKey(42L, "P042"));
+    }
+
+    private static InventoryEntity inventory(Long id, String productCode, Long quantity) {
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setId(id);
+        inventory.setProductCode(productCode);
+        inventory.setQuantity(quantity);
+        return inventory;
+    }
+}
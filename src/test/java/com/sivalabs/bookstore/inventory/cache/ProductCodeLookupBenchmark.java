@@ -0,0 +1,61 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import com.hazelcast.core.HazelcastInstance;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the product-code lookup strategies of {@link ProductCodeLookupTests} on an embedded member.
+ * On a single member the extra network hop of the side map is not visible, so the numbers understate
+ * its cost in a cluster.
+ *
+ * Run with {@code task benchmark -- ProductCodeLookupBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductCodeLookupBenchmark {
+
+    @Param({"index-map", "attribute-index", "values-scan"})
+    public String strategy;
+
+    private HazelcastInstance member;
+
+    @Setup
+    public void setUp() {
+        member = ProductCodeLookupTests.newMember();
+    }
+
+    @TearDown
+    public void tearDown() {
+        member.shutdown();
+    }
+
+    @Benchmark
+    public Optional<Long> lookup() {
+        String productCode = ProductCodeLookupTests.productCode(
+                ThreadLocalRandom.current().nextLong(1, ProductCodeLookupTests.ENTRIES + 1));
+        return switch (strategy) {
+            case "index-map" -> ProductCodeLookupTests.viaIndexMap(member, productCode);
+            case "attribute-index" -> ProductCodeLookupTests.viaAttributeIndex(member, productCode);
+            case "values-scan" -> ProductCodeLookupTests.viaScan(member, productCode);
+            default -> throw new IllegalArgumentException("Unknown strategy " + strategy);
+        };
+    }
+}
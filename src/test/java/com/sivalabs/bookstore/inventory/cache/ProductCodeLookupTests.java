@@ -0,0 +1,137 @@
+package com.sivalabs.bookstore.inventory.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
+import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the three product-code lookup strategies agree on an embedded member: the productCode
+ * side map, a HASH attribute index queried with a predicate, and the values() scan used when no
+ * index exists. Their speed is measured by {@link ProductCodeLookupBenchmark}.
+ */
+@DisplayName("Inventory lookup by product code")
+class ProductCodeLookupTests {
+
+    static final int ENTRIES = 10_000;
+
+    private static final String INVENTORY_MAP = "inventory";
+    private static final String INDEXED_INVENTORY_MAP = "inventory-indexed";
+    private static final String PRODUCT_CODE_INDEX_MAP = "inventory-by-product-code";
+
+    private static HazelcastInstance member;
+
+    @BeforeAll
+    static void startMember() {
+        member = newMember();
+    }
+
+    @AfterAll
+    static void stopMember() {
+        member.shutdown();
+    }
+
+    @Test
+    void shouldFindSameInventoryWithEveryStrategy() {
+        String productCode = productCode(4_242);
+
+        assertThat(viaIndexMap(member, productCode)).contains(4_242L);
+        assertThat(viaAttributeIndex(member, productCode)).contains(4_242L);
+        assertThat(viaScan(member, productCode)).contains(4_242L);
+        assertThat(viaAttributeIndex(member, "UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    void shouldServePredicateFromAttributeIndex() {
+        IMap<Long, Object> indexedInventory = member.getMap(INDEXED_INVENTORY_MAP);
+        long indexedQueries = indexedInventory.getLocalMapStats().getIndexedQueryCount();
+
+        viaAttributeIndex(member, productCode(7));
+
+        assertThat(indexedInventory.getLocalMapStats().getIndexedQueryCount()).isGreaterThan(indexedQueries);
+    }
+
+    /**
+     * Start an embedded member holding {@link #ENTRIES} inventory entries in a plain map, in a map
+     * with a HASH index on the product code, and in a product code to id side map.
+     */
+    static HazelcastInstance newMember() {
+        Config config = new Config();
+        config.setInstanceName("product-code-lookup-" + UUID.randomUUID());
+        config.setClusterName("product-code-lookup-" + UUID.randomUUID());
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        config.getSerializationConfig()
+                .getCompactSerializationConfig()
+                .addSerializer(new InventoryEntityCompactSerializer());
+        config.addMapConfig(new MapConfig(INDEXED_INVENTORY_MAP)
+                .addIndexConfig(new IndexConfig(IndexType.HASH, InventoryCacheService.PRODUCT_CODE_ATTRIBUTE)));
+        HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+
+        IMap<Long, Object> inventory = instance.getMap(INVENTORY_MAP);
+        IMap<Long, Object> indexedInventory = instance.getMap(INDEXED_INVENTORY_MAP);
+        IMap<String, Object> productCodeIndex = instance.getMap(PRODUCT_CODE_INDEX_MAP);
+        for (long id = 1; id <= ENTRIES; id++) {
+            InventoryEntity entity = inventory(id);
+            inventory.set(id, entity);
+            indexedInventory.set(id, entity);
+            productCodeIndex.set(entity.getProductCode(), id);
+        }
+        return instance;
+    }
+
+    static Optional<Long> viaIndexMap(HazelcastInstance instance, String productCode) {
+        Object id = instance.getMap(PRODUCT_CODE_INDEX_MAP).get(productCode);
+        if (id == null) {
+            return Optional.empty();
+        }
+        IMap<Long, Object> inventory = instance.getMap(INVENTORY_MAP);
+        return Optional.ofNullable(inventory.get((Long) id)).map(entity -> ((InventoryEntity) entity).getId());
+    }
+
+    static Optional<Long> viaAttributeIndex(HazelcastInstance instance, String productCode) {
+        IMap<Long, Object> indexedInventory = instance.getMap(INDEXED_INVENTORY_MAP);
+        return indexedInventory
+                .values(Predicates.equal(InventoryCacheService.PRODUCT_CODE_ATTRIBUTE, productCode))
+                .stream()
+                .findFirst()
+                .map(entity -> ((InventoryEntity) entity).getId());
+    }
+
+    static Optional<Long> viaScan(HazelcastInstance instance, String productCode) {
+        IMap<Long, Object> inventory = instance.getMap(INVENTORY_MAP);
+        for (Map.Entry<Long, Object> entry : inventory.entrySet()) {
+            if (productCode.equals(((InventoryEntity) entry.getValue()).getProductCode())) {
+                return Optional.of(entry.getKey());
+            }
+        }
+        return Optional.empty();
+    }
+
+    static String productCode(long id) {
+        return "P" + id;
+    }
+
+    private static InventoryEntity inventory(long id) {
+        InventoryEntity entity = new InventoryEntity();
+        entity.setId(id);
+        entity.setProductCode(productCode(id));
+        entity.setQuantity(100L);
+        return entity;
+    }
+}
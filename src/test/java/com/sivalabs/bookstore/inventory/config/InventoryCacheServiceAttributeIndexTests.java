@@ -0,0 +1,137 @@
+package com.sivalabs.bookstore.inventory.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.sivalabs.bookstore.common.cache.CacheErrorHandler;
+import com.sivalabs.bookstore.inventory.cache.InventoryCacheService;
+import com.sivalabs.bookstore.inventory.cache.InventoryKey;
+import com.sivalabs.bookstore.inventory.cache.InventoryMapStore;
+import com.sivalabs.bookstore.inventory.cache.StockDecrementResult;
+import com.sivalabs.bookstore.inventory.domain.InventoryEntity;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Runs {@link InventoryCacheService} in {@code attribute-index} mode against an embedded member configured
+ * by {@link HazelcastInventoryCacheConfig}, so product-code lookups go through the HASH index it adds.
+ */
+class InventoryCacheServiceAttributeIndexTests {
+
+    private static final String PRODUCT_CODE = "P100";
+    private static final long INVENTORY_ID = 42L;
+
+    private final InventoryMapStore mapStore = mock(InventoryMapStore.class);
+    private HazelcastInstance member;
+    private IMap<InventoryKey, Object> inventoryCache;
+    private InventoryCacheService inventoryCacheService;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment =
+                new MockEnvironment().withProperty("bookstore.inventory.product-code-lookup", "attribute-index");
+        HazelcastInventoryCacheConfig cacheConfig = new HazelcastInventoryCacheConfig();
+        MapConfig inventoryCacheMapConfig = cacheConfig.inventoryCacheMapConfig(environment, mapStore);
+        assertThat(inventoryCacheMapConfig.getIndexConfigs())
+                .singleElement()
+                .satisfies(index -> {
+                    assertThat(index.getType()).isEqualTo(IndexType.HASH);
+                    assertThat(index.getAttributes()).containsExactly(InventoryCacheService.PRODUCT_CODE_ATTRIBUTE);
+                });
+
+        Config config = new Config();
+        config.setInstanceName("inventory-attribute-index-" + UUID.randomUUID());
+        config.setClusterName("inventory-attribute-index-" + UUID.randomUUID());
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        config.getSerializationConfig()
+                .getCompactSerializationConfig()
+                .addSerializer(cacheConfig.inventoryEntityCompactSerializer())
+                .addSerializer(cacheConfig.inventoryKeyCompactSerializer());
+        config.addMapConfig(inventoryCacheMapConfig);
+        member = Hazelcast.newHazelcastInstance(config);
+
+        inventoryCache = cacheConfig.inventoryCache(member);
+        inventoryCacheService =
+                new InventoryCacheService(inventoryCache, new CacheErrorHandler(), null, "attribute-index");
+        inventoryCacheService.cacheInventory(INVENTORY_ID, inventory(10L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        member.shutdown();
+    }
+
+    @Test
+    void shouldFindByProductCodeThroughIndex() {
+        long indexedQueries = indexedQueryCount();
+
+        assertThat(inventoryCacheService.findByProductCode(PRODUCT_CODE))
+                .hasValueSatisfying(inventory -> {
+                    assertThat(inventory.getId()).isEqualTo(INVENTORY_ID);
+                    assertThat(inventory.getQuantity()).isEqualTo(10L);
+                });
+        assertThat(inventoryCacheService.findByProductCode("UNKNOWN")).isEmpty();
+
+        assertThat(indexedQueryCount()).isGreaterThanOrEqualTo(indexedQueries + 2);
+    }
+
+    @Test
+    void shouldResolveInventoryIdThroughIndexWhenDecreasingStock() {
+        long indexedQueries = indexedQueryCount();
+
+        Optional<StockDecrementResult> result = inventoryCacheService.decreaseStock(PRODUCT_CODE, 4, () -> {
+            throw new AssertionError("inventory id should come from the attribute index");
+        });
+
+        assertThat(result).contains(StockDecrementResult.applied(6L));
+        assertThat(indexedQueryCount()).isGreaterThan(indexedQueries);
+        verify(mapStore).store(eq(new InventoryKey(INVENTORY_ID, PRODUCT_CODE)), any(InventoryEntity.class));
+        assertThat(inventoryCacheService.findByProductCode(PRODUCT_CODE))
+                .hasValueSatisfying(inventory -> assertThat(inventory.getQuantity()).isEqualTo(6L));
+    }
+
+    @Test
+    void shouldFallBackToSupplierWhenIndexHasNoMatch() {
+        Optional<StockDecrementResult> result = inventoryCacheService.decreaseStock("UNKNOWN", 1, Optional::empty);
+
+        assertThat(result).contains(StockDecrementResult.notFound());
+    }
+
+    @Test
+    void shouldEvictByProductCodeThroughIndex() {
+        long indexedQueries = indexedQueryCount();
+
+        assertThat(inventoryCacheService.evictByProductCode(PRODUCT_CODE)).isTrue();
+
+        assertThat(indexedQueryCount()).isGreaterThan(indexedQueries);
+        assertThat(inventoryCache.containsKey(new InventoryKey(INVENTORY_ID, PRODUCT_CODE))).isFalse();
+        assertThat(inventoryCacheService.evictByProductCode("UNKNOWN")).isTrue();
+    }
+
+    private long indexedQueryCount() {
+        return inventoryCache.getLocalMapStats().getIndexedQueryCount();
+    }
+
+    private static InventoryEntity inventory(long quantity) {
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setId(INVENTORY_ID);
+        inventory.setProductCode(PRODUCT_CODE);
+        inventory.setQuantity(quantity);
+        return inventory;
+    }
+}
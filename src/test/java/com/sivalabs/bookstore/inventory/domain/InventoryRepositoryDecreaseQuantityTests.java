@@ -0,0 +1,82 @@
+package com.sivalabs.bookstore.inventory.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest(
+        webEnvironment = NONE,
+        properties = {
+            "bookstore.cache.enabled=false",
+            "bookstore.session.hazelcast.enabled=false",
+            "bookstore.grpc.server.enabled=false"
+        },
+        classes = {
+            com.sivalabs.bookstore.BookStoreApplication.class,
+            com.sivalabs.bookstore.testsupport.session.TestSessionConfiguration.class
+        })
+class InventoryRepositoryDecreaseQuantityTests {
+
+    private static final DockerImageName POSTGRES_IMAGE = DockerImageName.parse("postgres:17-alpine");
+    private static final String PRODUCT_CODE = "DECREASE-1";
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE)
+            .withDatabaseName("bookstore")
+            .withUsername("bookstore")
+            .withPassword("bookstore");
+
+    @MockitoBean
+    private org.springframework.amqp.rabbit.core.RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.findByProductCode(PRODUCT_CODE).ifPresent(inventoryRepository::delete);
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductCode(PRODUCT_CODE);
+        inventory.setQuantity(10L);
+        inventoryRepository.save(inventory);
+    }
+
+    @Test
+    void shouldReturnNewQuantityWhenStockIsSufficient() {
+        assertThat(inventoryRepository.decreaseQuantity(PRODUCT_CODE, 4)).contains(6L);
+        assertThat(inventoryRepository.decreaseQuantity(PRODUCT_CODE, 6)).contains(0L);
+
+        assertThat(quantity()).isZero();
+    }
+
+    @Test
+    void shouldLeaveStockUnchangedWhenInsufficient() {
+        assertThat(inventoryRepository.decreaseQuantity(PRODUCT_CODE, 11)).isEmpty();
+
+        assertThat(quantity()).isEqualTo(10L);
+    }
+
+    @Test
+    void shouldReturnEmptyForUnknownProductCode() {
+        assertThat(inventoryRepository.decreaseQuantity("UNKNOWN", 1)).isEmpty();
+
+        assertThat(quantity()).isEqualTo(10L);
+    }
+
+    private long quantity() {
+        return inventoryRepository
+                .findByProductCode(PRODUCT_CODE)
+                .orElseThrow()
+                .getQuantity();
+    }
+}
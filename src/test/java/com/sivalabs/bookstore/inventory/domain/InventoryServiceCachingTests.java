@@ -9,6 +9,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.sivalabs.bookstore.inventory.cache.InventoryCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -31,7 +32,7 @@ class InventoryServiceCachingTests {
 
     @BeforeEach
     void setUp() {
-        inventoryService = new InventoryService(inventoryRepository, inventoryCacheService);
+        inventoryService = new InventoryService(inventoryRepository, inventoryCacheService, new SimpleMeterRegistry());
     }
 
     @Test
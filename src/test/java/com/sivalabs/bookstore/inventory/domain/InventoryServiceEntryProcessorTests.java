@@ -0,0 +1,80 @@
+package com.sivalabs.bookstore.inventory.domain;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sivalabs.bookstore.inventory.cache.InventoryCacheService;
+import com.sivalabs.bookstore.inventory.cache.StockDecrementResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceEntryProcessorTests {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryCacheService inventoryCacheService;
+
+    private InventoryService inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new InventoryService(
+                inventoryRepository,
+                inventoryCacheService,
+                StockDecrementMode.ENTRY_PROCESSOR,
+                new SimpleMeterRegistry());
+        when(inventoryCacheService.isCircuitBreakerOpen()).thenReturn(false);
+    }
+
+    @Test
+    void shouldDecreaseStockThroughEntryProcessorWithoutDatabaseWrite() {
+        when(inventoryCacheService.decreaseStock(eq("P-100"), eq(3), any()))
+                .thenReturn(Optional.of(StockDecrementResult.applied(7L)));
+
+        inventoryService.decreaseStockLevel("P-100", 3);
+
+        verify(inventoryRepository, never()).save(any(InventoryEntity.class));
+        verify(inventoryCacheService, never()).findByProductCodeWithFallback(any(), any());
+    }
+
+    @Test
+    void shouldThrowWhenEntryProcessorReportsInsufficientStock() {
+        when(inventoryCacheService.decreaseStock(eq("P-100"), eq(5), any()))
+                .thenReturn(Optional.of(StockDecrementResult.insufficient(2L)));
+
+        assertThatThrownBy(() -> inventoryService.decreaseStockLevel("P-100", 5))
+                .isInstanceOf(InsufficientInventoryException.class)
+                .hasMessageContaining("Available: 2");
+
+        verify(inventoryRepository, never()).save(any(InventoryEntity.class));
+    }
+
+    @Test
+    void shouldFallBackToReadModifyWriteWhenCacheOperationFails() {
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setId(1L);
+        inventory.setProductCode("P-100");
+        inventory.setQuantity(10L);
+
+        when(inventoryCacheService.decreaseStock(eq("P-100"), eq(4), any())).thenReturn(Optional.empty());
+        when(inventoryCacheService.findByProductCodeWithFallback(eq("P-100"), any()))
+                .thenReturn(Optional.of(inventory));
+        when(inventoryRepository.save(inventory)).thenReturn(inventory);
+
+        inventoryService.decreaseStockLevel("P-100", 4);
+
+        verify(inventoryRepository).save(inventory);
+    }
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,7 +26,7 @@ class InventoryServiceStockAdjustmentTests {
 
     @BeforeEach
     void setUp() {
-        inventoryService = new InventoryService(inventoryRepository, null);
+        inventoryService = new InventoryService(inventoryRepository, null, new SimpleMeterRegistry());
     }
 
     @Test
@@ -72,4 +73,35 @@ class InventoryServiceStockAdjustmentTests {
 
         verifyNoInteractions(inventoryRepository);
     }
+
+    @Test
+    void shouldDecreaseStockWithSingleConditionalUpdate() {
+        InventoryService conditionalUpdateService = new InventoryService(
+                inventoryRepository, null, StockDecrementMode.CONDITIONAL_UPDATE, new SimpleMeterRegistry());
+        when(inventoryRepository.decreaseQuantity("P-500", 3)).thenReturn(Optional.of(5L));
+
+        conditionalUpdateService.decreaseStockLevel("P-500", 3);
+
+        verify(inventoryRepository).decreaseQuantity("P-500", 3);
+        verify(inventoryRepository, never()).findByProductCode(any());
+        verify(inventoryRepository, never()).save(any(InventoryEntity.class));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenConditionalUpdateMatchesNoRow() {
+        InventoryService conditionalUpdateService = new InventoryService(
+                inventoryRepository, null, StockDecrementMode.CONDITIONAL_UPDATE, new SimpleMeterRegistry());
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductCode("P-600");
+        inventory.setQuantity(2L);
+
+        when(inventoryRepository.decreaseQuantity("P-600", 4)).thenReturn(Optional.empty());
+        when(inventoryRepository.findByProductCode("P-600")).thenReturn(Optional.of(inventory));
+
+        assertThatThrownBy(() -> conditionalUpdateService.decreaseStockLevel("P-600", 4))
+                .isInstanceOf(InsufficientInventoryException.class)
+                .hasMessageContaining("Available: 2");
+
+        verify(inventoryRepository, never()).save(any(InventoryEntity.class));
+    }
 }
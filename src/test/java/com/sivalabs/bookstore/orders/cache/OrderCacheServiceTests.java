@@ -35,6 +35,9 @@ class OrderCacheServiceTests {
     @Mock
     private IMap<String, Object> ordersCache;
 
+    @Mock
+    private CacheErrorHandler sharedErrorHandler;
+
     @Mock
     private CacheErrorHandler errorHandler;
 
@@ -48,7 +51,8 @@ class OrderCacheServiceTests {
 
     @BeforeEach
     void setUp() {
-        orderCacheService = new OrderCacheService(ordersCache, errorHandler);
+        given(sharedErrorHandler.forCache(org.mockito.ArgumentMatchers.any())).willReturn(errorHandler);
+        orderCacheService = new OrderCacheService(ordersCache, sharedErrorHandler);
 
         // Create test order data
         testOrder = createTestOrder("ORD-001", 1L, "Test Product", 2);
@@ -667,16 +671,14 @@ class OrderCacheServiceTests {
                             org.mockito.ArgumentMatchers.eq("warmUpCache"),
                             org.mockito.ArgumentMatchers.any(),
                             org.mockito.ArgumentMatchers.any()))
-                    .willReturn(true)
-                    .willReturn(true)
-                    .willReturn(false); // 2 successful, 1 failed
+                    .willReturn(2); // 2 found, 1 missing
 
             // When
             int result = orderCacheService.warmUpCache(orderNumbers);
 
             // Then
             assertThat(result).isEqualTo(2);
-            verify(errorHandler, times(3))
+            verify(errorHandler, times(1))
                     .executeWithFallback(
                             org.mockito.ArgumentMatchers.any(),
                             org.mockito.ArgumentMatchers.eq("warmUpCache"),
@@ -0,0 +1,160 @@
+package com.sivalabs.bookstore.orders.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.sivalabs.bookstore.orders.IdempotencyKeyReusedException;
+import com.sivalabs.bookstore.orders.OrderInProgressException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderIdempotencyStoreTests {
+
+    private static final String FINGERPRINT = "request-a";
+
+    private static HazelcastInstance member;
+
+    private IMap<String, String> idempotencyCache;
+    private OrderIdempotencyStore store;
+
+    @BeforeAll
+    static void startMember() {
+        Config config = new Config();
+        config.setInstanceName("orders-idempotency-" + UUID.randomUUID());
+        config.setClusterName("orders-idempotency-" + UUID.randomUUID());
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        member = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterAll
+    static void stopMember() {
+        member.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        idempotencyCache = member.getMap("orders-idempotency-cache-" + UUID.randomUUID());
+        store = new OrderIdempotencyStore(idempotencyCache, 60, 30, 2_000);
+    }
+
+    @Test
+    void shouldReplayOrderNumberForRepeatedKey() {
+        AtomicInteger inserts = new AtomicInteger();
+
+        String first = store.createOnce("key-1", FINGERPRINT, () -> "ORD-" + inserts.incrementAndGet());
+        String second = store.createOnce("key-1", FINGERPRINT, () -> "ORD-" + inserts.incrementAndGet());
+
+        assertThat(first).isEqualTo("ORD-1");
+        assertThat(second).isEqualTo("ORD-1");
+        assertThat(inserts).hasValue(1);
+        assertThat(idempotencyCache.get("key-1")).isEqualTo(OrderIdempotencyStore.entry(FINGERPRINT, "ORD-1"));
+    }
+
+    @Test
+    void shouldWaitForInFlightRequestInsteadOfInsertingAgain() throws Exception {
+        AtomicInteger inserts = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        CompletableFuture<String> first =
+                CompletableFuture.supplyAsync(() -> store.createOnce("key-2", FINGERPRINT, () -> {
+                    firstStarted.countDown();
+                    await(releaseFirst);
+                    return "ORD-" + inserts.incrementAndGet();
+                }));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(
+                () -> store.createOnce("key-2", FINGERPRINT, () -> "ORD-" + inserts.incrementAndGet()));
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+        releaseFirst.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("ORD-1");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("ORD-1");
+        assertThat(inserts).hasValue(1);
+    }
+
+    @Test
+    void shouldReleaseKeyWhenOrderCreationFails() {
+        assertThatThrownBy(() -> store.createOnce("key-3", FINGERPRINT, () -> {
+                    throw new IllegalStateException("database down");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(idempotencyCache.containsKey("key-3")).isFalse();
+        assertThat(store.createOnce("key-3", FINGERPRINT, () -> "ORD-retry")).isEqualTo("ORD-retry");
+    }
+
+    @Test
+    void shouldRejectDuplicateWhenInFlightRequestOutlastsWaitTimeout() {
+        OrderIdempotencyStore impatientStore = new OrderIdempotencyStore(idempotencyCache, 60, 30, 100);
+        idempotencyCache.set("key-4", OrderIdempotencyStore.entry(FINGERPRINT, ""));
+
+        assertThatThrownBy(() -> impatientStore.createOnce("key-4", FINGERPRINT, () -> "ORD-duplicate"))
+                .isInstanceOf(OrderInProgressException.class);
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        store.createOnce("key-5", FINGERPRINT, () -> "ORD-1");
+
+        assertThatThrownBy(() -> store.createOnce("key-5", "request-b", () -> "ORD-2"))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequestWhileFirstIsInFlight() {
+        idempotencyCache.set("key-6", OrderIdempotencyStore.entry(FINGERPRINT, ""));
+
+        assertThatThrownBy(() -> store.createOnce("key-6", "request-b", () -> "ORD-2"))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void shouldReplayEntriesRecordedWithoutFingerprint() {
+        idempotencyCache.set("key-7", "ORD-legacy");
+
+        assertThat(store.createOnce("key-7", FINGERPRINT, () -> "ORD-duplicate")).isEqualTo("ORD-legacy");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFailOpenWhenCacheBecomesUnavailableWhileWaiting() {
+        IMap<String, String> failingCache = mock(IMap.class);
+        when(failingCache.putIfAbsent(eq("key-8"), any(), anyLong(), any()))
+                .thenReturn(OrderIdempotencyStore.entry(FINGERPRINT, ""));
+        when(failingCache.get("key-8")).thenThrow(new IllegalStateException("cluster unreachable"));
+        OrderIdempotencyStore failingStore = new OrderIdempotencyStore(failingCache, 60, 30, 2_000);
+
+        assertThat(failingStore.createOnce("key-8", FINGERPRINT, () -> "ORD-undeduplicated"))
+                .isEqualTo("ORD-undeduplicated");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
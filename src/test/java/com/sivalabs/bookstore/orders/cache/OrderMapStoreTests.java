@@ -0,0 +1,91 @@
+package com.sivalabs.bookstore.orders.cache;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sivalabs.bookstore.orders.api.model.Customer;
+import com.sivalabs.bookstore.orders.api.model.OrderItem;
+import com.sivalabs.bookstore.orders.api.model.OrderStatus;
+import com.sivalabs.bookstore.orders.domain.OrderBatchRepository;
+import com.sivalabs.bookstore.orders.domain.OrderEntity;
+import com.sivalabs.bookstore.orders.domain.OrderRepository;
+import com.sivalabs.bookstore.testsupport.TestObjectProvider;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderMapStore write-behind persistence")
+class OrderMapStoreTests {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderBatchRepository orderBatchRepository;
+
+    private OrderMapStore orderMapStore;
+
+    @BeforeEach
+    void setUp() {
+        orderMapStore = new OrderMapStore(
+                new TestObjectProvider<>(() -> orderRepository), new TestObjectProvider<>(() -> orderBatchRepository));
+    }
+
+    @Test
+    @DisplayName("Should batch insert only orders not yet persisted through JPA")
+    void shouldInsertOnlyPendingOrders() {
+        OrderEntity persisted = createOrder(10L, "ORD-001");
+        OrderEntity pending = createOrder(null, "ORD-002");
+        Map<String, OrderEntity> entries = new LinkedHashMap<>();
+        entries.put("ORD-001", persisted);
+        entries.put("ORD-002", pending);
+        when(orderBatchRepository.insertAll(List.of(pending))).thenReturn(1);
+
+        orderMapStore.storeAll(entries);
+
+        verify(orderBatchRepository).insertAll(List.of(pending));
+    }
+
+    @Test
+    @DisplayName("Should skip database access for already persisted orders")
+    void shouldSkipPersistedOrders() {
+        orderMapStore.store("ORD-001", createOrder(10L, "ORD-001"));
+
+        verify(orderBatchRepository, never()).insertAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should propagate insert failures so Hazelcast retries the batch")
+    void shouldPropagateInsertFailures() {
+        when(orderBatchRepository.insertAll(any())).thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> orderMapStore.store("ORD-003", createOrder(null, "ORD-003")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database down");
+    }
+
+    private OrderEntity createOrder(Long id, String orderNumber) {
+        return new OrderEntity(
+                id,
+                orderNumber,
+                new Customer("John Doe", "john@example.com", "+1234567890"),
+                "123 Test Street",
+                new OrderItem("P100", "Test Product", BigDecimal.valueOf(34.0), 1),
+                OrderStatus.NEW,
+                LocalDateTime.now(),
+                null);
+    }
+}
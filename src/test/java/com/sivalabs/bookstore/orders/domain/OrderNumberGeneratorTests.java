@@ -0,0 +1,65 @@
+package com.sivalabs.bookstore.orders.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class OrderNumberGeneratorTests {
+
+    @Test
+    void shouldEncodeFlakeIdsWithFixedWidthPreservingOrder() {
+        assertThat(FlakeIdOrderNumberGenerator.encode(0L)).isEqualTo("0000000000000");
+        assertThat(FlakeIdOrderNumberGenerator.encode(31L)).isEqualTo("000000000000Z");
+        assertThat(FlakeIdOrderNumberGenerator.encode(Long.MAX_VALUE)).isEqualTo("7ZZZZZZZZZZZZ");
+
+        long[] ids = {1L, 32L, 1_000_000L, 1L << 40, 1L << 62, Long.MAX_VALUE};
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(FlakeIdOrderNumberGenerator.encode(ids[i]))
+                    .isGreaterThan(FlakeIdOrderNumberGenerator.encode(ids[i - 1]));
+        }
+        assertThatThrownBy(() -> FlakeIdOrderNumberGenerator.encode(-1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldGenerateShortIncreasingOrderNumbersFromFlakeIdGenerator() {
+        Config config = new Config();
+        config.setInstanceName("order-numbers-" + UUID.randomUUID());
+        config.setClusterName("order-numbers-" + UUID.randomUUID());
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        HazelcastInstance member = Hazelcast.newHazelcastInstance(config);
+        try {
+            OrderNumberGenerator generator =
+                    new FlakeIdOrderNumberGenerator(member.getFlakeIdGenerator("order-numbers"));
+
+            List<String> orderNumbers = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                orderNumbers.add(generator.nextOrderNumber());
+            }
+
+            assertThat(orderNumbers).allSatisfy(orderNumber -> assertThat(orderNumber)
+                    .startsWith(OrderNumberGenerator.PREFIX)
+                    .hasSize(17));
+            assertThat(orderNumbers).doesNotHaveDuplicates().isSorted();
+        } finally {
+            member.shutdown();
+        }
+    }
+
+    @Test
+    void shouldKeepUuidFormatForUuidStrategy() {
+        String orderNumber = new UuidOrderNumberGenerator().nextOrderNumber();
+
+        assertThat(orderNumber).startsWith(OrderNumberGenerator.PREFIX).hasSize(40);
+        assertThat(OrderNumberStrategy.fromProperty("flake-id")).isEqualTo(OrderNumberStrategy.FLAKE_ID);
+        assertThat(OrderNumberStrategy.fromProperty(null)).isEqualTo(OrderNumberStrategy.UUID);
+    }
+}
@@ -0,0 +1,153 @@
+package com.sivalabs.bookstore.orders.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+import com.sivalabs.bookstore.common.models.PagedResult;
+import com.sivalabs.bookstore.orders.InvalidOrderException;
+import com.sivalabs.bookstore.orders.api.model.Customer;
+import com.sivalabs.bookstore.orders.api.model.OrderItem;
+import com.sivalabs.bookstore.orders.api.model.OrderStatus;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest(
+        webEnvironment = NONE,
+        properties = {
+            "bookstore.cache.enabled=false",
+            "bookstore.session.hazelcast.enabled=false",
+            "bookstore.grpc.server.enabled=false",
+            "spring.jpa.properties.hibernate.generate_statistics=true"
+        },
+        classes = {
+            com.sivalabs.bookstore.BookStoreApplication.class,
+            com.sivalabs.bookstore.testsupport.session.TestSessionConfiguration.class
+        })
+class OrderServiceKeysetPaginationTests {
+
+    private static final DockerImageName POSTGRES_IMAGE = DockerImageName.parse("postgres:17-alpine");
+    private static final String COUNT_QUERY = "select count(o) from OrderEntity o";
+    private static final int ORDER_COUNT = 5;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE)
+            .withDatabaseName("bookstore")
+            .withUsername("bookstore")
+            .withPassword("bookstore");
+
+    @MockitoBean
+    private org.springframework.amqp.rabbit.core.RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<String> newestFirst;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        List<OrderEntity> saved = orderRepository.saveAll(
+                IntStream.range(0, ORDER_COUNT).mapToObj(i -> newOrder()).toList());
+        newestFirst = saved.stream()
+                .sorted((a, b) -> Long.compare(b.getId(), a.getId()))
+                .map(OrderEntity::getOrderNumber)
+                .toList();
+    }
+
+    @Test
+    void shouldWalkAllOrdersNewestFirstWithPageTokens() {
+        List<String> seen = new ArrayList<>();
+
+        PagedResult<OrderEntity> first = orderService.findOrders(null, 2, true);
+        seen.addAll(orderNumbers(first));
+        PagedResult<OrderEntity> second = orderService.findOrders(first.nextPageToken(), 2, true);
+        seen.addAll(orderNumbers(second));
+        PagedResult<OrderEntity> last = orderService.findOrders(second.nextPageToken(), 2, true);
+        seen.addAll(orderNumbers(last));
+
+        assertThat(seen).containsExactlyElementsOf(newestFirst);
+        assertThat(first.isFirst()).isTrue();
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.nextPageToken()).isEqualTo(String.valueOf(first.data().getLast().getId()));
+        assertThat(second.hasPrevious()).isTrue();
+        assertThat(second.hasNext()).isTrue();
+        assertThat(last.data()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.isLast()).isTrue();
+        assertThat(last.nextPageToken()).isNull();
+    }
+
+    @Test
+    void shouldDetectLastPageWhenItIsExactlyFull() {
+        PagedResult<OrderEntity> page = orderService.findOrders(null, ORDER_COUNT, true);
+
+        assertThat(page.data()).hasSize(ORDER_COUNT);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextPageToken()).isNull();
+    }
+
+    @Test
+    void shouldReportTotalsOnlyWhenRequested() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long countsBefore = statistics.getQueryStatistics(COUNT_QUERY).getExecutionCount();
+
+        PagedResult<OrderEntity> withoutTotal = orderService.findOrders(null, 2, false);
+
+        assertThat(statistics.getQueryStatistics(COUNT_QUERY).getExecutionCount()).isEqualTo(countsBefore);
+        assertThat(withoutTotal.totalElements()).isEqualTo(-1);
+        assertThat(withoutTotal.totalPages()).isEqualTo(-1);
+
+        PagedResult<OrderEntity> withTotal = orderService.findOrders(null, 2, true);
+
+        assertThat(statistics.getQueryStatistics(COUNT_QUERY).getExecutionCount()).isEqualTo(countsBefore + 1);
+        assertThat(withTotal.totalElements()).isEqualTo(ORDER_COUNT);
+        assertThat(withTotal.totalPages()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRejectMalformedPageToken() {
+        assertThatThrownBy(() -> orderService.findOrders("not-a-token", 2, false))
+                .isInstanceOf(InvalidOrderException.class)
+                .hasMessageContaining("not-a-token");
+    }
+
+    private static List<String> orderNumbers(PagedResult<OrderEntity> page) {
+        return page.data().stream().map(OrderEntity::getOrderNumber).toList();
+    }
+
+    private static OrderEntity newOrder() {
+        return new OrderEntity(
+                null,
+                UUID.randomUUID().toString(),
+                new Customer("Keyset Customer", "keyset@test.com", "+1234567890"),
+                "Keyset Street 1",
+                new OrderItem("P100", "The Hunger Games", new BigDecimal("34.00"), 1),
+                OrderStatus.NEW,
+                LocalDateTime.now(),
+                null);
+    }
+}
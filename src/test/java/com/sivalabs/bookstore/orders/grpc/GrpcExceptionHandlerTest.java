@@ -2,18 +2,25 @@ package com.sivalabs.bookstore.orders.grpc;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.sivalabs.bookstore.orders.IdempotencyKeyReusedException;
 import com.sivalabs.bookstore.orders.InvalidOrderException;
+import com.sivalabs.bookstore.orders.OrderInProgressException;
 import com.sivalabs.bookstore.orders.OrderNotFoundException;
+import io.grpc.Context;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import jakarta.persistence.PersistenceException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Path;
 import jakarta.validation.metadata.ConstraintDescriptor;
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionTimedOutException;
 
 class GrpcExceptionHandlerTest {
 
@@ -35,6 +42,26 @@ class GrpcExceptionHandlerTest {
         assertThat(exception.getStatus().getDescription()).isEqualTo("Invalid order");
     }
 
+    @Test
+    void shouldMarkReusedIdempotencyKeyWithReasonTrailer() {
+        StatusRuntimeException exception = GrpcExceptionHandler.handleException(
+                IdempotencyKeyReusedException.forIdempotencyKey("checkout-42"));
+
+        assertThat(exception.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        assertThat(exception.getTrailers().get(GrpcExceptionHandler.ERROR_REASON_KEY))
+                .isEqualTo(GrpcExceptionHandler.IDEMPOTENCY_KEY_REUSED);
+    }
+
+    @Test
+    void shouldMarkOrderInProgressWithReasonTrailer() {
+        StatusRuntimeException exception =
+                GrpcExceptionHandler.handleException(OrderInProgressException.forIdempotencyKey("checkout-42"));
+
+        assertThat(exception.getStatus().getCode()).isEqualTo(Status.Code.ABORTED);
+        assertThat(exception.getTrailers().get(GrpcExceptionHandler.ERROR_REASON_KEY))
+                .isEqualTo(GrpcExceptionHandler.ORDER_IN_PROGRESS);
+    }
+
     @Test
     void shouldMapConstraintViolationExceptionWithDetails() {
         ConstraintViolation<Object> violation = new TestConstraintViolation("customer.email", "must be a valid email");
@@ -46,6 +73,52 @@ class GrpcExceptionHandlerTest {
         assertThat(exception.getStatus().getDescription()).contains("customer.email: must be a valid email");
     }
 
+    @Test
+    void shouldMapTransactionAndQueryTimeoutsToDeadlineExceeded() {
+        StatusRuntimeException transactionTimeout =
+                GrpcExceptionHandler.handleException(new TransactionTimedOutException("Transaction timed out"));
+        StatusRuntimeException queryTimeout =
+                GrpcExceptionHandler.handleException(new QueryTimeoutException("Query timed out"));
+
+        assertThat(transactionTimeout.getStatus().getCode()).isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(queryTimeout.getStatus().getCode()).isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+    }
+
+    @Test
+    void shouldMapJpaAndDriverQueryTimeoutsAnywhereInTheCauseChain() {
+        SQLException queryCanceled = new SQLException("canceling statement due to statement timeout", "57014");
+
+        assertThat(GrpcExceptionHandler.handleException(new jakarta.persistence.QueryTimeoutException("timed out"))
+                        .getStatus()
+                        .getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(GrpcExceptionHandler.handleException(new PersistenceException(
+                                new org.hibernate.QueryTimeoutException("timed out", queryCanceled, "select 1")))
+                        .getStatus()
+                        .getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(GrpcExceptionHandler.handleException(new PersistenceException(queryCanceled))
+                        .getStatus()
+                        .getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(GrpcExceptionHandler.handleException(
+                                new PersistenceException(new SQLException("duplicate key", "23505")))
+                        .getStatus()
+                        .getCode())
+                .isEqualTo(Status.Code.INTERNAL);
+    }
+
+    @Test
+    void shouldMapQueryAbortedByCancelledCallToCancelled() throws Exception {
+        Context.CancellableContext context = Context.current().withCancellation();
+        context.cancel(null);
+
+        StatusRuntimeException exception = context.call(
+                () -> GrpcExceptionHandler.handleException(new QueryTimeoutException("Query cancelled")));
+
+        assertThat(exception.getStatus().getCode()).isEqualTo(Status.Code.CANCELLED);
+    }
+
     @Test
     void shouldFallbackToInternalServerError() {
         StatusRuntimeException exception = GrpcExceptionHandler.handleException(new RuntimeException("boom"));
@@ -0,0 +1,64 @@
+package com.sivalabs.bookstore.orders.grpc;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.sivalabs.bookstore.orders.api.OrderDto;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares encoding and decoding an order with {@code DecimalValue} prices only, as {@link GrpcMessageMapper}
+ * writes once {@code bookstore.grpc.write-legacy-decimal-strings} is off, against the string-only encoding
+ * used before {@code DecimalValue}. The rollout encoding, which writes both, costs at least as much as
+ * either of them.
+ *
+ * Run with {@code task benchmark -- GrpcMessageMapperBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GrpcMessageMapperBenchmark {
+
+    @Param({"decimal", "legacy"})
+    public String encoding;
+
+    private final GrpcMessageMapper mapper = new GrpcMessageMapper(false);
+    private OrderDto order;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        order = GrpcMessageMapperTest.sampleOrder();
+        encoded = encode().toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeOrder() {
+        return encode().toByteArray();
+    }
+
+    @Benchmark
+    public OrderDto decodeOrder() throws InvalidProtocolBufferException {
+        return mapper.toOrderDtoDto(GrpcMessageMapperTest.parse(encoded));
+    }
+
+    private com.sivalabs.bookstore.orders.grpc.proto.OrderDto encode() {
+        return switch (encoding) {
+            case "decimal" -> mapper.toOrderDto(order);
+            case "legacy" -> GrpcMessageMapperTest.legacyOrderDto(order);
+            default -> throw new IllegalArgumentException("Unknown encoding " + encoding);
+        };
+    }
+}
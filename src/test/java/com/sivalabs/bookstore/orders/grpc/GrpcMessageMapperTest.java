@@ -1,7 +1,9 @@
 package com.sivalabs.bookstore.orders.grpc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Timestamp;
 import com.sivalabs.bookstore.orders.api.CreateOrderRequest;
 import com.sivalabs.bookstore.orders.api.CreateOrderResponse;
@@ -87,9 +89,34 @@ class GrpcMessageMapperTest {
                 .extracting(
                         com.sivalabs.bookstore.orders.grpc.proto.OrderItem::getCode,
                         com.sivalabs.bookstore.orders.grpc.proto.OrderItem::getName,
-                        com.sivalabs.bookstore.orders.grpc.proto.OrderItem::getPrice,
                         com.sivalabs.bookstore.orders.grpc.proto.OrderItem::getQuantity)
-                .containsExactly("BOOK-123", "The Adventures", "29.99", 2);
+                .containsExactly("BOOK-123", "The Adventures", 2);
+        assertThat(proto.getItem().getPriceDecimal()).isEqualTo(decimalValue(2999, 2));
+    }
+
+    @Test
+    void shouldReadDecimalPriceInPreferenceToLegacyString() {
+        var protoRequest = com.sivalabs.bookstore.orders.grpc.proto.CreateOrderRequest.newBuilder()
+                .setItem(com.sivalabs.bookstore.orders.grpc.proto.OrderItem.newBuilder()
+                        .setCode("BOOK-123")
+                        .setPrice("1.00")
+                        .setPriceDecimal(decimalValue(3450, 2))
+                        .setQuantity(1))
+                .build();
+
+        CreateOrderRequest request = mapper.toCreateOrderRequest(protoRequest);
+
+        assertThat(request.item().price()).isEqualTo(new BigDecimal("34.50"));
+    }
+
+    @Test
+    void shouldRejectPricesThatDoNotFitDecimalValue() {
+        var request = new CreateOrderRequest(
+                new Customer("Sherlock Holmes", "sherlock@bakerstreet.com", "1234567890"),
+                "221B Baker Street",
+                new OrderItem("BOOK-123", "The Adventures", new BigDecimal("12345678901234567890.12"), 1));
+
+        assertThatThrownBy(() -> mapper.toCreateOrderRequestProto(request)).isInstanceOf(ArithmeticException.class);
     }
 
     @Test
@@ -107,7 +134,7 @@ class GrpcMessageMapperTest {
         assertThat(proto.getOrderNumber()).isEqualTo("ORDER-1");
         assertThat(proto.getDeliveryAddress()).isEqualTo("221B Baker Street");
         assertThat(proto.getStatus()).isEqualTo(com.sivalabs.bookstore.orders.grpc.proto.OrderStatus.DELIVERED);
-        assertThat(proto.getTotalAmount()).isEqualTo("59.97");
+        assertThat(proto.getTotalAmountDecimal()).isEqualTo(decimalValue(5997, 2));
         assertThat(proto.getCreatedAt())
                 .extracting(Timestamp::getSeconds, Timestamp::getNanos)
                 .containsExactly(createdAt.atZone(ZoneId.systemDefault()).toEpochSecond(), createdAt.getNano());
@@ -119,6 +146,58 @@ class GrpcMessageMapperTest {
         assertThat(mappedBack.createdAt()).isEqualTo(createdAt);
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    void shouldWriteLegacyStringsAlongsideDecimalValues() {
+        com.sivalabs.bookstore.orders.grpc.proto.OrderDto proto = mapper.toOrderDto(sampleOrder());
+
+        assertThat(proto.getItem().getPriceDecimal()).isEqualTo(decimalValue(3450, 2));
+        assertThat(proto.getItem().getPrice()).isEqualTo("34.50");
+        assertThat(proto.getTotalAmountDecimal()).isEqualTo(decimalValue(6900, 2));
+        assertThat(proto.getTotalAmount()).isEqualTo("69.00");
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void shouldWriteOnlyDecimalValuesOnceLegacyStringsAreTurnedOff() throws Exception {
+        GrpcMessageMapper decimalOnly = new GrpcMessageMapper(false);
+        OrderDto order = sampleOrder();
+
+        com.sivalabs.bookstore.orders.grpc.proto.OrderDto proto = decimalOnly.toOrderDto(order);
+
+        assertThat(proto.getItem().getPriceDecimal()).isEqualTo(decimalValue(3450, 2));
+        assertThat(proto.getItem().getPrice()).isEmpty();
+        assertThat(proto.getTotalAmountDecimal()).isEqualTo(decimalValue(6900, 2));
+        assertThat(proto.getTotalAmount()).isEmpty();
+        assertThat(proto.getSerializedSize()).isLessThan(mapper.toOrderDto(order).getSerializedSize());
+        assertThat(decimalOnly.toOrderDtoDto(parse(proto.toByteArray()))).isEqualTo(order);
+        assertThat(decimalOnly.toOrderDtoDto(parse(legacyOrderDto(order).toByteArray()))).isEqualTo(order);
+    }
+
+    @Test
+    void shouldBeReadableByPeersThatOnlyKnowLegacyStrings() throws Exception {
+        OrderDto order = sampleOrder();
+        byte[] bytes = mapper.toOrderDto(order).toByteArray();
+
+        // A peer built before DecimalValue skips the decimal fields as unknown and reads only the strings
+        var asSeenByOlderPeer = parse(bytes).toBuilder().clearTotalAmountDecimal();
+        asSeenByOlderPeer.getItemBuilder().clearPriceDecimal();
+        OrderDto readByOlderPeer = mapper.toOrderDtoDto(asSeenByOlderPeer.build());
+
+        assertThat(readByOlderPeer).isEqualTo(order);
+    }
+
+    @Test
+    void shouldDecodeLegacyAndDecimalEncodingsToSameOrder() throws Exception {
+        OrderDto order = sampleOrder();
+
+        OrderDto fromLegacy = mapper.toOrderDtoDto(parse(legacyOrderDto(order).toByteArray()));
+        OrderDto fromDecimal = mapper.toOrderDtoDto(parse(mapper.toOrderDto(order).toByteArray()));
+
+        assertThat(fromDecimal).isEqualTo(order);
+        assertThat(fromLegacy).isEqualTo(fromDecimal);
+    }
+
     @Test
     void shouldMapOrderViewProtoToDto() {
         var customer = com.sivalabs.bookstore.orders.grpc.proto.Customer.newBuilder()
@@ -149,4 +228,48 @@ class GrpcMessageMapperTest {
         CreateOrderResponse roundtrip = mapper.toCreateOrderResponseDto(proto);
         assertThat(roundtrip.orderNumber()).isEqualTo("ORDER-3");
     }
+
+    static com.sivalabs.bookstore.orders.grpc.proto.OrderDto parse(byte[] bytes) throws InvalidProtocolBufferException {
+        return com.sivalabs.bookstore.orders.grpc.proto.OrderDto.parseFrom(bytes);
+    }
+
+    /**
+     * Encodes the order the way {@link GrpcMessageMapper} did before {@code DecimalValue}, with prices
+     * as decimal strings only.
+     */
+    @SuppressWarnings("deprecation")
+    static com.sivalabs.bookstore.orders.grpc.proto.OrderDto legacyOrderDto(OrderDto dto) {
+        return com.sivalabs.bookstore.orders.grpc.proto.OrderDto.newBuilder()
+                .setOrderNumber(dto.orderNumber())
+                .setDeliveryAddress(dto.deliveryAddress())
+                .setStatus(com.sivalabs.bookstore.orders.grpc.proto.OrderStatus.NEW)
+                .setCustomer(com.sivalabs.bookstore.orders.grpc.proto.Customer.newBuilder()
+                        .setName(dto.customer().name())
+                        .setEmail(dto.customer().email())
+                        .setPhone(dto.customer().phone()))
+                .setItem(com.sivalabs.bookstore.orders.grpc.proto.OrderItem.newBuilder()
+                        .setCode(dto.item().code())
+                        .setName(dto.item().name())
+                        .setPrice(dto.item().price().toPlainString())
+                        .setQuantity(dto.item().quantity()))
+                .setTotalAmount(dto.getTotalAmount().toPlainString())
+                .build();
+    }
+
+    static OrderDto sampleOrder() {
+        return new OrderDto(
+                "ORD-0001",
+                new OrderItem("P100", "The Hunger Games", new BigDecimal("34.50"), 2),
+                new Customer("Siva", "siva@gmail.com", "99999999"),
+                "Hyderabad, India",
+                OrderStatus.NEW,
+                null);
+    }
+
+    private static com.sivalabs.bookstore.orders.grpc.proto.DecimalValue decimalValue(long unscaledValue, int scale) {
+        return com.sivalabs.bookstore.orders.grpc.proto.DecimalValue.newBuilder()
+                .setUnscaledValue(unscaledValue)
+                .setScale(scale)
+                .build();
+    }
 }
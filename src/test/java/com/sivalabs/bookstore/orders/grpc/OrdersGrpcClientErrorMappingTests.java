@@ -0,0 +1,88 @@
+package com.sivalabs.bookstore.orders.grpc;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sivalabs.bookstore.orders.IdempotencyKeyReusedException;
+import com.sivalabs.bookstore.orders.InvalidOrderException;
+import com.sivalabs.bookstore.orders.OrderInProgressException;
+import com.sivalabs.bookstore.orders.api.CreateOrderRequest;
+import com.sivalabs.bookstore.orders.api.model.Customer;
+import com.sivalabs.bookstore.orders.api.model.OrderItem;
+import com.sivalabs.bookstore.orders.grpc.proto.CreateOrderResponse;
+import com.sivalabs.bookstore.orders.grpc.proto.OrdersServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrdersGrpcClientErrorMappingTests {
+
+    private static final CreateOrderRequest REQUEST = new CreateOrderRequest(
+            new Customer("Client Test", "client@test.com", "+1234567890"),
+            "10 Downing Street",
+            new OrderItem("P100", "Client Integration Product", new BigDecimal("42.50"), 2));
+
+    private volatile StatusRuntimeException failure;
+    private Server server;
+    private ManagedChannel channel;
+    private OrdersGrpcClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String serverName = "orders-grpc-client-errors-" + UUID.randomUUID();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new OrdersServiceGrpc.OrdersServiceImplBase() {
+                    @Override
+                    public void createOrder(
+                            com.sivalabs.bookstore.orders.grpc.proto.CreateOrderRequest request,
+                            StreamObserver<CreateOrderResponse> responseObserver) {
+                        responseObserver.onError(failure);
+                    }
+                })
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        client = new OrdersGrpcClient(channel, 2_000, new GrpcMessageMapper());
+        client.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void shouldMapOnlyMarkedAbortedCallsToOrderInProgress() {
+        failure = GrpcExceptionHandler.handleException(OrderInProgressException.forIdempotencyKey("checkout-42"));
+        assertThatThrownBy(() -> client.createOrder(REQUEST, "checkout-42"))
+                .isInstanceOf(OrderInProgressException.class);
+
+        failure = Status.ABORTED.withDescription("transaction conflict").asRuntimeException();
+        assertThatThrownBy(() -> client.createOrder(REQUEST, "checkout-42"))
+                .isInstanceOf(StatusRuntimeException.class)
+                .hasMessageContaining("transaction conflict");
+    }
+
+    @Test
+    void shouldMapMarkedInvalidArgumentToIdempotencyKeyReused() {
+        failure = GrpcExceptionHandler.handleException(IdempotencyKeyReusedException.forIdempotencyKey("checkout-42"));
+        assertThatThrownBy(() -> client.createOrder(REQUEST, "checkout-42"))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+
+        failure = Status.INVALID_ARGUMENT.withDescription("bad quantity").asRuntimeException();
+        assertThatThrownBy(() -> client.createOrder(REQUEST, "checkout-42"))
+                .isInstanceOf(InvalidOrderException.class)
+                .isNotInstanceOf(IdempotencyKeyReusedException.class);
+    }
+}
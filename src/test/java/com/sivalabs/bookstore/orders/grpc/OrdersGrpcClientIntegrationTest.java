@@ -14,6 +14,7 @@ import com.sivalabs.bookstore.orders.InvalidOrderException;
 import com.sivalabs.bookstore.orders.OrderNotFoundException;
 import com.sivalabs.bookstore.orders.api.CreateOrderRequest;
 import com.sivalabs.bookstore.orders.api.CreateOrderResponse;
+import com.sivalabs.bookstore.orders.api.OrderDto;
 import com.sivalabs.bookstore.orders.api.OrderView;
 import com.sivalabs.bookstore.orders.api.OrdersRemoteClient;
 import com.sivalabs.bookstore.orders.api.model.Customer;
@@ -29,6 +30,8 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -206,6 +209,44 @@ class OrdersGrpcClientIntegrationTest {
                 .hasMessageContaining(missingOrderNumber);
     }
 
+    @Test
+    void asyncCallsRunConcurrentlyAndMapGrpcStatus() {
+        when(productApi.getByCode("P500"))
+                .thenReturn(Optional.of(
+                        new ProductDto("P500", "Async Product", "Description", "image.jpg", new BigDecimal("9.00"))));
+
+        List<CompletableFuture<CreateOrderResponse>> creations = List.of(
+                ordersGrpcClient.createOrderAsync(
+                        new CreateOrderRequest(
+                                new Customer("Async One", "async1@test.com", "+4000000001"),
+                                "221B Baker Street",
+                                new OrderItem("P500", "Async Product", new BigDecimal("9.00"), 1)),
+                        null),
+                ordersGrpcClient.createOrderAsync(
+                        new CreateOrderRequest(
+                                new Customer("Async Two", "async2@test.com", "+4000000002"),
+                                "4 Privet Drive",
+                                new OrderItem("P500", "Async Product", new BigDecimal("9.00"), 3)),
+                        null));
+        List<String> orderNumbers = creations.stream()
+                .map(CompletableFuture::join)
+                .map(CreateOrderResponse::orderNumber)
+                .toList();
+
+        List<CompletableFuture<OrderDto>> lookups =
+                orderNumbers.stream().map(ordersGrpcClient::getOrderAsync).toList();
+        CompletableFuture<PagedResult<OrderView>> page = ordersGrpcClient.listOrdersAsync(1, 20);
+
+        assertThat(lookups.stream().map(CompletableFuture::join).map(OrderDto::orderNumber))
+                .containsExactlyElementsOf(orderNumbers);
+        assertThat(page.join().data()).extracting(OrderView::orderNumber).containsAll(orderNumbers);
+
+        String missingOrderNumber = "ORD-MISSING-" + UUID.randomUUID();
+        assertThatThrownBy(() -> ordersGrpcClient.getOrderAsync(missingOrderNumber).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(OrderNotFoundException.class);
+    }
+
     @TestConfiguration
     static class InProcessChannelConfiguration {
         @Bean(destroyMethod = "shutdownNow")
@@ -0,0 +1,232 @@
+package com.sivalabs.bookstore.orders.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+import com.sivalabs.bookstore.orders.api.model.Customer;
+import com.sivalabs.bookstore.orders.api.model.OrderItem;
+import com.sivalabs.bookstore.orders.api.model.OrderStatus;
+import com.sivalabs.bookstore.orders.domain.OrderEntity;
+import com.sivalabs.bookstore.orders.domain.OrderRepository;
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderRequest;
+import com.sivalabs.bookstore.orders.grpc.proto.GetOrderResponse;
+import com.sivalabs.bookstore.orders.grpc.proto.ListOrdersRequest;
+import com.sivalabs.bookstore.orders.grpc.proto.ListOrdersResponse;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Runs {@link OrdersGrpcService} handlers in gRPC call contexts against PostgreSQL while the orders table
+ * is locked, so their queries block until the call's deadline or cancellation aborts them. The gRPC
+ * server is disabled, so this also covers the transaction manager being in place without it.
+ */
+@SpringBootTest(
+        webEnvironment = NONE,
+        properties = {
+            "bookstore.cache.enabled=false",
+            "bookstore.session.hazelcast.enabled=false",
+            "bookstore.grpc.server.enabled=false"
+        },
+        classes = {
+            com.sivalabs.bookstore.BookStoreApplication.class,
+            com.sivalabs.bookstore.testsupport.session.TestSessionConfiguration.class
+        })
+class OrdersGrpcServiceDeadlineIntegrationTests {
+
+    private static final DockerImageName POSTGRES_IMAGE = DockerImageName.parse("postgres:17-alpine");
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE)
+            .withDatabaseName("bookstore")
+            .withUsername("bookstore")
+            .withPassword("bookstore");
+
+    @MockitoBean
+    private org.springframework.amqp.rabbit.core.RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private OrdersGrpcService ordersGrpcService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private String orderNumber;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        orderNumber = orderRepository.save(newOrder()).getOrderNumber();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        scheduler.shutdownNow();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAbortBlockedQueryWhenCallDeadlineExpires() throws Exception {
+        try (Connection lock = lockOrdersTable()) {
+            Context.CancellableContext call = Context.ROOT.withDeadlineAfter(1, TimeUnit.SECONDS, scheduler);
+            RecordingObserver<ListOrdersResponse> observer = new RecordingObserver<>();
+
+            callers.execute(call.wrap(() -> listOrders(observer)));
+
+            // Still holding the lock: the query must have been stopped, not merely have finished
+            assertThat(observer.status().get(10, TimeUnit.SECONDS).getCode())
+                    .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+            lock.rollback();
+        }
+    }
+
+    @Test
+    void shouldAbortBlockedQueryWhenCallIsCancelled() throws Exception {
+        try (Connection lock = lockOrdersTable()) {
+            Context.CancellableContext call = Context.ROOT.withCancellation();
+            RecordingObserver<ListOrdersResponse> observer = new RecordingObserver<>();
+
+            callers.execute(call.wrap(() -> listOrders(observer)));
+            awaitQueriesWaitingForLock(1);
+            call.cancel(null);
+
+            assertThat(observer.status().get(10, TimeUnit.SECONDS).getCode()).isEqualTo(Status.Code.CANCELLED);
+            lock.rollback();
+        }
+    }
+
+    @Test
+    void shouldKeepSharedOrderLoadRunningWhenTheCallThatStartedItIsCancelled() throws Exception {
+        double coalescedBefore = coalescedLoads();
+        RecordingObserver<GetOrderResponse> joiner = new RecordingObserver<>();
+
+        try (Connection lock = lockOrdersTable()) {
+            Context.CancellableContext first = Context.ROOT.withCancellation();
+            callers.execute(first.wrap(() -> ordersGrpcService.getOrder(getOrder(), new RecordingObserver<>())));
+            awaitQueriesWaitingForLock(1);
+            Context.CancellableContext second = Context.ROOT.withCancellation();
+            callers.execute(second.wrap(() -> ordersGrpcService.getOrder(getOrder(), joiner)));
+            await().atMost(Duration.ofSeconds(10)).until(() -> coalescedLoads() - coalescedBefore == 1);
+
+            first.cancel(null);
+            // Give a cancelled query time to fail before the lock is released
+            Thread.sleep(500);
+            lock.rollback();
+        }
+
+        assertThat(joiner.status().get(10, TimeUnit.SECONDS).getCode()).isEqualTo(Status.Code.OK);
+        assertThat(joiner.value.getOrder().getOrderNumber()).isEqualTo(orderNumber);
+    }
+
+    private Connection lockOrdersTable() throws SQLException {
+        Connection lock = dataSource.getConnection();
+        lock.setAutoCommit(false);
+        try (Statement statement = lock.createStatement()) {
+            statement.execute("lock table orders.orders in access exclusive mode");
+        }
+        return lock;
+    }
+
+    private void awaitQueriesWaitingForLock(int count) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> queriesWaitingForLock() >= count);
+    }
+
+    private int queriesWaitingForLock() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(
+                        "select count(*) from pg_stat_activity where wait_event_type = 'Lock'")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private double coalescedLoads() {
+        return meterRegistry
+                .get("bookstore.cache.single-flight.coalesced")
+                .tag("cache", "orders-cache")
+                .functionCounter()
+                .count();
+    }
+
+    private void listOrders(StreamObserver<ListOrdersResponse> observer) {
+        ordersGrpcService.listOrders(ListOrdersRequest.getDefaultInstance(), observer);
+    }
+
+    private GetOrderRequest getOrder() {
+        return GetOrderRequest.newBuilder().setOrderNumber(orderNumber).build();
+    }
+
+    private static OrderEntity newOrder() {
+        return new OrderEntity(
+                null,
+                UUID.randomUUID().toString(),
+                new Customer("Deadline Customer", "deadline@test.com", "+1234567890"),
+                "Deadline Street 1",
+                new OrderItem("P100", "The Hunger Games", new BigDecimal("34.00"), 1),
+                OrderStatus.NEW,
+                LocalDateTime.now(),
+                null);
+    }
+
+    private static final class RecordingObserver<T> implements StreamObserver<T> {
+
+        private final CompletableFuture<Status> status = new CompletableFuture<>();
+        private volatile T value;
+
+        @Override
+        public void onNext(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            status.complete(Status.fromThrowable(t));
+        }
+
+        @Override
+        public void onCompleted() {
+            status.complete(Status.OK);
+        }
+
+        CompletableFuture<Status> status() {
+            return status;
+        }
+    }
+}
@@ -199,7 +199,8 @@ class OrdersGrpcServiceIntegrationTest {
         assertThat(order.getDeliveryAddress()).isEqualTo("742 Evergreen Terrace");
         assertThat(order.getItem().getCode()).isEqualTo(orderItem.getCode());
         assertThat(order.getItem().getName()).isEqualTo(orderItem.getName());
-        assertThat(order.getItem().getPrice()).isEqualTo(orderItem.getPrice());
+        assertThat(order.getItem().getPriceDecimal().getUnscaledValue()).isEqualTo(340);
+        assertThat(order.getItem().getPriceDecimal().getScale()).isEqualTo(1);
         assertThat(order.getItem().getQuantity()).isEqualTo(orderItem.getQuantity());
         assertThat(order.getStatus()).isEqualTo(com.sivalabs.bookstore.orders.grpc.proto.OrderStatus.NEW);
     }
@@ -0,0 +1,128 @@
+package com.sivalabs.bookstore.orders.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sivalabs.bookstore.config.GrpcProperties;
+import com.sivalabs.bookstore.config.GrpcServerExecutor;
+import com.sivalabs.bookstore.orders.api.OrderView;
+import com.sivalabs.bookstore.orders.api.OrdersApi;
+import com.sivalabs.bookstore.orders.api.model.Customer;
+import com.sivalabs.bookstore.orders.api.model.OrderStatus;
+import com.sivalabs.bookstore.orders.grpc.proto.StreamOrdersRequest;
+import com.sivalabs.bookstore.testsupport.TestObjectProvider;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersGrpcServiceStreamingTests {
+
+    @Mock
+    private OrdersApi ordersApi;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ServerCallStreamObserver<com.sivalabs.bookstore.orders.grpc.proto.OrderView> responseObserver;
+
+    private OrdersGrpcService ordersGrpcService;
+
+    @BeforeEach
+    void setUp() {
+        ordersGrpcService = new OrdersGrpcService(
+                ordersApi, new GrpcMessageMapper(), validator, new TestObjectProvider<>(() -> null));
+    }
+
+    @Test
+    void shouldStreamAllOrdersAndComplete() {
+        Customer customer = new Customer("John Doe", "john.doe@example.com", "+1-555-123-4567");
+        when(responseObserver.isReady()).thenReturn(true);
+        when(ordersApi.streamOrders(eq(100), any())).thenAnswer(invocation -> {
+            Predicate<OrderView> sink = invocation.getArgument(1);
+            long accepted = 0;
+            for (int i = 0; i < 3; i++) {
+                if (sink.test(new OrderView("ORD-" + i, OrderStatus.NEW, customer))) {
+                    accepted++;
+                }
+            }
+            return accepted;
+        });
+
+        ordersGrpcService.streamOrders(StreamOrdersRequest.newBuilder().setFetchSize(100).build(), responseObserver);
+
+        verify(responseObserver, timeout(2000)).onCompleted();
+        verify(responseObserver, times(3)).onNext(any());
+    }
+
+    @Test
+    void shouldStopReadingWhenClientCancels() {
+        ArgumentCaptor<Runnable> cancelHandler = ArgumentCaptor.forClass(Runnable.class);
+        when(ordersApi.streamOrders(anyInt(), any())).thenAnswer(invocation -> {
+            Predicate<OrderView> sink = invocation.getArgument(1);
+            verify(responseObserver).setOnCancelHandler(cancelHandler.capture());
+            cancelHandler.getValue().run();
+            return sink.test(new OrderView("ORD-1", OrderStatus.NEW, null)) ? 1L : 0L;
+        });
+
+        ordersGrpcService.streamOrders(StreamOrdersRequest.getDefaultInstance(), responseObserver);
+
+        verify(ordersApi, timeout(2000)).streamOrders(eq(500), any());
+        verify(responseObserver, never()).onNext(any());
+        verify(responseObserver, never()).onCompleted();
+    }
+
+    @Test
+    void shouldRejectExportWhenServerExecutorQueueIsFull() throws Exception {
+        var serverProperties = new GrpcProperties.ServerProperties();
+        serverProperties.setExecutor(GrpcProperties.ServerProperties.ExecutorMode.BOUNDED);
+        serverProperties.setExecutorPoolSize(1);
+        serverProperties.setExecutorQueueCapacity(1);
+        var serverExecutor = new GrpcServerExecutor(serverProperties, new SimpleMeterRegistry());
+        var boundedService = new OrdersGrpcService(
+                ordersApi, new GrpcMessageMapper(), validator, new TestObjectProvider<>(() -> serverExecutor));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // One task holds the only thread and another waits in the queue
+            serverExecutor.execute(() -> awaitQuietly(release));
+            serverExecutor.execute(() -> {});
+
+            boundedService.streamOrders(StreamOrdersRequest.getDefaultInstance(), responseObserver);
+
+            ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+            verify(responseObserver).onError(error.capture());
+            assertThat(Status.fromThrowable(error.getValue()).getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+            verifyNoInteractions(ordersApi);
+        } finally {
+            release.countDown();
+            serverExecutor.destroy();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -15,6 +16,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.sivalabs.bookstore.common.models.PagedResult;
+import com.sivalabs.bookstore.orders.IdempotencyKeyReusedException;
+import com.sivalabs.bookstore.orders.OrderInProgressException;
 import com.sivalabs.bookstore.orders.api.CreateOrderRequest;
 import com.sivalabs.bookstore.orders.api.CreateOrderResponse;
 import com.sivalabs.bookstore.orders.api.OrderDto;
@@ -67,7 +70,7 @@ class OrdersRestControllerTests {
         CreateOrderRequest request = new CreateOrderRequest(customer, "742 Evergreen Terrace, Springfield", item);
 
         CreateOrderResponse response = new CreateOrderResponse("ORD-2025-001234");
-        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class))).thenReturn(response);
+        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class), any())).thenReturn(response);
 
         // When: Creating order
         mockMvc.perform(post("/api/orders")
@@ -78,6 +81,66 @@ class OrdersRestControllerTests {
                 .andExpect(jsonPath("$.orderNumber", is("ORD-2025-001234")));
     }
 
+    @Test
+    void shouldForwardIdempotencyKeyHeader() throws Exception {
+        // Given: Order request carrying an Idempotency-Key header
+        Customer customer = new Customer("John Doe", "john.doe@example.com", "+1-555-123-4567");
+        OrderItem item = new OrderItem("P100", "The Hunger Games", new BigDecimal("34.0"), 2);
+        CreateOrderRequest request = new CreateOrderRequest(customer, "742 Evergreen Terrace, Springfield", item);
+
+        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class), eq("checkout-42")))
+                .thenReturn(new CreateOrderResponse("ORD-2025-001234"));
+
+        // When: Creating order with the header
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "checkout-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                // Then: The key reaches the remote client
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.orderNumber", is("ORD-2025-001234")));
+    }
+
+    @Test
+    void shouldReturnConflictWhileOrderWithSameKeyIsInProgress() throws Exception {
+        // Given: Another request with the same key is still being processed
+        Customer customer = new Customer("John Doe", "john.doe@example.com", "+1-555-123-4567");
+        OrderItem item = new OrderItem("P100", "The Hunger Games", new BigDecimal("34.0"), 2);
+        CreateOrderRequest request = new CreateOrderRequest(customer, "742 Evergreen Terrace, Springfield", item);
+
+        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class), eq("checkout-42")))
+                .thenThrow(OrderInProgressException.forIdempotencyKey("checkout-42"));
+
+        // When: Creating order with the same key
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "checkout-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                // Then: Returns 409 Conflict
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status", is(409)));
+    }
+
+    @Test
+    void shouldReturnUnprocessableEntityWhenKeyIsReusedForDifferentOrder() throws Exception {
+        // Given: The key was already used for a different order request
+        Customer customer = new Customer("John Doe", "john.doe@example.com", "+1-555-123-4567");
+        OrderItem item = new OrderItem("P100", "The Hunger Games", new BigDecimal("34.0"), 2);
+        CreateOrderRequest request = new CreateOrderRequest(customer, "742 Evergreen Terrace, Springfield", item);
+
+        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class), eq("checkout-42")))
+                .thenThrow(IdempotencyKeyReusedException.forIdempotencyKey("checkout-42"));
+
+        // When: Creating order with the reused key
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "checkout-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                // Then: Returns 422 Unprocessable Entity
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status", is(422)));
+    }
+
     @Test
     void shouldReturnBadRequestForInvalidOrderData() throws Exception {
         // Given: Invalid order request (gRPC returns INVALID_ARGUMENT)
@@ -85,7 +148,7 @@ class OrdersRestControllerTests {
         OrderItem item = new OrderItem("P100", "The Hunger Games", new BigDecimal("34.0"), 2);
         CreateOrderRequest request = new CreateOrderRequest(customer, "742 Evergreen Terrace, Springfield", item);
 
-        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class)))
+        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class), any()))
                 .thenThrow(new StatusRuntimeException(Status.INVALID_ARGUMENT.withDescription("Invalid order data")));
 
         // When: Creating order with invalid data
@@ -105,7 +168,7 @@ class OrdersRestControllerTests {
         OrderItem item = new OrderItem("P100", "The Hunger Games", new BigDecimal("34.0"), 2);
         CreateOrderRequest request = new CreateOrderRequest(customer, "742 Evergreen Terrace, Springfield", item);
 
-        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class)))
+        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class), any()))
                 .thenThrow(new StatusRuntimeException(Status.UNAVAILABLE));
 
         // When: Creating order when service unavailable
@@ -123,7 +186,7 @@ class OrdersRestControllerTests {
         OrderItem item = new OrderItem("P100", "The Hunger Games", new BigDecimal("34.0"), 2);
         CreateOrderRequest request = new CreateOrderRequest(customer, "742 Evergreen Terrace, Springfield", item);
 
-        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class)))
+        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class), any()))
                 .thenThrow(new StatusRuntimeException(Status.DEADLINE_EXCEEDED));
 
         // When: Creating order when deadline exceeded
@@ -141,7 +204,7 @@ class OrdersRestControllerTests {
         OrderItem item = new OrderItem("P100", "The Hunger Games", new BigDecimal("34.0"), 2);
         CreateOrderRequest request = new CreateOrderRequest(customer, "742 Evergreen Terrace, Springfield", item);
 
-        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class)))
+        when(ordersRemoteClient.createOrder(any(CreateOrderRequest.class), any()))
                 .thenThrow(new StatusRuntimeException(Status.INTERNAL));
 
         // When: Creating order with unknown error
@@ -174,6 +237,26 @@ class OrdersRestControllerTests {
                 .andExpect(jsonPath("$.pageNumber", is(1)));
     }
 
+    @Test
+    void shouldListOrdersWithPageToken() throws Exception {
+        // Given: A keyset page following the token "120"
+        Customer customer = new Customer("John Doe", "john.doe@example.com", "+1-555-123-4567");
+        OrderView order = new OrderView("ORD-2025-001233", OrderStatus.NEW, customer);
+        PagedResult<OrderView> orders =
+                new PagedResult<>(java.util.List.of(order), -1, 0, -1, false, false, true, true, "119");
+
+        when(ordersRemoteClient.listOrders("120", 1, false)).thenReturn(orders);
+
+        // When: Listing orders with a page token
+        mockMvc.perform(get("/api/orders").param("pageToken", "120").param("pageSize", "1"))
+                // Then: Returns the keyset page with the next token
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].orderNumber", is("ORD-2025-001233")))
+                .andExpect(jsonPath("$.totalElements", is(-1)))
+                .andExpect(jsonPath("$.nextPageToken", is("119")));
+    }
+
     @Test
     void shouldReturnServiceUnavailableWhenListOrdersFails() throws Exception {
         // Given: gRPC service unavailable
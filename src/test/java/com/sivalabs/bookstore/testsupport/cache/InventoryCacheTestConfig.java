@@ -2,6 +2,7 @@ package com.sivalabs.bookstore.testsupport.cache;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import com.sivalabs.bookstore.inventory.cache.InventoryKey;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -15,7 +16,7 @@ public class InventoryCacheTestConfig {
     @Bean("inventoryCache")
     @Lazy
     @ConditionalOnMissingBean(name = "inventoryCache")
-    public IMap<Long, Object> inventoryCache(HazelcastInstance hazelcastInstance) {
+    public IMap<InventoryKey, Object> inventoryCache(HazelcastInstance hazelcastInstance) {
         return hazelcastInstance.getMap("inventory-cache");
     }
 }